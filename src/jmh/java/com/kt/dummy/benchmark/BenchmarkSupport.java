@@ -0,0 +1,54 @@
+package com.kt.dummy.benchmark;
+
+import ch.qos.logback.classic.Level;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.CharsetUtil;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 벤치마크 공용 유틸리티 (샘플 전문, 로그 레벨 조정)
+ * @author 고재원
+ */
+public final class BenchmarkSupport {
+
+    // scap 샘플 요청 (getVasOfAllSubscpn)
+    public static final String XML_REQUEST =
+            "<getVasOfAllSubscpn><TRANSACTIONID>5b7b38e2-e94d-4f6f-b014-b6e771b9aeb0</TRANSACTIONID>"
+            + "<SEQUENCENO>5</SEQUENCENO><CTN>01012345678</CTN><SVCCODE>VAS</SVCCODE></getVasOfAllSubscpn>";
+
+    // capri 샘플 요청
+    public static final String KEY_VALUE_REQUEST =
+            "&opcode=406&ctn=01012345678&transaction_id=20250710123456000001&sequence_no=1&svc=capri";
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * com.kt.dummy 로거 레벨 변경 (기본 logback.xml 은 DEBUG)
+     */
+    public static void setLogLevel(String level) {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.kt.dummy"))
+                .setLevel(Level.toLevel(level));
+    }
+
+    /**
+     * data_length=NNNNN/ 헤더를 붙인 프레임 문자열
+     */
+    public static String frame(String body) {
+        int length = body.getBytes(CharsetUtil.UTF_8).length + 1;
+        return "data_length=" + String.format("%05d", length) + "/" + body;
+    }
+
+    /**
+     * 동일 프레임을 count 개 이어 붙인 direct 버퍼
+     */
+    public static ByteBuf frames(String body, int count) {
+        byte[] frame = frame(body).getBytes(CharsetUtil.UTF_8);
+        ByteBuf buf = Unpooled.directBuffer(frame.length * count);
+        for (int i = 0; i < count; i++) {
+            buf.writeBytes(frame);
+        }
+        return buf;
+    }
+}
@@ -0,0 +1,196 @@
+package com.kt.dummy.benchmark;
+
+import com.kt.dummy.handler.HttpProtocolHandler;
+import com.kt.dummy.handler.KeyValueHandler;
+import com.kt.dummy.handler.XmlProtocolHandler;
+import com.kt.dummy.server.ServerBootstrapFactory;
+import com.kt.dummy.server.ServerConfig;
+import com.kt.dummy.server.ServerTransport;
+import com.kt.dummy.server.SslContextManager;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.internal.PlatformDependent;
+
+import java.io.File;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 유휴 연결당 메모리 사용량 측정 (JMH 가 아닌 main 실행)
+ *
+ * 실제 서버 파이프라인을 이 프로세스에서 띄우고, 별도 클라이언트 프로세스로 N 개 연결을 맺은 뒤
+ * GC 후 힙 / direct 메모리 증가분을 연결 수로 나누어 출력한다. (OpenSSL 엔진의 네이티브 메모리는 제외)
+ *
+ * java -cp target/dummy-server-benchmarks.jar com.kt.dummy.benchmark.ConnectionFootprintBenchmark \
+ *      [연결 수=100000] [xml|keyValue|http|https|management] [auto|nio|epoll|io_uring]
+ *
+ * 서버/클라이언트 프로세스 모두 ulimit -n 이 연결 수보다 커야 한다.
+ * 클라이언트는 127.0.0.2 부터 출발지 주소를 바꿔가며 연결하므로 임시 포트 범위 제한을 받지 않는다.
+ *
+ * @author 고재원
+ */
+public final class ConnectionFootprintBenchmark {
+    private static final int CONNECTIONS_PER_SOURCE = 25000;
+    private static final long CONNECT_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(5);
+
+    private ConnectionFootprintBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        String protocol = args.length > 1 ? args[1] : "xml";
+        ServerTransport transport = ServerTransport.select(args.length > 2 ? args[2] : "auto");
+        BenchmarkSupport.setLogLevel("WARN");
+
+        EventLoopGroup bossGroup = transport.newEventLoopGroup(1);
+        EventLoopGroup workerGroup = transport.newEventLoopGroup(0);
+        AcceptCounter counter = new AcceptCounter();
+        Process client = null;
+        try {
+            ServerBootstrap bootstrap = createBootstrap(protocol, transport, bossGroup, workerGroup);
+            Channel server = bootstrap.handler(counter).bind("127.0.0.1", 0).sync().channel();
+            int port = ((InetSocketAddress) server.localAddress()).getPort();
+
+            long heapBefore = usedHeap();
+            long directBefore = usedDirect();
+
+            client = new ProcessBuilder(
+                    new File(System.getProperty("java.home"), "bin/java").getPath(),
+                    "-cp", System.getProperty("java.class.path"),
+                    Client.class.getName(), String.valueOf(port), String.valueOf(connections))
+                    .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+
+            long deadline = System.currentTimeMillis() + CONNECT_TIMEOUT_MS;
+            while (counter.accepted.get() < connections && client.isAlive()
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+            // 마지막 연결들의 파이프라인 초기화 대기
+            Thread.sleep(1000);
+
+            int accepted = counter.accepted.get();
+            long heapAfter = usedHeap();
+            long directAfter = usedDirect();
+
+            System.out.printf("protocol=%s transport=%s connections=%d%n",
+                    protocol, transport.getConfigName(), accepted);
+            report("heap", heapAfter - heapBefore, accepted);
+            report("direct", directAfter - directBefore, accepted);
+            server.close().sync();
+        } finally {
+            if (client != null) {
+                client.getOutputStream().close();
+                client.waitFor(10, TimeUnit.SECONDS);
+                client.destroyForcibly();
+            }
+            workerGroup.shutdownGracefully().syncUninterruptibly();
+            bossGroup.shutdownGracefully().syncUninterruptibly();
+        }
+    }
+
+    private static ServerBootstrap createBootstrap(String protocol, ServerTransport transport,
+                                                   EventLoopGroup bossGroup, EventLoopGroup workerGroup)
+            throws Exception {
+        switch (protocol) {
+            case "xml":
+                return ServerBootstrapFactory.createTcpBootstrap(
+                        transport, bossGroup, workerGroup, XmlProtocolHandler.INSTANCE);
+            case "keyValue":
+                return ServerBootstrapFactory.createTcpBootstrap(
+                        transport, bossGroup, workerGroup, KeyValueHandler.INSTANCE);
+            case "http":
+                return ServerBootstrapFactory.createHttpBootstrap(
+                        transport, bossGroup, workerGroup, HttpProtocolHandler.INSTANCE, false);
+            case "https":
+                SslContextManager.getInstance().initialize(ServerConfig.getInstance());
+                return ServerBootstrapFactory.createHttpBootstrap(
+                        transport, bossGroup, workerGroup, HttpProtocolHandler.INSTANCE, true);
+            case "management":
+                return ServerBootstrapFactory.createManagementBootstrap(transport, bossGroup, workerGroup);
+            default:
+                throw new IllegalArgumentException("알 수 없는 프로토콜: " + protocol);
+        }
+    }
+
+    private static void report(String name, long bytes, int connections) {
+        System.out.printf("%-7s: %+,d bytes (%,d bytes/connection)%n",
+                name, bytes, connections > 0 ? bytes / connections : 0);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * JDK direct 버퍼 + Netty 가 직접 관리하는 direct 메모리 (풀 아레나 포함)
+     */
+    private static long usedDirect() {
+        long jdk = 0;
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if ("direct".equals(pool.getName())) {
+                jdk += pool.getMemoryUsed();
+            }
+        }
+        return jdk + Math.max(0, PlatformDependent.usedDirectMemory());
+    }
+
+    /**
+     * 서버 채널에서 accept 된 연결 수 집계 (자식 파이프라인에는 추가하지 않음)
+     */
+    @ChannelHandler.Sharable
+    private static final class AcceptCounter extends ChannelInboundHandlerAdapter {
+        private final AtomicInteger accepted = new AtomicInteger();
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            accepted.incrementAndGet();
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    /**
+     * 연결만 맺고 유지하는 클라이언트 프로세스 (부모가 stdin 을 닫으면 종료)
+     */
+    public static final class Client {
+        public static void main(String[] args) throws Exception {
+            int port = Integer.parseInt(args[0]);
+            int connections = Integer.parseInt(args[1]);
+            InetSocketAddress target = new InetSocketAddress("127.0.0.1", port);
+
+            List<SocketChannel> sockets = new ArrayList<>(connections);
+            try {
+                for (int i = 0; i < connections; i++) {
+                    SocketChannel socket = SocketChannel.open();
+                    socket.bind(new InetSocketAddress("127.0.0." + (2 + i / CONNECTIONS_PER_SOURCE), 0));
+                    socket.connect(target);
+                    sockets.add(socket);
+                }
+            } catch (Exception e) {
+                System.err.printf("클라이언트 연결 중단: %d 개 연결 후 %s%n", sockets.size(), e);
+            }
+
+            while (System.in.read() >= 0) {
+                // 부모 프로세스가 측정을 마칠 때까지 연결 유지
+            }
+            for (SocketChannel socket : sockets) {
+                socket.close();
+            }
+        }
+    }
+}
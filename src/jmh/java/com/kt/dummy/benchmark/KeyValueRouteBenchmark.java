@@ -0,0 +1,111 @@
+package com.kt.dummy.benchmark;
+
+import com.kt.dummy.manager.ResponseMapManager;
+import com.kt.dummy.manager.ResponseRoute;
+import com.kt.dummy.manager.ResponseTemplate;
+import com.kt.dummy.util.KeyValueScanner.FieldSet;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.CharsetUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringTokenizer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * capri 요청 필드 추출 + 응답 전문 조회 비용 비교
+ *
+ * legacy  : 본문 String 변환 + StringTokenizer 로 LinkedHashMap 생성 + "OPCODE_" + opcode + "_" + ctn 키 조회
+ * current : KeyValueScanner.FieldSet 으로 opcode/ctn/transaction_id 위치만 추출 + KeyValueRouteTable 바이트 조회
+ *
+ * 실행) java -jar target/dummy-server-benchmarks.jar KeyValueRouteBenchmark -prof gc
+ * gc.alloc.rate.norm 값이 요청당 할당 바이트이다.
+ *
+ * @author 고재원
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class KeyValueRouteBenchmark {
+    private static final FieldSet FIELDS = new FieldSet("opcode", "ctn", "transaction_id");
+
+    @Param({"INFO"})
+    public String logLevel;
+
+    private ResponseMapManager manager;
+    private ByteBuf body;
+    private int[] positions;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.setLogLevel(logLevel);
+        manager = ResponseMapManager.getInstance();
+        manager.putResponse("keyValue", "OPCODE_406", "response=s&code=001&RT=0&RT_MSG=SUCCESS");
+        manager.putResponse("keyValue", "OPCODE_406_01012345678", "response=s&code=001&RT=0&RT_MSG=SUCCESS");
+
+        byte[] bytes = BenchmarkSupport.KEY_VALUE_REQUEST.getBytes(CharsetUtil.UTF_8);
+        body = Unpooled.directBuffer(bytes.length).writeBytes(bytes);
+        positions = FIELDS.newPositions();
+    }
+
+    @TearDown
+    public void tearDown() {
+        body.release();
+    }
+
+    @Benchmark
+    public void legacy(Blackhole bh) {
+        Map<String, String> requestMap = legacyParse(body.toString(CharsetUtil.UTF_8));
+        String opcode = requestMap.get("opcode");
+        ResponseTemplate template = manager.getTemplate("keyValue", legacyResponseKey(requestMap, opcode));
+        bh.consume(template);
+        bh.consume(requestMap.get("transaction_id"));
+    }
+
+    @Benchmark
+    public void current(Blackhole bh) {
+        FIELDS.scan(body, positions);
+        ResponseRoute route = manager.getKeyValueRoutes().route(body,
+                FieldSet.valueIndex(positions, 0), FieldSet.valueLength(positions, 0),
+                FieldSet.valueIndex(positions, 1), FieldSet.valueLength(positions, 1));
+        bh.consume(route.getTemplate());
+        bh.consume(FieldSet.valueIndex(positions, 2));
+    }
+
+    // 기존 KeyValueHandler.parseKeyValueString
+    private static Map<String, String> legacyParse(String str) {
+        Map<String, String> map = new LinkedHashMap<>();
+        if (str.startsWith("&") || str.startsWith("/")) {
+            str = str.substring(1);
+        }
+
+        StringTokenizer strToken = new StringTokenizer(str, "&");
+        while (strToken.hasMoreTokens()) {
+            StringTokenizer strTokenSub = new StringTokenizer(strToken.nextToken(), "=");
+            if (strTokenSub.hasMoreTokens()) {
+                String key = strTokenSub.nextToken();
+                String value = "";
+                if (strTokenSub.hasMoreTokens()) {
+                    value = strTokenSub.nextToken();
+                }
+                map.put(key, value);
+            }
+        }
+        return map;
+    }
+
+    // 기존 KeyValueHandler.buildResponseKey
+    private static String legacyResponseKey(Map<String, String> requestMap, String opcode) {
+        String ctn = requestMap.get("ctn");
+        if (("406".equals(opcode) || "435".equals(opcode)) && ctn != null) {
+            return "OPCODE_" + opcode + "_" + ctn;
+        }
+        return "OPCODE_" + opcode;
+    }
+}
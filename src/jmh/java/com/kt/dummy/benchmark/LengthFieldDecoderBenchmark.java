@@ -0,0 +1,65 @@
+package com.kt.dummy.benchmark;
+
+import com.kt.dummy.decoder.CustomLengthFieldDecoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * data_length 프레임 디코더 처리량/할당량 비교
+ *
+ * 실행) java -jar target/dummy-server-benchmarks.jar LengthFieldDecoderBenchmark -prof gc
+ * gc.alloc.rate.norm 값이 호출(= FRAMES_PER_BATCH 프레임)당 할당 바이트이다.
+ *
+ * @author 고재원
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LengthFieldDecoderBenchmark {
+    private static final int FRAMES_PER_BATCH = 32;
+
+    @Param({"legacy", "current"})
+    public String decoder;
+
+    @Param({"xml", "keyValue"})
+    public String payload;
+
+    @Param({"INFO"})
+    public String logLevel;
+
+    private EmbeddedChannel channel;
+    private ByteBuf batch;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.setLogLevel(logLevel);
+        channel = new EmbeddedChannel("legacy".equals(decoder)
+                ? new LegacyLengthFieldDecoder()
+                : new CustomLengthFieldDecoder());
+        String body = "xml".equals(payload) ? BenchmarkSupport.XML_REQUEST : BenchmarkSupport.KEY_VALUE_REQUEST;
+        batch = BenchmarkSupport.frames(body, FRAMES_PER_BATCH);
+    }
+
+    @TearDown
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+        batch.release();
+    }
+
+    @Benchmark
+    public void decodeBatch(Blackhole bh) {
+        channel.writeInbound(batch.retainedDuplicate());
+        ByteBuf frame;
+        while ((frame = channel.readInbound()) != null) {
+            bh.consume(frame.readableBytes());
+            frame.release();
+        }
+    }
+}
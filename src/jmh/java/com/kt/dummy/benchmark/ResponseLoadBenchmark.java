@@ -0,0 +1,141 @@
+package com.kt.dummy.benchmark;
+
+import com.kt.dummy.manager.ResponseMapManager;
+import com.kt.dummy.manager.ResponsePackBuilder;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 응답 전문 기동 로드 시간 측정 (JMH 가 아닌 main 실행)
+ *
+ * 임시 디렉토리에 stage1~4 / json, xml, soap, keyValue 합성 응답 전문 N 개를 만든 뒤
+ * ResponseMapManager.initialize() (파일 로드 -> stage 병합 -> 스냅샷 게시) 시간을 잰다.
+ *  - 약 10% 는 다음 stage 에 같은 API 가 있어 덮어쓰기 병합을 거친다.
+ *  - 1000 개마다 1 개는 mmap 경로를 타도록 512KB 로 만든다.
+ * 첫 회차는 페이지 캐시가 비어있지 않을 수 있으므로 (방금 생성) 회차별 결과를 모두 출력한다.
+ * 마지막에 GC 후 힙 사용량과 저장 방식별 힙/off-heap 통계를 출력한다.
+ * pack 이면 생성한 트리로 응답 전문 팩을 만든 뒤 디렉토리 대신 팩 로드 시간을 잰다.
+ *
+ * java -cp target/dummy-server-benchmarks.jar com.kt.dummy.benchmark.ResponseLoadBenchmark \
+ *      [파일 수=100000] [병렬도=0(코어 수)] [회차=3] [heap|arena|pack]
+ *
+ * @author 고재원
+ */
+public final class ResponseLoadBenchmark {
+    private static final String[] STAGES = {"stage1", "stage2", "stage3", "stage4"};
+    private static final String[] PROTOCOLS = {"json", "xml", "soap", "keyValue"};
+    private static final int LARGE_FILE_EVERY = 1000;
+    private static final int LARGE_FILE_SIZE = 512 * 1024;
+
+    private ResponseLoadBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int files = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        String parallelism = args.length > 1 ? args[1] : "0";
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        String storage = args.length > 3 ? args[3] : "heap";
+        BenchmarkSupport.setLogLevel("WARN");
+
+        Path root = Files.createTempDirectory("response-load");
+        try {
+            long generateStart = System.nanoTime();
+            long bytes = generate(root, files);
+            System.out.printf("생성: %d 개 파일, %.1f MB (%d ms)%n", files, bytes / 1048576.0,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - generateStart));
+
+            // ServerConfig 가 처음 로드되기 전에 설정 (팩 생성도 ServerConfig 를 읽음)
+            String packPath = "pack".equals(storage) ? root.resolve("response.pack").toString() : "";
+            System.setProperty("server.response.base.path", root.toString());
+            System.setProperty("server.response.load.parallelism", parallelism);
+            System.setProperty("server.response.watch.enabled", "false");
+            System.setProperty("server.response.storage", "arena".equals(storage) ? "arena" : "heap");
+            System.setProperty("server.response.pack.path", packPath);
+
+            if ("pack".equals(storage)) {
+                long buildStart = System.nanoTime();
+                ResponsePackBuilder.main(new String[] {root.toString(), packPath});
+                System.out.printf("팩 생성: %d ms%n", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - buildStart));
+            }
+
+            for (int round = 1; round <= rounds; round++) {
+                long start = System.nanoTime();
+                ResponseMapManager.getInstance().initialize();
+                long elapsed = System.nanoTime() - start;
+
+                System.out.printf("회차 %d: time-to-ready %d ms, %.0f files/sec, 고유 API %d 개%n",
+                        round, TimeUnit.NANOSECONDS.toMillis(elapsed), files / (elapsed / 1e9),
+                        ResponseMapManager.getInstance().getSnapshot().size());
+            }
+
+            System.gc();
+            System.out.printf("GC 후 힙 사용량: %.1f MB%n",
+                    ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / 1048576.0);
+            System.out.println("저장 통계: " + ResponseMapManager.getInstance().getStatistics().get("storage"));
+        } finally {
+            delete(root);
+        }
+    }
+
+    // stage/protocol 순으로 돌아가며 파일 생성, 10 개마다 1 개는 다음 stage 에도 같은 API 생성
+    private static long generate(Path root, int files) throws IOException {
+        for (String stage : STAGES) {
+            for (String protocol : PROTOCOLS) {
+                Files.createDirectories(root.resolve(stage).resolve(protocol).resolve("group"));
+            }
+        }
+
+        long bytes = 0;
+        for (int i = 0; i < files; i++) {
+            int stage = i % STAGES.length;
+            String protocol = PROTOCOLS[(i / STAGES.length) % PROTOCOLS.length];
+            // i 가 홀수면 i-1 과 stage 만 다르고 protocol 은 같음
+            int api = i % 10 == 9 ? i - 1 : i;
+
+            String apiName = (api % 2 == 0 ? "group/" : "") + "api" + api;
+            byte[] content = content(protocol, api, i % LARGE_FILE_EVERY == 0 ? LARGE_FILE_SIZE : 0);
+            Files.write(root.resolve(STAGES[stage]).resolve(protocol).resolve(apiName + extension(protocol)), content);
+            bytes += content.length;
+        }
+        return bytes;
+    }
+
+    private static byte[] content(String protocol, int api, int minSize) {
+        StringBuilder content = new StringBuilder();
+        do {
+            switch (protocol) {
+                case "json":
+                    content.append("{\"resultCode\":\"0000\",\"api\":\"api").append(api).append("\"}\n");
+                    break;
+                case "keyValue":
+                    content.append("&result=0000&api=api").append(api).append('\n');
+                    break;
+                default:
+                    content.append("<api").append(api).append("><RESULT>0000</RESULT></api").append(api).append(">\n");
+                    break;
+            }
+        } while (content.length() < minSize);
+        return content.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String extension(String protocol) {
+        switch (protocol) {
+            case "json": return ".json";
+            case "keyValue": return ".txt";
+            default: return ".xml";
+        }
+    }
+
+    private static void delete(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
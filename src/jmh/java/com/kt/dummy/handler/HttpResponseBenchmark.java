@@ -0,0 +1,95 @@
+package com.kt.dummy.handler;
+
+import com.kt.dummy.benchmark.BenchmarkSupport;
+import com.kt.dummy.manager.ResponseTemplate;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.*;
+import io.netty.util.CharsetUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP 응답 생성 + 인코딩 비용 비교 (80/443 공통 경로, TLS 제외)
+ *
+ * legacy    : 요청마다 copiedBuffer + DefaultFullHttpResponse 헤더 3개 set (문자열 연결 포함)
+ * prototype : 템플릿 인코딩 버퍼 duplicate + 공유 프로토타입 헤더
+ *
+ * 실행) java -jar target/dummy-server-benchmarks.jar HttpResponseBenchmark -prof gc
+ * gc.alloc.rate.norm 값이 요청당 할당 바이트이다.
+ *
+ * @author 고재원
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HttpResponseBenchmark {
+    private static final String JSON_TEMPLATE = "{\n"
+            + "    \"resultcode\": \"0000\",\n"
+            + "    \"resultmsg\": \"성공\",\n"
+            + "    \"userId\": \"user0001\",\n"
+            + "    \"userName\": \"테스트사용자\",\n"
+            + "    \"timestamp\": \"20250710123456\"\n"
+            + "}";
+
+    @Param({"INFO"})
+    public String logLevel;
+
+    private EmbeddedChannel channel;
+    private ResponseTemplate template;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.setLogLevel(logLevel);
+        channel = new EmbeddedChannel(new HttpResponseEncoder());
+        template = ResponseTemplate.of(JSON_TEMPLATE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Benchmark
+    public void legacy(Blackhole bh) {
+        String contentType = "application/json";
+        FullHttpResponse response = new DefaultFullHttpResponse(
+                HttpVersion.HTTP_1_1,
+                HttpResponseStatus.OK,
+                Unpooled.copiedBuffer(JSON_TEMPLATE, CharsetUtil.UTF_8)
+        );
+        response.headers().set(HttpHeaderNames.CONTENT_TYPE, contentType + "; charset=UTF-8");
+        response.headers().set(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes());
+        response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+        write(response, bh);
+    }
+
+    @Benchmark
+    public void prototype(Blackhole bh) {
+        HttpResponsePrototype prototype = template.attachment(
+                HttpResponsePrototype.class, "json", HttpResponsePrototype::new);
+        FullHttpResponse response = new DefaultFullHttpResponse(
+                HttpVersion.HTTP_1_1,
+                HttpResponseStatus.OK,
+                template.retainedBuffer(channel.alloc()),
+                prototype.headers(),
+                EmptyHttpHeaders.INSTANCE
+        );
+        write(response, bh);
+    }
+
+    private void write(FullHttpResponse response, Blackhole bh) {
+        channel.writeOutbound(response);
+        ByteBuf out;
+        while ((out = channel.readOutbound()) != null) {
+            bh.consume(out.readableBytes());
+            out.release();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.kt.dummy.handler;
+
+import com.kt.dummy.benchmark.BenchmarkSupport;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.CharsetUtil;
+import org.openjdk.jmh.annotations.*;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * scap XML 전문 API명(루트 엘리먼트) 추출 비용 비교 (getVasOfAllSubscpn 샘플)
+ *
+ * legacy  : 본문 전체 String 변환 + trim + substring, '<' 로 시작하지 않으면 요청마다 DOM 파싱
+ * current : XmlRootElementExtractor (바이트 스캔 + 인터닝, 필요 시 StAX)
+ *
+ * payload
+ *  plain  : 선언 없는 기본 요청
+ *  prolog : XML 선언 + 주석 + 네임스페이스 접두어 (legacy 는 "?xml" 을 API명으로 반환)
+ *  bom    : UTF-8 BOM 으로 시작 (legacy 는 DOM 경로)
+ *
+ * 실행) java -jar target/dummy-server-benchmarks.jar XmlRootElementBenchmark -prof gc
+ * gc.alloc.rate.norm 값이 요청당 할당 바이트이다.
+ *
+ * @author 고재원
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class XmlRootElementBenchmark {
+    private static final String PROLOG_REQUEST = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<!-- scap getVasOfAllSubscpn -->\n"
+            + "<ns1:getVasOfAllSubscpn xmlns:ns1=\"http://scap.kt.com/vas\">"
+            + "<TRANSACTIONID>5b7b38e2-e94d-4f6f-b014-b6e771b9aeb0</TRANSACTIONID>"
+            + "<SEQUENCENO>5</SEQUENCENO><CTN>01012345678</CTN><SVCCODE>VAS</SVCCODE></ns1:getVasOfAllSubscpn>";
+
+    @Param({"plain", "prolog", "bom"})
+    public String payload;
+
+    @Param({"INFO"})
+    public String logLevel;
+
+    private ByteBuf body;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.setLogLevel(logLevel);
+        String xml;
+        switch (payload) {
+            case "prolog": xml = PROLOG_REQUEST; break;
+            case "bom": xml = "\uFEFF" + BenchmarkSupport.XML_REQUEST; break;
+            default: xml = BenchmarkSupport.XML_REQUEST; break;
+        }
+        byte[] bytes = xml.getBytes(CharsetUtil.UTF_8);
+        body = Unpooled.directBuffer(bytes.length).writeBytes(bytes);
+    }
+
+    @TearDown
+    public void tearDown() {
+        body.release();
+    }
+
+    @Benchmark
+    public String legacy() {
+        return legacyExtract(body.toString(CharsetUtil.UTF_8));
+    }
+
+    @Benchmark
+    public String current() {
+        return XmlRootElementExtractor.extract(body);
+    }
+
+    // 기존 XmlProtocolHandler.extractApiNameFromXml
+    private static String legacyExtract(String xml) {
+        try {
+            String rootElement = xml.trim();
+            if (rootElement.startsWith("<") && rootElement.contains(">")) {
+                int start = rootElement.indexOf('<') + 1;
+                int end = rootElement.indexOf('>', start);
+                if (end > start) {
+                    String tagName = rootElement.substring(start, end);
+                    int spaceIndex = tagName.indexOf(' ');
+                    if (spaceIndex > 0) {
+                        tagName = tagName.substring(0, spaceIndex);
+                    }
+                    return tagName;
+                }
+            }
+
+            Document doc = DocumentBuilderFactory.newInstance()
+                    .newDocumentBuilder()
+                    .parse(new InputSource(new StringReader(xml)));
+            return doc.getDocumentElement().getNodeName();
+
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.kt.dummy.manager;
+
+import com.kt.dummy.benchmark.BenchmarkSupport;
+import com.kt.dummy.util.KeyValueScanner;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.CharsetUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 매칭 규칙 수에 따른 매칭 비용 비교
+ *
+ * capri 요청(opcode=406, ctn=...) 에 대해 ctn 규칙 ruleCount 개와 (ctn, svc) 규칙 1개를 컴파일하고,
+ * 매칭 / 매칭 실패 비용을 측정한다. 규칙 수가 늘어도 필드 조합 수는 같으므로 비용이 같아야 한다.
+ *
+ * 실행) java -jar target/dummy-server-benchmarks.jar RuleSetBenchmark -prof gc
+ *
+ * @author 고재원
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RuleSetBenchmark {
+
+    @Param({"10", "100000"})
+    public int ruleCount;
+
+    private RuleSet rules;
+    private ByteBuf matched;
+    private ByteBuf unmatched;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.setLogLevel("WARN");
+
+        Map<String, ResponseTemplate> templates = new HashMap<>();
+        templates.put("OPCODE_406_RULE", ResponseTemplate.of("response=s&code=001&RT=0&RT_MSG=RULE"));
+        Map<String, Map<String, ResponseTemplate>> responseMaps = new HashMap<>();
+        responseMaps.put("keyValue", templates);
+
+        List<RequestRule> definitions = new ArrayList<>(ruleCount + 1);
+        for (int i = 0; i < ruleCount; i++) {
+            definitions.add(new RequestRule("ctn-" + i, "keyValue", "406",
+                    Collections.singletonMap("ctn", List.of(String.format("010%08d", i))), "OPCODE_406_RULE"));
+        }
+        Map<String, List<String>> conditions = new HashMap<>();
+        conditions.put("ctn", List.of("01099999999"));
+        conditions.put("svc", List.of("capri"));
+        definitions.add(new RequestRule("ctn-svc", "keyValue", "406", conditions, "OPCODE_406_RULE"));
+        rules = RuleSet.compile(definitions, responseMaps, new ConcurrentHashMap<>());
+
+        matched = buffer("&opcode=406&ctn=01000000007&transaction_id=20250710123456000001&svc=capri");
+        unmatched = buffer("&opcode=406&ctn=01199999999&transaction_id=20250710123456000001&svc=capri");
+    }
+
+    @TearDown
+    public void tearDown() {
+        matched.release();
+        unmatched.release();
+    }
+
+    @Benchmark
+    public void match(Blackhole bh) {
+        bh.consume(rules.match("keyValue", "406", name -> KeyValueScanner.value(matched, name)));
+    }
+
+    @Benchmark
+    public void miss(Blackhole bh) {
+        bh.consume(rules.match("keyValue", "406", name -> KeyValueScanner.value(unmatched, name)));
+    }
+
+    private static ByteBuf buffer(String body) {
+        byte[] bytes = body.getBytes(CharsetUtil.UTF_8);
+        return Unpooled.directBuffer(bytes.length).writeBytes(bytes);
+    }
+}
@@ -0,0 +1,85 @@
+package com.kt.dummy.processor;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.kt.dummy.benchmark.BenchmarkSupport;
+import com.kt.dummy.processor.DelayPolicyTable.ApiKey;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청당 지연 시간 결정 비용
+ *
+ * legacy : 기존 getDelayForPort (포트 ConcurrentHashMap 조회 + 균등 난수 + DEBUG 로그 호출)
+ * table  : DelayPolicyTable.resolve + Policy.delay (API 정책 apis 개 등록)
+ * profile: table + 포트에 sine 지연 프로파일 실행 중 (nanoTime + sin)
+ *
+ * 실행) java -jar target/dummy-server-benchmarks.jar DelayLookupBenchmark
+ *
+ * @author 고재원
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DelayLookupBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(DelayLookupBenchmark.class);
+
+    @Param({"0", "100"})
+    public int apis;
+
+    private final Map<Integer, DelayConfigManager.PortDelayConfig> portConfigs = new ConcurrentHashMap<>();
+    private DelayPolicyTable table;
+    private DelayPolicyTable profiled;
+    private String apiName;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.setLogLevel("INFO");
+        portConfigs.put(18000, new DelayConfigManager.PortDelayConfig(true, 50, 150));
+
+        Map<ApiKey, LatencyDistribution> policies = new HashMap<>();
+        for (int i = 0; i < apis; i++) {
+            policies.put(new ApiKey(18000, "keyValue", "OPCODE_" + i), LatencyDistribution.uniform(100, 300));
+        }
+        DelayPolicyTable.Layer<LatencyDistribution> distributions = new DelayPolicyTable.Layer<>(
+                null, Map.of(18000, LatencyDistribution.uniform(50, 150)), policies);
+        table = DelayPolicyTable.build(distributions, DelayPolicyTable.Layer.empty());
+
+        LatencyProfile sine = LatencyProfile.fromJson(JsonNodeFactory.instance.objectNode()
+                .put("type", "sine").put("baseMs", 100).put("amplitudeMs", 80).put("periodSec", 60));
+        profiled = DelayPolicyTable.build(distributions, new DelayPolicyTable.Layer<>(null,
+                Map.of(18000, new LatencyProfile.Run("bench", 18000, null, sine)), Map.of()));
+        apiName = "OPCODE_" + (apis / 2);
+    }
+
+    @Benchmark
+    public long legacy() {
+        DelayConfigManager.PortDelayConfig config = portConfigs.get(18000);
+        if (config != null && config.enabled) {
+            long delay = config.getRandomDelay();
+            logger.debug("포트 {} 지연: {}ms (포트별 설정)", 18000, delay);
+            return delay;
+        }
+        return 0;
+    }
+
+    @Benchmark
+    public long table() {
+        DelayPolicyTable.Policy policy = table.resolve(18000, "keyValue", apiName);
+        return policy != null ? policy.delay() : 0;
+    }
+
+    @Benchmark
+    public long profile() {
+        DelayPolicyTable.Policy policy = profiled.resolve(18000, "keyValue", "OPCODE_NONE");
+        return policy != null ? policy.delay() : 0;
+    }
+}
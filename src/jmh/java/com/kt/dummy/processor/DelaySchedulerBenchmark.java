@@ -0,0 +1,135 @@
+package com.kt.dummy.processor;
+
+import com.kt.dummy.benchmark.BenchmarkSupport;
+import com.kt.dummy.processor.DelayResponseProcessor.ResponseHandler;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoop;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지연 응답 예약 비용 비교 - eventLoop.schedule vs DelayTimingWheel (JMH 가 아닌 main 실행)
+ *
+ * EventLoop 하나에서 지연 min~max ms 인 응답을 N 건 연속 예약해 대기 건수를 N 까지 쌓은 뒤
+ * 모두 만료될 때까지 기다리고 아래 값을 출력한다.
+ *  - schedule ns/op : 예약 한 건당 EventLoop 스레드 시간
+ *  - loop cpu ms    : 예약 + 만료 처리 전체의 EventLoop 스레드 CPU 시간
+ *  - late avg/max   : 만료 예정 시각 대비 실제 실행 지연
+ *  - gc             : 측정 구간 GC 횟수 / 시간
+ *
+ * java -cp target/dummy-server-benchmarks.jar com.kt.dummy.processor.DelaySchedulerBenchmark \
+ *      [건수=200000] [min ms=100] [max ms=500] [틱 ms=1]
+ *
+ * @author 고재원
+ */
+public final class DelaySchedulerBenchmark {
+
+    private DelaySchedulerBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        long minMs = args.length > 1 ? Long.parseLong(args[1]) : 100;
+        long maxMs = args.length > 2 ? Long.parseLong(args[2]) : 500;
+        long tickNanos = TimeUnit.MILLISECONDS.toNanos(args.length > 3 ? Long.parseLong(args[3]) : 1);
+        BenchmarkSupport.setLogLevel("WARN");
+
+        DefaultEventLoopGroup group = new DefaultEventLoopGroup(1);
+        try {
+            LocalAddress address = new LocalAddress("delay-bench");
+            new ServerBootstrap().group(group).channel(LocalServerChannel.class)
+                    .childHandler(new ChannelInboundHandlerAdapter()).bind(address).sync();
+            Channel channel = new Bootstrap().group(group).channel(LocalChannel.class)
+                    .handler(new ChannelInboundHandlerAdapter()).connect(address).sync().channel();
+            ChannelHandlerContext ctx = channel.pipeline().firstContext();
+
+            // 워밍업 후 측정 (JIT, 휠 배열 할당)
+            for (int round = 0; round < 3; round++) {
+                boolean measure = round == 2;
+                run("eventLoop", ctx, count, minMs, maxMs, tickNanos, measure);
+                run("timingWheel", ctx, count, minMs, maxMs, tickNanos, measure);
+            }
+            System.out.println(DelayTimingWheel.getStatistics());
+        } finally {
+            group.shutdownGracefully().sync();
+        }
+    }
+
+    private static void run(String mode, ChannelHandlerContext ctx, int count, long minMs, long maxMs,
+                            long tickNanos, boolean print) throws Exception {
+        EventLoop loop = ctx.channel().eventLoop();
+        CountDownLatch done = new CountDownLatch(count);
+        long[] late = new long[2];
+        ResponseHandler<long[]> handler = (context, deadline) -> {
+            long lateNanos = System.nanoTime() - deadline[0];
+            late[0] += lateNanos;
+            late[1] = Math.max(late[1], lateNanos);
+            done.countDown();
+        };
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long[] loopThread = new long[1];
+        long gcCount = gcCount();
+        long gcTime = gcTime();
+        long[] scheduleNanos = new long[1];
+        loop.submit(() -> {
+            loopThread[0] = Thread.currentThread().getId();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                long delayMs = random.nextLong(minMs, maxMs + 1);
+                long[] deadline = {System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMs)};
+                if (mode.equals("eventLoop")) {
+                    loop.schedule(() -> {
+                        if (ctx.channel().isActive()) {
+                            handler.handle(ctx, deadline);
+                            ctx.flush();
+                        }
+                    }, delayMs, TimeUnit.MILLISECONDS);
+                } else {
+                    DelayTimingWheel.schedule(ctx, deadline, handler, delayMs, tickNanos);
+                }
+            }
+            scheduleNanos[0] = System.nanoTime() - start;
+        }).sync();
+        long cpuStart = threads.getThreadCpuTime(loopThread[0]) - scheduleNanos[0];
+        done.await();
+        long cpu = threads.getThreadCpuTime(loopThread[0]) - cpuStart;
+
+        if (print) {
+            System.out.printf("%-12s pending=%d  schedule %,d ns/op  loop cpu %,d ms  late avg %,d us / max %,d us"
+                            + "  gc %d (%d ms)%n",
+                    mode, count, scheduleNanos[0] / count, TimeUnit.NANOSECONDS.toMillis(cpu),
+                    late[0] / count / 1000, late[1] / 1000, gcCount() - gcCount, gcTime() - gcTime);
+        }
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += gc.getCollectionCount();
+        }
+        return total;
+    }
+
+    private static long gcTime() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += gc.getCollectionTime();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,134 @@
+package com.kt.dummy.processor;
+
+import com.kt.dummy.benchmark.BenchmarkSupport;
+import com.kt.dummy.manager.RequestFields;
+import com.kt.dummy.manager.ResponseTemplate;
+import com.kt.dummy.processor.RequestTemplateValues.Style;
+import com.kt.dummy.util.KeyValueScanner;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.util.CharsetUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 응답 전문 플레이스홀더 치환 + 전송 버퍼 생성 비용 비교
+ *
+ * legacy   : 기존 ResponseFormatter.formatWithVariables (정규식 + 플레이스홀더마다 String.replace) 후 UTF-8 인코딩
+ * compiled : CompiledTemplate.render (로드 시 나눠 둔 구간을 정확한 크기의 풀링 버퍼에 바로 씀)
+ * bound    : compiled + RequestTemplateValues (내장 생성기 + keyValue 요청 본문에서 참조 키만 조회)
+ *
+ * template
+ *  soap   : signUpForSIMService (약 1KB, 플레이스홀더 3개)
+ *  json   : getUserInfo (플레이스홀더 2개)
+ *  static : getVasOfAllSubscpn (플레이스홀더 없음, compiled 는 원본 버퍼 duplicate)
+ *
+ * 실행) java -jar target/dummy-server-benchmarks.jar TemplateRenderBenchmark -prof gc
+ *
+ * @author 고재원
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TemplateRenderBenchmark {
+    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\$\\{([^}]+)\\}");
+
+    @Param({"soap", "json", "static"})
+    public String template;
+
+    private final ByteBufAllocator alloc = PooledByteBufAllocator.DEFAULT;
+    private final Map<String, String> variables = new HashMap<>();
+    private String content;
+    private ByteBuf encoded;
+    private CompiledTemplate compiled;
+    private ByteBuf request;
+    private RequestFields fields;
+    private ResponseTemplate responseTemplate;
+
+    @Setup
+    public void setup() throws IOException {
+        BenchmarkSupport.setLogLevel("INFO");
+        String path;
+        switch (template) {
+            case "soap": path = "/response/stage1/soap/signUpForSIMService.xml"; break;
+            case "json": path = "/response/stage1/json/getUserInfo.json"; break;
+            default: path = "/response/stage1/xml/getVasOfAllSubscpn.xml"; break;
+        }
+        try (InputStream in = getClass().getResourceAsStream(path)) {
+            content = new String(in.readAllBytes(), CharsetUtil.UTF_8);
+        }
+
+        variables.put("globalNo", "20250710123456000001");
+        variables.put("date", "20250710");
+        variables.put("time", "123456");
+        variables.put("userId", "user01");
+        variables.put("timestamp", "1752118496000");
+
+        byte[] bytes = content.getBytes(CharsetUtil.UTF_8);
+        encoded = Unpooled.directBuffer(bytes.length).writeBytes(bytes).asReadOnly();
+        compiled = CompiledTemplate.compile(encoded);
+
+        byte[] requestBytes = "&opcode=406&ctn=01012345678&transaction_id=T0001&globalNo=20250710123456000001&user_id=user01"
+                .getBytes(CharsetUtil.UTF_8);
+        request = Unpooled.directBuffer(requestBytes.length).writeBytes(requestBytes);
+        fields = name -> KeyValueScanner.value(request, name);
+        responseTemplate = ResponseTemplate.of(content);
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoded.release();
+        request.release();
+    }
+
+    @Benchmark
+    public int legacy() {
+        ByteBuf out = ByteBufUtil.writeUtf8(alloc, legacyFormat(content, variables));
+        int size = out.readableBytes();
+        out.release();
+        return size;
+    }
+
+    @Benchmark
+    public int compiled() {
+        ByteBuf out = compiled.isStatic() ? encoded.retainedDuplicate() : compiled.render(alloc, variables::get);
+        int size = out.readableBytes();
+        out.release();
+        return size;
+    }
+
+    @Benchmark
+    public int bound() {
+        TemplateValues values = RequestTemplateValues.bind(responseTemplate, Style.KEY_VALUE, "keyValue", fields, false);
+        ByteBuf out = responseTemplate.render(alloc, values);
+        int size = out.readableBytes();
+        out.release();
+        return size;
+    }
+
+    // 기존 ResponseFormatter.formatWithVariables (로그 제외)
+    private static String legacyFormat(String template, Map<String, String> variables) {
+        String result = template;
+        Matcher matcher = PLACEHOLDER_PATTERN.matcher(template);
+        while (matcher.find()) {
+            String value = variables.get(matcher.group(1));
+            if (value != null) {
+                result = result.replace(matcher.group(0), value);
+            }
+        }
+        return result;
+    }
+}
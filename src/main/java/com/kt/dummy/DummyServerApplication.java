@@ -1,5 +1,6 @@
 package com.kt.dummy;
 
+import com.kt.dummy.manager.ResponseDirectoryWatcher;
 import com.kt.dummy.manager.ResponseMapManager;
 import com.kt.dummy.server.MultiProtocolServer;
 import com.kt.dummy.server.ServerConfig;
@@ -24,6 +25,7 @@ public class DummyServerApplication {
             // 2. 응답 전문 맵 초기화
             ResponseMapManager.getInstance().initialize();
             logger.info("응답 전문 맵 초기화 완료");
+            ResponseDirectoryWatcher.getInstance().start(config);
             
             // 3. 멀티 프로토콜 서버 시작
             MultiProtocolServer server = new MultiProtocolServer(config);
@@ -32,6 +34,7 @@ public class DummyServerApplication {
             // 4. Shutdown Hook 등록
             Runtime.getRuntime().addShutdownHook(new Thread(() -> {
                 logger.info("=== 더미 서버 종료 중 ===");
+                ResponseDirectoryWatcher.getInstance().shutdown();
                 server.shutdown();
                 logger.info("=== 더미 서버 종료 완료 ===");
             }));
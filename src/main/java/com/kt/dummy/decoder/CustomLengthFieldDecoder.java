@@ -1,13 +1,12 @@
 package com.kt.dummy.decoder;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
-import io.netty.handler.codec.CorruptedFrameException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -25,6 +24,9 @@ import java.util.List;
  * 본문 = xml or &key=value
  * 따라서 헤더로부터 바디 길이를 찾아서 바디를 읽는다.
  *
+ * 헤더는 ByteBuf 에서 직접 비교/파싱하며 요청당 byte[] / String 을 만들지 않는다.
+ * 헤더가 깨진 경우 예외를 던지지 않고 다음 "data_length=" 위치까지 건너뛰어 재동기화한다.
+ *
  * @author 고재원
  * @date   2025.07.10
  */
@@ -35,80 +37,113 @@ public class CustomLengthFieldDecoder extends ByteToMessageDecoder {
     private static final int HEADER_LENGTH = 17;
     private static final int LENGTH_FIELD_OFFSET = 12; // "data_length=" 다음 위치
     private static final int LENGTH_FIELD_LENGTH = 5;  // "00000" 형식
+    private static final byte SEPARATOR = '/';
 
-    @Override
-    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
-        try {
-            // 헤더 + 구분자까지 읽을 수 있는지 확인
-            if (in.readableBytes() < HEADER_LENGTH + 1) {
-                return; // 더 많은 데이터 필요
-            }
+    // "data_length=" 접두어 (ASCII)
+    static final byte[] HEADER_PREFIX = {
+            'd', 'a', 't', 'a', '_', 'l', 'e', 'n', 'g', 't', 'h', '='
+    };
 
-            // 현재 위치 마킹
-            in.markReaderIndex();
+    // 재동기화 과정에서 버린 바이트 수 (채널 단위)
+    private long discardedBytes;
 
-            // 헤더만 읽기 (17바이트)
-            byte[] headerBytes = new byte[HEADER_LENGTH];
-            in.readBytes(headerBytes);
-            String header = new String(headerBytes, StandardCharsets.UTF_8);
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+        // 헤더 + 구분자까지 읽을 수 있는지 확인
+        if (in.readableBytes() < HEADER_LENGTH + 1) {
+            return; // 더 많은 데이터 필요
+        }
 
-            // 구분자 읽기
-            byte separator = in.readByte();
+        int headerIndex = in.readerIndex();
+        int bodyLength = parseHeader(in, headerIndex);
+        if (bodyLength < 0) {
+            resync(ctx, in, headerIndex);
+            return;
+        }
 
-            logger.debug("수신 헤더: {}", header);
-            logger.debug("구분자: {}", (char)separator);
+        // 본문 길이가 0이면 빈 프레임 반환
+        if (bodyLength == 0) {
+            in.skipBytes(HEADER_LENGTH + 1);
+            out.add(Unpooled.EMPTY_BUFFER);
+            return;
+        }
 
-            // 구분자 검증
-            if (separator != '/') {
-                in.resetReaderIndex();
-                throw new CorruptedFrameException("잘못된 구분자: " + (char)separator + " (예상값: '/')");
-            }
+        // 실제 본문 길이 (구분자 제외)
+        int actualBodyLength = bodyLength - 1;
 
-            // 길이 필드 추출
-            if (!header.startsWith("data_length=")) {
-                in.resetReaderIndex();
-                throw new CorruptedFrameException("잘못된 헤더 형식: " + header);
-            }
+        // 본문 데이터가 충분한지 확인
+        if (in.readableBytes() < HEADER_LENGTH + 1 + actualBodyLength) {
+            return; // 더 많은 데이터 필요
+        }
+
+        // 본문 읽기
+        in.skipBytes(HEADER_LENGTH + 1);
+        out.add(in.readRetainedSlice(actualBodyLength));
+    }
 
-            String lengthStr = header.substring(LENGTH_FIELD_OFFSET, LENGTH_FIELD_OFFSET + LENGTH_FIELD_LENGTH);
-            int bodyLength;
+    /**
+     * 재동기화 과정에서 지금까지 버린 바이트 수
+     */
+    long getDiscardedBytes() {
+        return discardedBytes;
+    }
 
-            try {
-                bodyLength = Integer.parseInt(lengthStr);
-            } catch (NumberFormatException e) {
-                in.resetReaderIndex();
-                throw new CorruptedFrameException("잘못된 길이 필드: " + lengthStr);
+    /**
+     * 주어진 위치의 헤더를 검증하고 길이 필드를 파싱한다.
+     * @return 길이 필드 값, 헤더가 올바르지 않으면 -1
+     */
+    static int parseHeader(ByteBuf in, int index) {
+        for (int i = 0; i < HEADER_PREFIX.length; i++) {
+            if (in.getByte(index + i) != HEADER_PREFIX[i]) {
+                return -1;
             }
+        }
 
-            logger.debug("본문 길이: {}", bodyLength);
-
-            // 본문 길이가 0이면 빈 프레임 반환
-            if (bodyLength == 0) {
-                ByteBuf frame = ctx.alloc().buffer(0);
-                out.add(frame);
-                return;
+        int value = 0;
+        for (int i = 0; i < LENGTH_FIELD_LENGTH; i++) {
+            int digit = in.getByte(index + LENGTH_FIELD_OFFSET + i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
             }
+            value = value * 10 + digit;
+        }
 
-            // 실제 본문 길이 (구분자 제외)
-            int actualBodyLength = bodyLength - 1;
+        if (in.getByte(index + HEADER_LENGTH) != SEPARATOR) {
+            return -1;
+        }
+        return value;
+    }
 
-            // 본문 데이터가 충분한지 확인
-            if (in.readableBytes() < actualBodyLength) {
-                in.resetReaderIndex();
-                return; // 더 많은 데이터 필요
-            }
+    /**
+     * 깨진 헤더 이후의 다음 "data_length=" 후보 위치까지 건너뛴다.
+     * 버퍼 끝에 걸친 접두어 일부도 후보로 남기며, 후보가 없으면 모두 버린다.
+     */
+    private void resync(ChannelHandlerContext ctx, ByteBuf in, int headerIndex) {
+        int from = headerIndex + 1;
+        int to = in.writerIndex();
+        int next = in.indexOf(from, to, HEADER_PREFIX[0]);
+        while (next >= 0 && !matchesPrefix(in, next, to)) {
+            next = in.indexOf(next + 1, to, HEADER_PREFIX[0]);
+        }
 
-            // 본문 읽기
-            ByteBuf frame = in.readRetainedSlice(actualBodyLength);
-            out.add(frame);
+        int skip = next >= 0 ? next - headerIndex : in.readableBytes();
 
-            logger.debug("프레임 디코딩 완료: 헤더 {}바이트, 구분자 1바이트, 본문 {}바이트",
-                    HEADER_LENGTH, actualBodyLength);
+        in.skipBytes(skip);
+        discardedBytes += skip;
+        logger.warn("잘못된 프레임 헤더, {} 바이트 건너뜀 (누적 {} 바이트): {}",
+                skip, discardedBytes, ctx.channel().remoteAddress());
+    }
 
-        } catch (Exception e) {
-            logger.error("프레임 디코딩 중 오류", e);
-            in.resetReaderIndex();
-            throw e;
+    /**
+     * index 위치부터 (버퍼 끝까지 가능한 범위 내에서) 접두어와 일치하는지 확인
+     */
+    private static boolean matchesPrefix(ByteBuf in, int index, int limit) {
+        int length = Math.min(HEADER_PREFIX.length, limit - index);
+        for (int i = 0; i < length; i++) {
+            if (in.getByte(index + i) != HEADER_PREFIX[i]) {
+                return false;
+            }
         }
+        return true;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,144 @@
+package com.kt.dummy.decoder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageEncoder;
+import io.netty.handler.codec.TooLongFrameException;
+
+import java.util.List;
+
+/**
+ * data_length 프레임 인코더 (scap/capri 응답용)
+ *
+ * 핸들러가 본문 ByteBuf 를 write 하면 "data_length=NNNNN/" 헤더를 별도의 풀링 버퍼로 만들어
+ * 본문 앞에 붙인다. 본문은 복사하지 않고 그대로 (retain 하여) 전달한다.
+ *
+ * 길이 필드 값 = 본문 바이트 수 + 1 (구분자 포함, CustomLengthFieldDecoder 와 동일 규칙)
+ *
+ * @author 고재원
+ */
+@ChannelHandler.Sharable
+public class DataLengthFrameEncoder extends MessageToMessageEncoder<ByteBuf> {
+    public static final DataLengthFrameEncoder INSTANCE = new DataLengthFrameEncoder();
+
+    // "data_length=" + 5자리 + "/"
+    public static final int HEADER_LENGTH = 18;
+    private static final int MAX_LENGTH_FIELD = 99999;
+
+    // 00 ~ 99 두 자리 ASCII 테이블
+    private static final byte[] DIGIT_PAIRS = new byte[200];
+
+    // KeyValue 응답 접두어
+    private static final byte[] TRANSACTION_ID_PREFIX = {
+            't', 'r', 'a', 'n', 's', 'a', 'c', 't', 'i', 'o', 'n', '_', 'i', 'd', '='
+    };
+    private static final byte DEFAULT_TRANSACTION_ID = '1';
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            DIGIT_PAIRS[i * 2] = (byte) ('0' + i / 10);
+            DIGIT_PAIRS[i * 2 + 1] = (byte) ('0' + i % 10);
+        }
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, ByteBuf body, List<Object> out) {
+        ByteBuf header = ctx.alloc().buffer(HEADER_LENGTH);
+        writeHeader(header, body.readableBytes());
+        out.add(header);
+        out.add(body.retain());
+    }
+
+    /**
+     * "data_length=NNNNN/" 헤더 쓰기
+     * @param out 대상 버퍼
+     * @param bodyBytes 본문 바이트 수 (구분자 제외)
+     */
+    public static void writeHeader(ByteBuf out, int bodyBytes) {
+        int value = bodyBytes + 1;
+        if (value > MAX_LENGTH_FIELD) {
+            throw new TooLongFrameException("응답 본문이 너무 김: " + bodyBytes + " bytes");
+        }
+
+        out.ensureWritable(HEADER_LENGTH);
+        out.writeBytes(CustomLengthFieldDecoder.HEADER_PREFIX);
+
+        int high = value / 10000;             // 첫째 자리
+        int mid = (value / 100) % 100;        // 둘째, 셋째 자리
+        int low = value % 100;                // 넷째, 다섯째 자리
+        out.writeByte('0' + high);
+        out.writeBytes(DIGIT_PAIRS, mid * 2, 2);
+        out.writeBytes(DIGIT_PAIRS, low * 2, 2);
+        out.writeByte('/');
+    }
+
+    /**
+     * KeyValue 응답 본문 (transaction_id=TID&content) 을 하나의 풀링 버퍼로 생성
+     * @param transactionId 요청의 transaction_id (없으면 "1")
+     * @param content 응답 전문
+     */
+    public static ByteBuf keyValueBody(ByteBufAllocator alloc, CharSequence transactionId, CharSequence content) {
+        int tidBytes = transactionId != null ? ByteBufUtil.utf8Bytes(transactionId) : 1;
+        int contentBytes = ByteBufUtil.utf8Bytes(content);
+        ByteBuf buf = alloc.buffer(TRANSACTION_ID_PREFIX.length + tidBytes + 1 + contentBytes);
+
+        buf.writeBytes(TRANSACTION_ID_PREFIX);
+        if (transactionId != null) {
+            ByteBufUtil.reserveAndWriteUtf8(buf, transactionId, tidBytes);
+        } else {
+            buf.writeByte(DEFAULT_TRANSACTION_ID);
+        }
+        buf.writeByte('&');
+        ByteBufUtil.reserveAndWriteUtf8(buf, content, contentBytes);
+        return buf;
+    }
+
+    /**
+     * KeyValue 응답 본문을 복사 없이 조립 (transaction_id 접두어 버퍼 + 인코딩된 전문)
+     * @param transactionId 요청의 transaction_id 슬라이스 (없으면 null), 소유권 이전
+     * @param content 인코딩된 응답 전문, 소유권 이전
+     */
+    public static ByteBuf keyValueBody(ByteBufAllocator alloc, ByteBuf transactionId, ByteBuf content) {
+        int tidBytes = transactionId != null ? transactionId.readableBytes() : 1;
+        ByteBuf prefix = alloc.buffer(TRANSACTION_ID_PREFIX.length + tidBytes + 1);
+
+        prefix.writeBytes(TRANSACTION_ID_PREFIX);
+        if (transactionId != null) {
+            prefix.writeBytes(transactionId, transactionId.readerIndex(), tidBytes);
+            transactionId.release();
+        } else {
+            prefix.writeByte(DEFAULT_TRANSACTION_ID);
+        }
+        prefix.writeByte('&');
+        return compose(alloc, prefix, content);
+    }
+
+    /**
+     * KeyValue 응답 본문을 복사 없이 조립 (transaction_id 접두어 버퍼 + 인코딩된 전문)
+     * @param transactionId 요청의 transaction_id (없으면 "1")
+     * @param content 인코딩된 응답 전문, 소유권 이전
+     */
+    public static ByteBuf keyValueBody(ByteBufAllocator alloc, CharSequence transactionId, ByteBuf content) {
+        int tidBytes = transactionId != null ? ByteBufUtil.utf8Bytes(transactionId) : 1;
+        ByteBuf prefix = alloc.buffer(TRANSACTION_ID_PREFIX.length + tidBytes + 1);
+
+        prefix.writeBytes(TRANSACTION_ID_PREFIX);
+        if (transactionId != null) {
+            ByteBufUtil.reserveAndWriteUtf8(prefix, transactionId, tidBytes);
+        } else {
+            prefix.writeByte(DEFAULT_TRANSACTION_ID);
+        }
+        prefix.writeByte('&');
+        return compose(alloc, prefix, content);
+    }
+
+    private static ByteBuf compose(ByteBufAllocator alloc, ByteBuf prefix, ByteBuf content) {
+        CompositeByteBuf composite = alloc.compositeBuffer(2);
+        composite.addComponents(true, prefix, content);
+        return composite;
+    }
+}
@@ -0,0 +1,40 @@
+package com.kt.dummy.handler;
+
+import io.netty.handler.codec.DateFormatter;
+import io.netty.util.AsciiString;
+
+import java.util.Date;
+
+/**
+ * HTTP Date 헤더 캐시 - 초 단위로 한 번만 포맷팅
+ * @author 고재원
+ */
+final class HttpDateCache {
+    private static volatile Entry current = new Entry(System.currentTimeMillis() / 1000);
+
+    private HttpDateCache() {
+    }
+
+    /**
+     * 현재 초의 Date 헤더 값 (같은 초 동안은 동일 인스턴스 반환)
+     */
+    static AsciiString now() {
+        long second = System.currentTimeMillis() / 1000;
+        Entry entry = current;
+        if (entry.second != second) {
+            entry = new Entry(second);
+            current = entry;
+        }
+        return entry.value;
+    }
+
+    private static final class Entry {
+        final long second;
+        final AsciiString value;
+
+        Entry(long second) {
+            this.second = second;
+            this.value = AsciiString.cached(DateFormatter.format(new Date(second * 1000)));
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package com.kt.dummy.handler;
 
 import com.kt.dummy.manager.ResponseMapManager;
+import com.kt.dummy.manager.ResponseRoute;
+import com.kt.dummy.manager.ResponseTemplate;
+import com.kt.dummy.manager.RuleSet;
 import com.kt.dummy.processor.DelayResponseProcessor;
 import com.kt.dummy.processor.DelayConfigManager;
+import com.kt.dummy.processor.RequestTemplateValues;
+import com.kt.dummy.processor.RequestTemplateValues.Style;
+import com.kt.dummy.processor.TemplateValues;
 import com.kt.dummy.util.ProtocolUtil;
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.http.*;
@@ -14,108 +22,122 @@ import org.slf4j.LoggerFactory;
 
 /**
  * HTTP/HTTPS 프로토콜 핸들러
+ *
+ * HTTP/1.1 연결과 HTTP/2 스트림 채널(h2, h2c) 에서 같은 인스턴스를 공유한다.
+ * HTTP/1.1 파이프라이닝 응답 순서는 HttpResponseSequencer 가 보장한다.
+ * 응답 전문은 요청 경로와 Content-Type 으로 HttpRouteTable 에서 조회한다.
+ * 요청 매칭 규칙이 있으면 경로/쿼리/헤더/본문 필드로 규칙을 먼저 적용한다.
+ * 응답 전문의 ${name} 은 쿼리 파라미터 -> JSON 본문 -> XML 엘리먼트 순으로 찾은 값으로 채운다.
+ *
  * @author 고재원
  */
+@ChannelHandler.Sharable
 public class HttpProtocolHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
     private static final Logger logger = LoggerFactory.getLogger(HttpProtocolHandler.class);
+    public static final HttpProtocolHandler INSTANCE = new HttpProtocolHandler();
+
+    private HttpProtocolHandler() {
+    }
 
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) throws Exception {
+        int sequence = HttpResponseSequencer.nextSequence(ctx);
         try {
             String uri = request.uri();
             String method = request.method().name();
 
             logger.debug("HTTP 요청: {} {}", method, uri);
 
-            // API명 추출 (URI에서)
-            String apiName = extractApiNameFromUri(uri);
-
-            // Content-Type으로 프로토콜 판별
-            String contentType = request.headers().get(HttpHeaderNames.CONTENT_TYPE);
-            String protocol = determineProtocolFromContentType(contentType);
+            // Content-Type으로 프로토콜 판별 후 경로로 응답 전문 조회 (stage 무관)
+            CharSequence contentType = request.headers().get(HttpHeaderNames.CONTENT_TYPE);
+            String protocol = ProtocolUtil.determineProtocolFromContentType(contentType);
+            ResponseMapManager manager = ResponseMapManager.getInstance();
+            RuleSet rules = manager.getRules();
+            HttpRequestFields fields = new HttpRequestFields(request);
+            DelayConfigManager delays = DelayConfigManager.getInstance();
+            // 요청의 API명 (경로의 마지막 세그먼트) 은 규칙 또는 API 지연 정책이 있을 때만 만든다
+            String apiName = rules.hasRules(protocol) || delays.hasApiPolicies()
+                    ? ProtocolUtil.extractApiNameFromUri(uri) : null;
+            ResponseRoute route = null;
+            if (rules.hasRules(protocol)) {
+                route = rules.match(protocol, apiName, fields);
+            }
+            if (route == null) {
+                route = manager.getHttpRoutes().route(uri, protocol);
+            }
 
             // 포트 로깅 (디버깅용)
             int port = ProtocolUtil.getPortFromChannel(ctx.channel());
-            logger.debug("요청 수신 - 포트: {}, 프로토콜: {}, API: {}", port, protocol, apiName);
-
-            // 응답 전문 조회 (stage 무관)
-            String responseContent = ResponseMapManager.getInstance()
-                    .getResponse(protocol, apiName);
 
-            if (responseContent == null) {
-                logger.warn("응답 전문 없음: protocol={}, api={}", protocol, apiName);
-                sendHttpErrorResponse(ctx, HttpResponseStatus.NOT_FOUND,
-                        "No response template found for API: " + apiName);
+            if (route == null) {
+                String requested = apiName != null ? apiName : ProtocolUtil.extractApiNameFromUri(uri);
+                logger.warn("응답 전문 없음: protocol={}, api={}", protocol, requested);
+                sendHttpErrorResponse(ctx, sequence, HttpResponseStatus.NOT_FOUND,
+                        "No response template found for API: " + requested);
                 return;
             }
-
-            // 지연 응답 처리 (동적 지연 적용)
-            long delay = DelayConfigManager.getInstance().getDelayForPort(port);
-            DelayResponseProcessor.processWithDelay(ctx, responseContent, (context, content) -> {
-                sendHttpResponse(context, content, protocol);
+            logger.debug("요청 수신 - 포트: {}, 프로토콜: {}, API: {}", port, protocol, route.getApiName());
+
+            // 지연 응답 처리 (API 정책 → 포트 설정 → 전역 설정, API 정책은 선택된 응답 전문이 아닌 요청 경로 기준)
+            boolean keepAlive = HttpUtil.isKeepAlive(request);
+            // 플레이스홀더 값은 참조하는 필드만 조회 (지연 응답이면 요청 해제 전에 확정)
+            long delay = delays.getDelay(port, protocol, apiName);
+            TemplateValues values = RequestTemplateValues.bind(route.getTemplate(), Style.HTTP, protocol, fields, delay > 0);
+            DelayResponseProcessor.processWithDelay(ctx, route.getTemplate(), (context, content) -> {
+                sendHttpResponse(context, sequence, content, values, protocol, keepAlive);
             }, delay);
 
         } catch (Exception e) {
             logger.error("HTTP 처리 중 오류", e);
-            sendHttpErrorResponse(ctx, HttpResponseStatus.INTERNAL_SERVER_ERROR, "Internal server error");
+            sendHttpErrorResponse(ctx, sequence, HttpResponseStatus.INTERNAL_SERVER_ERROR, "Internal server error");
         }
     }
 
-    private String extractApiNameFromUri(String uri) {
-        // URI에서 API명 추출 (예: /api/getUserInfo -> getUserInfo)
-        if (uri.startsWith("/")) {
-            uri = uri.substring(1);
-        }
-
-        String[] segments = uri.split("/");
-        if (segments.length > 0) {
-            String lastSegment = segments[segments.length - 1];
-            // 쿼리 파라미터 제거
-            int queryIndex = lastSegment.indexOf('?');
-            if (queryIndex > 0) {
-                lastSegment = lastSegment.substring(0, queryIndex);
+    // 응답 생성에 실패해도 순번을 비우지 않도록 500 응답을 같은 순번으로 쓴다 (뒤 순번 응답이 보관된 채 남지 않게)
+    private void sendHttpResponse(ChannelHandlerContext ctx, int sequence, ResponseTemplate content,
+                                  TemplateValues values, String protocol, boolean keepAlive) {
+        ByteBuf body = null;
+        FullHttpResponse response;
+        try {
+            // 템플릿별 프로토타입 헤더 공유 (본문은 인코딩 버퍼의 duplicate 또는 값을 채운 버퍼)
+            HttpResponsePrototype prototype = content.attachment(
+                    HttpResponsePrototype.class, protocol, HttpResponsePrototype::new);
+            body = content.render(ctx.alloc(), values);
+
+            // 연결 종료 응답은 HttpServerKeepAliveHandler 가 헤더를 수정하므로 공유 헤더 대신 복사본 사용
+            // 플레이스홀더가 있으면 본문 길이가 요청마다 달라 Content-Length 를 다시 설정
+            HttpHeaders headers = prototype.headers();
+            if (!keepAlive || !content.isStatic()) {
+                headers = headers.copy();
+                if (!keepAlive) {
+                    headers.set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+                }
+                if (!content.isStatic()) {
+                    headers.setInt(HttpHeaderNames.CONTENT_LENGTH, body.readableBytes());
+                }
             }
-            return lastSegment;
-        }
-
-        return "default";
-    }
 
-    private String determineProtocolFromContentType(String contentType) {
-        if (contentType == null) return "json";
-
-        contentType = contentType.toLowerCase();
-        if (contentType.contains("xml")) {
-            if (contentType.contains("soap")) {
-                return "soap";
+            response = new DefaultFullHttpResponse(
+                    HttpVersion.HTTP_1_1,
+                    HttpResponseStatus.OK,
+                    body,
+                    headers,
+                    EmptyHttpHeaders.INSTANCE
+            );
+        } catch (Exception e) {
+            if (body != null) {
+                body.release();
             }
-            return "xml";
-        } else if (contentType.contains("json")) {
-            return "json";
-        } else if (contentType.contains("multipart")) {
-            return "json"; // multipart는 json으로 처리
+            logger.error("HTTP 응답 생성 중 오류", e);
+            sendHttpErrorResponse(ctx, sequence, HttpResponseStatus.INTERNAL_SERVER_ERROR, "Internal server error");
+            return;
         }
 
-        return "json"; // 기본값
+        HttpResponseSequencer.write(ctx, sequence, response);
     }
 
-    private void sendHttpResponse(ChannelHandlerContext ctx, String content, String protocol) {
-        String contentType = getContentTypeForProtocol(protocol);
-
-        FullHttpResponse response = new DefaultFullHttpResponse(
-                HttpVersion.HTTP_1_1,
-                HttpResponseStatus.OK,
-                Unpooled.copiedBuffer(content, CharsetUtil.UTF_8)
-        );
-
-        response.headers().set(HttpHeaderNames.CONTENT_TYPE, contentType + "; charset=UTF-8");
-        response.headers().set(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes());
-        response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
-
-        ctx.writeAndFlush(response);
-    }
-
-    private void sendHttpErrorResponse(ChannelHandlerContext ctx, HttpResponseStatus status, String message) {
+    private void sendHttpErrorResponse(ChannelHandlerContext ctx, int sequence,
+                                       HttpResponseStatus status, String message) {
         String errorJson = "{\"error\":\"" + message + "\",\"status\":" + status.code() + "}";
 
         FullHttpResponse response = new DefaultFullHttpResponse(
@@ -124,19 +146,17 @@ public class HttpProtocolHandler extends SimpleChannelInboundHandler<FullHttpReq
                 Unpooled.copiedBuffer(errorJson, CharsetUtil.UTF_8)
         );
 
-        response.headers().set(HttpHeaderNames.CONTENT_TYPE, "application/json; charset=UTF-8");
+        response.headers().set(HttpHeaderNames.CONTENT_TYPE, HttpResponsePrototype.APPLICATION_JSON_UTF8);
         response.headers().set(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes());
 
-        ctx.writeAndFlush(response);
+        HttpResponseSequencer.write(ctx, sequence, response);
+        ctx.flush();
     }
 
-    private String getContentTypeForProtocol(String protocol) {
-        switch (protocol) {
-            case "json": return "application/json";
-            case "xml": return "application/xml";
-            case "soap": return "text/xml";
-            default: return "application/json";
-        }
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        HttpResponseSequencer.releasePending(ctx.channel());
+        super.channelInactive(ctx);
     }
 
     @Override
@@ -0,0 +1,103 @@
+package com.kt.dummy.handler;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.kt.dummy.manager.RequestFields;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.QueryStringDecoder;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * HTTP 요청 규칙 필드 조회
+ *
+ *  - method, path             : 메서드, 쿼리를 뺀 경로 (끝의 '/' 제거)
+ *  - query.NAME               : 쿼리 파라미터 첫 값
+ *  - header.NAME              : 헤더 값 (이름 대소문자 무관)
+ *  - json.a.b / json.items.0  : JSON 본문 경로의 값 (객체/배열이면 없음으로 처리)
+ *  - xml.NAME                 : XML/SOAP 본문 엘리먼트 값
+ *
+ * 쿼리 디코딩과 JSON 파싱은 해당 필드를 처음 조회할 때 요청당 한 번만 한다.
+ * @author 고재원
+ */
+final class HttpRequestFields implements RequestFields {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String QUERY_PREFIX = "query.";
+    private static final String HEADER_PREFIX = "header.";
+    private static final String JSON_PREFIX = "json.";
+    private static final String XML_PREFIX = "xml.";
+
+    private final FullHttpRequest request;
+    private QueryStringDecoder query;
+    private JsonNode json;
+
+    HttpRequestFields(FullHttpRequest request) {
+        this.request = request;
+    }
+
+    @Override
+    public String field(String name) {
+        if (name.startsWith(QUERY_PREFIX)) {
+            List<String> values = query().parameters().get(name.substring(QUERY_PREFIX.length()));
+            return values != null && !values.isEmpty() ? values.get(0) : null;
+        }
+        if (name.startsWith(HEADER_PREFIX)) {
+            return request.headers().get(name.substring(HEADER_PREFIX.length()));
+        }
+        if (name.startsWith(JSON_PREFIX)) {
+            return jsonValue(name);
+        }
+        if (name.startsWith(XML_PREFIX)) {
+            return XmlElementValueScanner.value(request.content(), name, XML_PREFIX.length());
+        }
+
+        switch (name) {
+            case "path": return path();
+            case "method": return request.method().name();
+            default: return null;
+        }
+    }
+
+    private QueryStringDecoder query() {
+        if (query == null) {
+            query = new QueryStringDecoder(request.uri());
+        }
+        return query;
+    }
+
+    private String path() {
+        String path = query().path();
+        int end = path.length();
+        while (end > 1 && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        return path.substring(0, end);
+    }
+
+    private String jsonValue(String name) {
+        if (json == null) {
+            json = parseJson();
+        }
+
+        JsonNode node = json.at(JsonPointer.compile("/" + name.substring(JSON_PREFIX.length()).replace('.', '/')));
+        return node.isValueNode() && !node.isNull() ? node.asText() : null;
+    }
+
+    // 본문이 없거나 JSON 이 아니면 MissingNode
+    private JsonNode parseJson() {
+        if (!request.content().isReadable()) {
+            return MissingNode.getInstance();
+        }
+        try (ByteBufInputStream in = new ByteBufInputStream(request.content().duplicate())) {
+            JsonNode node = objectMapper.readTree(in);
+            return node != null ? node : MissingNode.getInstance();
+        } catch (IOException | IllegalArgumentException e) {
+            return MissingNode.getInstance();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.kt.dummy.handler;
+
+import com.kt.dummy.manager.ResponseTemplate;
+import io.netty.handler.codec.http.DefaultHttpHeadersFactory;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.util.AsciiString;
+
+/**
+ * 응답 전문 템플릿별 HTTP 응답 프로토타입
+ *
+ * Content-Type / Content-Length / Connection / Date 헤더를 미리 만들어 두고
+ * 모든 요청이 같은 HttpHeaders 인스턴스를 공유한다. Date 가 바뀌는 초마다 헤더를 다시 만든다.
+ * 공유 헤더이므로 응답 전송 경로에서 헤더를 수정하면 안 된다 (수정이 필요하면 copy() 사용).
+ *
+ * @author 고재원
+ */
+final class HttpResponsePrototype {
+    static final AsciiString APPLICATION_JSON_UTF8 = AsciiString.cached("application/json; charset=UTF-8");
+    static final AsciiString APPLICATION_XML_UTF8 = AsciiString.cached("application/xml; charset=UTF-8");
+    static final AsciiString TEXT_XML_UTF8 = AsciiString.cached("text/xml; charset=UTF-8");
+
+    private final AsciiString contentType;
+    private final AsciiString contentLength;
+    private volatile Snapshot snapshot;
+
+    HttpResponsePrototype(ResponseTemplate template, String protocol) {
+        this.contentType = contentTypeForProtocol(protocol);
+        this.contentLength = AsciiString.of(Integer.toString(template.getByteLength()));
+        this.snapshot = new Snapshot(HttpDateCache.now());
+    }
+
+    /**
+     * 현재 초 기준 공유 응답 헤더
+     */
+    HttpHeaders headers() {
+        AsciiString date = HttpDateCache.now();
+        Snapshot current = snapshot;
+        if (current.date != date) {
+            current = new Snapshot(date);
+            snapshot = current;
+        }
+        return current.headers;
+    }
+
+    static AsciiString contentTypeForProtocol(String protocol) {
+        switch (protocol) {
+            case "xml": return APPLICATION_XML_UTF8;
+            case "soap": return TEXT_XML_UTF8;
+            default: return APPLICATION_JSON_UTF8;
+        }
+    }
+
+    private final class Snapshot {
+        final AsciiString date;
+        final HttpHeaders headers;
+
+        Snapshot(AsciiString date) {
+            this.date = date;
+            this.headers = DefaultHttpHeadersFactory.headersFactory().withValidation(false).newHeaders()
+                    .add(HttpHeaderNames.CONTENT_TYPE, contentType)
+                    .add(HttpHeaderNames.CONTENT_LENGTH, contentLength)
+                    .add(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE)
+                    .add(HttpHeaderNames.DATE, date);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.kt.dummy.handler;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.util.Attribute;
+import io.netty.util.AttributeKey;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.collection.IntObjectHashMap;
+import io.netty.util.collection.IntObjectMap;
+
+/**
+ * HTTP/1.1 파이프라이닝 응답 순서 보장 (채널 속성으로 보관)
+ *
+ * 요청을 읽을 때 순번을 발급하고, 지연 시간이 달라 먼저 완료된 응답은 앞 순번 응답이 나갈 때까지 보관한다.
+ * HttpServerKeepAliveHandler 도 응답이 요청 순서대로 나간다는 가정으로 연결 유지 여부를 판단한다.
+ * HTTP/2 스트림 채널은 스트림당 요청이 하나이므로 순번 없이 바로 쓴다.
+ * 모든 메서드는 채널 EventLoop 에서 호출한다.
+ *
+ * @author 고재원
+ */
+final class HttpResponseSequencer {
+    private static final AttributeKey<HttpResponseSequencer> KEY = AttributeKey.valueOf("httpResponseSequencer");
+
+    // 순번이 필요 없는 채널 (HTTP/2 스트림)
+    static final int UNORDERED = -1;
+
+    private int nextRequest;
+    private int nextResponse;
+    private IntObjectMap<HttpResponse> pending;
+
+    private HttpResponseSequencer() {
+    }
+
+    /**
+     * 요청 순번 발급 (요청을 읽은 시점에 호출)
+     */
+    static int nextSequence(ChannelHandlerContext ctx) {
+        Channel channel = ctx.channel();
+        if (channel instanceof Http2StreamChannel) {
+            return UNORDERED;
+        }
+
+        Attribute<HttpResponseSequencer> attr = channel.attr(KEY);
+        HttpResponseSequencer sequencer = attr.get();
+        if (sequencer == null) {
+            sequencer = new HttpResponseSequencer();
+            attr.set(sequencer);
+        }
+        return sequencer.nextRequest++;
+    }
+
+    /**
+     * 응답 쓰기 - 앞 순번 응답이 모두 나간 경우에만 즉시 쓰고, 아니면 보관
+     * flush 는 호출자가 한다 (지연 응답은 DelayResponseProcessor 가 채널별로 모아서)
+     */
+    static void write(ChannelHandlerContext ctx, int sequence, HttpResponse response) {
+        HttpResponseSequencer sequencer = sequence == UNORDERED ? null : ctx.channel().attr(KEY).get();
+        if (sequencer == null) {
+            ctx.write(response);
+            return;
+        }
+
+        if (sequence != sequencer.nextResponse) {
+            if (sequencer.pending == null) {
+                sequencer.pending = new IntObjectHashMap<>(4);
+            }
+            sequencer.pending.put(sequence, response);
+            return;
+        }
+
+        ctx.write(response);
+        sequencer.nextResponse++;
+        if (sequencer.pending != null) {
+            HttpResponse next;
+            while ((next = sequencer.pending.remove(sequencer.nextResponse)) != null) {
+                ctx.write(next);
+                sequencer.nextResponse++;
+            }
+        }
+    }
+
+    /**
+     * 연결 종료 시 보관 중인 응답 반납 (템플릿 버퍼 참조 해제)
+     */
+    static void releasePending(Channel channel) {
+        HttpResponseSequencer sequencer = channel.attr(KEY).getAndSet(null);
+        if (sequencer != null && sequencer.pending != null) {
+            for (HttpResponse response : sequencer.pending.values()) {
+                ReferenceCountUtil.release(response);
+            }
+            sequencer.pending.clear();
+        }
+    }
+}
@@ -1,66 +1,126 @@
 package com.kt.dummy.handler;
 
+import com.kt.dummy.decoder.DataLengthFrameEncoder;
+import com.kt.dummy.manager.RequestFields;
 import com.kt.dummy.manager.ResponseMapManager;
+import com.kt.dummy.manager.ResponseRoute;
+import com.kt.dummy.manager.ResponseTemplate;
+import com.kt.dummy.manager.RuleSet;
 import com.kt.dummy.processor.DelayResponseProcessor;
 import com.kt.dummy.processor.DelayConfigManager;
+import com.kt.dummy.processor.RequestTemplateValues;
+import com.kt.dummy.processor.RequestTemplateValues.Style;
+import com.kt.dummy.processor.TemplateValues;
+import com.kt.dummy.util.KeyValueScanner;
+import com.kt.dummy.util.KeyValueScanner.FieldSet;
 import com.kt.dummy.util.ProtocolUtil;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.util.CharsetUtil;
+import io.netty.util.concurrent.FastThreadLocal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.StringTokenizer;
-
 /**
  * &key=value 프로토콜 핸들러 (CAPRI용)
+ * 상태가 없으므로 모든 capri 연결이 INSTANCE 하나를 공유한다.
+ * 요청은 KeyValueScanner 로 필요한 필드 위치만 찾고, 응답 전문은 KeyValueRouteTable 에서 바이트로 조회한다.
+ * 요청 매칭 규칙이 있으면 (api 는 opcode) 요청 필드로 규칙을 먼저 적용한다.
+ * 응답 전문의 ${name} 은 같은 키(또는 snake_case 키) 값으로 채운다. (${sequenceNo} -> sequence_no)
  * @author 고재원
  */
+@ChannelHandler.Sharable
 public class KeyValueHandler extends SimpleChannelInboundHandler<ByteBuf> {
     private static final Logger logger = LoggerFactory.getLogger(KeyValueHandler.class);
+    public static final KeyValueHandler INSTANCE = new KeyValueHandler();
+
+    // 라우팅/응답에 필요한 필드
+    private static final FieldSet REQUEST_FIELDS = new FieldSet("opcode", "ctn", "transaction_id");
+    private static final int OPCODE = 0;
+    private static final int CTN = 1;
+    private static final int TRANSACTION_ID = 2;
+
+    // EventLoop 스레드별 필드 위치 배열 (요청마다 할당하지 않음)
+    private static final FastThreadLocal<int[]> FIELD_POSITIONS = new FastThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return REQUEST_FIELDS.newPositions();
+        }
+    };
+
+    private KeyValueHandler() {
+    }
 
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
         try {
-            String receivedData = msg.toString(CharsetUtil.UTF_8);
-            logger.debug("수신 KeyValue: {}", receivedData);
+            if (logger.isDebugEnabled()) {
+                logger.debug("수신 KeyValue: {}", msg.toString(CharsetUtil.UTF_8));
+            }
 
-            // &key=value 파싱
-            Map<String, String> requestMap = parseKeyValueString(receivedData);
+            // 필요한 필드 값 위치만 추출 (opcode, ctn, transaction_id)
+            int[] fields = FIELD_POSITIONS.get();
+            REQUEST_FIELDS.scan(msg, fields);
 
-            // API명 추출 (opcode 필드에서)
-            String apiName = requestMap.get("opcode");
-            if (apiName == null) {
-                logger.warn("opcode 없음: {}", receivedData);
+            int opcodeLength = FieldSet.valueLength(fields, OPCODE);
+            if (opcodeLength < 0) {
+                logger.warn("opcode 없음: {}", msg.toString(CharsetUtil.UTF_8));
                 sendErrorResponse(ctx, "Missing opcode");
                 return;
             }
 
             // 포트 번호 로깅 (디버깅용)
             int port = ProtocolUtil.getPortFromChannel(ctx.channel());
-            logger.debug("요청 수신 - 포트: {}, opcode: {}", port, apiName);
 
-            // 특별한 경우 처리 (기존 코드 패턴 참조)
-            String responseKey = buildResponseKey(requestMap, apiName);
-
-            // 응답 전문 조회 (stage 무관, keyValue 프로토콜로 고정)
-            String responseContent = ResponseMapManager.getInstance()
-                    .getResponse("keyValue", responseKey);
+            // 응답 전문 조회 (stage 무관, 규칙 -> OPCODE_{opcode}_{ctn} -> OPCODE_{opcode} 순)
+            // opcode 문자열은 규칙 또는 API 지연 정책이 있을 때만 만든다 (둘 다 요청의 opcode 로 조회)
+            ResponseMapManager manager = ResponseMapManager.getInstance();
+            RuleSet rules = manager.getRules();
+            DelayConfigManager delays = DelayConfigManager.getInstance();
+            String opcode = rules.hasRules("keyValue") || delays.hasApiPolicies()
+                    ? msg.toString(FieldSet.valueIndex(fields, OPCODE), opcodeLength, CharsetUtil.UTF_8) : null;
+            ResponseRoute route = null;
+            if (rules.hasRules("keyValue")) {
+                route = rules.match("keyValue", opcode, fields(msg));
+            }
+            if (route == null) {
+                route = manager.getKeyValueRoutes().route(msg,
+                        FieldSet.valueIndex(fields, OPCODE), opcodeLength,
+                        FieldSet.valueIndex(fields, CTN), FieldSet.valueLength(fields, CTN));
+            }
 
-            if (responseContent == null) {
-                logger.warn("응답 전문 없음: protocol=keyValue, api={}", responseKey);
-                sendErrorResponse(ctx, "No response template found for opcode: " + apiName);
+            if (route == null) {
+                String requested = opcode != null ? opcode
+                        : msg.toString(FieldSet.valueIndex(fields, OPCODE), opcodeLength, CharsetUtil.UTF_8);
+                logger.warn("응답 전문 없음: protocol=keyValue, opcode={}", requested);
+                sendErrorResponse(ctx, "No response template found for opcode: " + requested);
+                return;
+            }
+            logger.debug("요청 수신 - 포트: {}, api: {}", port, route.getApiName());
+
+            // 지연 응답 처리 (API 정책 → 포트 설정 → 전역 설정, API 정책은 선택된 응답 전문이 아닌 요청 opcode 기준)
+            long delay = delays.getDelay(port, "keyValue", opcode);
+            int tidIndex = FieldSet.valueIndex(fields, TRANSACTION_ID);
+            int tidLength = FieldSet.valueLength(fields, TRANSACTION_ID);
+            ResponseTemplate template = route.getTemplate();
+            if (delay <= 0) {
+                // 즉시 응답 - transaction_id 슬라이스를 그대로 응답 접두어로 복사 (keyValueBody 가 release)
+                // 플레이스홀더는 참조하는 키만 요청에서 조회, 렌더링이 실패해도 슬라이스가 남지 않도록 렌더링 후 슬라이스
+                TemplateValues values = RequestTemplateValues.bind(template, Style.KEY_VALUE, "keyValue", fields(msg), false);
+                ByteBuf body = template.render(ctx.alloc(), values);
+                ByteBuf transactionId = tidLength >= 0 ? msg.retainedSlice(tidIndex, tidLength) : null;
+                ctx.writeAndFlush(DataLengthFrameEncoder.keyValueBody(ctx.alloc(), transactionId, body));
                 return;
             }
 
-            // 지연 응답 처리 (동적 지연 적용)
-            long delay = DelayConfigManager.getInstance().getDelayForPort(port);
-            DelayResponseProcessor.processWithDelay(ctx, responseContent, (context, content) -> {
-                sendKeyValueResponse(context, content, requestMap.get("transaction_id"));
+            // 지연 응답 - 채널이 닫히면 콜백이 실행되지 않으므로 참조 카운트가 없는 문자열/값으로 보관
+            String transactionId = tidLength >= 0 ? msg.toString(tidIndex, tidLength, CharsetUtil.UTF_8) : null;
+            TemplateValues values = RequestTemplateValues.bind(template, Style.KEY_VALUE, "keyValue", fields(msg), true);
+            DelayResponseProcessor.processWithDelay(ctx, template, (context, content) -> {
+                context.write(DataLengthFrameEncoder.keyValueBody(context.alloc(),
+                        transactionId, content.render(context.alloc(), values)));
             }, delay);
 
         } catch (Exception e) {
@@ -69,48 +129,14 @@ public class KeyValueHandler extends SimpleChannelInboundHandler<ByteBuf> {
         }
     }
 
-    private Map<String, String> parseKeyValueString(String str) {
-        Map<String, String> map = new LinkedHashMap<>();
-
-        // 첫 번째 문자가 구분자면 제거
-        if (str.startsWith("&") || str.startsWith("/")) {
-            str = str.substring(1);
-        }
-
-        StringTokenizer strToken = new StringTokenizer(str, "&");
-        while (strToken.hasMoreTokens()) {
-            StringTokenizer strTokenSub = new StringTokenizer(strToken.nextToken(), "=");
-            if (strTokenSub.hasMoreTokens()) {
-                String key = strTokenSub.nextToken();
-                String value = "";
-                if (strTokenSub.hasMoreTokens()) {
-                    value = strTokenSub.nextToken();
-                }
-                map.put(key, value);
-            }
-        }
-        return map;
-    }
-
-    private String buildResponseKey(Map<String, String> requestMap, String opcode) {
-        // 기존 코드 패턴에 따른 특별 처리
-        String ctn = requestMap.get("ctn");
-        if (("406".equals(opcode) || "435".equals(opcode)) && ctn != null) {
-            return "OPCODE_" + opcode + "_" + ctn;
-        }
-        return "OPCODE_" + opcode;
+    // 요청 키 값 조회 (조회할 때마다 본문을 훑으며 String/Map 을 미리 만들지 않음)
+    private static RequestFields fields(ByteBuf msg) {
+        return name -> KeyValueScanner.value(msg, name);
     }
 
     private void sendKeyValueResponse(ChannelHandlerContext ctx, String content, String transactionId) {
-        // transaction_id 추가
-        String finalContent = "transaction_id=" + (transactionId != null ? transactionId : "1") + "&" + content;
-
-        // 헤더 추가
-        String headerLength = String.format("%05d", finalContent.getBytes(CharsetUtil.UTF_8).length + 1);
-        String response = "data_length=" + headerLength + "/" + finalContent;
-
-        ByteBuf responseBuf = Unpooled.copiedBuffer(response, CharsetUtil.UTF_8);
-        ctx.writeAndFlush(responseBuf);
+        // transaction_id 추가 (data_length 헤더는 DataLengthFrameEncoder 에서 추가)
+        ctx.writeAndFlush(DataLengthFrameEncoder.keyValueBody(ctx.alloc(), transactionId, content));
     }
 
     private void sendErrorResponse(ChannelHandlerContext ctx, String errorMsg) {
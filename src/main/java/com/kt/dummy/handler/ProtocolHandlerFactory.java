@@ -4,23 +4,24 @@ import io.netty.channel.ChannelInboundHandler;
 
 /**
  * 프로토콜별 핸들러 팩토리
+ * 핸들러는 모두 상태가 없는 @Sharable 싱글톤이며, 연결별 상태는 채널 속성에 둔다.
  * @author 고재원
  */
 public class ProtocolHandlerFactory {
     
     public ChannelInboundHandler createXmlHandler() {
-        return new XmlProtocolHandler();
+        return XmlProtocolHandler.INSTANCE;
     }
     
     public ChannelInboundHandler createKeyValueHandler() {
-        return new KeyValueHandler();
+        return KeyValueHandler.INSTANCE;
     }
     
     public ChannelInboundHandler createHttpHandler() {
-        return new HttpProtocolHandler();
+        return HttpProtocolHandler.INSTANCE;
     }
     
     public ChannelInboundHandler createTcpSocketHandler() {
-        return new TcpSocketHandler();
+        return TcpSocketHandler.INSTANCE;
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.kt.dummy.handler;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import org.slf4j.Logger;
@@ -10,8 +11,13 @@ import org.slf4j.LoggerFactory;
  * 일반 TCP Socket 핸들러 (확장용)
  * @author 고재원
  */
+@ChannelHandler.Sharable
 public class TcpSocketHandler extends SimpleChannelInboundHandler<ByteBuf> {
     private static final Logger logger = LoggerFactory.getLogger(TcpSocketHandler.class);
+    public static final TcpSocketHandler INSTANCE = new TcpSocketHandler();
+    
+    private TcpSocketHandler() {
+    }
     
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
@@ -0,0 +1,144 @@
+package com.kt.dummy.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.CharsetUtil;
+
+/**
+ * XML 전문 엘리먼트 값 조회 (요청 매칭 규칙의 xml.NAME 필드)
+ *
+ * 본문을 바이트 단위로 훑어 로컬 이름이 같은 첫 엘리먼트의 텍스트를 반환한다. (DOM / String 변환 없음)
+ *  - 네임스페이스 접두어는 무시 (ns:CTN 은 CTN)
+ *  - 주석, CDATA 안의 '<' 는 태그로 보지 않음
+ *  - 값은 첫 자식 태그 또는 종료 태그 전까지의 텍스트를 앞뒤 공백 제거하여 사용, CDATA 는 내용 그대로
+ *  - 빈 엘리먼트(<CTN/>) 는 빈 문자열, 엔티티(&amp;amp; 등)는 변환하지 않음
+ *
+ * @author 고재원
+ */
+final class XmlElementValueScanner {
+    private static final byte[] COMMENT_START = {'!', '-', '-'};
+    private static final byte[] COMMENT_END = {'-', '-', '>'};
+    private static final byte[] CDATA_START = {'!', '[', 'C', 'D', 'A', 'T', 'A', '['};
+    private static final byte[] CDATA_END = {']', ']', '>'};
+
+    private XmlElementValueScanner() {
+    }
+
+    /**
+     * 엘리먼트 값 조회 (readerIndex 변경 없음)
+     * @param xml 본문
+     * @param name 엘리먼트명을 포함한 문자열 (예: xml.CTN)
+     * @param nameStart name 안에서 엘리먼트명 시작 위치
+     * @return 값, 엘리먼트가 없거나 닫히지 않았으면 null
+     */
+    static String value(ByteBuf xml, String name, int nameStart) {
+        int end = xml.writerIndex();
+        int i = xml.readerIndex();
+
+        while ((i = xml.indexOf(i, end, (byte) '<')) >= 0) {
+            int tag = i + 1;
+            if (tag >= end) {
+                return null;
+            }
+
+            byte first = xml.getByte(tag);
+            if (first == '!') {
+                // 주석 / CDATA 는 끝까지 건너뜀 (안의 '<' 는 태그가 아님)
+                if (startsWith(xml, tag, end, COMMENT_START)) {
+                    i = indexOf(xml, tag + COMMENT_START.length, end, COMMENT_END);
+                } else if (startsWith(xml, tag, end, CDATA_START)) {
+                    i = indexOf(xml, tag + CDATA_START.length, end, CDATA_END);
+                } else {
+                    i = tag;
+                }
+                if (i < 0) {
+                    return null;
+                }
+                continue;
+            }
+            if (first == '/' || first == '?') {
+                i = tag;
+                continue;
+            }
+
+            int nameEnd = tag;
+            int localStart = tag;
+            while (nameEnd < end) {
+                byte b = xml.getByte(nameEnd);
+                if (b == '>' || b == '/' || b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+                    break;
+                }
+                if (b == ':') {
+                    localStart = nameEnd + 1;
+                }
+                nameEnd++;
+            }
+
+            if (matches(xml, localStart, nameEnd - localStart, name, nameStart)) {
+                return text(xml, nameEnd, end);
+            }
+            i = nameEnd;
+        }
+        return null;
+    }
+
+    // 시작 태그 이름 뒤부터 값 추출
+    private static String text(ByteBuf xml, int nameEnd, int end) {
+        int close = xml.indexOf(nameEnd, end, (byte) '>');
+        if (close < 0) {
+            return null;
+        }
+        if (xml.getByte(close - 1) == '/') {
+            return "";
+        }
+
+        int start = close + 1;
+        if (start < end && xml.getByte(start) == '<' && startsWith(xml, start + 1, end, CDATA_START)) {
+            int contentStart = start + 1 + CDATA_START.length;
+            int cdataEnd = indexOf(xml, contentStart, end, CDATA_END);
+            return cdataEnd < 0 ? null
+                    : xml.toString(contentStart, cdataEnd - CDATA_END.length - contentStart, CharsetUtil.UTF_8);
+        }
+
+        int valueEnd = xml.indexOf(start, end, (byte) '<');
+        if (valueEnd < 0) {
+            return null;
+        }
+        return xml.toString(start, valueEnd - start, CharsetUtil.UTF_8).trim();
+    }
+
+    private static boolean matches(ByteBuf xml, int index, int length, String name, int nameStart) {
+        if (name.length() - nameStart != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (name.charAt(nameStart + i) != xml.getByte(index + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsWith(ByteBuf xml, int index, int end, byte[] prefix) {
+        if (end - index < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (xml.getByte(index + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // terminator 다음 위치, 없으면 -1
+    private static int indexOf(ByteBuf xml, int from, int end, byte[] terminator) {
+        int i = from;
+        while ((i = xml.indexOf(i, end, terminator[0])) >= 0) {
+            if (startsWith(xml, i, end, terminator)) {
+                return i + terminator.length;
+            }
+            i++;
+        }
+        return -1;
+    }
+}
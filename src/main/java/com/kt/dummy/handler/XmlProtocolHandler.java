@@ -1,42 +1,58 @@
 package com.kt.dummy.handler;
 
+import com.kt.dummy.manager.RequestFields;
 import com.kt.dummy.manager.ResponseMapManager;
+import com.kt.dummy.manager.ResponseRoute;
+import com.kt.dummy.manager.ResponseTemplate;
+import com.kt.dummy.manager.RuleSet;
 import com.kt.dummy.processor.DelayResponseProcessor;
 import com.kt.dummy.processor.DelayConfigManager;
+import com.kt.dummy.processor.RequestTemplateValues;
+import com.kt.dummy.processor.RequestTemplateValues.Style;
+import com.kt.dummy.processor.TemplateValues;
 import com.kt.dummy.util.ProtocolUtil;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.util.CharsetUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.xml.sax.InputSource;
-
-import javax.xml.parsers.DocumentBuilderFactory;
-import java.io.StringReader;
 
 /**
  * 각 요청을 통신/데이터 프로토콜로 분류
  * 그래서 XML 프로토콜이라고 함.
  *
  * XML 프로토콜 핸들러 (scap용)
+ * 상태가 없으므로 모든 scap 연결이 INSTANCE 하나를 공유한다.
+ * API명은 XmlRootElementExtractor 로 프레임 바이트에서 직접 추출한다.
+ * 요청 매칭 규칙이 있으면 엘리먼트 값(xml.NAME) 으로 규칙을 먼저 적용한다.
+ * 응답 전문의 ${name} 은 같은 이름(또는 대문자) 엘리먼트 값으로 채운다. (${transactionId} -> TRANSACTIONID)
  * @author 고재원
  */
+@ChannelHandler.Sharable
 public class XmlProtocolHandler extends SimpleChannelInboundHandler<ByteBuf> {
     private static final Logger logger = LoggerFactory.getLogger(XmlProtocolHandler.class);
+    public static final XmlProtocolHandler INSTANCE = new XmlProtocolHandler();
+
+    // 규칙의 엘리먼트 값 필드 접두어
+    private static final String XML_FIELD_PREFIX = "xml.";
+
+    private XmlProtocolHandler() {
+    }
 
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, ByteBuf msg) throws Exception {
         try {
-            String receivedXml = msg.toString(CharsetUtil.UTF_8);
-            logger.debug("수신 XML: {}", receivedXml);
+            if (logger.isDebugEnabled()) {
+                logger.debug("수신 XML: {}", msg.toString(CharsetUtil.UTF_8));
+            }
 
-            // API명 추출 (XML 루트 엘리먼트에서)
-            String apiName = extractApiNameFromXml(receivedXml);
+            // API명 추출 (XML 루트 엘리먼트에서, 본문 복사 없음)
+            String apiName = XmlRootElementExtractor.extract(msg);
             if (apiName == null) {
-                logger.warn("API명 추출 실패: {}", receivedXml);
+                logger.warn("API명 추출 실패: {}", msg.toString(CharsetUtil.UTF_8));
                 sendErrorResponse(ctx, "Invalid XML format");
                 return;
             }
@@ -45,9 +61,13 @@ public class XmlProtocolHandler extends SimpleChannelInboundHandler<ByteBuf> {
             int port = ProtocolUtil.getPortFromChannel(ctx.channel());
             logger.debug("요청 수신 - 포트: {}, API: {}", port, apiName);
 
-            // 응답 전문 조회 (stage 무관, xml 프로토콜로 고정)
-            String responseContent = ResponseMapManager.getInstance()
-                    .getResponse("xml", apiName);
+            // 응답 전문 조회 (stage 무관, xml 프로토콜로 고정, 규칙 -> API명 순)
+            ResponseMapManager manager = ResponseMapManager.getInstance();
+            RuleSet rules = manager.getRules();
+            RequestFields fields = name -> name.startsWith(XML_FIELD_PREFIX)
+                    ? XmlElementValueScanner.value(msg, name, XML_FIELD_PREFIX.length()) : null;
+            ResponseRoute route = rules.hasRules("xml") ? rules.match("xml", apiName, fields) : null;
+            ResponseTemplate responseContent = route != null ? route.getTemplate() : manager.getTemplate("xml", apiName);
 
             if (responseContent == null) {
                 logger.warn("응답 전문 없음: protocol=xml, api={}", apiName);
@@ -55,10 +75,12 @@ public class XmlProtocolHandler extends SimpleChannelInboundHandler<ByteBuf> {
                 return;
             }
 
-            // 지연 응답 처리 (동적 지연 적용)
-            long delay = DelayConfigManager.getInstance().getDelayForPort(port);
+            // 지연 응답 처리 (API 정책 → 포트 설정 → 전역 설정, API 정책은 규칙 적용 여부와 관계없이 루트 엘리먼트 기준)
+            // 플레이스홀더 값은 참조하는 엘리먼트만 조회 (지연 응답이면 예약 전에 확정)
+            long delay = DelayConfigManager.getInstance().getDelay(port, "xml", apiName);
+            TemplateValues values = RequestTemplateValues.bind(responseContent, Style.XML, "xml", fields, delay > 0);
             DelayResponseProcessor.processWithDelay(ctx, responseContent, (context, content) -> {
-                sendXmlResponse(context, content);
+                context.write(content.render(context.alloc(), values));
             }, delay);
 
         } catch (Exception e) {
@@ -67,43 +89,9 @@ public class XmlProtocolHandler extends SimpleChannelInboundHandler<ByteBuf> {
         }
     }
 
-    private String extractApiNameFromXml(String xml) {
-        try {
-            // 간단한 정규식으로 루트 엘리먼트 추출
-            String rootElement = xml.trim();
-            if (rootElement.startsWith("<") && rootElement.contains(">")) {
-                int start = rootElement.indexOf('<') + 1;
-                int end = rootElement.indexOf('>', start);
-                if (end > start) {
-                    String tagName = rootElement.substring(start, end);
-                    // 속성이 있는 경우 공백 전까지만
-                    int spaceIndex = tagName.indexOf(' ');
-                    if (spaceIndex > 0) {
-                        tagName = tagName.substring(0, spaceIndex);
-                    }
-                    return tagName;
-                }
-            }
-
-            // DOM 파싱 백업 방법
-            Document doc = DocumentBuilderFactory.newInstance()
-                    .newDocumentBuilder()
-                    .parse(new InputSource(new StringReader(xml)));
-            return doc.getDocumentElement().getNodeName();
-
-        } catch (Exception e) {
-            logger.debug("XML 파싱 실패", e);
-            return null;
-        }
-    }
-
     private void sendXmlResponse(ChannelHandlerContext ctx, String content) {
-        // 헤더 추가 (기존 코드 패턴 참조)
-        String headerLength = String.format("%05d", content.getBytes(CharsetUtil.UTF_8).length + 1);
-        String response = "data_length=" + headerLength + "/" + content;
-
-        ByteBuf responseBuf = Unpooled.copiedBuffer(response, CharsetUtil.UTF_8);
-        ctx.writeAndFlush(responseBuf);
+        // data_length 헤더는 DataLengthFrameEncoder 에서 추가
+        ctx.writeAndFlush(ByteBufUtil.writeUtf8(ctx.alloc(), content));
     }
 
     private void sendErrorResponse(ChannelHandlerContext ctx, String errorMsg) {
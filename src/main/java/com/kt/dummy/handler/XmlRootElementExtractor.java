@@ -0,0 +1,236 @@
+package com.kt.dummy.handler;
+
+import com.kt.dummy.util.ByteStringInterner;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.util.concurrent.FastThreadLocal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * XML 전문 루트 엘리먼트명(API명) 추출 (scap)
+ *
+ * 프레임 앞부분을 스레드별 창에 복사해 바이트 단위로 훑어 첫 시작 태그를 찾는다. (본문 String 변환 없음)
+ * UTF-8 BOM, XML 선언(<?xml ...?>), 처리 명령, 주석, DOCTYPE 은 건너뛰고
+ * 네임스페이스 접두어(ns:getVasOfAllSubscpn)는 떼어낸 로컬 이름을 사용한다.
+ * 이름은 ByteStringInterner 로 인터닝하므로 같은 API 요청은 String 을 새로 만들지 않는다.
+ *
+ * 바이트 스캔으로 판단할 수 없는 전문 (UTF-16 등) 은 StAX 로 첫 시작 엘리먼트까지만 읽는다.
+ * StAX 는 크기/이벤트 수를 제한하고 DTD/외부 엔티티를 사용하지 않는다.
+ *
+ * @author 고재원
+ */
+final class XmlRootElementExtractor {
+    private static final Logger logger = LoggerFactory.getLogger(XmlRootElementExtractor.class);
+
+    // API 종류 수에 비해 충분한 크기 (가득 차면 캐시 없이 동작)
+    static final ByteStringInterner API_NAMES = new ByteStringInterner(1024);
+
+    // StAX 대체 경로 제한
+    private static final int MAX_FALLBACK_BYTES = 65536;
+    private static final int MAX_FALLBACK_EVENTS = 64;
+
+    // XMLInputFactory 는 스레드 안전성이 보장되지 않으므로 EventLoop 스레드별로 보관
+    private static final FastThreadLocal<XMLInputFactory> XML_INPUT_FACTORY = new FastThreadLocal<XMLInputFactory>() {
+        @Override
+        protected XMLInputFactory initialValue() {
+            XMLInputFactory factory = XMLInputFactory.newFactory();
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            return factory;
+        }
+    };
+
+    // 스캔 창 - 먼저 앞부분만 복사하고, 시작 태그가 잘리면 최대 창으로 한 번 더 시도
+    private static final int SCAN_WINDOW = 128;
+    private static final int MAX_SCAN_WINDOW = 8192;
+
+    // 스캔 결과 (0 이상이면 localStart << 16 | nameLength)
+    private static final int NOT_XML = -1;
+    private static final int INCOMPLETE = -2;
+
+    // EventLoop 스레드별 스캔 창 (요청마다 할당하지 않음)
+    private static final FastThreadLocal<byte[]> SCRATCH = new FastThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[MAX_SCAN_WINDOW];
+        }
+    };
+
+    private XmlRootElementExtractor() {
+    }
+
+    /**
+     * 루트 엘리먼트 로컬 이름 추출 (readerIndex 변경 없음)
+     * @param xml 프레임 본문
+     * @return 루트 엘리먼트명, 찾지 못하면 null
+     */
+    static String extract(ByteBuf xml) {
+        String name = scan(xml);
+        return name != null ? name : extractWithStax(xml);
+    }
+
+    /**
+     * 바이트 스캔 - 판단할 수 없으면 null
+     * 본문 앞부분만 스레드별 창으로 복사하여 배열에서 훑는다. (ByteBuf 바이트 단위 접근 검사 회피)
+     */
+    static String scan(ByteBuf buf) {
+        int readable = buf.readableBytes();
+        byte[] window = SCRATCH.get();
+
+        int length = Math.min(readable, SCAN_WINDOW);
+        buf.getBytes(buf.readerIndex(), window, 0, length);
+        int result = scan(window, length);
+
+        if (result == INCOMPLETE && length < readable) {
+            length = Math.min(readable, window.length);
+            buf.getBytes(buf.readerIndex(), window, 0, length);
+            result = scan(window, length);
+        }
+        return result < 0 ? null : API_NAMES.intern(window, result >>> 16, result & 0xFFFF);
+    }
+
+    private static int scan(byte[] xml, int end) {
+        int i = 0;
+
+        // UTF-8 BOM
+        if (end >= 3 && xml[0] == (byte) 0xEF && xml[1] == (byte) 0xBB && xml[2] == (byte) 0xBF) {
+            i = 3;
+        }
+
+        while (true) {
+            while (i < end && isWhitespace(xml[i])) {
+                i++;
+            }
+            if (end - i < 2) {
+                return INCOMPLETE;
+            }
+            if (xml[i] != '<') {
+                return NOT_XML;
+            }
+
+            byte next = xml[i + 1];
+            if (next == '?') {
+                // XML 선언 / 처리 명령
+                i = indexOfTerminator(xml, i + 2, end, (byte) '?', 1);
+            } else if (next == '!') {
+                if (end - i < 4) {
+                    return INCOMPLETE;
+                }
+                i = xml[i + 2] == '-' && xml[i + 3] == '-'
+                        ? indexOfTerminator(xml, i + 4, end, (byte) '-', 2)
+                        : skipDeclaration(xml, i + 2, end);
+            } else {
+                return startTagName(xml, i + 1, end);
+            }
+
+            if (i < 0) {
+                return INCOMPLETE;
+            }
+        }
+    }
+
+    private static int startTagName(byte[] xml, int start, int end) {
+        int localStart = start;
+        int i = start;
+        while (i < end) {
+            byte b = xml[i];
+            if (b == '>' || b == '/' || isWhitespace(b)) {
+                break;
+            }
+            if (b == ':') {
+                // 네임스페이스 접두어 제거
+                localStart = i + 1;
+            }
+            i++;
+        }
+
+        if (i >= end) {
+            return INCOMPLETE;
+        }
+        // 빈 이름, 닫는 태그(</...) 로 시작하는 경우
+        if (i == localStart) {
+            return NOT_XML;
+        }
+        return localStart << 16 | (i - localStart);
+    }
+
+    /**
+     * '>' 앞에 marker 가 count 개 이어지는 위치 다음 인덱스 (?> 또는 -->)
+     */
+    private static int indexOfTerminator(byte[] xml, int from, int end, byte marker, int count) {
+        for (int i = from + count; i < end; i++) {
+            if (xml[i] == '>' && endsWithMarker(xml, i, marker, count)) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean endsWithMarker(byte[] xml, int gt, byte marker, int count) {
+        for (int k = 1; k <= count; k++) {
+            if (xml[gt - k] != marker) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * <!DOCTYPE ...> 등 선언 건너뛰기 (내부 서브셋 [...] 안의 '>' 는 무시)
+     */
+    private static int skipDeclaration(byte[] xml, int from, int end) {
+        int depth = 0;
+        for (int i = from; i < end; i++) {
+            byte b = xml[i];
+            if (b == '[') {
+                depth++;
+            } else if (b == ']') {
+                depth--;
+            } else if (b == '>' && depth <= 0) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    /**
+     * StAX 로 첫 시작 엘리먼트까지만 읽기 (본문 복사 없이 ByteBuf 를 스트림으로 사용)
+     */
+    static String extractWithStax(ByteBuf xml) {
+        if (xml.readableBytes() > MAX_FALLBACK_BYTES) {
+            logger.debug("XML 대체 파싱 생략 (크기 초과): {} bytes", xml.readableBytes());
+            return null;
+        }
+
+        XMLStreamReader reader = null;
+        try {
+            reader = XML_INPUT_FACTORY.get().createXMLStreamReader(new ByteBufInputStream(xml.duplicate()));
+            for (int events = 0; events < MAX_FALLBACK_EVENTS && reader.hasNext(); events++) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                    return reader.getLocalName();
+                }
+            }
+        } catch (XMLStreamException e) {
+            logger.debug("XML 파싱 실패", e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // 입력 스트림은 ByteBuf 뷰이므로 닫을 자원 없음
+                }
+            }
+        }
+        return null;
+    }
+}
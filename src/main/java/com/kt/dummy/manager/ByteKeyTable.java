@@ -0,0 +1,116 @@
+package com.kt.dummy.manager;
+
+import io.netty.buffer.ByteBuf;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * 바이트 키 불변 해시 테이블 (선형 탐사)
+ *
+ * 빌드 시 String 키를 UTF-8 바이트로 바꿔 두고, 조회는 요청 ByteBuf 의 구간과 바로 비교한다.
+ * 요청 값으로 String 을 만들지 않고 라우팅할 때 사용한다.
+ *
+ * @author 고재원
+ */
+final class ByteKeyTable<V> {
+    private static final ByteKeyTable<?> EMPTY = new ByteKeyTable<>(new byte[1][], new Object[1], new int[1], 0);
+
+    private final byte[][] keys;
+    private final Object[] values;
+    private final int[] hashes;
+    private final int mask;
+    private final int size;
+
+    private ByteKeyTable(byte[][] keys, Object[] values, int[] hashes, int size) {
+        this.keys = keys;
+        this.values = values;
+        this.hashes = hashes;
+        this.mask = keys.length - 1;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> ByteKeyTable<V> empty() {
+        return (ByteKeyTable<V>) EMPTY;
+    }
+
+    static <V> ByteKeyTable<V> of(Map<String, V> entries) {
+        if (entries.isEmpty()) {
+            return empty();
+        }
+
+        // 적재율 50% 이하
+        int capacity = Integer.highestOneBit(entries.size() * 2 - 1) << 1;
+        byte[][] keys = new byte[capacity][];
+        Object[] values = new Object[capacity];
+        int[] hashes = new int[capacity];
+        int mask = capacity - 1;
+
+        for (Map.Entry<String, V> entry : entries.entrySet()) {
+            byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            int hash = hash(key);
+            int slot = hash & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = entry.getValue();
+            hashes[slot] = hash;
+        }
+        return new ByteKeyTable<>(keys, values, hashes, entries.size());
+    }
+
+    /**
+     * buf 의 [index, index + length) 구간과 같은 키의 값 조회
+     */
+    @SuppressWarnings("unchecked")
+    V get(ByteBuf buf, int index, int length) {
+        if (size == 0) {
+            return null;
+        }
+
+        int hash = hash(buf, index, length);
+        int slot = hash & mask;
+        byte[] key;
+        while ((key = keys[slot]) != null) {
+            if (hashes[slot] == hash && matches(key, buf, index, length)) {
+                return (V) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static boolean matches(byte[] key, ByteBuf buf, int index, int length) {
+        if (key.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key[i] != buf.getByte(index + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(byte[] key) {
+        int h = 1;
+        for (byte b : key) {
+            h = 31 * h + b;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static int hash(ByteBuf buf, int index, int length) {
+        int h = 1;
+        for (int i = index, end = index + length; i < end; i++) {
+            h = 31 * h + buf.getByte(i);
+        }
+        return h ^ (h >>> 16);
+    }
+}
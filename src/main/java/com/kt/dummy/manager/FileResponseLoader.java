@@ -5,77 +5,399 @@ import com.kt.dummy.util.FileUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * 파일 기반 응답 전문 로더
+ * 대량 로드는 제한된 크기의 ForkJoinPool 에서 디렉토리/파일 단위로 나누어 병렬로 읽는다.
  * @author 고재원
  */
 public class FileResponseLoader {
     private static final Logger logger = LoggerFactory.getLogger(FileResponseLoader.class);
+    // 로드 순서 (나중 stage 가 이전 stage 를 덮어씀)
+    static final String[] STAGES = {"stage1", "stage2", "stage3", "stage4"};
+
+    private static final String RULES_DIRECTORY = "rules";
+    
+    // 한 작업이 순차로 읽을 최대 파일 수 (이보다 많으면 나누어 병렬 처리)
+    private static final int FILE_BATCH = 64;
+    
     private final String basePath;
+    private final int parallelism;
     
     public FileResponseLoader() {
-        this.basePath = ServerConfig.getInstance().getResponseBasePath();
+        this(ServerConfig.getInstance().getResponseBasePath(), ServerConfig.getInstance().getResponseLoadParallelism());
+    }
+    
+    /**
+     * 서버 설정과 다른 경로에서 로드 (응답 전문 팩 빌드 등)
+     */
+    public FileResponseLoader(String basePath, int parallelism) {
+        this.basePath = basePath;
+        this.parallelism = Math.max(parallelism, 1);
+    }
+    
+    /**
+     * 모든 stage/protocol 응답 전문 파일 병렬 로드
+     * 디렉토리별 작업을 동시에 시작하고, 각 디렉토리 안의 파일은 FILE_BATCH 단위로 나누어 읽는다.
+     * 결과는 작업 완료 순서와 무관하게 stage 순서 -> 프로토콜 순서 -> API명 순으로 정렬된다.
+     * @return stage -> protocol -> API명 -> 응답전문
+     */
+    public Map<String, Map<String, Map<String, String>>> loadAllStages() {
+        ForkJoinPool pool = newLoaderPool();
+        try {
+            Map<String, Map<String, ForkJoinTask<Map<String, String>>>> tasks = new LinkedHashMap<>();
+            for (String stage : STAGES) {
+                Map<String, ForkJoinTask<Map<String, String>>> stageTasks = new LinkedHashMap<>();
+                for (String protocol : ResponseSnapshot.PROTOCOLS) {
+                    stageTasks.put(protocol, pool.submit(new DirectoryLoad(stage, protocol)));
+                }
+                tasks.put(stage, stageTasks);
+            }
+
+            Map<String, Map<String, Map<String, String>>> loaded = new LinkedHashMap<>();
+            tasks.forEach((stage, stageTasks) -> {
+                Map<String, Map<String, String>> stageResponses = new LinkedHashMap<>();
+                stageTasks.forEach((protocol, task) -> stageResponses.put(protocol, task.join()));
+                loaded.put(stage, stageResponses);
+            });
+            return loaded;
+
+        } finally {
+            pool.shutdown();
+        }
     }
     
     /**
      * 특정 단계/프로토콜의 모든 응답 전문 파일 로드
      * @param stage 단계 (stage1~stage4)
      * @param protocol 프로토콜 (json, xml, soap, keyValue)
-     * @return API명 -> 응답전문 맵
+     * @return API명 -> 응답전문 맵 (API명 순)
      */
     public Map<String, String> loadResponsesForStageAndProtocol(String stage, String protocol) {
-        Map<String, String> responses = new ConcurrentHashMap<>();
-        
+        ForkJoinPool pool = newLoaderPool();
         try {
-            // 디렉토리 경로 구성
-            Path directoryPath = getDirectoryPath(stage, protocol);
+            return pool.invoke(new DirectoryLoad(stage, protocol));
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    // 로드 중에만 사용하는 제한된 크기의 풀 (스레드는 로드가 끝나면 종료)
+    private ForkJoinPool newLoaderPool() {
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("response-loader-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+    
+    /**
+     * 디렉토리 하나 로드 - 파일 목록을 만든 뒤 FileBatch 로 나누어 읽음
+     */
+    private final class DirectoryLoad extends RecursiveTask<Map<String, String>> {
+        private static final long serialVersionUID = 1L;
+
+        private final String stage;
+        private final String protocol;
+        
+        DirectoryLoad(String stage, String protocol) {
+            this.stage = stage;
+            this.protocol = protocol;
+        }
+        
+        @Override
+        protected Map<String, String> compute() {
+            Map<String, String> responses = new TreeMap<>();
             
-            if (!Files.exists(directoryPath)) {
-                logger.debug("디렉토리 없음: {}", directoryPath);
-                // 디렉토리 생성
-                Files.createDirectories(directoryPath);
-                logger.info("디렉토리 생성: {}", directoryPath);
-                return responses;
+            try {
+                // 디렉토리 경로 구성
+                Path directoryPath = getDirectoryPath(stage, protocol);
+                
+                if (!Files.exists(directoryPath)) {
+                    logger.debug("디렉토리 없음: {}", directoryPath);
+                    // 디렉토리 생성
+                    Files.createDirectories(directoryPath);
+                    logger.info("디렉토리 생성: {}", directoryPath);
+                    return responses;
+                }
+                
+                // 파일 확장자 결정
+                String fileExtension = getFileExtension(protocol);
+                
+                // 디렉토리 내 모든 파일 스캔 (하위 디렉토리는 전체 경로 API명: v1/users/getUserInfo)
+                List<Path> files;
+                try (Stream<Path> walk = Files.walk(directoryPath)) {
+                    files = walk.filter(path -> path.toString().endsWith(fileExtension))
+                                .filter(Files::isRegularFile)
+                                .collect(Collectors.toList());
+                }
+                
+                String[] contents = new String[files.size()];
+                new FileBatch(files, contents, 0, contents.length).invoke();
+                
+                for (int i = 0; i < contents.length; i++) {
+                    if (contents[i] != null) {
+                        String apiName = getApiNameFromFilePath(directoryPath, files.get(i), fileExtension);
+                        responses.put(apiName, contents[i]);
+                        logger.debug("파일 로드: {} -> {}", directoryPath.relativize(files.get(i)), apiName);
+                    }
+                }
+                
+                logger.info("{}/{} 디렉토리에서 {} 개 파일 로드", stage, protocol, responses.size());
+                
+            } catch (Exception e) {
+                logger.error("{}/{} 응답 전문 로드 중 오류", stage, protocol, e);
             }
             
-            // 파일 확장자 결정
-            String fileExtension = getFileExtension(protocol);
-            
-            // 디렉토리 내 모든 파일 스캔
-            try (Stream<Path> files = Files.walk(directoryPath, 1)) {
-                files.filter(Files::isRegularFile)
-                     .filter(path -> path.toString().endsWith(fileExtension))
-                     .forEach(filePath -> {
-                         try {
-                             String apiName = getApiNameFromFilePath(filePath, fileExtension);
-                             String content = FileUtil.readFileContent(filePath);
-                             
-                             if (content != null && !content.trim().isEmpty()) {
-                                 responses.put(apiName, content);
-                                 logger.debug("파일 로드: {} -> {}", filePath.getFileName(), apiName);
-                             }
-                             
-                         } catch (Exception e) {
-                             logger.warn("파일 로드 실패: {}", filePath, e);
-                         }
-                     });
+            return responses;
+        }
+    }
+    
+    /**
+     * 파일 목록 [from, to) 구간 읽기 - 크면 반으로 나누어 병렬 처리, 결과는 같은 위치의 contents 에 기록
+     */
+    private static final class FileBatch extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Path> files;
+        private final String[] contents;
+        private final int from;
+        private final int to;
+        
+        FileBatch(List<Path> files, String[] contents, int from, int to) {
+            this.files = files;
+            this.contents = contents;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from > FILE_BATCH) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new FileBatch(files, contents, from, middle), new FileBatch(files, contents, middle, to));
+                return;
             }
             
-            logger.info("{}/{} 디렉토리에서 {} 개 파일 로드", stage, protocol, responses.size());
-            
+            for (int i = from; i < to; i++) {
+                try {
+                    String content = FileUtil.readFileContent(files.get(i));
+                    if (content != null && !content.isBlank()) {
+                        contents[i] = content;
+                    }
+                } catch (Exception e) {
+                    logger.warn("파일 로드 실패: {}", files.get(i), e);
+                }
+            }
+        }
+    }
+    
+    /**
+     * 단일 응답 전문 파일 로드 (변경 감지 후 재로드용)
+     * @return 응답 전문 내용, 파일이 없거나 비어 있으면 null
+     */
+    public String loadResponse(String stage, String protocol, String apiName) {
+        Path directoryPath = getDirectoryPath(stage, protocol);
+        Path filePath = directoryPath.resolve(apiName + getFileExtension(protocol)).normalize();
+        if (!filePath.startsWith(directoryPath.normalize()) || !Files.isRegularFile(filePath)) {
+            return null;
+        }
+
+        try {
+            String content = FileUtil.readFileContent(filePath);
+            return content != null && !content.isBlank() ? content : null;
         } catch (Exception e) {
-            logger.error("{}/{} 응답 전문 로드 중 오류", stage, protocol, e);
+            logger.warn("파일 로드 실패: {}", filePath, e);
+            return null;
         }
-        
-        return responses;
+    }
+
+    /**
+     * 변경 감시 대상 디렉토리 (stage/protocol 디렉토리, 규칙 디렉토리 중 존재하는 것)
+     */
+    public List<Path> getWatchDirectories() {
+        List<Path> directories = new ArrayList<>();
+        for (String stage : STAGES) {
+            for (String protocol : ResponseSnapshot.PROTOCOLS) {
+                Path directoryPath = getDirectoryPath(stage, protocol);
+                if (Files.isDirectory(directoryPath)) {
+                    directories.add(directoryPath);
+                }
+            }
+        }
+        Path rulesPath = getDirectoryPath(RULES_DIRECTORY);
+        if (Files.isDirectory(rulesPath)) {
+            directories.add(rulesPath);
+        }
+        return directories;
+    }
+
+    /**
+     * 새 stage/protocol/규칙 디렉토리 생성을 감지하기 위한 상위 디렉토리 (기본 경로와 stage 디렉토리 중 존재하는 것)
+     * 하위 디렉토리는 포함하지 않으므로 단독으로 감시 등록한다.
+     */
+    public List<Path> getWatchParentDirectories() {
+        List<Path> directories = new ArrayList<>();
+        Path basePathDirectory = getDirectoryPath("");
+        if (Files.isDirectory(basePathDirectory)) {
+            directories.add(basePathDirectory);
+        }
+        for (String stage : STAGES) {
+            Path stagePath = getDirectoryPath(stage);
+            if (Files.isDirectory(stagePath)) {
+                directories.add(stagePath);
+            }
+        }
+        return directories;
+    }
+
+    /**
+     * 기본 경로 또는 stage 디렉토리인지 확인 (getWatchParentDirectories 대상)
+     */
+    public boolean isWatchParentDirectory(Path path) {
+        Path target = absolute(path);
+        if (target.equals(absolute(getDirectoryPath("")))) {
+            return true;
+        }
+        for (String stage : STAGES) {
+            if (target.equals(absolute(getDirectoryPath(stage)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * stage/protocol 디렉토리 또는 규칙 디렉토리인지 확인 (getWatchDirectories 대상)
+     */
+    public boolean isWatchDirectory(Path path) {
+        Path target = absolute(path);
+        if (target.equals(absolute(getDirectoryPath(RULES_DIRECTORY)))) {
+            return true;
+        }
+        for (String stage : STAGES) {
+            for (String protocol : ResponseSnapshot.PROTOCOLS) {
+                if (target.equals(absolute(getDirectoryPath(stage, protocol)))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 응답 전문/규칙 디렉토리에서 주어진 시각보다 나중에 수정된 파일 또는 디렉토리 조회 (팩 최신 여부 확인용)
+     * 파일 삭제는 상위 디렉토리의 수정 시각으로 드러난다.
+     * @return 처음 찾은 경로, 없으면 null
+     */
+    public Path findModifiedAfter(FileTime time) throws IOException {
+        for (Path directory : getWatchDirectories()) {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                Path modified = paths.filter(path -> lastModified(path).compareTo(time) > 0)
+                                     .findFirst().orElse(null);
+                if (modified != null) {
+                    return modified;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            // 확인 중 삭제된 경로는 변경으로 취급
+            return FileTime.fromMillis(Long.MAX_VALUE);
+        }
+    }
+
+    /**
+     * 응답 전문 팩 파일 경로 (설정이 비어 있으면 null)
+     */
+    public Path getPackPath() {
+        String packPath = ServerConfig.getInstance().getResponsePackPath();
+        return packPath.isEmpty() ? null : Paths.get(packPath);
+    }
+
+    /**
+     * 규칙 디렉토리 안의 경로인지 확인
+     */
+    public boolean isRulePath(Path path) {
+        return absolute(path).startsWith(absolute(getDirectoryPath(RULES_DIRECTORY)));
+    }
+
+    /**
+     * 경로가 속한 stage/protocol 디렉토리와 상대 경로 조회
+     * @return 위치, 응답 전문 디렉토리 밖이면 null
+     */
+    Location locate(Path path) {
+        Path target = absolute(path);
+        for (String stage : STAGES) {
+            for (String protocol : ResponseSnapshot.PROTOCOLS) {
+                Path directoryPath = absolute(getDirectoryPath(stage, protocol));
+                if (target.startsWith(directoryPath) && !target.equals(directoryPath)) {
+                    String relativePath = directoryPath.relativize(target).toString().replace(File.separatorChar, '/');
+                    return new Location(stage, protocol, relativePath, getFileExtension(protocol));
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Path absolute(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+    
+    /**
+     * 요청 매칭 규칙 파일 로드 (stage 디렉토리와 같은 위치의 rules 디렉토리, 하위 디렉토리 포함)
+     * 규칙 디렉토리는 선택 사항이므로 없으면 만들지 않는다.
+     * @return 파일 상대 경로 -> 파일 내용 (경로 순 정렬, 나중 파일의 규칙이 우선)
+     */
+    public Map<String, String> loadRuleFiles() {
+        Map<String, String> ruleFiles = new TreeMap<>();
+        Path directoryPath = getDirectoryPath(RULES_DIRECTORY);
+        if (!Files.exists(directoryPath)) {
+            logger.debug("규칙 디렉토리 없음: {}", directoryPath);
+            return ruleFiles;
+        }
+
+        try (Stream<Path> files = Files.walk(directoryPath)) {
+            files.filter(Files::isRegularFile)
+                 .filter(path -> path.toString().endsWith(".json"))
+                 .forEach(filePath -> {
+                     String fileName = directoryPath.relativize(filePath).toString().replace(File.separatorChar, '/');
+                     try {
+                         ruleFiles.put(fileName, FileUtil.readFileContent(filePath));
+                     } catch (Exception e) {
+                         logger.warn("규칙 파일 로드 실패: {}", filePath, e);
+                     }
+                 });
+            logger.info("{} 디렉토리에서 {} 개 규칙 파일 로드", RULES_DIRECTORY, ruleFiles.size());
+
+        } catch (Exception e) {
+            logger.error("규칙 파일 로드 중 오류", e);
+        }
+
+        return ruleFiles;
     }
     
     /**
@@ -95,9 +417,14 @@ public class FileResponseLoader {
                 Files.createDirectories(directoryPath);
             }
             
-            // 파일 경로 생성
+            // 파일 경로 생성 (전체 경로 API명은 하위 디렉토리에 저장)
             String fileExtension = getFileExtension(protocol);
-            Path filePath = directoryPath.resolve(apiName + fileExtension);
+            Path filePath = directoryPath.resolve(apiName + fileExtension).normalize();
+            if (!filePath.startsWith(directoryPath.normalize())) {
+                logger.warn("응답 전문 디렉토리 밖 경로: {}", apiName);
+                return false;
+            }
+            Files.createDirectories(filePath.getParent());
             
             // 파일 저장
             FileUtil.writeFileContent(filePath, content);
@@ -112,9 +439,13 @@ public class FileResponseLoader {
     }
     
     private Path getDirectoryPath(String stage, String protocol) {
+        return getDirectoryPath(stage + "/" + protocol);
+    }
+    
+    private Path getDirectoryPath(String relativePath) {
         // resources 디렉토리에서 파일 로드 시도
         try {
-            String resourcePath = "/" + basePath + "/" + stage + "/" + protocol;
+            String resourcePath = "/" + basePath + "/" + relativePath;
             java.net.URL resourceUrl = getClass().getResource(resourcePath);
             if (resourceUrl != null) {
                 Path resourceDir = Paths.get(resourceUrl.toURI());
@@ -127,7 +458,7 @@ public class FileResponseLoader {
         }
         
         // 현재 작업 디렉토리 기준
-        return Paths.get(basePath, stage, protocol);
+        return Paths.get(basePath, relativePath);
     }
     
     private String getFileExtension(String protocol) {
@@ -140,8 +471,9 @@ public class FileResponseLoader {
         }
     }
     
-    private String getApiNameFromFilePath(Path filePath, String extension) {
-        String fileName = filePath.getFileName().toString();
+    private String getApiNameFromFilePath(Path directoryPath, Path filePath, String extension) {
+        // 하위 디렉토리는 '/' 로 연결 (OS 구분자 무관)
+        String fileName = directoryPath.relativize(filePath).toString().replace(File.separatorChar, '/');
         
         // 확장자 제거
         if (fileName.endsWith(extension)) {
@@ -150,4 +482,29 @@ public class FileResponseLoader {
         
         return fileName;
     }
-}
\ No newline at end of file
+
+    /**
+     * 응답 전문 디렉토리 안의 위치 (stage, protocol, 디렉토리 기준 상대 경로)
+     */
+    static final class Location {
+        final String stage;
+        final String protocol;
+        final String relativePath;
+        final String extension;
+
+        Location(String stage, String protocol, String relativePath, String extension) {
+            this.stage = stage;
+            this.protocol = protocol;
+            this.relativePath = relativePath;
+            this.extension = extension;
+        }
+
+        /**
+         * 응답 전문 파일이면 API명, 아니면 null
+         */
+        String apiName() {
+            return relativePath.endsWith(extension)
+                    ? relativePath.substring(0, relativePath.length() - extension.length()) : null;
+        }
+    }
+}
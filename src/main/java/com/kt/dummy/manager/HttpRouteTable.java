@@ -0,0 +1,222 @@
+package com.kt.dummy.manager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * HTTP 라우팅 테이블 - 로드된 응답 전문 키로 만든 불변 트라이
+ *
+ * 키는 apiName 이며 '/' 를 포함한 전체 경로(v1/users/getUserInfo)도 사용할 수 있다.
+ * 트라이는 키를 뒤에서부터 저장하고, 요청 URI 의 경로를 끝에서부터 한 글자씩 따라가며
+ * 세그먼트 경계에서 끝나는 가장 긴 키를 선택한다.
+ * 따라서 /v1/users/getUserInfo 는 v1/users/getUserInfo -> users/getUserInfo -> getUserInfo 순으로 매칭되고,
+ * 기존처럼 마지막 세그먼트만 등록된 응답 전문도 그대로 동작한다.
+ * 조회는 URI 문자열을 잘라내지 않으므로 요청당 객체를 만들지 않는다.
+ *
+ * 응답 전문이 바뀌면 ResponseMapManager 가 새 테이블을 만들어 교체한다.
+ *
+ * @author 고재원
+ */
+public final class HttpRouteTable {
+    public static final HttpRouteTable EMPTY = new HttpRouteTable(Trie.EMPTY, Trie.EMPTY, Trie.EMPTY, 0);
+
+    // 경로가 비어 있을 때 (예: "/") 사용할 키
+    private static final String DEFAULT_API_NAME = "default";
+
+    private final Trie json;
+    private final Trie xml;
+    private final Trie soap;
+    private final int size;
+
+    private HttpRouteTable(Trie json, Trie xml, Trie soap, int size) {
+        this.json = json;
+        this.xml = xml;
+        this.soap = soap;
+        this.size = size;
+    }
+
+    /**
+     * 프로토콜별 응답 전문 맵으로 라우팅 테이블 생성 (HTTP 로 제공하는 json, xml, soap 만 사용)
+     */
+    static HttpRouteTable build(Map<String, Map<String, ResponseTemplate>> responseMaps) {
+        Trie json = Trie.build("json", responseMaps.get("json"));
+        Trie xml = Trie.build("xml", responseMaps.get("xml"));
+        Trie soap = Trie.build("soap", responseMaps.get("soap"));
+        return new HttpRouteTable(json, xml, soap, json.size + xml.size + soap.size);
+    }
+
+    /**
+     * 요청 URI 에 해당하는 응답 전문 조회
+     * @param uri 요청 URI (쿼리/프래그먼트 포함 가능)
+     * @param protocol 프로토콜 (json, xml, soap)
+     * @return 매칭된 라우트, 없으면 null
+     */
+    public ResponseRoute route(CharSequence uri, String protocol) {
+        Trie trie = trie(protocol);
+        return trie != null ? trie.match(uri) : null;
+    }
+
+    /**
+     * 등록된 라우트 수
+     */
+    public int size() {
+        return size;
+    }
+
+    private Trie trie(String protocol) {
+        switch (protocol) {
+            case "json": return json;
+            case "xml": return xml;
+            case "soap": return soap;
+            default: return null;
+        }
+    }
+
+    /**
+     * 역순 키 트라이 - 노드의 자식은 labels/children 배열에 연속으로 정렬되어 있다.
+     */
+    private static final class Trie {
+        static final Trie EMPTY = new Trie(new int[] {0}, new int[] {0}, new char[0], new ResponseRoute[1], null, 0);
+
+        private final int[] firstChild;
+        private final int[] childCount;
+        private final char[] labels;
+        private final ResponseRoute[] routes;
+        private final ResponseRoute defaultRoute;
+        private final int size;
+
+        private Trie(int[] firstChild, int[] childCount, char[] labels, ResponseRoute[] routes,
+                     ResponseRoute defaultRoute, int size) {
+            this.firstChild = firstChild;
+            this.childCount = childCount;
+            this.labels = labels;
+            this.routes = routes;
+            this.defaultRoute = defaultRoute;
+            this.size = size;
+        }
+
+        static Trie build(String protocol, Map<String, ResponseTemplate> templates) {
+            if (templates == null || templates.isEmpty()) {
+                return EMPTY;
+            }
+
+            Node root = new Node();
+            ResponseRoute defaultRoute = null;
+            int size = 0;
+            for (Map.Entry<String, ResponseTemplate> entry : templates.entrySet()) {
+                String apiName = entry.getKey();
+                int start = 0;
+                int end = apiName.length();
+                while (start < end && apiName.charAt(start) == '/') {
+                    start++;
+                }
+                while (end > start && apiName.charAt(end - 1) == '/') {
+                    end--;
+                }
+                if (start == end) {
+                    continue;
+                }
+
+                ResponseRoute route = new ResponseRoute(protocol, apiName, entry.getValue());
+                Node node = root;
+                for (int i = end - 1; i >= start; i--) {
+                    node = node.children.computeIfAbsent(apiName.charAt(i), c -> new Node());
+                }
+                if (node.route == null) {
+                    size++;
+                }
+                node.route = route;
+                if (DEFAULT_API_NAME.contentEquals(apiName.subSequence(start, end))) {
+                    defaultRoute = route;
+                }
+            }
+
+            // 너비 우선으로 평탄화하여 형제 노드를 연속 배치
+            List<Node> order = new ArrayList<>();
+            order.add(root);
+            for (int i = 0; i < order.size(); i++) {
+                Node node = order.get(i);
+                node.firstChild = order.size();
+                order.addAll(node.children.values());
+            }
+
+            int count = order.size();
+            int[] firstChild = new int[count];
+            int[] childCount = new int[count];
+            char[] labels = new char[count];
+            ResponseRoute[] routes = new ResponseRoute[count];
+            for (int i = 0; i < count; i++) {
+                Node node = order.get(i);
+                firstChild[i] = node.firstChild;
+                childCount[i] = node.children.size();
+                routes[i] = node.route;
+                int child = node.firstChild;
+                for (char label : node.children.keySet()) {
+                    labels[child++] = label;
+                }
+            }
+            return new Trie(firstChild, childCount, labels, routes, defaultRoute, size);
+        }
+
+        ResponseRoute match(CharSequence uri) {
+            int start = 0;
+            int end = uri.length();
+            for (int i = 0; i < end; i++) {
+                char c = uri.charAt(i);
+                if (c == '?' || c == '#') {
+                    end = i;
+                    break;
+                }
+            }
+            while (start < end && uri.charAt(start) == '/') {
+                start++;
+            }
+            while (end > start && uri.charAt(end - 1) == '/') {
+                end--;
+            }
+            if (start == end) {
+                return defaultRoute;
+            }
+
+            ResponseRoute matched = null;
+            int node = 0;
+            for (int i = end - 1; i >= start; i--) {
+                node = child(node, uri.charAt(i));
+                if (node < 0) {
+                    break;
+                }
+                // 세그먼트 경계에서 끝나는 키만 인정 (users/getUserInfo 가 sers/getUserInfo 로 매칭되지 않도록)
+                if (routes[node] != null && (i == start || uri.charAt(i - 1) == '/')) {
+                    matched = routes[node];
+                }
+            }
+            return matched;
+        }
+
+        private int child(int node, char c) {
+            int low = firstChild[node];
+            int high = low + childCount[node] - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char label = labels[mid];
+                if (label < c) {
+                    low = mid + 1;
+                } else if (label > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+    }
+
+    // 빌드용 임시 노드 (자식은 글자 순 정렬)
+    private static final class Node {
+        final TreeMap<Character, Node> children = new TreeMap<>();
+        ResponseRoute route;
+        int firstChild;
+    }
+}
@@ -0,0 +1,110 @@
+package com.kt.dummy.manager;
+
+import io.netty.buffer.ByteBuf;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * KeyValue(capri) 라우팅 테이블 - opcode / ctn 값 바이트로 응답 전문 조회
+ *
+ * 응답 전문 키 OPCODE_{opcode} 와 OPCODE_{opcode}_{ctn} 을 opcode -> ctn 2단계 테이블로 미리 나눠 두어,
+ * 요청마다 "OPCODE_" + opcode + "_" + ctn 문자열을 만들지 않고 요청 ByteBuf 구간으로 바로 조회한다.
+ * ctn 별 응답 전문이 있으면 우선 사용하고, 없으면 opcode 응답 전문을 사용한다.
+ *
+ * 키에 '_' 가 여러 개 있으면 어디까지가 opcode 인지 알 수 없으므로, 키 전체를 opcode 로 한 라우트와
+ * '_' 위치마다 나눈 opcode / ctn 라우트를 모두 등록한다. (OPCODE_A_B 는 opcode "A_B" 와 opcode "A" + ctn "B" 로 조회)
+ *
+ * 응답 전문이 바뀌면 ResponseMapManager 가 새 테이블을 만들어 교체한다.
+ *
+ * @author 고재원
+ */
+public final class KeyValueRouteTable {
+    public static final KeyValueRouteTable EMPTY = new KeyValueRouteTable(ByteKeyTable.empty(), 0);
+
+    private static final String KEY_PREFIX = "OPCODE_";
+
+    private final ByteKeyTable<OpcodeRoutes> opcodes;
+    private final int size;
+
+    private KeyValueRouteTable(ByteKeyTable<OpcodeRoutes> opcodes, int size) {
+        this.opcodes = opcodes;
+        this.size = size;
+    }
+
+    /**
+     * keyValue 응답 전문 맵으로 라우팅 테이블 생성 (OPCODE_ 로 시작하지 않는 키는 제외)
+     */
+    static KeyValueRouteTable build(Map<String, ResponseTemplate> templates) {
+        if (templates == null || templates.isEmpty()) {
+            return EMPTY;
+        }
+
+        Map<String, ResponseRoute> opcodeRoutes = new HashMap<>();
+        Map<String, Map<String, ResponseRoute>> ctnRoutes = new HashMap<>();
+        int size = 0;
+        for (Map.Entry<String, ResponseTemplate> entry : templates.entrySet()) {
+            String key = entry.getKey();
+            if (!key.startsWith(KEY_PREFIX) || key.length() == KEY_PREFIX.length()) {
+                continue;
+            }
+
+            ResponseRoute route = new ResponseRoute("keyValue", key, entry.getValue());
+            opcodeRoutes.put(key.substring(KEY_PREFIX.length()), route);
+            int separator = KEY_PREFIX.length();
+            while ((separator = key.indexOf('_', separator + 1)) >= 0) {
+                ctnRoutes.computeIfAbsent(key.substring(KEY_PREFIX.length(), separator), opcode -> new HashMap<>())
+                         .put(key.substring(separator + 1), route);
+            }
+            size++;
+        }
+
+        Map<String, OpcodeRoutes> merged = new HashMap<>();
+        opcodeRoutes.forEach((opcode, route) -> merged.put(opcode,
+                new OpcodeRoutes(route, ByteKeyTable.empty())));
+        ctnRoutes.forEach((opcode, byCtn) -> merged.put(opcode,
+                new OpcodeRoutes(opcodeRoutes.get(opcode), ByteKeyTable.of(byCtn))));
+        return new KeyValueRouteTable(ByteKeyTable.of(merged), size);
+    }
+
+    /**
+     * 요청 필드 값 구간으로 응답 전문 조회
+     * @param request 요청 본문
+     * @param opcodeIndex opcode 값 시작 위치
+     * @param opcodeLength opcode 값 길이
+     * @param ctnIndex ctn 값 시작 위치
+     * @param ctnLength ctn 값 길이 (ctn 이 없으면 음수)
+     * @return 매칭된 라우트, 없으면 null
+     */
+    public ResponseRoute route(ByteBuf request, int opcodeIndex, int opcodeLength, int ctnIndex, int ctnLength) {
+        OpcodeRoutes routes = opcodes.get(request, opcodeIndex, opcodeLength);
+        if (routes == null) {
+            return null;
+        }
+
+        if (ctnLength >= 0) {
+            ResponseRoute route = routes.byCtn.get(request, ctnIndex, ctnLength);
+            if (route != null) {
+                return route;
+            }
+        }
+        return routes.route;
+    }
+
+    /**
+     * 등록된 라우트 수
+     */
+    public int size() {
+        return size;
+    }
+
+    private static final class OpcodeRoutes {
+        final ResponseRoute route;
+        final ByteKeyTable<ResponseRoute> byCtn;
+
+        OpcodeRoutes(ResponseRoute route, ByteKeyTable<ResponseRoute> byCtn) {
+            this.route = route;
+            this.byCtn = byCtn;
+        }
+    }
+}
@@ -3,7 +3,12 @@ package com.kt.dummy.manager;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kt.dummy.processor.DelayConfigManager;
+import com.kt.dummy.processor.DelayResponseProcessor;
+import com.kt.dummy.processor.LatencyProfile;
+import com.kt.dummy.server.AcceptorRegistry;
+import com.kt.dummy.server.SslContextManager;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.codec.http.*;
@@ -16,13 +21,19 @@ import java.util.Map;
 
 /**
  * 관리 API 핸들러 (9999 포트)
+ * 모든 관리 연결이 INSTANCE 하나를 공유한다. (ObjectMapper 는 스레드 안전)
  * @author 고재원
  */
+@ChannelHandler.Sharable
 public class ManagementApiHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
     private static final Logger logger = LoggerFactory.getLogger(ManagementApiHandler.class);
+    public static final ManagementApiHandler INSTANCE = new ManagementApiHandler();
+
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final ResponseMapManager responseManager = ResponseMapManager.getInstance();
-    private final FileResponseLoader fileLoader = new FileResponseLoader();
+
+    private ManagementApiHandler() {
+    }
 
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) throws Exception {
@@ -38,6 +49,8 @@ public class ManagementApiHandler extends SimpleChannelInboundHandler<FullHttpRe
                 handleStatusApi(ctx, request);
             } else if (uri.startsWith("/api/stats")) {
                 handleStatsApi(ctx, request);
+            } else if (uri.startsWith("/api/delay/profile")) {
+                handleDelayProfileApi(ctx, request);
             } else if (uri.startsWith("/api/delay")) {
                 handleDelayApi(ctx, request);
             } else {
@@ -65,8 +78,19 @@ public class ManagementApiHandler extends SimpleChannelInboundHandler<FullHttpRe
                 return;
             }
 
-            // 쿼리 파라미터로 간단 설정
-            if (!params.isEmpty()) {
+            // API별 설정 (port, protocol 생략 시 모든 포트 / 프로토콜, enable=false 면 제거)
+            if (params.containsKey("api")) {
+                String apiName = params.get("api").get(0);
+                Integer port = params.containsKey("port") ? Integer.valueOf(params.get("port").get(0)) : null;
+                String protocol = params.containsKey("protocol") ? params.get("protocol").get(0) : null;
+                if (params.containsKey("enable") && !Boolean.parseBoolean(params.get("enable").get(0))) {
+                    DelayConfigManager.getInstance().removeApiDelay(port, protocol, apiName);
+                } else if (params.containsKey("min") && params.containsKey("max")) {
+                    DelayConfigManager.getInstance().setApiDelay(port, protocol, apiName,
+                            Long.parseLong(params.get("min").get(0)), Long.parseLong(params.get("max").get(0)));
+                }
+            } else if (!params.isEmpty()) {
+                // 쿼리 파라미터로 간단 설정
                 // 전역 설정
                 if (params.containsKey("enable")) {
                     boolean enabled = Boolean.parseBoolean(params.get("enable").get(0));
@@ -108,8 +132,56 @@ public class ManagementApiHandler extends SimpleChannelInboundHandler<FullHttpRe
 
         } catch (Exception e) {
             logger.error("지연 설정 처리 중 오류", e);
+            // 분포 설정 오류 메시지에는 요청 JSON 이 포함되므로 직렬화하여 응답
+            sendJsonResponse(ctx, HttpResponseStatus.BAD_REQUEST,
+                    objectMapper.writeValueAsString(Map.of("error", String.valueOf(e.getMessage()))));
+        }
+    }
+
+    /**
+     * 지연 프로파일 API
+     *  GET    /api/delay/profile              실행 중인 프로파일 조회
+     *  POST   /api/delay/profile              {"name", "port", "protocol", "api", "profile":{...}} 시작 (같은 대상은 교체)
+     *  DELETE /api/delay/profile?name=xxx     중지 (name 생략 시 모두 중지)
+     */
+    private void handleDelayProfileApi(ChannelHandlerContext ctx, FullHttpRequest request) throws Exception {
+        try {
+            HttpMethod method = request.method();
+            DelayConfigManager manager = DelayConfigManager.getInstance();
+
+            if (method == HttpMethod.POST) {
+                JsonNode json = objectMapper.readTree(request.content().toString(CharsetUtil.UTF_8));
+                if (json == null || !json.isObject()) {
+                    throw new IllegalArgumentException("JSON 본문 필요");
+                }
+                Integer port = json.hasNonNull("port") ? json.get("port").asInt() : null;
+                Map<String, Object> started = manager.startProfile(getJsonString(json, "name"), port,
+                        getJsonString(json, "protocol"), getJsonString(json, "api"),
+                        LatencyProfile.fromJson(json.get("profile")));
+                sendJsonResponse(ctx, HttpResponseStatus.OK,
+                        objectMapper.writeValueAsString(Map.of("success", true, "profile", started)));
+            } else if (method == HttpMethod.DELETE) {
+                List<String> names = new QueryStringDecoder(request.uri()).parameters().get("name");
+                String name = names != null && !names.isEmpty() ? names.get(0) : null;
+                int stopped = manager.stopProfile(name);
+                if (name != null && stopped == 0) {
+                    sendJsonResponse(ctx, HttpResponseStatus.NOT_FOUND,
+                            objectMapper.writeValueAsString(Map.of("error", "Profile not found", "name", name)));
+                    return;
+                }
+                sendJsonResponse(ctx, HttpResponseStatus.OK,
+                        objectMapper.writeValueAsString(Map.of("success", true, "stopped", stopped)));
+            } else if (method == HttpMethod.GET) {
+                sendJsonResponse(ctx, HttpResponseStatus.OK,
+                        objectMapper.writeValueAsString(Map.of("profiles", manager.getProfiles())));
+            } else {
+                sendJsonResponse(ctx, HttpResponseStatus.METHOD_NOT_ALLOWED,
+                        "{\"error\":\"Method not allowed\"}");
+            }
+        } catch (Exception e) {
+            logger.error("지연 프로파일 처리 중 오류", e);
             sendJsonResponse(ctx, HttpResponseStatus.BAD_REQUEST,
-                    "{\"error\":\"" + e.getMessage() + "\"}");
+                    objectMapper.writeValueAsString(Map.of("error", String.valueOf(e.getMessage()))));
         }
     }
 
@@ -122,9 +194,37 @@ public class ManagementApiHandler extends SimpleChannelInboundHandler<FullHttpRe
         } else if (method == HttpMethod.GET) {
             // 응답 전문 조회
             getResponse(ctx, request);
+        } else if (method == HttpMethod.DELETE) {
+            // 응답 전문 삭제
+            deleteResponse(ctx, request);
         } else {
             sendJsonResponse(ctx, HttpResponseStatus.METHOD_NOT_ALLOWED,
-                    "{\"error\":\"Method not allowed\",\"allowed\":[\"GET\",\"POST\"]}");
+                    "{\"error\":\"Method not allowed\",\"allowed\":[\"GET\",\"POST\",\"DELETE\"]}");
+        }
+    }
+
+    private void deleteResponse(ChannelHandlerContext ctx, FullHttpRequest request) throws Exception {
+        // 쿼리 파라미터 파싱: /api/response?protocol=json&apiName=test
+        QueryStringDecoder decoder = new QueryStringDecoder(request.uri());
+        List<String> protocols = decoder.parameters().get("protocol");
+        List<String> apiNames = decoder.parameters().get("apiName");
+
+        if (protocols == null || apiNames == null) {
+            sendJsonResponse(ctx, HttpResponseStatus.BAD_REQUEST,
+                    "{\"error\":\"Missing required parameters\",\"required\":[\"protocol\",\"apiName\"]}");
+            return;
+        }
+
+        String protocol = protocols.get(0);
+        String apiName = apiNames.get(0);
+
+        if (responseManager.removeResponse(protocol, apiName)) {
+            sendJsonResponse(ctx, HttpResponseStatus.OK, String.format(
+                    "{\"success\":true,\"message\":\"Response deleted successfully\",\"protocol\":\"%s\",\"apiName\":\"%s\",\"version\":%d}",
+                    protocol, apiName, responseManager.getSnapshot().getVersion()));
+        } else {
+            sendJsonResponse(ctx, HttpResponseStatus.NOT_FOUND,
+                    "{\"error\":\"Response not found\",\"protocol\":\"" + protocol + "\",\"apiName\":\"" + apiName + "\"}");
         }
     }
 
@@ -153,10 +253,13 @@ public class ManagementApiHandler extends SimpleChannelInboundHandler<FullHttpRe
             // 메모리 맵 업데이트
             responseManager.putResponse(protocol, apiName, responseContent);
 
-            // 응답
+            // 응답 (검증에 실패한 응답 전문도 원문 그대로 등록되며 오류 메시지를 함께 반환)
+            ResponseTemplate stored = responseManager.getTemplate(protocol, apiName);
+            String validationError = stored != null ? stored.getValidationError() : null;
             String responseJson = String.format(
-                    "{\"success\":true,\"message\":\"Response updated successfully\",\"protocol\":\"%s\",\"apiName\":\"%s\"}",
-                    protocol, apiName
+                    "{\"success\":true,\"message\":\"Response updated successfully\",\"protocol\":\"%s\",\"apiName\":\"%s\",\"version\":%d,\"validationError\":%s}",
+                    protocol, apiName, responseManager.getSnapshot().getVersion(),
+                    objectMapper.writeValueAsString(validationError)
             );
 
             sendJsonResponse(ctx, HttpResponseStatus.OK, responseJson);
@@ -182,13 +285,17 @@ public class ManagementApiHandler extends SimpleChannelInboundHandler<FullHttpRe
         String protocol = params.get("protocol");
         String apiName = params.get("apiName");
 
+        // 한 번 읽은 스냅샷으로 응답 (응답 내용과 버전이 같은 시점)
+        ResponseSnapshot snapshot = responseManager.getSnapshot();
+
         if (protocol != null && apiName != null) {
             // 특정 응답 전문 조회
-            String responseContent = responseManager.getResponse(protocol, apiName);
-            if (responseContent != null) {
+            ResponseTemplate template = snapshot.getTemplate(protocol, apiName);
+            if (template != null) {
                 String responseJson = String.format(
-                        "{\"success\":true,\"protocol\":\"%s\",\"apiName\":\"%s\",\"responseContent\":%s}",
-                        protocol, apiName, objectMapper.writeValueAsString(responseContent)
+                        "{\"success\":true,\"protocol\":\"%s\",\"apiName\":\"%s\",\"responseContent\":%s,\"version\":%d,\"publishedAt\":%d}",
+                        protocol, apiName, objectMapper.writeValueAsString(template.getContent()),
+                        snapshot.getVersion(), snapshot.getPublishedAt()
                 );
                 sendJsonResponse(ctx, HttpResponseStatus.OK, responseJson);
             } else {
@@ -197,21 +304,24 @@ public class ManagementApiHandler extends SimpleChannelInboundHandler<FullHttpRe
             }
         } else if (protocol != null) {
             // 특정 프로토콜의 모든 응답 조회
-            Map<String, String> responses = responseManager.getAllResponses(protocol);
+            Map<String, String> responses = snapshot.getResponses(protocol);
             String responseJson = objectMapper.writeValueAsString(Map.of(
                     "success", true,
                     "protocol", protocol,
                     "responses", responses,
-                    "count", responses.size()
+                    "count", responses.size(),
+                    "version", snapshot.getVersion(),
+                    "publishedAt", snapshot.getPublishedAt()
             ));
             sendJsonResponse(ctx, HttpResponseStatus.OK, responseJson);
         } else {
             // 전체 응답 맵 조회
-            Map<String, Map<String, String>> allResponses = responseManager.getAllResponseMaps();
             String responseJson = objectMapper.writeValueAsString(Map.of(
                     "success", true,
-                    "responses", allResponses,
-                    "statistics", responseManager.getStatistics()
+                    "responses", snapshot.getResponseMaps(),
+                    "statistics", responseManager.getStatistics(),
+                    "version", snapshot.getVersion(),
+                    "publishedAt", snapshot.getPublishedAt()
             ));
             sendJsonResponse(ctx, HttpResponseStatus.OK, responseJson);
         }
@@ -230,6 +340,10 @@ public class ManagementApiHandler extends SimpleChannelInboundHandler<FullHttpRe
 
     private void handleStatsApi(ChannelHandlerContext ctx, FullHttpRequest request) throws Exception {
         Map<String, Object> stats = responseManager.getStatistics();
+        stats.put("acceptors", AcceptorRegistry.getInstance().getStatistics());
+        stats.put("tls", SslContextManager.getInstance().getStatistics());
+        stats.put("hotReload", ResponseDirectoryWatcher.getInstance().getStatistics());
+        stats.put("delay", DelayResponseProcessor.getStatistics());
         stats.put("timestamp", System.currentTimeMillis());
 
         String statsJson = objectMapper.writeValueAsString(stats);
@@ -0,0 +1,17 @@
+package com.kt.dummy.manager;
+
+/**
+ * 규칙 매칭용 요청 필드 조회 (핸들러가 프로토콜별로 구현)
+ *
+ * RuleSet 은 규칙이 실제로 참조하는 필드만, 요청당 필드별로 한 번씩 조회한다.
+ * @author 고재원
+ */
+@FunctionalInterface
+public interface RequestFields {
+
+    /**
+     * @param name 규칙의 필드명 (예: ctn, xml.CTN, query.userId, header.x-tenant, json.user.type)
+     * @return 필드 값, 없으면 null
+     */
+    String field(String name);
+}
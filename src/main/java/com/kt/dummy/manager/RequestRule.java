@@ -0,0 +1,108 @@
+package com.kt.dummy.manager;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 요청 매칭 규칙 정의 (규칙 파일 한 항목)
+ *
+ * <pre>
+ * {"rules": [
+ *   {"name": "capri-vip", "protocol": "keyValue", "api": "406",
+ *    "when": {"ctn": ["01099990000", "01099990001"]}, "template": "OPCODE_406_VIP"}
+ * ]}
+ * </pre>
+ * api 는 keyValue 면 opcode, xml 이면 루트 엘리먼트, HTTP 면 경로의 마지막 세그먼트이며 없으면 모든 요청에 적용한다.
+ * when 의 조건은 모두 만족해야 하고 (AND), 값이 배열이면 그 중 하나와 같으면 된다.
+ *
+ * @author 고재원
+ */
+final class RequestRule {
+    static final String ANY_API = "*";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String name;
+    private final String protocol;
+    private final String api;
+    private final Map<String, List<String>> conditions;
+    private final String template;
+
+    RequestRule(String name, String protocol, String api, Map<String, List<String>> conditions, String template) {
+        this.name = name;
+        this.protocol = protocol;
+        this.api = api;
+        this.conditions = conditions;
+        this.template = template;
+    }
+
+    /**
+     * 규칙 파일 파싱 (최상위가 {"rules": [...]} 또는 배열)
+     * @param source 파일명 (이름 없는 규칙은 source#순번 으로 명명)
+     */
+    static List<RequestRule> parse(String source, String content) throws IOException {
+        JsonNode root = objectMapper.readTree(content);
+        JsonNode rules = root != null && root.isObject() ? root.get("rules") : root;
+        if (rules == null || !rules.isArray()) {
+            throw new IOException("rules 배열 없음: " + source);
+        }
+
+        List<RequestRule> parsed = new ArrayList<>(rules.size());
+        for (int i = 0; i < rules.size(); i++) {
+            JsonNode rule = rules.get(i);
+            Map<String, List<String>> conditions = new LinkedHashMap<>();
+            JsonNode when = rule.path("when");
+            for (Iterator<Map.Entry<String, JsonNode>> it = when.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> condition = it.next();
+                List<String> values = new ArrayList<>();
+                if (condition.getValue().isArray()) {
+                    condition.getValue().forEach(value -> values.add(value.asText()));
+                } else {
+                    values.add(condition.getValue().asText());
+                }
+                conditions.put(condition.getKey(), values);
+            }
+
+            parsed.add(new RequestRule(
+                    text(rule, "name", source + "#" + (i + 1)),
+                    text(rule, "protocol", null),
+                    text(rule, "api", ANY_API),
+                    Collections.unmodifiableMap(conditions),
+                    text(rule, "template", null)));
+        }
+        return parsed;
+    }
+
+    private static String text(JsonNode node, String field, String defaultValue) {
+        JsonNode value = node.get(field);
+        return value != null && !value.isNull() && !value.asText().isEmpty() ? value.asText() : defaultValue;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getProtocol() {
+        return protocol;
+    }
+
+    String getApi() {
+        return api;
+    }
+
+    Map<String, List<String>> getConditions() {
+        return conditions;
+    }
+
+    String getTemplate() {
+        return template;
+    }
+}
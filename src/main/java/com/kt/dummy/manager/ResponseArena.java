@@ -0,0 +1,226 @@
+package com.kt.dummy.manager;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
+import java.lang.ref.Cleaner;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 응답 전문 공용 off-heap 영역 (server.response.storage=arena)
+ *
+ * 응답 전문 UTF-8 바이트를 큰 direct 청크에 이어 붙여 저장하고, 내용이 같은 응답 전문은
+ * 내용 해시로 찾아 같은 위치를 공유한다. 템플릿은 원문 문자열 없이 청크의 읽기 전용 slice 만 가지며,
+ * 핸들러는 그 slice 의 duplicate 를 그대로 write 한다.
+ *
+ * 메모리 수명
+ *  - 템플릿마다 청크 참조 1개(Reference) 를 가지며, 템플릿 교체/삭제(release) 시 바로 반납한다.
+ *    청크는 템플릿 참조가 모두 반납되면 해제되므로 direct 메모리가 GC 를 기다리지 않는다.
+ *    (교체 후에도 템플릿을 잡고 있는 지연 응답은 ResponseTemplate 이 반납 전에 남긴 원문을 쓴다)
+ *  - release 없이 버려진 템플릿의 참조는 객체가 GC 될 때 Cleaner 가 반납한다. (안전망)
+ *  - 청크 안의 일부만 죽은 경우 그 공간은 청크가 통째로 해제될 때까지 남는다. (allocatedBytes - liveBytes)
+ *
+ * @author 고재원
+ */
+final class ResponseArena {
+    // 기본 청크 크기, 이 크기의 1/4 보다 큰 응답 전문은 전용 청크 사용
+    static final int CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private static final Cleaner cleaner = Cleaner.create();
+
+    // 내용 해시 -> 같은 해시의 항목 체인
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final List<ByteBuf> chunks = new ArrayList<>();
+    private ByteBuf current;
+
+    private long liveBytes;
+    private int liveEntries;
+    private long templates;
+    private long dedupHits;
+
+    /**
+     * 응답 전문을 영역에 저장하고 템플릿 생성 (같은 내용이 있으면 공유)
+     */
+    synchronized ResponseTemplate template(String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(bytes);
+
+        Entry entry = entries.get(hash);
+        while (entry != null && !entry.matches(bytes)) {
+            entry = entry.next;
+        }
+        if (entry != null) {
+            dedupHits++;
+        } else {
+            entry = append(hash, bytes, entries.get(hash));
+            entries.put(hash, entry);
+            liveBytes += bytes.length;
+            liveEntries++;
+        }
+
+        entry.references++;
+        templates++;
+        Reference reference = new Reference(entry, entry.slice.retainedDuplicate());
+        ResponseTemplate template = ResponseTemplate.arena(reference);
+        cleaner.register(template, reference);
+        return template;
+    }
+
+    /**
+     * 통계 (청크 수/크기는 아직 해제되지 않은 청크 기준)
+     */
+    synchronized Map<String, Object> getStatistics() {
+        long allocated = pruneChunks();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("chunks", chunks.size());
+        stats.put("allocatedBytes", allocated);
+        stats.put("liveBytes", liveBytes);
+        stats.put("uniqueTemplates", liveEntries);
+        stats.put("templatesCreated", templates);
+        stats.put("dedupHits", dedupHits);
+        return stats;
+    }
+
+    // 청크 끝에 추가하고 항목 생성 (템플릿이 참조를 retain 하기 전까지 청크는 영역/항목이 참조 유지)
+    private Entry append(long hash, byte[] bytes, Entry next) {
+        if (bytes.length > CHUNK_SIZE / 4) {
+            // 전용 청크 - 할당 시 참조 1 은 항목이 가지고, 마지막 템플릿 release 때 반납
+            ByteBuf chunk = newChunk(bytes.length).writeBytes(bytes);
+            return new Entry(hash, chunk.slice(0, bytes.length).asReadOnly(), chunk, next);
+        }
+
+        if (current == null || current.writableBytes() < bytes.length) {
+            // 공용 청크 - 할당 시 참조 1 은 영역이 가지고, 다음 청크로 넘어갈 때 반납
+            if (current != null) {
+                current.release();
+            }
+            current = newChunk(CHUNK_SIZE);
+        }
+        int offset = current.writerIndex();
+        current.writeBytes(bytes);
+        return new Entry(hash, current.slice(offset, bytes.length).asReadOnly(), null, next);
+    }
+
+    private ByteBuf newChunk(int capacity) {
+        pruneChunks();
+        ByteBuf chunk = Unpooled.directBuffer(capacity, capacity);
+        chunks.add(chunk);
+        return chunk;
+    }
+
+    // 해제된 청크를 목록에서 빼고 남은 청크의 전체 크기 반환
+    private long pruneChunks() {
+        long allocated = 0;
+        for (Iterator<ByteBuf> it = chunks.iterator(); it.hasNext(); ) {
+            ByteBuf chunk = it.next();
+            if (chunk.refCnt() == 0) {
+                it.remove();
+            } else {
+                allocated += chunk.capacity();
+            }
+        }
+        return allocated;
+    }
+
+    // FNV-1a 64bit
+    private static long hash(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * 템플릿 하나가 가진 청크 참조 - release 와 Cleaner 중 먼저 실행된 쪽이 한 번만 반납
+     */
+    static final class Reference implements Runnable {
+        private final Entry entry;
+        private final ByteBuf buffer;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Reference(Entry entry, ByteBuf buffer) {
+            this.entry = entry;
+            this.buffer = buffer;
+        }
+
+        ByteBuf buffer() {
+            return buffer;
+        }
+
+        boolean sameEntry(Reference other) {
+            return other != null && entry == other.entry;
+        }
+
+        @Override
+        public void run() {
+            if (released.compareAndSet(false, true)) {
+                entry.release();
+                buffer.release();
+            }
+        }
+    }
+
+    /**
+     * 중복 제거 항목 (같은 내용을 쓰는 템플릿 수를 셈)
+     */
+    final class Entry {
+        private final long hash;
+        private final ByteBuf slice;
+        private final ByteBuf ownedChunk;
+        private Entry next;
+        private int references;
+
+        private Entry(long hash, ByteBuf slice, ByteBuf ownedChunk, Entry next) {
+            this.hash = hash;
+            this.slice = slice;
+            this.ownedChunk = ownedChunk;
+            this.next = next;
+        }
+
+        private boolean matches(byte[] bytes) {
+            return slice.readableBytes() == bytes.length && ByteBufUtil.equals(slice, Unpooled.wrappedBuffer(bytes));
+        }
+
+        // 마지막 템플릿이면 중복 제거 목록에서 제거 (청크 메모리는 템플릿 참조 반납으로 해제)
+        private void release() {
+            synchronized (ResponseArena.this) {
+                if (--references > 0) {
+                    return;
+                }
+
+                Entry head = entries.get(hash);
+                if (head == this) {
+                    if (next != null) {
+                        entries.put(hash, next);
+                    } else {
+                        entries.remove(hash);
+                    }
+                } else {
+                    Entry previous = head;
+                    while (previous != null && previous.next != this) {
+                        previous = previous.next;
+                    }
+                    if (previous != null) {
+                        previous.next = next;
+                    }
+                }
+                liveBytes -= slice.readableBytes();
+                liveEntries--;
+                if (ownedChunk != null) {
+                    ownedChunk.release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.kt.dummy.manager;
+
+import com.kt.dummy.server.ServerConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 응답 전문 디렉토리 변경 감시 (핫 리로드)
+ *
+ * 모든 stage/protocol 디렉토리(하위 디렉토리 포함) 와 규칙 디렉토리를 WatchService 로 감시한다.
+ * 기본 경로와 stage 디렉토리도 단독으로 감시하여, 실행 중 새로 만든 stage/protocol/규칙 디렉토리를 등록하고 그 안의 파일을 반영한다.
+ * 이벤트가 오면 debounce 시간 동안 추가 이벤트가 없을 때까지 변경 경로를 모은 뒤
+ * ResponseMapManager.reloadChanged 로 바뀐 파일만 다시 읽어 새 스냅샷 하나로 게시한다.
+ * 이벤트가 유실(OVERFLOW)되거나 응답 전문 팩 파일이 교체되면 전체 재로드한다.
+ *
+ * @author 고재원
+ */
+public class ResponseDirectoryWatcher {
+    private static final Logger logger = LoggerFactory.getLogger(ResponseDirectoryWatcher.class);
+    private static final ResponseDirectoryWatcher INSTANCE = new ResponseDirectoryWatcher();
+
+    // 변경이 계속 이어져도 이 배수만큼 기다린 뒤에는 반영
+    private static final int MAX_DEBOUNCE_MULTIPLIER = 10;
+
+    private final AtomicLong reloads = new AtomicLong();
+    private final AtomicLong fullReloads = new AtomicLong();
+    private final AtomicLong reloadFailures = new AtomicLong();
+    private final AtomicLong changedPaths = new AtomicLong();
+    private final AtomicLong changedTemplates = new AtomicLong();
+    private final AtomicLong reloadNanos = new AtomicLong();
+    private final AtomicLong maxReloadNanos = new AtomicLong();
+    private volatile long lastReloadNanos;
+    private volatile long lastReloadAt;
+
+    private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+    // 새 디렉토리 생성만 보는 상위 디렉토리 (기본 경로, stage 디렉토리)
+    private final Set<Path> parentDirectories = ConcurrentHashMap.newKeySet();
+    private FileResponseLoader loader;
+    private WatchService watchService;
+    // 응답 전문 팩 파일 (절대 경로, 사용 안 하면 null) 과 팩 때문에만 감시하는 디렉토리
+    private Path packPath;
+    private Path packOnlyDirectory;
+    private volatile Thread watcherThread;
+    private volatile long debounceMs;
+
+    private ResponseDirectoryWatcher() {
+    }
+
+    public static ResponseDirectoryWatcher getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 감시 시작 (응답 전문 맵 초기화 후 1회 호출)
+     */
+    public synchronized void start(ServerConfig config) {
+        if (watcherThread != null || !config.isResponseWatchEnabled()) {
+            return;
+        }
+
+        try {
+            debounceMs = Math.max(config.getResponseWatchDebounceMs(), 1);
+            watchService = FileSystems.getDefault().newWatchService();
+            loader = new FileResponseLoader();
+            for (Path directory : loader.getWatchParentDirectories()) {
+                registerParent(directory);
+            }
+            for (Path directory : loader.getWatchDirectories()) {
+                registerAll(directory);
+            }
+            registerPack(loader.getPackPath());
+
+            watcherThread = new Thread(this::watchLoop, "response-watcher");
+            watcherThread.setDaemon(true);
+            watcherThread.start();
+            logger.info("응답 전문 디렉토리 감시 시작: {} 개 디렉토리, debounce {} ms",
+                    watchedDirectories.size(), debounceMs);
+
+        } catch (Exception e) {
+            logger.error("응답 전문 디렉토리 감시 시작 실패 (핫 리로드 사용 안 함)", e);
+        }
+    }
+
+    public synchronized void shutdown() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.warn("WatchService 종료 실패", e);
+            }
+        }
+    }
+
+    /**
+     * 관리 API 용 재로드 통계
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", watcherThread != null);
+        if (watcherThread == null) {
+            return stats;
+        }
+
+        long attempts = reloads.get() + reloadFailures.get();
+        stats.put("watchedDirectories", watchedDirectories.size());
+        stats.put("debounceMs", debounceMs);
+        stats.put("reloads", reloads.get());
+        stats.put("fullReloads", fullReloads.get());
+        stats.put("reloadFailures", reloadFailures.get());
+        stats.put("changedPaths", changedPaths.get());
+        stats.put("changedTemplates", changedTemplates.get());
+        stats.put("lastReloadAt", lastReloadAt);
+        stats.put("lastReloadMs", lastReloadNanos / 1_000_000.0);
+        stats.put("avgReloadMs", attempts > 0 ? reloadNanos.get() / attempts / 1_000_000.0 : 0.0);
+        stats.put("maxReloadMs", maxReloadNanos.get() / 1_000_000.0);
+        return stats;
+    }
+
+    private void watchLoop() {
+        try {
+            while (true) {
+                // 첫 이벤트를 기다린 뒤 조용해질 때까지 모음
+                Set<Path> changed = new LinkedHashSet<>();
+                boolean overflow = collect(watchService.take(), changed);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(debounceMs * MAX_DEBOUNCE_MULTIPLIER);
+                WatchKey key;
+                while (System.nanoTime() < deadline
+                        && (key = watchService.poll(debounceMs, TimeUnit.MILLISECONDS)) != null) {
+                    overflow |= collect(key, changed);
+                }
+
+                if (overflow || !changed.isEmpty()) {
+                    reload(changed, overflow);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // shutdown
+        }
+        logger.info("응답 전문 디렉토리 감시 종료");
+    }
+
+    // 이벤트 경로 수집, 새 하위 디렉토리는 감시 등록 (OVERFLOW 면 true)
+    private boolean collect(WatchKey key, Set<Path> changed) {
+        Path directory = watchedDirectories.get(key);
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || directory == null) {
+                overflow = true;
+                continue;
+            }
+
+            Path path = directory.resolve((Path) event.context());
+            if (packPath != null && path.toAbsolutePath().normalize().equals(packPath)) {
+                overflow = true;
+                continue;
+            }
+            if (directory.equals(packOnlyDirectory)) {
+                continue;
+            }
+            if (parentDirectories.contains(directory)) {
+                overflow |= collectParent(event, path, changed);
+                continue;
+            }
+            changed.add(path);
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                try {
+                    registerAll(path);
+                } catch (IOException e) {
+                    logger.warn("하위 디렉토리 감시 등록 실패: {}", path, e);
+                }
+            }
+        }
+
+        if (!key.reset()) {
+            watchedDirectories.remove(key);
+            parentDirectories.remove(directory);
+        }
+        return overflow;
+    }
+
+    // 상위 디렉토리 이벤트 - 새 stage/protocol/규칙 디렉토리는 등록 후 안의 경로를 변경으로 추가,
+    // 감시 중인 디렉토리가 통째로 삭제/이동되면 전체 재로드 (true)
+    private boolean collectParent(WatchEvent<?> event, Path path, Set<Path> changed) {
+        if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+            try {
+                registerNew(path, changed);
+            } catch (IOException e) {
+                logger.warn("새 디렉토리 감시 등록 실패: {}", path, e);
+            }
+            return false;
+        }
+        return event.kind() == StandardWatchEventKinds.ENTRY_DELETE
+                && (loader.isWatchParentDirectory(path) || loader.isWatchDirectory(path));
+    }
+
+    // 등록 전에 만들어진 파일도 반영되도록 등록 후 디렉토리 안을 훑음
+    private void registerNew(Path directory, Set<Path> changed) throws IOException {
+        if (loader.isWatchParentDirectory(directory)) {
+            registerParent(directory);
+            try (Stream<Path> children = Files.list(directory)) {
+                for (Path child : (Iterable<Path>) children.filter(Files::isDirectory)::iterator) {
+                    registerNew(child, changed);
+                }
+            }
+        } else if (loader.isWatchDirectory(directory)) {
+            registerAll(directory);
+            try (Stream<Path> paths = Files.walk(directory)) {
+                paths.forEach(changed::add);
+            }
+            logger.info("새 디렉토리 감시 등록: {}", directory);
+        }
+    }
+
+    private void reload(Set<Path> changed, boolean overflow) {
+        long start = System.nanoTime();
+        try {
+            ResponseMapManager manager = ResponseMapManager.getInstance();
+            int templates = overflow ? manager.reloadAll() : manager.reloadChanged(changed);
+            if (overflow) {
+                fullReloads.incrementAndGet();
+            }
+            changedPaths.addAndGet(changed.size());
+            changedTemplates.addAndGet(templates);
+            reloads.incrementAndGet();
+
+        } catch (Exception e) {
+            reloadFailures.incrementAndGet();
+            logger.error("응답 전문 재로드 실패, 기존 스냅샷 유지", e);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            reloadNanos.addAndGet(elapsed);
+            maxReloadNanos.accumulateAndGet(elapsed, Math::max);
+            lastReloadNanos = elapsed;
+            lastReloadAt = System.currentTimeMillis();
+        }
+    }
+
+    // 팩 파일이 있는 디렉토리 등록 (하위 제외), 응답 전문 디렉토리가 아니면 팩 외 파일 이벤트는 무시
+    private void registerPack(Path path) throws IOException {
+        if (path == null) {
+            return;
+        }
+        packPath = path.toAbsolutePath().normalize();
+        Path directory = packPath.getParent();
+        if (directory == null || !Files.isDirectory(directory)
+                || watchedDirectories.containsValue(directory)) {
+            return;
+        }
+
+        WatchKey key = directory.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        watchedDirectories.put(key, directory);
+        packOnlyDirectory = directory;
+    }
+
+    private void registerParent(Path directory) throws IOException {
+        // 팩 파일이 같은 디렉토리에 있을 수 있으므로 MODIFY 도 등록 (팩 외 MODIFY 는 무시)
+        WatchKey key = directory.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        watchedDirectories.put(key, directory);
+        parentDirectories.add(directory);
+    }
+
+    private void registerAll(Path root) throws IOException {
+        try (Stream<Path> directories = Files.walk(root)) {
+            for (Path directory : (Iterable<Path>) directories.filter(Files::isDirectory)::iterator) {
+                WatchKey key = directory.register(watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+                watchedDirectories.put(key, directory);
+            }
+        }
+    }
+}
@@ -5,99 +5,323 @@ import com.kt.dummy.util.FileUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
 
 /**
  * 응답 전문 메모리 맵 관리자
  * protocol(KEY) -> apiName -> response 구조
+ * 각 응답 전문은 미리 인코딩된 버퍼를 함께 가진 ResponseTemplate 으로 보관한다.
+ * (server.response.storage=arena 이면 원문 문자열 없이 중복 제거된 공용 off-heap 영역(ResponseArena) 에 보관)
+ * 응답 전문 팩(ResponsePack) 파일을 설정하면 시작/전체 재로드 시 디렉토리 대신 팩을 매핑하여 사용하고,
+ * 이후 디렉토리의 개별 파일 변경은 핫 리로드로 그 위에 반영한다.
+ * 팩 로드 후 핫 리로드한 변경이 있으면 같은 팩으로는 전체 재로드하지 않으므로 그 변경이 되돌아가지 않는다.
+ * (시작 시 팩보다 최근 파일 확인은 디렉토리 전체를 훑으므로 server.response.pack.stale.check 로 켤 때만 한다)
+ * 응답 전문은 버전이 붙은 불변 스냅샷(ResponseSnapshot) 으로 관리하며, 변경 시 새 스냅샷을 만들어 volatile 필드 하나로 교체한다.
+ * HTTP / KeyValue 요청은 스냅샷과 함께 만들어지는 라우팅 테이블(HttpRouteTable, KeyValueRouteTable) 로 조회한다.
+ * 규칙 파일(response/rules/*.json) 은 RuleSet 으로 컴파일되어 라우팅 테이블보다 먼저 적용된다.
+ * 응답 전문은 템플릿을 만들 때 TemplateNormalizer 로 한 번 검증/정규화하며, 요청 처리 중에는 파싱하지 않는다.
  * @author 고재원
  */
 public class ResponseMapManager {
     private static final Logger logger = LoggerFactory.getLogger(ResponseMapManager.class);
     private static final ResponseMapManager INSTANCE = new ResponseMapManager();
 
-    // protocol -> apiName -> responseContent
-    private final Map<String, Map<String, String>> responseMaps;
     private final FileResponseLoader fileLoader;
 
+    // 마지막 전체 로드에 사용한 응답 전문 팩 (디렉토리에서 로드했으면 null)
+    private volatile ResponsePack pack;
+    // 마지막으로 로드한 팩 파일의 수정 시각, 그 뒤 핫 리로드로 디렉토리 변경을 반영했는지 (전체 로드/재로드에서만 사용)
+    private FileTime packModified;
+    private boolean packOverridden;
+
+    // server.response.minify - 로드 시 JSON/XML 공백 제거 여부
+    private final boolean minify;
+
+    // server.response.storage=arena 일 때 응답 전문 공용 off-heap 영역 (heap 이면 null)
+    private final ResponseArena arena;
+
+    // 현재 스냅샷 (읽기는 잠금 없음, 쓰기는 publish 로 직렬화)
+    private volatile ResponseSnapshot snapshot = ResponseSnapshot.EMPTY;
+
+    // 요청 매칭 규칙 (정의는 로드 시 보관, 스냅샷마다 다시 컴파일)
+    private volatile List<RequestRule> ruleDefinitions = new ArrayList<>();
+    private final Map<String, LongAdder> ruleMatches = new ConcurrentHashMap<>();
+
     private ResponseMapManager() {
-        this.responseMaps = new ConcurrentHashMap<>();
         this.fileLoader = new FileResponseLoader();
-        initializeProtocolMaps();
+        this.minify = ServerConfig.getInstance().isResponseMinifyEnabled();
+        this.arena = "arena".equalsIgnoreCase(ServerConfig.getInstance().getResponseStorage())
+                ? new ResponseArena() : null;
     }
 
     public static ResponseMapManager getInstance() {
         return INSTANCE;
     }
 
-    private void initializeProtocolMaps() {
-        String[] protocols = {"json", "xml", "soap", "keyValue"};
-
-        for (String protocol : protocols) {
-            responseMaps.put(protocol, new ConcurrentHashMap<>());
-        }
-    }
-
     public void initialize() {
         logger.info("응답 전문 맵 초기화 시작...");
 
         try {
-            String[] stages = {"stage1", "stage2", "stage3", "stage4"};
-            String[] protocols = {"json", "xml", "soap", "keyValue"};
+            Map<String, Map<String, ResponseTemplate>> templateMaps = loadTemplates();
 
-            int totalLoaded = 0;
-            Map<String, Integer> duplicateCount = new ConcurrentHashMap<>();
+            ruleDefinitions = loadRules(loadRuleFiles());
+            ResponseSnapshot published = publish(templateMaps);
+            logger.info("라우트: HTTP {} 개, KeyValue {} 개, 규칙 {} 개",
+                    published.getHttpRoutes().size(), published.getKeyValueRoutes().size(),
+                    published.getRules().size());
 
-            // stage1부터 stage4까지 순차적으로 로드 (나중 stage가 이전 것을 덮어씀)
-            for (String stage : stages) {
-                logger.info("{} 단계 파일 로드 시작", stage);
+            logger.info("응답 전문 맵 초기화 완료: 총 {} 개 API (버전 {})", published.size(), published.getVersion());
+
+        } catch (Exception e) {
+            logger.error("응답 전문 맵 초기화 실패", e);
+            throw new RuntimeException("응답 전문 맵 초기화 실패", e);
+        }
+    }
 
-                for (String protocol : protocols) {
-                    Map<String, String> apiResponses = fileLoader.loadResponsesForStageAndProtocol(stage, protocol);
+    /**
+     * 전체 재로드 (변경 이벤트 유실 시) - 내용이 같은 응답 전문은 기존 템플릿을 그대로 사용
+     * @return 추가/변경/삭제된 응답 전문 수
+     */
+    public synchronized int reloadAll() {
+        ResponseSnapshot current = snapshot;
+        Map<String, Map<String, ResponseTemplate>> templateMaps = loadTemplates();
+
+        int changed = 0;
+        for (Map.Entry<String, Map<String, ResponseTemplate>> protocolEntry : templateMaps.entrySet()) {
+            String protocol = protocolEntry.getKey();
+            for (Map.Entry<String, ResponseTemplate> entry : protocolEntry.getValue().entrySet()) {
+                ResponseTemplate existing = current.getTemplate(protocol, entry.getKey());
+                if (existing != null && existing.sameContent(entry.getValue())) {
+                    entry.getValue().discard();
+                    entry.setValue(existing);
+                } else {
+                    changed++;
+                }
+            }
+            changed += (int) current.getResponses(protocol).keySet().stream()
+                    .filter(apiName -> !protocolEntry.getValue().containsKey(apiName))
+                    .count();
+        }
 
-                    // 기존 맵에 병합 (중복 시 덮어쓰기)
-                    for (Map.Entry<String, String> entry : apiResponses.entrySet()) {
-                        String apiName = entry.getKey();
-                        String responseContent = entry.getValue();
+        ruleDefinitions = loadRules(loadRuleFiles());
+        ResponseSnapshot published = publish(templateMaps);
+        logger.info("응답 전문 전체 재로드: {} 개 변경 (버전 {})", changed, published.getVersion());
+        return changed;
+    }
 
-                        // 중복 체크
-                        if (responseMaps.get(protocol).containsKey(apiName)) {
-                            String dupKey = protocol + ":" + apiName;
-                            duplicateCount.merge(dupKey, 1, Integer::sum);
-                            logger.info("응답 전문 덮어쓰기: {}/{} ({}에서 로드)",
-                                    protocol, apiName, stage);
-                        }
+    /**
+     * 변경된 파일만 재로드 (변경 감지 후 호출)
+     * 변경된 API 마다 stage4 -> stage1 순으로 파일을 찾아 가장 높은 stage 의 내용을 사용하고,
+     * 어느 stage 에도 없으면 삭제한다. 규칙 파일이 바뀌면 규칙을 다시 로드한다.
+     * 결과는 새 스냅샷 하나로 게시된다.
+     * @param changedPaths 생성/수정/삭제된 파일 또는 디렉토리
+     * @return 추가/변경/삭제된 응답 전문 수
+     */
+    public synchronized int reloadChanged(Collection<Path> changedPaths) {
+        ResponseSnapshot current = snapshot;
+        Map<String, Set<String>> affected = new LinkedHashMap<>();
+        boolean rulesChanged = false;
+
+        for (Path path : changedPaths) {
+            if (fileLoader.isRulePath(path)) {
+                rulesChanged = true;
+                continue;
+            }
 
-                        responseMaps.get(protocol).put(apiName, responseContent);
-                    }
+            FileResponseLoader.Location location = fileLoader.locate(path);
+            if (location == null) {
+                continue;
+            }
+            Set<String> apiNames = affected.computeIfAbsent(location.protocol, protocol -> new LinkedHashSet<>());
+            String apiName = location.apiName();
+            if (apiName != null) {
+                apiNames.add(apiName);
+            }
 
-                    totalLoaded += apiResponses.size();
-                    logger.debug("{}/{} 프로토콜: {} 개 API 로드", stage, protocol, apiResponses.size());
+            // 디렉토리 생성/삭제 - 하위 파일과 기존 하위 API 모두 대상
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> files = Files.walk(path)) {
+                    files.map(fileLoader::locate)
+                         .filter(Objects::nonNull)
+                         .map(FileResponseLoader.Location::apiName)
+                         .filter(Objects::nonNull)
+                         .forEach(apiNames::add);
+                } catch (Exception e) {
+                    logger.warn("디렉토리 스캔 실패: {}", path, e);
                 }
             }
+            if (apiName == null) {
+                String prefix = location.relativePath + "/";
+                current.getResponses(location.protocol).keySet().stream()
+                       .filter(name -> name.startsWith(prefix))
+                       .forEach(apiNames::add);
+            }
+        }
 
-            // 중복 통계 로깅
-            if (!duplicateCount.isEmpty()) {
-                logger.info("=== 중복 API 통계 ===");
-                duplicateCount.forEach((key, count) -> {
-                    logger.info("{}: {} 번 중복 (최종적으로 가장 높은 stage 값 사용)", key, count);
-                });
+        Map<String, Map<String, ResponseTemplate>> templateMaps = current.copyTemplateMaps();
+        int changed = 0;
+        for (Map.Entry<String, Set<String>> entry : affected.entrySet()) {
+            String protocol = entry.getKey();
+            Map<String, ResponseTemplate> protocolMap = templateMaps.get(protocol);
+            for (String apiName : entry.getValue()) {
+                String content = loadHighestStage(protocol, apiName);
+                TemplateNormalizer.Result normalized = content != null ? normalize(protocol, content) : null;
+                ResponseTemplate existing = protocolMap.get(apiName);
+                if (normalized == null) {
+                    if (existing != null) {
+                        protocolMap.remove(apiName);
+                        changed++;
+                        logger.info("응답 전문 삭제 (파일 없음): {}/{}", protocol, apiName);
+                    }
+                } else if (existing == null || !existing.contentEquals(normalized.content)) {
+                    protocolMap.put(apiName, newTemplate(protocol, apiName, normalized));
+                    changed++;
+                    logger.info("응답 전문 재로드: {}/{}", protocol, apiName);
+                }
             }
+        }
+
+        if (rulesChanged) {
+            ruleDefinitions = loadRules(fileLoader.loadRuleFiles());
+        }
+        if (changed > 0 || rulesChanged) {
+            // 이후 같은 팩으로 전체 재로드하면 이 변경이 사라지므로 기록
+            packOverridden |= pack != null;
+            ResponseSnapshot published = publish(templateMaps);
+            logger.info("응답 전문 변경 반영: {} 개 변경, 규칙 재로드 {} (버전 {})",
+                    changed, rulesChanged, published.getVersion());
+        }
+        return changed;
+    }
 
-            // 최종 통계
-            logger.info("=== 최종 로드 통계 ===");
+    // 가장 높은 stage 의 파일 내용 (없으면 null)
+    private String loadHighestStage(String protocol, String apiName) {
+        String[] stages = FileResponseLoader.STAGES;
+        for (int i = stages.length - 1; i >= 0; i--) {
+            String content = fileLoader.loadResponse(stages[i], protocol, apiName);
+            if (content != null) {
+                return content;
+            }
+        }
+        return null;
+    }
+
+    // 응답 전문 팩이 있으면 팩, 없거나 검증에 실패하거나 팩보다 최근 변경이 있으면 디렉토리에서 로드 (pack 필드 갱신)
+    private synchronized Map<String, Map<String, ResponseTemplate>> loadTemplates() {
+        Path packPath = fileLoader.getPackPath();
+        if (packPath != null && Files.isRegularFile(packPath)) {
+            try {
+                FileTime modifiedTime = Files.getLastModifiedTime(packPath);
+                if (packOverridden && modifiedTime.equals(packModified)) {
+                    logger.info("팩 로드 후 핫 리로드한 변경이 있어 디렉토리에서 로드: {}", packPath);
+                    pack = null;
+                    return loadAllStages();
+                }
+                Path modified = ServerConfig.getInstance().isResponsePackStaleCheckEnabled()
+                        ? fileLoader.findModifiedAfter(modifiedTime) : null;
+                if (modified != null) {
+                    logger.warn("응답 전문 팩보다 최근에 변경된 파일이 있어 디렉토리에서 로드: {} (팩 {})", modified, packPath);
+                    pack = null;
+                    return loadAllStages();
+                }
+
+                long start = System.nanoTime();
+                ResponsePack opened = ResponsePack.open(packPath);
+                Map<String, Map<String, ResponseTemplate>> templateMaps = opened.templateMaps();
+                pack = opened;
+                packModified = modifiedTime;
+                packOverridden = false;
+                logger.info("응답 전문 팩 로드: {} ({} 개 항목, {} bytes, {} ms)", packPath, opened.size(),
+                        opened.byteSize(), (System.nanoTime() - start) / 1_000_000);
+                return templateMaps;
+
+            } catch (Exception e) {
+                logger.warn("응답 전문 팩 사용 불가, 디렉토리에서 로드: {}", packPath, e);
+            }
+        }
+
+        pack = null;
+        return loadAllStages();
+    }
+
+    // 전체 로드와 같은 출처의 규칙 파일 (팩 또는 rules 디렉토리)
+    private Map<String, String> loadRuleFiles() {
+        ResponsePack current = pack;
+        return current != null ? current.ruleFiles() : fileLoader.loadRuleFiles();
+    }
+
+    // 모든 stage 를 임시 맵에 모은 뒤 템플릿 생성 (게시 전까지 읽는 쪽에 보이지 않음)
+    private Map<String, Map<String, ResponseTemplate>> loadAllStages() {
+        String[] stages = FileResponseLoader.STAGES;
+        String[] protocols = ResponseSnapshot.PROTOCOLS;
+
+        int totalLoaded = 0;
+        Map<String, Integer> duplicateCount = new ConcurrentHashMap<>();
+
+        Map<String, Map<String, String>> staging = new LinkedHashMap<>();
+        for (String protocol : protocols) {
+            staging.put(protocol, new LinkedHashMap<>());
+        }
+
+        // 전체 디렉토리 병렬 로드 후 stage1부터 stage4까지 순서대로 병합 (나중 stage가 이전 것을 덮어씀)
+        Map<String, Map<String, Map<String, String>>> loaded = fileLoader.loadAllStages();
+        for (String stage : stages) {
             for (String protocol : protocols) {
-                int protocolCount = responseMaps.get(protocol).size();
-                logger.info("{} 프로토콜: {} 개 고유 API", protocol, protocolCount);
+                Map<String, String> apiResponses = loaded.get(stage).get(protocol);
+
+                // 기존 맵에 병합 (중복 시 덮어쓰기)
+                for (Map.Entry<String, String> entry : apiResponses.entrySet()) {
+                    String apiName = entry.getKey();
+                    String responseContent = entry.getValue();
+
+                    // 중복 체크
+                    if (staging.get(protocol).containsKey(apiName)) {
+                        String dupKey = protocol + ":" + apiName;
+                        duplicateCount.merge(dupKey, 1, Integer::sum);
+                        logger.info("응답 전문 덮어쓰기: {}/{} ({}에서 로드)",
+                                protocol, apiName, stage);
+                    }
+
+                    staging.get(protocol).put(apiName, responseContent);
+                }
+
+                totalLoaded += apiResponses.size();
+                logger.debug("{}/{} 프로토콜: {} 개 API 로드", stage, protocol, apiResponses.size());
             }
+        }
 
-            logger.info("응답 전문 맵 초기화 완료: 총 {} 개 파일 처리", totalLoaded);
+        // 중복 통계 로깅
+        if (!duplicateCount.isEmpty()) {
+            logger.info("=== 중복 API 통계 ===");
+            duplicateCount.forEach((key, count) -> {
+                logger.info("{}: {} 번 중복 (최종적으로 가장 높은 stage 값 사용)", key, count);
+            });
+        }
 
-        } catch (Exception e) {
-            logger.error("응답 전문 맵 초기화 실패", e);
-            throw new RuntimeException("응답 전문 맵 초기화 실패", e);
+        // 최종 통계
+        logger.info("=== 최종 로드 통계 ===");
+        Map<String, Map<String, ResponseTemplate>> templateMaps = ResponseSnapshot.emptyTemplateMaps();
+        for (String protocol : protocols) {
+            Map<String, ResponseTemplate> protocolMap = templateMaps.get(protocol);
+            staging.get(protocol).forEach((apiName, content) ->
+                    protocolMap.put(apiName, newTemplate(protocol, apiName, normalize(protocol, content))));
+            logger.info("{} 프로토콜: {} 개 고유 API", protocol, protocolMap.size());
         }
+        logger.info("총 {} 개 파일 처리", totalLoaded);
+        return templateMaps;
     }
 
     /**
@@ -107,21 +331,32 @@ public class ResponseMapManager {
      * @return 응답 전문 내용
      */
     public String getResponse(String protocol, String apiName) {
+        ResponseTemplate template = getTemplate(protocol, apiName);
+        return template != null ? template.getContent() : null;
+    }
+
+    /**
+     * 응답 전문 템플릿 조회 (stage 무관, 핸들러 전송용)
+     * @param protocol 프로토콜 (json, xml, soap, keyValue)
+     * @param apiName API명
+     * @return 응답 전문 템플릿
+     */
+    public ResponseTemplate getTemplate(String protocol, String apiName) {
         try {
-            Map<String, String> protocolMap = responseMaps.get(protocol);
-            if (protocolMap == null) {
+            ResponseSnapshot current = snapshot;
+            if (!current.hasProtocol(protocol)) {
                 logger.warn("존재하지 않는 프로토콜: {}", protocol);
                 return null;
             }
 
-            String response = protocolMap.get(apiName);
-            if (response != null) {
+            ResponseTemplate template = current.getTemplate(protocol, apiName);
+            if (template != null) {
                 logger.debug("응답 전문 조회 성공: {}/{}", protocol, apiName);
             } else {
                 logger.debug("응답 전문 없음: {}/{}", protocol, apiName);
             }
 
-            return response;
+            return template;
 
         } catch (Exception e) {
             logger.error("응답 전문 조회 중 오류: {}/{}", protocol, apiName, e);
@@ -137,13 +372,17 @@ public class ResponseMapManager {
      */
     public void putResponse(String protocol, String apiName, String responseContent) {
         try {
-            Map<String, String> protocolMap = responseMaps.get(protocol);
-            if (protocolMap == null) {
+            if (!snapshot.hasProtocol(protocol)) {
                 logger.warn("존재하지 않는 프로토콜: {}", protocol);
                 return;
             }
 
-            protocolMap.put(apiName, responseContent);
+            ResponseTemplate template = newTemplate(protocol, apiName, normalize(protocol, responseContent));
+            synchronized (this) {
+                Map<String, Map<String, ResponseTemplate>> templateMaps = snapshot.copyTemplateMaps();
+                templateMaps.get(protocol).put(apiName, template);
+                publish(templateMaps);
+            }
             logger.info("응답 전문 업데이트: {}/{}", protocol, apiName);
 
         } catch (Exception e) {
@@ -152,17 +391,108 @@ public class ResponseMapManager {
     }
 
     /**
-     * 특정 프로토콜의 모든 API 목록 조회
+     * 응답 전문 삭제
+     * @param protocol 프로토콜
+     * @param apiName API명
+     * @return 삭제 여부
      */
-    public Map<String, String> getAllResponses(String protocol) {
+    public boolean removeResponse(String protocol, String apiName) {
         try {
-            Map<String, String> protocolMap = responseMaps.get(protocol);
-            return protocolMap != null ? new ConcurrentHashMap<>(protocolMap) : new ConcurrentHashMap<>();
+            if (!snapshot.hasProtocol(protocol)) {
+                logger.warn("존재하지 않는 프로토콜: {}", protocol);
+                return false;
+            }
+
+            synchronized (this) {
+                Map<String, Map<String, ResponseTemplate>> templateMaps = snapshot.copyTemplateMaps();
+                if (templateMaps.get(protocol).remove(apiName) == null) {
+                    return false;
+                }
+                publish(templateMaps);
+            }
+            logger.info("응답 전문 삭제: {}/{}", protocol, apiName);
+            return true;
 
         } catch (Exception e) {
-            logger.error("전체 응답 전문 조회 중 오류: {}", protocol, e);
-            return new ConcurrentHashMap<>();
+            logger.error("응답 전문 삭제 중 오류: {}/{}", protocol, apiName, e);
+            return false;
+        }
+    }
+
+    /**
+     * 현재 응답 전문 스냅샷 조회 (한 요청 안에서 일관된 상태가 필요할 때)
+     */
+    public ResponseSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * HTTP 라우팅 테이블 조회 (요청 경로 + 프로토콜 -> 응답 전문)
+     */
+    public HttpRouteTable getHttpRoutes() {
+        return snapshot.getHttpRoutes();
+    }
+
+    /**
+     * KeyValue 라우팅 테이블 조회 (opcode / ctn -> 응답 전문)
+     */
+    public KeyValueRouteTable getKeyValueRoutes() {
+        return snapshot.getKeyValueRoutes();
+    }
+
+    /**
+     * 요청 매칭 규칙 조회 (라우팅 테이블보다 먼저 적용)
+     */
+    public RuleSet getRules() {
+        return snapshot.getRules();
+    }
+
+    // 규칙 파일 파싱 (파싱 실패한 파일은 제외)
+    private List<RequestRule> loadRules(Map<String, String> ruleFiles) {
+        List<RequestRule> definitions = new ArrayList<>();
+        ruleFiles.forEach((fileName, content) -> {
+            try {
+                definitions.addAll(RequestRule.parse(fileName, content));
+            } catch (Exception e) {
+                logger.error("규칙 파일 파싱 실패: {}", fileName, e);
+            }
+        });
+        return definitions;
+    }
+
+    // 로드 시 검증/정규화 (server.response.minify 이면 공백 제거, 요청 처리 경로에서는 파싱하지 않음)
+    private TemplateNormalizer.Result normalize(String protocol, String content) {
+        return TemplateNormalizer.normalize(protocol, content, minify);
+    }
+
+    // 저장 방식에 따라 정규화된 내용으로 템플릿 생성, 검증 오류는 템플릿에 남기고 원문을 그대로 사용
+    private ResponseTemplate newTemplate(String protocol, String apiName, TemplateNormalizer.Result normalized) {
+        ResponseTemplate template = arena != null ? arena.template(normalized.content)
+                : ResponseTemplate.of(normalized.content);
+        if (normalized.error != null) {
+            template.setValidationError(normalized.error);
+            logger.warn("응답 전문 검증 실패 (원문 그대로 사용): {}/{} - {}", protocol, apiName, normalized.error);
         }
+        return template;
+    }
+
+    // 새 스냅샷 생성 후 교체 - 동시 변경 시에도 버전 순서대로 게시되도록 직렬화
+    // 교체된 이전 템플릿의 버퍼는 게시 후 반납 (전송 중인 duplicate 는 자체 참조로 유지됨)
+    private synchronized ResponseSnapshot publish(Map<String, Map<String, ResponseTemplate>> templateMaps) {
+        ResponseSnapshot previous = snapshot;
+        ResponseSnapshot next = ResponseSnapshot.build(previous.getVersion() + 1, templateMaps,
+                ruleDefinitions, ruleMatches);
+        snapshot = next;
+        previous.releaseReplaced(next);
+        logger.debug("응답 전문 스냅샷 게시: 버전 {}, {} 개", next.getVersion(), next.size());
+        return next;
+    }
+
+    /**
+     * 특정 프로토콜의 모든 API 목록 조회 (현재 스냅샷의 읽기 전용 뷰)
+     */
+    public Map<String, String> getAllResponses(String protocol) {
+        return snapshot.getResponses(protocol);
     }
 
     /**
@@ -172,19 +502,40 @@ public class ResponseMapManager {
         Map<String, Object> stats = new ConcurrentHashMap<>();
 
         try {
-            int totalApis = 0;
+            ResponseSnapshot current = snapshot;
             Map<String, Integer> protocolStats = new ConcurrentHashMap<>();
+            current.getResponseMaps().forEach((protocol, responses) -> protocolStats.put(protocol, responses.size()));
 
-            for (Map.Entry<String, Map<String, String>> protocolEntry : responseMaps.entrySet()) {
-                String protocol = protocolEntry.getKey();
-                int protocolCount = protocolEntry.getValue().size();
-
-                protocolStats.put(protocol, protocolCount);
-                totalApis += protocolCount;
-            }
-
-            stats.put("totalApis", totalApis);
+            stats.put("totalApis", current.size());
             stats.put("protocolStats", protocolStats);
+            stats.put("version", current.getVersion());
+            stats.put("publishedAt", current.getPublishedAt());
+            stats.put("httpRoutes", current.getHttpRoutes().size());
+            stats.put("keyValueRoutes", current.getKeyValueRoutes().size());
+            stats.put("rules", current.getRules().getStatistics());
+
+            Map<String, String> invalid = current.getInvalidTemplates();
+            Map<String, Object> validation = new LinkedHashMap<>();
+            validation.put("minify", minify);
+            validation.put("invalidCount", invalid.size());
+            validation.put("invalid", invalid);
+            stats.put("validation", validation);
+
+            Map<String, Object> storage = new LinkedHashMap<>();
+            storage.put("mode", arena != null ? "arena" : "heap");
+            storage.put("protocols", current.getStorageStatistics());
+            if (arena != null) {
+                storage.put("arena", arena.getStatistics());
+            }
+            ResponsePack currentPack = pack;
+            if (currentPack != null) {
+                Map<String, Object> packStats = new LinkedHashMap<>();
+                packStats.put("path", currentPack.getPath().toString());
+                packStats.put("entries", currentPack.size());
+                packStats.put("bytes", currentPack.byteSize());
+                storage.put("pack", packStats);
+            }
+            stats.put("storage", storage);
 
         } catch (Exception e) {
             logger.error("통계 정보 조회 중 오류", e);
@@ -194,9 +545,9 @@ public class ResponseMapManager {
     }
 
     /**
-     * 모든 프로토콜의 API 목록 조회 (디버깅용)
+     * 모든 프로토콜의 API 목록 조회 (디버깅용, 현재 스냅샷의 읽기 전용 뷰)
      */
     public Map<String, Map<String, String>> getAllResponseMaps() {
-        return new ConcurrentHashMap<>(responseMaps);
+        return snapshot.getResponseMaps();
     }
-}
\ No newline at end of file
+}
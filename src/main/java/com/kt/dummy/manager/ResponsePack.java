@@ -0,0 +1,279 @@
+package com.kt.dummy.manager;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.CharsetUtil;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * 응답 전문 팩 - response/ 트리를 미리 병합/인코딩한 단일 바이너리 파일
+ *
+ * 시작 시 디렉토리를 훑고 파일마다 문자열로 디코딩하는 대신 팩 파일 하나를 mmap 하고 검증만 한다.
+ * 템플릿은 매핑 영역의 읽기 전용 slice 를 그대로 write 하며 원문 문자열을 만들지 않는다.
+ * 매핑은 팩의 템플릿이 모두 GC 되면 해제되므로, 팩 파일을 교체(rename) 해도 사용 중인 매핑은 안전하다.
+ *
+ * 파일 구조 (big-endian)
+ *  - 헤더 32 byte : magic "DRPK", version, 항목 수, 키 영역 위치, 본문 영역 위치, 파일 길이, CRC32(헤더 이후 전체)
+ *  - 색인 : 항목 수 x (키 위치, 키 길이, 본문 위치, 본문 길이) 4 x int, 키 바이트 순 정렬
+ *  - 키 영역 : protocol + '\0' + apiName (UTF-8), 규칙 파일은 protocol 자리에 "rules",
+ *             검증 오류는 protocol 자리에 "invalid", apiName 자리에 protocol/apiName (본문은 오류 메시지)
+ *  - 본문 영역 : UTF-8 응답 전문 (내용이 같은 본문은 한 번만 저장)
+ *
+ * stage 병합(높은 stage 우선) 과 검증/정규화(TemplateNormalizer) 는 팩을 만들 때 끝나므로
+ * 팩에는 API 마다 정규화된 최종 응답 전문 하나만 있고, 시작 시 다시 파싱하지 않는다.
+ * 데이터 길이 헤더/transaction_id 는 요청마다 달라 인코더가 붙이므로 본문만 저장한다.
+ *
+ * @author 고재원
+ */
+public final class ResponsePack {
+    static final int MAGIC = 0x4452504B;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int INDEX_ENTRY_SIZE = 16;
+    static final String RULES = "rules";
+    static final String INVALID = "invalid";
+
+    private final Path path;
+    private final ByteBuf buffer;
+    private final int count;
+    private final int keysOffset;
+    private final int blobOffset;
+
+    private ResponsePack(Path path, ByteBuf buffer, int count, int keysOffset, int blobOffset) {
+        this.path = path;
+        this.buffer = buffer;
+        this.count = count;
+        this.keysOffset = keysOffset;
+        this.blobOffset = blobOffset;
+    }
+
+    /**
+     * 팩 파일 매핑 및 검증 (헤더, 영역 경계, CRC32)
+     * @throws IOException 파일을 읽을 수 없거나 형식/체크섬이 맞지 않는 경우
+     */
+    static ResponsePack open(Path path) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("응답 전문 팩 크기 오류: " + size);
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        ByteBuf buffer = Unpooled.wrappedBuffer(mapped);
+        int length = buffer.readableBytes();
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("응답 전문 팩 아님 (magic 불일치): " + path);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("지원하지 않는 응답 전문 팩 버전: " + buffer.getInt(4));
+        }
+
+        int count = buffer.getInt(8);
+        int keysOffset = buffer.getInt(12);
+        int blobOffset = buffer.getInt(16);
+        if (count < 0 || keysOffset != HEADER_SIZE + (long) count * INDEX_ENTRY_SIZE
+                || blobOffset < keysOffset || blobOffset > length || buffer.getInt(20) != length) {
+            throw new IOException("응답 전문 팩 헤더 오류: " + path);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(mapped.duplicate().position(HEADER_SIZE));
+        if ((int) crc.getValue() != buffer.getInt(24)) {
+            throw new IOException("응답 전문 팩 체크섬 불일치: " + path);
+        }
+
+        ResponsePack pack = new ResponsePack(path, buffer, count, keysOffset, blobOffset);
+        for (int i = 0; i < count; i++) {
+            pack.checkEntry(i);
+        }
+        return pack;
+    }
+
+    /**
+     * 팩의 응답 전문으로 프로토콜별 템플릿 맵 생성 (API명 순, 템플릿은 매핑 영역 slice)
+     */
+    Map<String, Map<String, ResponseTemplate>> templateMaps() {
+        Map<String, Map<String, ResponseTemplate>> templateMaps = ResponseSnapshot.emptyTemplateMaps();
+        for (int i = 0; i < count; i++) {
+            Map<String, ResponseTemplate> protocolMap = templateMaps.get(protocol(i));
+            if (protocolMap != null) {
+                protocolMap.put(apiName(i), ResponseTemplate.mapped(body(i)));
+            }
+        }
+
+        // 팩 생성 시 검증 오류를 템플릿에 복원
+        for (int i = 0; i < count; i++) {
+            if (INVALID.equals(protocol(i))) {
+                String key = apiName(i);
+                int slash = key.indexOf('/');
+                Map<String, ResponseTemplate> protocolMap = slash > 0 ? templateMaps.get(key.substring(0, slash)) : null;
+                ResponseTemplate template = protocolMap != null ? protocolMap.get(key.substring(slash + 1)) : null;
+                if (template != null) {
+                    template.setValidationError(body(i).toString(CharsetUtil.UTF_8));
+                }
+            }
+        }
+        return templateMaps;
+    }
+
+    /**
+     * 팩에 들어있는 규칙 파일 (파일명 -> 내용)
+     */
+    Map<String, String> ruleFiles() {
+        Map<String, String> ruleFiles = new TreeMap<>();
+        for (int i = 0; i < count; i++) {
+            if (RULES.equals(protocol(i))) {
+                ruleFiles.put(apiName(i), body(i).toString(CharsetUtil.UTF_8));
+            }
+        }
+        return ruleFiles;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * 항목 수 (응답 전문 + 규칙 파일)
+     */
+    public int size() {
+        return count;
+    }
+
+    public int byteSize() {
+        return buffer.capacity();
+    }
+
+    /**
+     * 팩 파일 생성 - 임시 파일에 쓴 뒤 rename 하므로 기존 팩을 매핑 중인 서버에 영향 없음
+     * @param responses protocol -> apiName -> 응답 전문 (stage 병합, 정규화 완료)
+     * @param ruleFiles 규칙 파일명 -> 내용
+     * @param invalid protocol/apiName -> 검증 오류 메시지
+     * @param output 팩 파일 경로
+     * @return 저장한 항목 수
+     */
+    public static int write(Map<String, Map<String, String>> responses, Map<String, String> ruleFiles,
+                            Map<String, String> invalid, Path output) throws IOException {
+        List<byte[][]> entries = new ArrayList<>();
+        responses.forEach((protocol, protocolMap) -> protocolMap.forEach((apiName, content) ->
+                entries.add(entry(protocol, apiName, content))));
+        ruleFiles.forEach((fileName, content) -> entries.add(entry(RULES, fileName, content)));
+        invalid.forEach((key, error) -> entries.add(entry(INVALID, key, error)));
+        entries.sort((a, b) -> Arrays.compareUnsigned(a[0], b[0]));
+
+        // 본문 중복 제거 (ByteBuffer 는 내용 기준 equals/hashCode)
+        Map<ByteBuffer, Integer> bodyOffsets = new HashMap<>();
+        List<byte[]> bodies = new ArrayList<>();
+        ByteBuffer index = ByteBuffer.allocate(entries.size() * INDEX_ENTRY_SIZE);
+        int keysLength = 0;
+        int blobLength = 0;
+        for (byte[][] entry : entries) {
+            Integer bodyOffset = bodyOffsets.get(ByteBuffer.wrap(entry[1]));
+            if (bodyOffset == null) {
+                bodyOffset = blobLength;
+                bodyOffsets.put(ByteBuffer.wrap(entry[1]), bodyOffset);
+                bodies.add(entry[1]);
+                blobLength = Math.addExact(blobLength, entry[1].length);
+            }
+            index.putInt(keysLength).putInt(entry[0].length).putInt(bodyOffset).putInt(entry[1].length);
+            keysLength += entry[0].length;
+        }
+
+        int keysOffset = HEADER_SIZE + index.capacity();
+        int blobOffset = keysOffset + keysLength;
+        int length = Math.addExact(blobOffset, blobLength);
+
+        Path temp = output.resolveSibling(output.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            CRC32 crc = new CRC32();
+            channel.position(HEADER_SIZE);
+            write(channel, crc, index.flip());
+            for (byte[][] entry : entries) {
+                write(channel, crc, ByteBuffer.wrap(entry[0]));
+            }
+            for (byte[] body : bodies) {
+                write(channel, crc, ByteBuffer.wrap(body));
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC).putInt(VERSION).putInt(entries.size())
+                    .putInt(keysOffset).putInt(blobOffset).putInt(length).putInt((int) crc.getValue());
+            channel.write(header.clear(), 0);
+            channel.force(true);
+        }
+        Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return entries.size();
+    }
+
+    private static byte[][] entry(String protocol, String apiName, String content) {
+        return new byte[][] {
+                (protocol + '\0' + apiName).getBytes(StandardCharsets.UTF_8),
+                content.getBytes(StandardCharsets.UTF_8)
+        };
+    }
+
+    private static void write(FileChannel channel, CRC32 crc, ByteBuffer data) throws IOException {
+        crc.update(data.duplicate());
+        while (data.hasRemaining()) {
+            channel.write(data);
+        }
+    }
+
+    // 색인 항목의 키/본문이 영역 안에 있고 키에 구분자가 있는지 확인
+    private void checkEntry(int i) throws IOException {
+        int entry = HEADER_SIZE + i * INDEX_ENTRY_SIZE;
+        long keyStart = (long) keysOffset + buffer.getInt(entry);
+        long keyEnd = keyStart + buffer.getInt(entry + 4);
+        long bodyStart = (long) blobOffset + buffer.getInt(entry + 8);
+        long bodyEnd = bodyStart + buffer.getInt(entry + 12);
+        if (buffer.getInt(entry) < 0 || keyEnd < keyStart || keyEnd > blobOffset
+                || buffer.getInt(entry + 8) < 0 || bodyEnd < bodyStart || bodyEnd > buffer.capacity()
+                || buffer.indexOf((int) keyStart, (int) keyEnd, (byte) 0) < 0) {
+            throw new IOException("응답 전문 팩 색인 오류 (항목 " + i + "): " + path);
+        }
+    }
+
+    private int keyStart(int i) {
+        return keysOffset + buffer.getInt(HEADER_SIZE + i * INDEX_ENTRY_SIZE);
+    }
+
+    private int separator(int i) {
+        int start = keyStart(i);
+        return buffer.indexOf(start, start + buffer.getInt(HEADER_SIZE + i * INDEX_ENTRY_SIZE + 4), (byte) 0);
+    }
+
+    private String protocol(int i) {
+        int start = keyStart(i);
+        return buffer.toString(start, separator(i) - start, CharsetUtil.UTF_8);
+    }
+
+    private String apiName(int i) {
+        int start = separator(i) + 1;
+        int end = keyStart(i) + buffer.getInt(HEADER_SIZE + i * INDEX_ENTRY_SIZE + 4);
+        return buffer.toString(start, end - start, CharsetUtil.UTF_8);
+    }
+
+    private ByteBuf body(int i) {
+        int entry = HEADER_SIZE + i * INDEX_ENTRY_SIZE;
+        return buffer.slice(blobOffset + buffer.getInt(entry + 8), buffer.getInt(entry + 12));
+    }
+}
@@ -0,0 +1,60 @@
+package com.kt.dummy.manager;
+
+import com.kt.dummy.server.ServerConfig;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 응답 전문 팩 생성 CLI
+ *
+ * response/ 트리(stage1~4, rules) 를 서버와 같은 순서로 병합하고 서버와 같은 설정(server.response.minify) 으로
+ * 검증/정규화하여 팩 파일 하나로 만든다. 검증에 실패한 응답 전문은 원문 그대로 넣고 오류를 함께 기록한다.
+ * 실행 중인 서버가 같은 경로의 팩을 쓰고 있으면 교체를 감지하여 전체 재로드한다.
+ *
+ * java -cp dummy-server.jar com.kt.dummy.manager.ResponsePackBuilder [응답 전문 경로=response] [팩 파일=response.pack]
+ *
+ * @author 고재원
+ */
+public final class ResponsePackBuilder {
+
+    private ResponsePackBuilder() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String basePath = args.length > 0 ? args[0] : "response";
+        Path output = Paths.get(args.length > 1 ? args[1] : "response.pack");
+
+        long start = System.nanoTime();
+        FileResponseLoader loader = new FileResponseLoader(basePath, Runtime.getRuntime().availableProcessors());
+        Map<String, Map<String, Map<String, String>>> loaded = loader.loadAllStages();
+
+        // stage1 -> stage4 순으로 덮어쓰기 (서버 로드와 같은 우선순위)
+        Map<String, Map<String, String>> responses = new LinkedHashMap<>();
+        for (String protocol : ResponseSnapshot.PROTOCOLS) {
+            responses.put(protocol, new TreeMap<>());
+        }
+        for (String stage : FileResponseLoader.STAGES) {
+            loaded.get(stage).forEach((protocol, apiResponses) -> responses.get(protocol).putAll(apiResponses));
+        }
+
+        // 서버 로드와 같은 검증/정규화 (시작 시에는 다시 하지 않음)
+        boolean minify = ServerConfig.getInstance().isResponseMinifyEnabled();
+        Map<String, String> invalid = new TreeMap<>();
+        responses.forEach((protocol, protocolMap) -> protocolMap.replaceAll((apiName, content) -> {
+            TemplateNormalizer.Result normalized = TemplateNormalizer.normalize(protocol, content, minify);
+            if (normalized.error != null) {
+                invalid.put(protocol + "/" + apiName, normalized.error);
+                System.out.printf("검증 실패 (원문 그대로 사용): %s/%s - %s%n", protocol, apiName, normalized.error);
+            }
+            return normalized.content;
+        }));
+
+        int entries = ResponsePack.write(responses, loader.loadRuleFiles(), invalid, output);
+        System.out.printf("응답 전문 팩 생성: %s (%d 개 항목, 검증 실패 %d 개, %d bytes, %d ms)%n", output.toAbsolutePath(),
+                entries, invalid.size(), output.toFile().length(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
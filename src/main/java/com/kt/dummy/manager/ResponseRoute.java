@@ -0,0 +1,29 @@
+package com.kt.dummy.manager;
+
+/**
+ * 라우팅 테이블 조회 결과 (테이블 생성 시 만들어진 객체를 그대로 반환하므로 조회 시 할당 없음)
+ * @author 고재원
+ */
+public final class ResponseRoute {
+    private final String protocol;
+    private final String apiName;
+    private final ResponseTemplate template;
+
+    ResponseRoute(String protocol, String apiName, ResponseTemplate template) {
+        this.protocol = protocol;
+        this.apiName = apiName;
+        this.template = template;
+    }
+
+    public String getProtocol() {
+        return protocol;
+    }
+
+    public String getApiName() {
+        return apiName;
+    }
+
+    public ResponseTemplate getTemplate() {
+        return template;
+    }
+}
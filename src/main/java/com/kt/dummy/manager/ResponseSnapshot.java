@@ -0,0 +1,324 @@
+package com.kt.dummy.manager;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 응답 전문 스냅샷 - 버전이 붙은 불변 응답 전문 저장소
+ *
+ * 응답 전문은 (protocol, apiName) 키 하나의 선형 탐사 배열 테이블에 두고,
+ * 같은 응답 전문으로 만든 라우팅 테이블(HttpRouteTable, KeyValueRouteTable) 과 규칙(RuleSet) 을 함께 보관한다.
+ * 변경은 항상 새 스냅샷을 만들어 ResponseMapManager 가 volatile 필드 하나로 교체하므로,
+ * 읽는 쪽은 잠금 없이 한 시점의 일관된 상태(일부 stage 만 로드된 상태 없음) 를 본다.
+ *
+ * getResponses / getResponseMaps 는 복사본이 아니라 스냅샷 위의 읽기 전용 뷰를 반환한다.
+ *
+ * @author 고재원
+ */
+public final class ResponseSnapshot {
+    static final String[] PROTOCOLS = {"json", "xml", "soap", "keyValue"};
+
+    static final ResponseSnapshot EMPTY = build(0, emptyTemplateMaps(), Collections.emptyList(),
+            new ConcurrentHashMap<>());
+
+    private final long version;
+    private final long publishedAt;
+
+    // (protocol, apiName) -> 응답 전문 (적재율 50% 이하)
+    private final String[] protocols;
+    private final String[] apiNames;
+    private final ResponseTemplate[] templates;
+    private final int[] hashes;
+    private final int mask;
+    private final int size;
+
+    private final Map<String, ProtocolView> protocolViews;
+    private final Map<String, Map<String, String>> responseMaps;
+
+    private final HttpRouteTable httpRoutes;
+    private final KeyValueRouteTable keyValueRoutes;
+    private final RuleSet rules;
+
+    private ResponseSnapshot(long version, Map<String, Map<String, ResponseTemplate>> templateMaps,
+                             HttpRouteTable httpRoutes, KeyValueRouteTable keyValueRoutes, RuleSet rules) {
+        this.version = version;
+        this.publishedAt = System.currentTimeMillis();
+        this.httpRoutes = httpRoutes;
+        this.keyValueRoutes = keyValueRoutes;
+        this.rules = rules;
+
+        int count = 0;
+        for (Map<String, ResponseTemplate> protocolMap : templateMaps.values()) {
+            count += protocolMap.size();
+        }
+        int capacity = Integer.highestOneBit(Math.max(count, 1) * 2 - 1) << 1;
+        this.protocols = new String[capacity];
+        this.apiNames = new String[capacity];
+        this.templates = new ResponseTemplate[capacity];
+        this.hashes = new int[capacity];
+        this.mask = capacity - 1;
+        this.size = count;
+
+        Map<String, ProtocolView> views = new LinkedHashMap<>();
+        templateMaps.forEach((protocol, protocolMap) -> {
+            int[] slots = new int[protocolMap.size()];
+            int i = 0;
+            for (Map.Entry<String, ResponseTemplate> entry : protocolMap.entrySet()) {
+                slots[i++] = insert(protocol, entry.getKey(), entry.getValue());
+            }
+            views.put(protocol, new ProtocolView(protocol, slots));
+        });
+        this.protocolViews = views;
+        this.responseMaps = Collections.unmodifiableMap(views);
+    }
+
+    /**
+     * 응답 전문 맵으로 스냅샷 생성 (라우팅 테이블 / 규칙 컴파일 포함)
+     * @param templateMaps protocol -> apiName -> 응답 전문 (빌드 후 스냅샷이 참조하지 않음)
+     */
+    static ResponseSnapshot build(long version, Map<String, Map<String, ResponseTemplate>> templateMaps,
+                                  List<RequestRule> ruleDefinitions, Map<String, LongAdder> ruleMatches) {
+        return new ResponseSnapshot(version, templateMaps,
+                HttpRouteTable.build(templateMaps),
+                KeyValueRouteTable.build(templateMaps.get("keyValue")),
+                RuleSet.compile(ruleDefinitions, templateMaps, ruleMatches));
+    }
+
+    /**
+     * 프로토콜별 빈 변경용 맵 (로드 순서 유지)
+     */
+    static Map<String, Map<String, ResponseTemplate>> emptyTemplateMaps() {
+        Map<String, Map<String, ResponseTemplate>> maps = new LinkedHashMap<>();
+        for (String protocol : PROTOCOLS) {
+            maps.put(protocol, new LinkedHashMap<>());
+        }
+        return maps;
+    }
+
+    /**
+     * 다음 버전을 만들기 위한 변경용 복사본 (쓰기 경로 전용)
+     */
+    Map<String, Map<String, ResponseTemplate>> copyTemplateMaps() {
+        Map<String, Map<String, ResponseTemplate>> maps = emptyTemplateMaps();
+        protocolViews.forEach((protocol, view) -> {
+            Map<String, ResponseTemplate> protocolMap = maps.get(protocol);
+            for (int slot : view.slots) {
+                protocolMap.put(apiNames[slot], templates[slot]);
+            }
+        });
+        return maps;
+    }
+
+    /**
+     * 새 스냅샷에 남지 않은 (교체/삭제된) 응답 전문의 버퍼 반납
+     */
+    void releaseReplaced(ResponseSnapshot next) {
+        for (int slot = 0; slot < templates.length; slot++) {
+            ResponseTemplate template = templates[slot];
+            if (template != null && next.getTemplate(protocols[slot], apiNames[slot]) != template) {
+                template.release();
+            }
+        }
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * 게시 시각 (epoch millis)
+     */
+    public long getPublishedAt() {
+        return publishedAt;
+    }
+
+    public boolean hasProtocol(String protocol) {
+        return protocolViews.containsKey(protocol);
+    }
+
+    /**
+     * 응답 전문 조회 (없으면 null)
+     */
+    public ResponseTemplate getTemplate(String protocol, String apiName) {
+        int slot = slot(protocol, apiName);
+        return slot >= 0 ? templates[slot] : null;
+    }
+
+    /**
+     * 프로토콜의 apiName -> 응답 전문 읽기 전용 뷰 (없는 프로토콜이면 빈 맵)
+     */
+    public Map<String, String> getResponses(String protocol) {
+        ProtocolView view = protocolViews.get(protocol);
+        return view != null ? view : Collections.emptyMap();
+    }
+
+    /**
+     * protocol -> apiName -> 응답 전문 읽기 전용 뷰
+     */
+    public Map<String, Map<String, String>> getResponseMaps() {
+        return responseMaps;
+    }
+
+    /**
+     * 프로토콜별 응답 전문 수와 힙(원문 문자열 추정치) / off-heap(인코딩 버퍼) 바이트
+     * off-heap 은 템플릿별 합계이므로 공용 영역에서 중복 제거된 실제 사용량은 영역 통계를 본다.
+     */
+    public Map<String, Map<String, Long>> getStorageStatistics() {
+        Map<String, Map<String, Long>> stats = new LinkedHashMap<>();
+        protocolViews.forEach((protocol, view) -> {
+            long heapBytes = 0;
+            long offHeapBytes = 0;
+            for (int slot : view.slots) {
+                heapBytes += templates[slot].getHeapBytes();
+                offHeapBytes += templates[slot].getByteLength();
+            }
+
+            Map<String, Long> protocolStats = new LinkedHashMap<>();
+            protocolStats.put("templates", (long) view.slots.length);
+            protocolStats.put("heapBytes", heapBytes);
+            protocolStats.put("offHeapBytes", offHeapBytes);
+            stats.put(protocol, protocolStats);
+        });
+        return stats;
+    }
+
+    /**
+     * 로드 시 검증에 실패한 응답 전문 (protocol/apiName -> 오류 메시지)
+     */
+    public Map<String, String> getInvalidTemplates() {
+        Map<String, String> invalid = new LinkedHashMap<>();
+        protocolViews.forEach((protocol, view) -> {
+            for (int slot : view.slots) {
+                String error = templates[slot].getValidationError();
+                if (error != null) {
+                    invalid.put(protocol + "/" + apiNames[slot], error);
+                }
+            }
+        });
+        return invalid;
+    }
+
+    /**
+     * 전체 응답 전문 수
+     */
+    public int size() {
+        return size;
+    }
+
+    public HttpRouteTable getHttpRoutes() {
+        return httpRoutes;
+    }
+
+    public KeyValueRouteTable getKeyValueRoutes() {
+        return keyValueRoutes;
+    }
+
+    public RuleSet getRules() {
+        return rules;
+    }
+
+    private int insert(String protocol, String apiName, ResponseTemplate template) {
+        int hash = hash(protocol, apiName);
+        int slot = hash & mask;
+        while (apiNames[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        protocols[slot] = protocol;
+        apiNames[slot] = apiName;
+        templates[slot] = template;
+        hashes[slot] = hash;
+        return slot;
+    }
+
+    private int slot(String protocol, Object apiName) {
+        if (protocol == null || !(apiName instanceof String)) {
+            return -1;
+        }
+
+        int hash = hash(protocol, (String) apiName);
+        int slot = hash & mask;
+        String key;
+        while ((key = apiNames[slot]) != null) {
+            if (hashes[slot] == hash && key.equals(apiName) && protocols[slot].equals(protocol)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    // String 해시는 캐시되므로 키 문자열을 새로 만들지 않고 두 해시만 섞는다.
+    private static int hash(String protocol, String apiName) {
+        int h = protocol.hashCode() * 31 + apiName.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * 프로토콜 하나의 읽기 전용 Map 뷰 (조회는 스냅샷 테이블, 순회는 로드 순서)
+     */
+    private final class ProtocolView extends AbstractMap<String, String> {
+        private final String protocol;
+        private final int[] slots;
+
+        ProtocolView(String protocol, int[] slots) {
+            this.protocol = protocol;
+            this.slots = slots;
+        }
+
+        @Override
+        public String get(Object apiName) {
+            int slot = slot(protocol, apiName);
+            return slot >= 0 ? templates[slot].getContent() : null;
+        }
+
+        @Override
+        public boolean containsKey(Object apiName) {
+            return slot(protocol, apiName) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return slots.length;
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<Entry<String, String>>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new Iterator<Entry<String, String>>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < slots.length;
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (next >= slots.length) {
+                                throw new NoSuchElementException();
+                            }
+                            int slot = slots[next++];
+                            return new SimpleImmutableEntry<>(apiNames[slot], templates[slot].getContent());
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return slots.length;
+                }
+            };
+        }
+    }
+}
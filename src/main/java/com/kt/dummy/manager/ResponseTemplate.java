@@ -0,0 +1,226 @@
+package com.kt.dummy.manager;
+
+import com.kt.dummy.processor.CompiledTemplate;
+import com.kt.dummy.processor.TemplateValues;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.util.CharsetUtil;
+import io.netty.util.IllegalReferenceCountException;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * 응답 전문 템플릿 - 원문 문자열과 미리 인코딩된 UTF-8 버퍼를 함께 보관
+ *
+ * 인코딩 버퍼는 로드/등록 시 한 번만 만들어지는 읽기 전용 direct 버퍼이며,
+ * 핸들러는 retainedBuffer() 로 복사 없이 duplicate 뷰를 write 한다.
+ * 템플릿은 버퍼의 참조 1개를 소유하고, 교체/삭제 시 release() 로 반납한다.
+ * 전송 중인 duplicate 가 참조를 가지고 있으므로 메모리는 마지막 write 완료 후 해제된다.
+ *
+ * ResponseArena 에 저장된 템플릿은 원문 문자열 없이 공용 영역의 slice 만 가지며,
+ * getContent() 는 호출할 때마다 버퍼에서 디코딩한다. (관리 API / 규칙 컴파일 등 요청 처리 밖의 경로만 사용)
+ * 공용 영역 템플릿도 release() 에서 청크 참조를 바로 반납하며, 교체 후 템플릿을 잡고 있는 지연 응답을 위해
+ * 반납 전에 원문을 디코딩해 남긴다. (게시된 적 없는 템플릿은 discard() 로 원문 없이 반납)
+ * ResponsePack 의 템플릿도 같은 방식이며, 매핑 영역은 팩이 관리하므로 release() 는 아무것도 하지 않는다.
+ *
+ * 플레이스홀더(${name}) 는 생성 시 인코딩 버퍼 위에서 CompiledTemplate 으로 나눠 두고,
+ * render() 는 플레이스홀더가 없으면 인코딩 버퍼를 그대로, 있으면 값을 채운 새 버퍼를 반환한다.
+ *
+ * 내용은 생성 전에 TemplateNormalizer 로 검증/정규화된 것이며, 검증에 실패했으면 그 오류를 함께 보관한다.
+ *
+ * @author 고재원
+ */
+public final class ResponseTemplate {
+    private final String content;
+    private final ByteBuf encoded;
+    private final int byteLength;
+    private final ResponseArena.Reference arenaReference;
+    private final CompiledTemplate compiled;
+
+    // 공용 영역 템플릿 반납 후 사용할 원문 (반납 전에 설정)
+    private volatile String releasedContent;
+
+    // 로드 시 검증 오류 (유효하면 null), 게시 전에만 설정
+    private String validationError;
+
+    // 핸들러별 부가 데이터 (예: HTTP 응답 프로토타입), 최초 사용 시 생성
+    private volatile Object attachment;
+
+    private ResponseTemplate(String content, ByteBuf encoded, ResponseArena.Reference arenaReference) {
+        this.content = content;
+        this.encoded = encoded;
+        this.byteLength = encoded.readableBytes();
+        this.arenaReference = arenaReference;
+        this.compiled = CompiledTemplate.compile(encoded);
+    }
+
+    /**
+     * 응답 전문 문자열로부터 템플릿 생성 (UTF-8 인코딩 1회)
+     */
+    public static ResponseTemplate of(String content) {
+        int length = ByteBufUtil.utf8Bytes(content);
+        ByteBuf buf = Unpooled.directBuffer(length, length);
+        ByteBufUtil.reserveAndWriteUtf8(buf, content, length);
+        return new ResponseTemplate(content, buf.asReadOnly(), null);
+    }
+
+    /**
+     * 공용 영역 slice 로 템플릿 생성 (ResponseArena 전용, 청크 참조는 release() 또는 Cleaner 가 반납)
+     */
+    static ResponseTemplate arena(ResponseArena.Reference reference) {
+        return new ResponseTemplate(null, reference.buffer(), reference);
+    }
+
+    /**
+     * 응답 전문 팩 매핑 영역 slice 로 템플릿 생성 (ResponsePack 전용)
+     */
+    static ResponseTemplate mapped(ByteBuf encoded) {
+        return new ResponseTemplate(null, encoded, null);
+    }
+
+    public String getContent() {
+        if (content != null) {
+            return content;
+        }
+        String released = releasedContent;
+        return released != null ? released : encoded.toString(CharsetUtil.UTF_8);
+    }
+
+    /**
+     * 응답 전문 내용 비교 (공용 영역 템플릿은 디코딩 없이 바이트 비교)
+     */
+    public boolean contentEquals(String other) {
+        if (content != null) {
+            return content.equals(other);
+        }
+        return ByteBufUtil.utf8Bytes(other) == byteLength
+                && ByteBufUtil.equals(encoded, Unpooled.wrappedBuffer(other.getBytes(CharsetUtil.UTF_8)));
+    }
+
+    /**
+     * 다른 템플릿과 응답 전문 내용 비교 (같은 영역 항목이면 비교 없이 같음)
+     */
+    public boolean sameContent(ResponseTemplate other) {
+        if (arenaReference != null && arenaReference.sameEntry(other.arenaReference)) {
+            return true;
+        }
+        if (content != null && other.content != null) {
+            return content.equals(other.content);
+        }
+        return byteLength == other.byteLength && ByteBufUtil.equals(encoded, other.encoded);
+    }
+
+    public int getByteLength() {
+        return byteLength;
+    }
+
+    /**
+     * 원문 문자열의 힙 사용량 추정치 (문자 배열만, 공용 영역/팩 템플릿은 0)
+     * ASCII 만 있으면 LATIN1(1 byte/char), 아니면 UTF16(2 byte/char) 으로 계산한다.
+     */
+    public long getHeapBytes() {
+        if (content == null) {
+            return 0;
+        }
+        return byteLength == content.length() ? content.length() : content.length() * 2L;
+    }
+
+    /**
+     * 전송용 버퍼 조회
+     * 인코딩 버퍼의 retainedDuplicate 를 반환하며, 교체/삭제와 경쟁하여 이미 해제된 경우에는
+     * 원문 문자열을 풀링 버퍼로 인코딩하여 반환한다. 반환된 버퍼의 release 는 호출자(write) 책임.
+     */
+    public ByteBuf retainedBuffer(ByteBufAllocator alloc) {
+        try {
+            return encoded.retainedDuplicate();
+        } catch (IllegalReferenceCountException e) {
+            return ByteBufUtil.writeUtf8(alloc, getContent());
+        }
+    }
+
+    /**
+     * 플레이스홀더가 없는 응답 전문인지 확인 (render 가 인코딩 버퍼를 그대로 반환)
+     */
+    public boolean isStatic() {
+        return compiled.isStatic();
+    }
+
+    /**
+     * 응답 전문의 플레이스홀더 이름 (중복 제외)
+     */
+    public List<String> getPlaceholders() {
+        return compiled.getNames();
+    }
+
+    /**
+     * 전송용 버퍼 렌더링 - 플레이스홀더가 없으면 retainedBuffer 와 같고,
+     * 있으면 values 로 채운 풀링 버퍼를 반환한다. 반환된 버퍼의 release 는 호출자(write) 책임.
+     */
+    public ByteBuf render(ByteBufAllocator alloc, TemplateValues values) {
+        if (compiled.isStatic()) {
+            return retainedBuffer(alloc);
+        }
+        ByteBuf source;
+        try {
+            // 렌더링 중에 교체/삭제로 인코딩 버퍼가 해제되지 않도록 참조를 잡는다
+            source = encoded.retainedDuplicate();
+        } catch (IllegalReferenceCountException e) {
+            // 이미 해제된 경우
+            return CompiledTemplate.compile(getContent()).render(alloc, values);
+        }
+        try {
+            return compiled.render(alloc, values, source);
+        } finally {
+            source.release();
+        }
+    }
+
+    /**
+     * 로드 시 검증 오류 메시지 (유효한 응답 전문이면 null)
+     */
+    public String getValidationError() {
+        return validationError;
+    }
+
+    void setValidationError(String validationError) {
+        this.validationError = validationError;
+    }
+
+    /**
+     * 템플릿과 수명을 같이 하는 부가 데이터 조회 (없거나 타입이 다르면 factory 로 생성)
+     * 동시에 생성되는 경우 어느 한쪽이 남으며, 결과는 동일해야 한다.
+     */
+    @SuppressWarnings("unchecked")
+    public <T, A> T attachment(Class<T> type, A argument, BiFunction<ResponseTemplate, A, T> factory) {
+        Object value = attachment;
+        if (!type.isInstance(value)) {
+            value = factory.apply(this, argument);
+            attachment = value;
+        }
+        return (T) value;
+    }
+
+    /**
+     * 템플릿이 소유한 버퍼 참조 반납 (교체/삭제 시 1회 호출)
+     */
+    void release() {
+        if (arenaReference != null && releasedContent == null) {
+            releasedContent = encoded.toString(CharsetUtil.UTF_8);
+        }
+        discard();
+    }
+
+    /**
+     * 게시된 적 없는 템플릿의 버퍼 참조 반납 (잡고 있는 쪽이 없으므로 원문을 남기지 않음)
+     */
+    void discard() {
+        if (arenaReference != null) {
+            arenaReference.run();
+        } else if (content != null) {
+            encoded.release();
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.kt.dummy.manager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청 매칭 규칙 집합 - 규칙 파일을 로드 시점에 해시 분기 구조로 컴파일한 불변 객체
+ *
+ * protocol -> api -> 필드 조합(시그니처) -> 필드 값 조합 해시 테이블 순으로 나눈다.
+ * 같은 필드 조합을 쓰는 규칙은 하나의 해시 테이블에 들어가므로, 요청 하나의 매칭 비용은
+ * 규칙 수가 아니라 그 api 에서 쓰는 필드 조합 수에 비례한다. (ctn 규칙이 10 개든 10만 개든 조회 1번)
+ *
+ * 우선순위
+ *  - api 를 지정한 규칙 -> api 가 없는 (모든 요청) 규칙
+ *  - 조건 필드가 많은 조합 -> 적은 조합 (같으면 먼저 나온 조합)
+ *  - 필드 값까지 같은 규칙은 나중에 로드된 규칙 사용 (파일명 순, 파일 내 순서)
+ *
+ * 응답 전문이 바뀌면 ResponseMapManager 가 라우팅 테이블과 함께 다시 컴파일한다.
+ * 규칙별 매칭 수는 컴파일 간에 유지되는 카운터에 누적된다.
+ *
+ * @author 고재원
+ */
+public final class RuleSet {
+    private static final Logger logger = LoggerFactory.getLogger(RuleSet.class);
+
+    public static final RuleSet EMPTY = new RuleSet(new HashMap<>(), new Rule[0], 0);
+
+    // 요청 안에서 조회했지만 없던 필드 표시
+    private static final String ABSENT = new String("");
+
+    private final Map<String, ProtocolRules> protocols;
+    private final Rule[] rules;
+    private final int skipped;
+
+    private RuleSet(Map<String, ProtocolRules> protocols, Rule[] rules, int skipped) {
+        this.protocols = protocols;
+        this.rules = rules;
+        this.skipped = skipped;
+    }
+
+    /**
+     * 규칙 정의 컴파일
+     * @param definitions 로드 순서대로 정렬된 규칙
+     * @param responseMaps protocol -> apiName -> 응답 전문 (규칙의 template 참조 확인용)
+     * @param matchCounters 규칙명 -> 매칭 수 (컴파일 간 유지, 없어진 규칙은 제거)
+     */
+    static RuleSet compile(List<RequestRule> definitions, Map<String, Map<String, ResponseTemplate>> responseMaps,
+                           Map<String, LongAdder> matchCounters) {
+        if (definitions.isEmpty()) {
+            matchCounters.clear();
+            return EMPTY;
+        }
+
+        Map<String, ProtocolBuilder> builders = new LinkedHashMap<>();
+        Map<String, Rule> compiled = new LinkedHashMap<>();
+        int skipped = 0;
+        for (RequestRule definition : definitions) {
+            Map<String, ResponseTemplate> templates = definition.getProtocol() != null
+                    ? responseMaps.get(definition.getProtocol()) : null;
+            if (templates == null || definition.getTemplate() == null) {
+                logger.warn("규칙 제외 (protocol/template 확인): {}", definition.getName());
+                skipped++;
+                continue;
+            }
+
+            // 값이 없는 조건 (예: "ctn":[]) 은 키를 만들지 않아 매칭될 수 없음
+            String emptyCondition = definition.getConditions().entrySet().stream()
+                    .filter(condition -> condition.getValue().isEmpty())
+                    .map(Map.Entry::getKey)
+                    .findFirst().orElse(null);
+            if (emptyCondition != null) {
+                logger.warn("규칙 제외 (조건 값 없음): {} -> {}", definition.getName(), emptyCondition);
+                skipped++;
+                continue;
+            }
+
+            ResponseTemplate template = templates.get(definition.getTemplate());
+            if (template == null) {
+                logger.warn("규칙 제외 (응답 전문 없음): {} -> {}/{}",
+                        definition.getName(), definition.getProtocol(), definition.getTemplate());
+                skipped++;
+                continue;
+            }
+
+            Rule rule = new Rule(definition.getName(),
+                    new ResponseRoute(definition.getProtocol(), definition.getTemplate(), template),
+                    matchCounters.computeIfAbsent(definition.getName(), name -> new LongAdder()));
+            if (compiled.put(rule.name, rule) != null) {
+                logger.warn("같은 이름의 규칙이 여러 개 있음: {}", rule.name);
+            }
+            builders.computeIfAbsent(definition.getProtocol(), protocol -> new ProtocolBuilder())
+                    .add(definition, rule);
+        }
+        matchCounters.keySet().retainAll(compiled.keySet());
+
+        Map<String, ProtocolRules> protocols = new HashMap<>();
+        builders.forEach((protocol, builder) -> protocols.put(protocol, builder.build()));
+        return new RuleSet(protocols, compiled.values().toArray(new Rule[0]), skipped);
+    }
+
+    /**
+     * 프로토콜에 규칙이 있는지 확인 (없으면 핸들러는 필드 조회 없이 기본 라우팅만 사용)
+     */
+    public boolean hasRules(String protocol) {
+        return protocols.containsKey(protocol);
+    }
+
+    /**
+     * 규칙 매칭
+     * @param protocol 프로토콜 (json, xml, soap, keyValue)
+     * @param api 요청 API (keyValue: opcode, xml: 루트 엘리먼트, HTTP: 경로의 마지막 세그먼트)
+     * @param fields 요청 필드 조회
+     * @return 매칭된 규칙의 라우트, 없으면 null
+     */
+    public ResponseRoute match(String protocol, String api, RequestFields fields) {
+        ProtocolRules protocolRules = protocols.get(protocol);
+        if (protocolRules == null) {
+            return null;
+        }
+
+        String[] values = new String[protocolRules.fieldNames.length];
+        Rule rule = null;
+        Dispatch[] byApi = api != null ? protocolRules.byApi.get(api) : null;
+        if (byApi != null) {
+            rule = match(byApi, protocolRules.fieldNames, fields, values);
+        }
+        if (rule == null) {
+            rule = match(protocolRules.anyApi, protocolRules.fieldNames, fields, values);
+        }
+        if (rule == null) {
+            return null;
+        }
+
+        rule.matches.increment();
+        return rule.route;
+    }
+
+    private static Rule match(Dispatch[] dispatches, String[] fieldNames, RequestFields fields, String[] values) {
+        for (Dispatch dispatch : dispatches) {
+            Object key = dispatch.key(fieldNames, fields, values);
+            if (key != null) {
+                Rule rule = dispatch.rules.get(key);
+                if (rule != null) {
+                    return rule;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 컴파일된 규칙 수
+     */
+    public int size() {
+        return rules.length;
+    }
+
+    /**
+     * 통계 정보 (규칙 수, 제외된 규칙 수, 한 번 이상 매칭된 규칙의 매칭 수)
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Long> matches = new TreeMap<>();
+        for (Rule rule : rules) {
+            long count = rule.matches.sum();
+            if (count > 0) {
+                matches.put(rule.name, count);
+            }
+        }
+
+        Map<String, Object> stats = new ConcurrentHashMap<>();
+        stats.put("total", rules.length);
+        stats.put("skipped", skipped);
+        stats.put("matches", matches);
+        return stats;
+    }
+
+    private static final class Rule {
+        final String name;
+        final ResponseRoute route;
+        final LongAdder matches;
+
+        Rule(String name, ResponseRoute route, LongAdder matches) {
+            this.name = name;
+            this.route = route;
+            this.matches = matches;
+        }
+    }
+
+    private static final class ProtocolRules {
+        final String[] fieldNames;
+        final Map<String, Dispatch[]> byApi;
+        final Dispatch[] anyApi;
+
+        ProtocolRules(String[] fieldNames, Map<String, Dispatch[]> byApi, Dispatch[] anyApi) {
+            this.fieldNames = fieldNames;
+            this.byApi = byApi;
+            this.anyApi = anyApi;
+        }
+    }
+
+    /**
+     * 같은 필드 조합을 쓰는 규칙들의 값 해시 테이블
+     * 키는 필드가 1개면 값 문자열, 아니면 값 목록(List)
+     */
+    private static final class Dispatch {
+        final int[] fields;
+        final Map<Object, Rule> rules = new HashMap<>();
+
+        Dispatch(int[] fields) {
+            this.fields = fields;
+        }
+
+        Object key(String[] fieldNames, RequestFields request, String[] values) {
+            if (fields.length == 1) {
+                return value(fields[0], fieldNames, request, values);
+            }
+
+            String[] key = new String[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                key[i] = value(fields[i], fieldNames, request, values);
+                if (key[i] == null) {
+                    return null;
+                }
+            }
+            return Arrays.asList(key);
+        }
+
+        // 요청당 필드별 1회만 조회
+        private static String value(int field, String[] fieldNames, RequestFields request, String[] values) {
+            String value = values[field];
+            if (value == null) {
+                value = request.field(fieldNames[field]);
+                values[field] = value != null ? value : ABSENT;
+            }
+            return value == ABSENT ? null : value;
+        }
+    }
+
+    // 컴파일용 임시 구조
+    private static final class ProtocolBuilder {
+        final Map<String, Integer> fieldIndex = new LinkedHashMap<>();
+        final Map<String, Map<String, Dispatch>> byApi = new LinkedHashMap<>();
+
+        void add(RequestRule definition, Rule rule) {
+            // 필드 조합은 필드명 순으로 정규화 (조건 순서가 달라도 같은 테이블 사용)
+            List<String> names = new ArrayList<>(definition.getConditions().keySet());
+            names.sort(null);
+            int[] fields = new int[names.size()];
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = fieldIndex.computeIfAbsent(names.get(i), name -> fieldIndex.size());
+            }
+
+            Dispatch dispatch = byApi.computeIfAbsent(definition.getApi(), api -> new LinkedHashMap<>())
+                    .computeIfAbsent(String.join("\u0000", names), signature -> new Dispatch(fields));
+
+            // 값 배열 조건은 모든 값 조합을 키로 등록
+            List<List<String>> keys = new ArrayList<>();
+            keys.add(new ArrayList<>());
+            for (String name : names) {
+                List<List<String>> expanded = new ArrayList<>();
+                for (List<String> prefix : keys) {
+                    for (String value : definition.getConditions().get(name)) {
+                        List<String> key = new ArrayList<>(prefix);
+                        key.add(value);
+                        expanded.add(key);
+                    }
+                }
+                keys = expanded;
+            }
+            for (List<String> key : keys) {
+                Rule previous = dispatch.rules.put(key.size() == 1 ? key.get(0) : key, rule);
+                if (previous != null && previous != rule) {
+                    logger.info("규칙 덮어쓰기: {} -> {} ({})", previous.name, rule.name, key);
+                }
+            }
+        }
+
+        ProtocolRules build() {
+            Map<String, Dispatch[]> compiled = new HashMap<>();
+            byApi.forEach((api, dispatches) -> {
+                if (!RequestRule.ANY_API.equals(api)) {
+                    compiled.put(api, ordered(dispatches));
+                }
+            });
+            Map<String, Dispatch> anyApi = byApi.get(RequestRule.ANY_API);
+            return new ProtocolRules(fieldIndex.keySet().toArray(new String[0]), compiled,
+                    anyApi != null ? ordered(anyApi) : new Dispatch[0]);
+        }
+
+        // 조건 필드가 많은 조합 먼저 (정렬은 안정적이므로 같은 수면 먼저 나온 조합 유지)
+        private static Dispatch[] ordered(Map<String, Dispatch> dispatches) {
+            List<Dispatch> ordered = new ArrayList<>(dispatches.values());
+            ordered.sort(Comparator.comparingInt((Dispatch dispatch) -> dispatch.fields.length).reversed());
+            return ordered.toArray(new Dispatch[0]);
+        }
+    }
+}
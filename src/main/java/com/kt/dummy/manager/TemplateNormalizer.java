@@ -0,0 +1,327 @@
+package com.kt.dummy.manager;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.kt.dummy.processor.CompiledTemplate;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 응답 전문 로드 시 검증 / 정규화
+ *
+ * 템플릿을 만들 때(파일 로드, 핫 리로드, 관리 API 등록, 팩 생성) 한 번만 파싱하고,
+ * 요청 처리 경로에서는 정규화된 바이트를 그대로 보낸다.
+ *  - 공통   : UTF-8 BOM 제거
+ *  - json   : Jackson 으로 파싱 검증, minify 이면 공백 제거 + 문자열 이스케이프 정규화 (숫자 표기는 원문 유지)
+ *  - xml/soap : SAX(네임스페이스 인식, DOCTYPE 금지) 로 파싱 검증, minify 이면 자식 엘리먼트 사이의 들여쓰기 공백 제거
+ *               (리프 엘리먼트 값과 xml:space="preserve" 범위는 유지)
+ *  - keyValue : 끝의 줄바꿈 제거, 중간에 줄바꿈이 있으면 오류
+ *
+ * 플레이스홀더(${name}) 는 파싱 전에 같은 자리에 올 수 있는 고유 토큰으로 바꿔 검증하므로
+ * "${id}" 같은 문자열 값뿐 아니라 "count": ${count} 같은 값 자리도 유효하다.
+ * 검증에 실패한 응답 전문은 원문 그대로 사용하며 오류 메시지를 템플릿에 남긴다. (/api/stats 의 validation)
+ *
+ * @author 고재원
+ */
+final class TemplateNormalizer {
+    private static final JsonFactory jsonFactory = new JsonFactory();
+    private static final Pattern XML_SPACE = Pattern.compile("\\sxml:space\\s*=\\s*[\"'](preserve|default)[\"']");
+
+    // SAXParser 는 스레드 안전하지 않으므로 로더 스레드별로 보관
+    private static final ThreadLocal<SAXParser> saxParser = ThreadLocal.withInitial(TemplateNormalizer::newSaxParser);
+
+    private TemplateNormalizer() {
+    }
+
+    /**
+     * 검증 / 정규화 결과
+     */
+    static final class Result {
+        final String content;
+        final String error;
+
+        private Result(String content, String error) {
+            this.content = content;
+            this.error = error;
+        }
+    }
+
+    /**
+     * @param protocol 프로토콜 (json, xml, soap, keyValue)
+     * @param content 응답 전문 원문
+     * @param minify 공백 제거 여부 (false 면 검증과 BOM 제거만)
+     */
+    static Result normalize(String protocol, String content, boolean minify) {
+        String source = content.startsWith("\uFEFF") ? content.substring(1) : content;
+        switch (protocol) {
+            case "json": return normalizeJson(source, minify);
+            case "xml":
+            case "soap": return normalizeXml(source, minify);
+            case "keyValue": return normalizeKeyValue(source);
+            default: return new Result(source, null);
+        }
+    }
+
+    private static Result normalizeJson(String content, boolean minify) {
+        // 값 자리의 플레이스홀더도 유효하도록 숫자 토큰으로 치환
+        Placeholders placeholders = Placeholders.of(content, "1");
+        StringWriter out = new StringWriter(content.length());
+        try (JsonParser parser = jsonFactory.createParser(placeholders.substituted);
+             JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return new Result(content, "JSON 내용 없음");
+            }
+            int depth = 0;
+            while (token != null) {
+                if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                    generator.writeNumber(parser.getText());
+                } else {
+                    generator.copyCurrentEvent(parser);
+                }
+                if (token.isStructStart()) {
+                    depth++;
+                } else if (token.isStructEnd()) {
+                    depth--;
+                }
+                if (depth == 0) {
+                    break;
+                }
+                token = parser.nextToken();
+            }
+            if (parser.nextToken() != null) {
+                JsonLocation location = parser.currentTokenLocation();
+                return new Result(content, "루트 값 뒤에 내용이 있음 (line " + location.getLineNr()
+                        + ", column " + location.getColumnNr() + ")");
+            }
+        } catch (JsonProcessingException e) {
+            JsonLocation location = e.getLocation();
+            return new Result(content, e.getOriginalMessage()
+                    + (location != null ? " (line " + location.getLineNr() + ", column " + location.getColumnNr() + ")" : ""));
+        } catch (IOException e) {
+            return new Result(content, e.getMessage());
+        }
+        return new Result(minify ? placeholders.restore(out.toString()) : content, null);
+    }
+
+    private static Result normalizeXml(String content, boolean minify) {
+        // 엘리먼트명 / 속성값 / 텍스트 어디에 있어도 유효하도록 이름 토큰으로 치환
+        Placeholders placeholders = Placeholders.of(content, "ph");
+        SAXParser parser = saxParser.get();
+        try {
+            parser.parse(new InputSource(new StringReader(placeholders.substituted)), new DefaultHandler());
+        } catch (SAXParseException e) {
+            return new Result(content, e.getMessage() + " (line " + e.getLineNumber()
+                    + ", column " + e.getColumnNumber() + ")");
+        } catch (Exception e) {
+            return new Result(content, e.getMessage());
+        } finally {
+            parser.reset();
+        }
+        return new Result(minify ? stripWhitespaceText(content) : content, null);
+    }
+
+    private static Result normalizeKeyValue(String content) {
+        int end = content.length();
+        while (end > 0 && (content.charAt(end - 1) == '\n' || content.charAt(end - 1) == '\r')) {
+            end--;
+        }
+        String trimmed = content.substring(0, end);
+        if (trimmed.indexOf('\n') >= 0 || trimmed.indexOf('\r') >= 0) {
+            return new Result(trimmed, "keyValue 응답 전문에 줄바꿈 포함");
+        }
+        return new Result(trimmed, null);
+    }
+
+    // 자식 엘리먼트가 있는 엘리먼트 안의 공백만 있는 텍스트(들여쓰기) 와 루트 밖의 공백 제거
+    // 리프 엘리먼트 값(<SEP> </SEP>) 과 xml:space="preserve" 범위, 주석/CDATA/처리 명령/속성값은 그대로
+    private static String stripWhitespaceText(String xml) {
+        // 1차: 공백만 있는 텍스트 구간과 부모 엘리먼트 기록 (자식 여부는 부모가 닫혀야 알 수 있음)
+        List<int[]> ranges = new ArrayList<>();
+        List<Element> parents = new ArrayList<>();
+        Element current = null;
+        int length = xml.length();
+        int i = 0;
+        while (i < length) {
+            if (xml.charAt(i) != '<') {
+                int next = xml.indexOf('<', i);
+                if (next < 0) {
+                    next = length;
+                }
+                if (isWhitespace(xml, i, next)) {
+                    ranges.add(new int[] {i, next});
+                    parents.add(current);
+                }
+                i = next;
+                continue;
+            }
+
+            int end;
+            if (xml.startsWith("<!--", i)) {
+                end = indexAfter(xml, "-->", i + 4);
+            } else if (xml.startsWith("<![CDATA[", i)) {
+                end = indexAfter(xml, "]]>", i + 9);
+            } else if (xml.startsWith("<?", i)) {
+                end = indexAfter(xml, "?>", i + 2);
+            } else {
+                end = tagEnd(xml, i + 1);
+                if (i + 1 < length && xml.charAt(i + 1) == '/') {
+                    if (current != null) {
+                        current = current.parent;
+                    }
+                } else {
+                    if (current != null) {
+                        current.hasChildren = true;
+                    }
+                    Element element = new Element(current, preserveSpace(xml.substring(i, end), current));
+                    if (xml.charAt(end - 2) != '/') {
+                        current = element;
+                    }
+                }
+            }
+            i = end;
+        }
+
+        // 2차: 제거 대상 구간만 빼고 복사
+        StringBuilder out = new StringBuilder(length);
+        int copied = 0;
+        for (int k = 0; k < ranges.size(); k++) {
+            Element parent = parents.get(k);
+            if (parent == null || (parent.hasChildren && !parent.preserve)) {
+                int[] range = ranges.get(k);
+                out.append(xml, copied, range[0]);
+                copied = range[1];
+            }
+        }
+        out.append(xml, copied, length);
+        return out.toString();
+    }
+
+    // 시작 태그의 xml:space (없으면 부모 설정 상속)
+    private static boolean preserveSpace(String tag, Element parent) {
+        Matcher matcher = XML_SPACE.matcher(tag);
+        if (matcher.find()) {
+            return matcher.group(1).equals("preserve");
+        }
+        return parent != null && parent.preserve;
+    }
+
+    private static final class Element {
+        final Element parent;
+        final boolean preserve;
+        boolean hasChildren;
+
+        Element(Element parent, boolean preserve) {
+            this.parent = parent;
+            this.preserve = preserve;
+        }
+    }
+
+    private static boolean isWhitespace(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!Character.isWhitespace(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexAfter(String s, String terminator, int from) {
+        int index = s.indexOf(terminator, from);
+        return index < 0 ? s.length() : index + terminator.length();
+    }
+
+    // 따옴표 안의 '>' 는 건너뛰고 태그 끝 다음 위치
+    private static int tagEnd(String s, int from) {
+        char quote = 0;
+        for (int i = from; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '>') {
+                return i + 1;
+            }
+        }
+        return s.length();
+    }
+
+    private static SAXParser newSaxParser() {
+        try {
+            SAXParserFactory factory = SAXParserFactory.newInstance();
+            factory.setNamespaceAware(true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            return factory.newSAXParser();
+        } catch (Exception e) {
+            throw new IllegalStateException("SAX 파서 생성 실패", e);
+        }
+    }
+
+    /**
+     * 플레이스홀더 <-> 고유 토큰 치환 (토큰 = 접두어 + 원문에 없는 12자리 난수 + 4자리 순번)
+     */
+    private static final class Placeholders {
+        final String substituted;
+        private final List<String> names;
+        private final String marker;
+
+        private Placeholders(String substituted, List<String> names, String marker) {
+            this.substituted = substituted;
+            this.names = names;
+            this.marker = marker;
+        }
+
+        static Placeholders of(String content, String prefix) {
+            CompiledTemplate compiled = CompiledTemplate.compile(content);
+            if (compiled.isStatic()) {
+                return new Placeholders(content, List.of(), null);
+            }
+
+            String marker;
+            do {
+                marker = prefix + ThreadLocalRandom.current().nextLong(100_000_000_000L, 1_000_000_000_000L);
+            } while (content.contains(marker));
+
+            List<String> names = compiled.getNames();
+            String base = marker;
+            String substituted = compiled.renderToString(name -> token(base, names.indexOf(name)));
+            return new Placeholders(substituted, names, marker);
+        }
+
+        String restore(String text) {
+            if (marker == null) {
+                return text;
+            }
+            String restored = text;
+            for (int i = 0; i < names.size(); i++) {
+                restored = restored.replace(token(marker, i), "${" + names.get(i) + "}");
+            }
+            return restored;
+        }
+
+        private static String token(String marker, int index) {
+            return marker + String.format("%04d", index);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.kt.dummy.processor;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.util.CharsetUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 플레이스홀더(${name}) 를 미리 나눠 둔 응답 전문
+ *
+ * 로드 시 UTF-8 본문을 한 번 훑어 리터럴 구간과 플레이스홀더 위치를 기록하고,
+ * 요청마다 정규식 / String.replace 없이 값 길이를 더한 정확한 크기의 버퍼에 구간을 순서대로 쓴다.
+ *  - 리터럴은 원본 버퍼에서 바로 복사 (문자열 변환 없음)
+ *  - 같은 이름이 여러 번 나와도 값은 렌더링당 한 번만 조회
+ *  - 값이 없는 플레이스홀더는 원문(${name}) 그대로 둠 (ResponseFormatter 와 동일)
+ *  - 플레이스홀더가 없으면 isStatic() 이 true 이며, 호출자는 원본 버퍼를 그대로 보내면 된다.
+ *
+ * 원본 버퍼는 참조만 하므로 수명은 호출자(ResponseTemplate) 가 관리하며,
+ * 다른 스레드가 해제할 수 있으면 retainedDuplicate 를 render(alloc, values, from) 에 넘긴다.
+ * @author 고재원
+ */
+public final class CompiledTemplate {
+    private final ByteBuf source;
+
+    // 리터럴 구간 (플레이스홀더 수 + 1 개, 길이 0 가능)
+    private final int[] literalOffsets;
+    private final int[] literalLengths;
+    private final int literalBytes;
+
+    // 플레이스홀더 (나온 순서), 원문 위치/길이와 이름 번호
+    private final int[] placeholderOffsets;
+    private final int[] placeholderLengths;
+    private final int[] nameIndexes;
+    private final String[] names;
+    private final List<String> nameList;
+
+    private CompiledTemplate(ByteBuf source, List<int[]> literals, List<int[]> placeholders, List<String> names) {
+        this.source = source;
+        this.literalOffsets = new int[literals.size()];
+        this.literalLengths = new int[literals.size()];
+        int total = 0;
+        for (int i = 0; i < literals.size(); i++) {
+            literalOffsets[i] = literals.get(i)[0];
+            literalLengths[i] = literals.get(i)[1];
+            total += literalLengths[i];
+        }
+        this.literalBytes = total;
+
+        this.placeholderOffsets = new int[placeholders.size()];
+        this.placeholderLengths = new int[placeholders.size()];
+        this.nameIndexes = new int[placeholders.size()];
+        for (int i = 0; i < placeholders.size(); i++) {
+            placeholderOffsets[i] = placeholders.get(i)[0];
+            placeholderLengths[i] = placeholders.get(i)[1];
+            nameIndexes[i] = placeholders.get(i)[2];
+        }
+        this.names = names.toArray(new String[0]);
+        this.nameList = Collections.unmodifiableList(Arrays.asList(this.names));
+    }
+
+    /**
+     * UTF-8 본문 컴파일 (readerIndex ~ writerIndex, 버퍼는 복사하지 않음)
+     */
+    public static CompiledTemplate compile(ByteBuf source) {
+        List<int[]> literals = new ArrayList<>();
+        List<int[]> placeholders = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+
+        int end = source.writerIndex();
+        int literalStart = source.readerIndex();
+        int i = literalStart;
+        while ((i = source.indexOf(i, end, (byte) '$')) >= 0) {
+            if (i + 1 >= end || source.getByte(i + 1) != '{') {
+                i++;
+                continue;
+            }
+            int close = source.indexOf(i + 2, end, (byte) '}');
+            if (close < 0) {
+                break;
+            }
+            if (close == i + 2) {
+                // ${} 는 플레이스홀더 아님
+                i = close + 1;
+                continue;
+            }
+
+            String name = source.toString(i + 2, close - i - 2, CharsetUtil.UTF_8);
+            int nameIndex = names.indexOf(name);
+            if (nameIndex < 0) {
+                nameIndex = names.size();
+                names.add(name);
+            }
+            literals.add(new int[] {literalStart, i - literalStart});
+            placeholders.add(new int[] {i, close + 1 - i, nameIndex});
+            i = literalStart = close + 1;
+        }
+        literals.add(new int[] {literalStart, end - literalStart});
+        return new CompiledTemplate(source, literals, placeholders, names);
+    }
+
+    /**
+     * 문자열 템플릿 컴파일 (힙 버퍼로 인코딩)
+     */
+    public static CompiledTemplate compile(String template) {
+        return compile(Unpooled.wrappedBuffer(template.getBytes(CharsetUtil.UTF_8)));
+    }
+
+    /**
+     * 플레이스홀더가 없는 응답 전문인지 확인
+     */
+    public boolean isStatic() {
+        return names.length == 0;
+    }
+
+    /**
+     * 플레이스홀더 이름 (중복 제외, 처음 나온 순서)
+     */
+    public List<String> getNames() {
+        return nameList;
+    }
+
+    /**
+     * 값을 채운 본문을 allocator 버퍼(정확한 크기) 에 렌더링, release 는 호출자 책임
+     */
+    public ByteBuf render(ByteBufAllocator alloc, TemplateValues values) {
+        return render(alloc, values, source);
+    }
+
+    /**
+     * 리터럴을 from 에서 복사하여 렌더링 (from 은 원본 버퍼의 duplicate, 인덱스가 같아야 함)
+     * 호출자가 from 의 참조를 잡고 있으면 렌더링 중에 원본 메모리가 해제되지 않는다.
+     */
+    public ByteBuf render(ByteBufAllocator alloc, TemplateValues values, ByteBuf from) {
+        String[] resolved = resolve(values);
+        int[] lengths = new int[resolved.length];
+        ByteBuf out = alloc.buffer(size(resolved, lengths));
+        try {
+            writeTo(from, out, resolved, lengths);
+            return out;
+        } catch (RuntimeException e) {
+            out.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 값을 채운 본문 문자열
+     */
+    public String renderToString(TemplateValues values) {
+        if (isStatic()) {
+            return source.toString(CharsetUtil.UTF_8);
+        }
+        String[] resolved = resolve(values);
+        int[] lengths = new int[resolved.length];
+        ByteBuf out = Unpooled.buffer(size(resolved, lengths));
+        try {
+            writeTo(source, out, resolved, lengths);
+            return out.toString(CharsetUtil.UTF_8);
+        } finally {
+            out.release();
+        }
+    }
+
+    private String[] resolve(TemplateValues values) {
+        String[] resolved = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            resolved[i] = values.value(names[i]);
+        }
+        return resolved;
+    }
+
+    // 전체 바이트 수 (값별 UTF-8 길이는 lengths 에 기록)
+    private int size(String[] resolved, int[] lengths) {
+        for (int i = 0; i < resolved.length; i++) {
+            lengths[i] = resolved[i] != null ? ByteBufUtil.utf8Bytes(resolved[i]) : -1;
+        }
+        int size = literalBytes;
+        for (int i = 0; i < nameIndexes.length; i++) {
+            int length = lengths[nameIndexes[i]];
+            size += length >= 0 ? length : placeholderLengths[i];
+        }
+        return size;
+    }
+
+    private void writeTo(ByteBuf source, ByteBuf out, String[] resolved, int[] lengths) {
+        for (int i = 0; i < nameIndexes.length; i++) {
+            out.writeBytes(source, literalOffsets[i], literalLengths[i]);
+            int name = nameIndexes[i];
+            if (resolved[name] != null) {
+                ByteBufUtil.reserveAndWriteUtf8(out, resolved[name], lengths[name]);
+            } else {
+                out.writeBytes(source, placeholderOffsets[i], placeholderLengths[i]);
+            }
+        }
+        int last = nameIndexes.length;
+        out.writeBytes(source, literalOffsets[last], literalLengths[last]);
+    }
+}
@@ -1,44 +1,77 @@
 package com.kt.dummy.processor;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.kt.dummy.processor.DelayPolicyTable.ApiKey;
+import com.kt.dummy.processor.DelayPolicyTable.Layer;
+import com.kt.dummy.processor.DelayPolicyTable.Policy;
 import com.kt.dummy.server.ServerConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * 지연 설정 관리자 - 런타임 동적 지연 제어
+ *
+ * 전역/포트별/API별로 지연 시간 분포(LatencyDistribution) 를 둔다. min/max 만 지정하면 균등 분포이며,
+ * JSON 설정의 "distribution" 으로 fixed, normal, lognormal, pareto, bimodal, empirical 분포를 쓸 수 있다.
+ *
+ * API 정책은 포트 + 프로토콜 + 요청의 API명(규칙의 api 와 같은 형식: keyValue 는 opcode, xml 은 루트 엘리먼트,
+ * HTTP 는 경로의 API명) 으로 지정하므로 ctn / 규칙으로 고른 응답 전문이 달라도 같은 정책이 적용된다.
+ * 지연은 API 정책 → 포트 설정 → 전역 설정 순으로 적용한다.
+ * 설정이 바뀔 때마다 우선순위를 모두 풀어 둔 불변 DelayPolicyTable 을 새로 만들어 교체하므로
+ * 요청 경로(getDelay) 는 잠금 없이 표 조회와 샘플링만 한다.
+ *
+ * 지연 프로파일(LatencyProfile) 은 시작 시점부터 시간에 따라 바뀌는 값을 전역/포트/API 지연에 더한다.
+ * 대상마다 하나만 실행되며(같은 대상에 새로 시작하면 교체), 이름으로 중지한다.
  * @author 고재원
  */
 public class DelayConfigManager {
     private static final Logger logger = LoggerFactory.getLogger(DelayConfigManager.class);
     private static final DelayConfigManager INSTANCE = new DelayConfigManager();
+    private static final String OPCODE_PREFIX = "OPCODE_";
 
     // 전역 설정
     private volatile boolean globalEnabled = false;
-    private volatile long globalMinDelay = 0;
-    private volatile long globalMaxDelay = 0;
+    private volatile LatencyDistribution globalDistribution = LatencyDistribution.fixed(0);
 
     // 포트별 설정
     private final ConcurrentHashMap<Integer, PortDelayConfig> portConfigs = new ConcurrentHashMap<>();
 
+    // API별 설정 (포트 / 프로토콜 생략 가능)
+    private final ConcurrentHashMap<ApiKey, PortDelayConfig> apiConfigs = new ConcurrentHashMap<>();
+
+    // 실행 중인 지연 프로파일 (이름별)
+    private final Map<String, LatencyProfile.Run> profiles = new LinkedHashMap<>();
+
+    // 요청 경로 조회 표 (설정 변경 시 교체)
+    private volatile DelayPolicyTable table = DelayPolicyTable.EMPTY;
+
+    // 포트 / API 공용 지연 설정
     public static class PortDelayConfig {
         public volatile boolean enabled;
         public volatile long minDelay;
         public volatile long maxDelay;
+        public volatile LatencyDistribution distribution;
 
         public PortDelayConfig(boolean enabled, long minDelay, long maxDelay) {
+            this(enabled, LatencyDistribution.uniform(minDelay, maxDelay));
+        }
+
+        public PortDelayConfig(boolean enabled, LatencyDistribution distribution) {
             this.enabled = enabled;
-            this.minDelay = minDelay;
-            this.maxDelay = maxDelay;
+            this.minDelay = distribution.getMin();
+            this.maxDelay = distribution.getMax();
+            this.distribution = distribution;
         }
 
         public long getRandomDelay() {
-            if (minDelay == maxDelay) return minDelay;
-            return ThreadLocalRandom.current().nextLong(minDelay, maxDelay + 1);
+            return distribution.sample();
         }
     }
 
@@ -47,9 +80,9 @@ public class DelayConfigManager {
         long defaultDelay = ServerConfig.getInstance().getDefaultDelayMs();
         if (defaultDelay > 0) {
             this.globalEnabled = true;
-            this.globalMinDelay = defaultDelay;
-            this.globalMaxDelay = defaultDelay;
+            this.globalDistribution = LatencyDistribution.fixed(defaultDelay);
         }
+        rebuild();
     }
 
     public static DelayConfigManager getInstance() {
@@ -57,38 +90,69 @@ public class DelayConfigManager {
     }
 
     /**
-     * 특정 포트의 지연 시간 계산
+     * 요청의 지연 시간 계산 (API 정책 → 포트 설정 → 전역 설정)
      * @param port 포트 번호
+     * @param protocol 프로토콜 (xml, keyValue, json, soap)
+     * @param apiName 요청의 API명 (keyValue 는 opcode, xml 은 루트 엘리먼트, HTTP 는 경로의 API명)
      * @return 지연 시간 (밀리초)
      */
-    public long getDelayForPort(int port) {
-        // 포트별 설정 우선
-        PortDelayConfig portConfig = portConfigs.get(port);
-        if (portConfig != null && portConfig.enabled) {
-            long delay = portConfig.getRandomDelay();
-            logger.debug("포트 {} 지연: {}ms (포트별 설정)", port, delay);
-            return delay;
-        }
+    public long getDelay(int port, String protocol, String apiName) {
+        Policy policy = table.resolve(port, protocol, apiName);
+        return policy != null ? policy.delay() : 0;
+    }
 
-        // 전역 설정 적용
-        if (globalEnabled) {
-            long delay = getGlobalRandomDelay();
-            logger.debug("포트 {} 지연: {}ms (전역 설정)", port, delay);
-            return delay;
-        }
+    /**
+     * API 정책이 하나라도 있는지 (없으면 핸들러가 요청의 API명 문자열을 만들지 않고 getDelay 에 null 을 넘길 수 있다)
+     */
+    public boolean hasApiPolicies() {
+        return table.hasApiPolicies();
+    }
 
-        logger.debug("포트 {} 지연: 0ms (비활성화)", port);
-        return 0;
+    /**
+     * 특정 포트의 지연 시간 계산 (API 정책 제외)
+     * @param port 포트 번호
+     * @return 지연 시간 (밀리초)
+     */
+    public long getDelayForPort(int port) {
+        return getDelay(port, null, null);
     }
 
-    private long getGlobalRandomDelay() {
-        if (globalMinDelay == globalMaxDelay) return globalMinDelay;
-        return ThreadLocalRandom.current().nextLong(globalMinDelay, globalMaxDelay + 1);
+    // 설정을 우선순위대로 풀어 조회 표를 다시 만든다
+    private synchronized void rebuild() {
+        Map<Integer, LatencyDistribution> ports = new HashMap<>();
+        portConfigs.forEach((port, config) -> {
+            if (config.enabled) {
+                ports.put(port, config.distribution);
+            }
+        });
+        Map<ApiKey, LatencyDistribution> apis = new HashMap<>();
+        apiConfigs.forEach((key, config) -> {
+            if (config.enabled) {
+                apis.put(key, config.distribution);
+            }
+        });
+
+        LatencyProfile.Run globalProfile = null;
+        Map<Integer, LatencyProfile.Run> portProfiles = new HashMap<>();
+        Map<ApiKey, LatencyProfile.Run> apiProfiles = new HashMap<>();
+        for (LatencyProfile.Run run : profiles.values()) {
+            if (run.api != null) {
+                apiProfiles.put(run.api, run);
+            } else if (run.port != DelayPolicyTable.ANY_PORT) {
+                portProfiles.put(run.port, run);
+            } else {
+                globalProfile = run;
+            }
+        }
+
+        table = DelayPolicyTable.build(new Layer<>(globalEnabled ? globalDistribution : null, ports, apis),
+                new Layer<>(globalProfile, portProfiles, apiProfiles));
     }
 
     // 전역 설정 메서드
     public void setGlobalEnabled(boolean enabled) {
         this.globalEnabled = enabled;
+        rebuild();
         logger.info("전역 지연 설정: {}", enabled ? "활성화" : "비활성화");
     }
 
@@ -96,31 +160,144 @@ public class DelayConfigManager {
         if (minDelay < 0 || maxDelay < 0 || minDelay > maxDelay) {
             throw new IllegalArgumentException("잘못된 지연 시간 범위: " + minDelay + "-" + maxDelay);
         }
-        this.globalMinDelay = minDelay;
-        this.globalMaxDelay = maxDelay;
+        this.globalDistribution = LatencyDistribution.uniform(minDelay, maxDelay);
+        rebuild();
         logger.info("전역 지연 시간 설정: {}-{}ms", minDelay, maxDelay);
     }
 
+    public void setGlobalDistribution(LatencyDistribution distribution) {
+        this.globalDistribution = distribution;
+        rebuild();
+        logger.info("전역 지연 분포 설정: {}", distribution.describe());
+    }
+
     // 포트별 설정 메서드
     public void setPortDelay(int port, boolean enabled, long minDelay, long maxDelay) {
         if (minDelay < 0 || maxDelay < 0 || minDelay > maxDelay) {
             throw new IllegalArgumentException("잘못된 지연 시간 범위: " + minDelay + "-" + maxDelay);
         }
         portConfigs.put(port, new PortDelayConfig(enabled, minDelay, maxDelay));
+        rebuild();
         logger.info("포트 {} 지연 설정: {} ({}-{}ms)", port, enabled ? "활성화" : "비활성화", minDelay, maxDelay);
     }
 
-    // JSON 설정 적용
+    public void setPortDistribution(int port, boolean enabled, LatencyDistribution distribution) {
+        portConfigs.put(port, new PortDelayConfig(enabled, distribution));
+        rebuild();
+        logger.info("포트 {} 지연 분포 설정: {} {}", port, enabled ? "활성화" : "비활성화", distribution.describe());
+    }
+
+    public void removePortDelay(int port) {
+        portConfigs.remove(port);
+        rebuild();
+        logger.info("포트 {} 지연 설정 제거", port);
+    }
+
+    // API별 설정 메서드
+    /**
+     * API 지연 정책 설정
+     * @param port 포트 번호 (null 이면 모든 포트)
+     * @param protocol 프로토콜 (null 또는 "*" 이면 모든 프로토콜)
+     * @param apiName API명 (요청 API - keyValue 는 opcode, xml 은 루트 엘리먼트, HTTP 는 경로의 API명)
+     */
+    public void setApiDistribution(Integer port, String protocol, String apiName, LatencyDistribution distribution) {
+        ApiKey key = apiKey(port, protocol, apiName);
+        apiConfigs.put(key, new PortDelayConfig(true, distribution));
+        rebuild();
+        logger.info("API {} 지연 분포 설정: {}", key, distribution.describe());
+    }
+
+    public void setApiDelay(Integer port, String protocol, String apiName, long minDelay, long maxDelay) {
+        if (minDelay < 0 || maxDelay < 0 || minDelay > maxDelay) {
+            throw new IllegalArgumentException("잘못된 지연 시간 범위: " + minDelay + "-" + maxDelay);
+        }
+        setApiDistribution(port, protocol, apiName, LatencyDistribution.uniform(minDelay, maxDelay));
+    }
+
+    public void removeApiDelay(Integer port, String protocol, String apiName) {
+        ApiKey key = apiKey(port, protocol, apiName);
+        apiConfigs.remove(key);
+        rebuild();
+        logger.info("API {} 지연 설정 제거", key);
+    }
+
+    // 지연 프로파일 메서드
+    /**
+     * 지연 프로파일 시작 (같은 이름 또는 같은 대상의 프로파일은 중지 후 교체)
+     * @param name 프로파일 이름 (null 이면 대상 이름)
+     * @param port 포트 번호 (null 이면 모든 포트)
+     * @param protocol 프로토콜 (apiName 과 함께 사용)
+     * @param apiName API명 (null 이면 포트 또는 전역 대상)
+     * @return 시작한 프로파일 상태
+     */
+    public synchronized Map<String, Object> startProfile(String name, Integer port, String protocol,
+                                                         String apiName, LatencyProfile profile) {
+        ApiKey api = apiName != null ? apiKey(port, protocol, apiName) : null;
+        if (api == null && protocol != null) {
+            throw new IllegalArgumentException("protocol 은 api 와 함께 지정");
+        }
+        LatencyProfile.Run run = new LatencyProfile.Run(name, port != null ? port : DelayPolicyTable.ANY_PORT, api, profile);
+        profiles.values().removeIf(existing -> existing.sameTarget(run));
+        profiles.remove(run.name);
+        profiles.put(run.name, run);
+        rebuild();
+        logger.info("지연 프로파일 시작: {} (대상 {}) {}", run.name, run.target(), profile.getSpec());
+        return run.describe();
+    }
+
+    /**
+     * 지연 프로파일 중지
+     * @param name 프로파일 이름 (null 이면 모두)
+     * @return 중지한 프로파일 수
+     */
+    public synchronized int stopProfile(String name) {
+        int stopped;
+        if (name == null) {
+            stopped = profiles.size();
+            profiles.clear();
+        } else {
+            stopped = profiles.remove(name) != null ? 1 : 0;
+        }
+        rebuild();
+        logger.info("지연 프로파일 중지: {} ({}개)", name != null ? name : "전체", stopped);
+        return stopped;
+    }
+
+    /**
+     * 실행 중인 지연 프로파일 상태 (경과 시간, 현재 추가 지연, 종료 여부)
+     */
+    public synchronized List<Map<String, Object>> getProfiles() {
+        List<Map<String, Object>> status = new ArrayList<>();
+        for (LatencyProfile.Run run : profiles.values()) {
+            status.add(run.describe());
+        }
+        return status;
+    }
+
+    private static ApiKey apiKey(Integer port, String protocol, String apiName) {
+        if (apiName == null || apiName.isEmpty()) {
+            throw new IllegalArgumentException("API 지연 설정에 api 가 없음");
+        }
+        // keyValue 는 opcode 로 조회하므로 응답 전문 이름 형식(OPCODE_406) 도 opcode 로 바꿔 받는다
+        if ("keyValue".equals(protocol) && apiName.startsWith(OPCODE_PREFIX) && apiName.length() > OPCODE_PREFIX.length()) {
+            apiName = apiName.substring(OPCODE_PREFIX.length());
+        }
+        return new ApiKey(port != null ? port : DelayPolicyTable.ANY_PORT,
+                protocol != null && !protocol.isEmpty() ? protocol : DelayPolicyTable.ANY_PROTOCOL, apiName);
+    }
+
+    // JSON 설정 적용 (분포 설정 오류는 IllegalArgumentException)
     public void applyJsonConfig(JsonNode json) {
         // 전역 설정
         if (json.has("global")) {
             JsonNode global = json.get("global");
             if (global.has("enabled")) {
-                globalEnabled = global.get("enabled").asBoolean();
+                setGlobalEnabled(global.get("enabled").asBoolean());
             }
-            if (global.has("min") && global.has("max")) {
-                globalMinDelay = global.get("min").asLong();
-                globalMaxDelay = global.get("max").asLong();
+            if (global.has("distribution")) {
+                setGlobalDistribution(LatencyDistribution.fromJson(global.get("distribution")));
+            } else if (global.has("min") && global.has("max")) {
+                setGlobalDelay(global.get("min").asLong(), global.get("max").asLong());
             }
         }
 
@@ -128,24 +305,48 @@ public class DelayConfigManager {
         if (json.has("ports")) {
             JsonNode ports = json.get("ports");
             ports.fields().forEachRemaining(entry -> {
+                int port;
                 try {
-                    int port = Integer.parseInt(entry.getKey());
-                    JsonNode config = entry.getValue();
-                    boolean enabled = config.has("enabled") ? config.get("enabled").asBoolean() : true;
-                    long min = config.has("min") ? config.get("min").asLong() : 0;
-                    long max = config.has("max") ? config.get("max").asLong() : 0;
-
-                    if (enabled && min >= 0 && max >= min) {
-                        setPortDelay(port, enabled, min, max);
-                    } else if (!enabled) {
-                        portConfigs.remove(port);
-                        logger.info("포트 {} 지연 설정 제거", port);
-                    }
-                } catch (Exception e) {
+                    port = Integer.parseInt(entry.getKey());
+                } catch (NumberFormatException e) {
                     logger.warn("포트 설정 파싱 실패: {}", entry.getKey(), e);
+                    return;
+                }
+                JsonNode config = entry.getValue();
+                boolean enabled = config.has("enabled") ? config.get("enabled").asBoolean() : true;
+                long min = config.has("min") ? config.get("min").asLong() : 0;
+                long max = config.has("max") ? config.get("max").asLong() : 0;
+
+                if (enabled && config.has("distribution")) {
+                    setPortDistribution(port, true, LatencyDistribution.fromJson(config.get("distribution")));
+                } else if (enabled && min >= 0 && max >= min) {
+                    setPortDelay(port, enabled, min, max);
+                } else if (!enabled) {
+                    removePortDelay(port);
                 }
             });
         }
+
+        // API별 설정 [{"port":18000, "protocol":"keyValue", "api":"406", "distribution":{...}}, ...]
+        if (json.has("apis")) {
+            for (JsonNode config : json.get("apis")) {
+                Integer port = config.hasNonNull("port") && !"*".equals(config.get("port").asText())
+                        ? Integer.valueOf(config.get("port").asInt()) : null;
+                String protocol = config.hasNonNull("protocol") ? config.get("protocol").asText() : null;
+                String apiName = config.hasNonNull("api") ? config.get("api").asText() : null;
+                boolean enabled = config.has("enabled") ? config.get("enabled").asBoolean() : true;
+
+                if (!enabled) {
+                    removeApiDelay(port, protocol, apiName);
+                } else if (config.has("distribution")) {
+                    setApiDistribution(port, protocol, apiName, LatencyDistribution.fromJson(config.get("distribution")));
+                } else {
+                    setApiDelay(port, protocol, apiName,
+                            config.has("min") ? config.get("min").asLong() : 0,
+                            config.has("max") ? config.get("max").asLong() : 0);
+                }
+            }
+        }
     }
 
     // 현재 설정 조회
@@ -153,10 +354,12 @@ public class DelayConfigManager {
         Map<String, Object> config = new ConcurrentHashMap<>();
 
         // 전역 설정
+        LatencyDistribution global = globalDistribution;
         config.put("global", Map.of(
                 "enabled", globalEnabled,
-                "minDelay", globalMinDelay,
-                "maxDelay", globalMaxDelay
+                "minDelay", global.getMin(),
+                "maxDelay", global.getMax(),
+                "distribution", global.describe()
         ));
 
         // 포트별 설정
@@ -165,17 +368,34 @@ public class DelayConfigManager {
             ports.put(String.valueOf(port), Map.of(
                     "enabled", delayConfig.enabled,
                     "minDelay", delayConfig.minDelay,
-                    "maxDelay", delayConfig.maxDelay
+                    "maxDelay", delayConfig.maxDelay,
+                    "distribution", delayConfig.distribution.describe()
             ));
         });
         config.put("ports", ports);
 
+        // API별 설정
+        List<Map<String, Object>> apis = new ArrayList<>();
+        apiConfigs.forEach((key, delayConfig) -> {
+            Map<String, Object> api = new LinkedHashMap<>();
+            api.put("port", key.port == DelayPolicyTable.ANY_PORT ? "*" : key.port);
+            api.put("protocol", key.protocol);
+            api.put("api", key.apiName);
+            api.put("minDelay", delayConfig.minDelay);
+            api.put("maxDelay", delayConfig.maxDelay);
+            api.put("distribution", delayConfig.distribution.describe());
+            apis.add(api);
+        });
+        config.put("apis", apis);
+        config.put("profiles", getProfiles());
+
         return config;
     }
 
     // Getter 메서드들
     public boolean isGlobalEnabled() { return globalEnabled; }
-    public long getGlobalMinDelay() { return globalMinDelay; }
-    public long getGlobalMaxDelay() { return globalMaxDelay; }
+    public long getGlobalMinDelay() { return globalDistribution.getMin(); }
+    public long getGlobalMaxDelay() { return globalDistribution.getMax(); }
+    public LatencyDistribution getGlobalDistribution() { return globalDistribution; }
     public Map<Integer, PortDelayConfig> getAllPortConfigs() { return new ConcurrentHashMap<>(portConfigs); }
 }
\ No newline at end of file
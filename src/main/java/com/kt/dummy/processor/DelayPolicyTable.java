@@ -0,0 +1,296 @@
+package com.kt.dummy.processor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 지연 정책 조회 표 (불변, 설정이 바뀌면 DelayConfigManager 가 통째로 새로 만들어 교체)
+ *
+ * 우선순위 (API 정책 → 포트 설정 → 전역 설정) 를 만들 때 모두 풀어 두므로 요청 경로는
+ *  1. 포트 번호로 배열 인덱스 (설정이 없는 포트는 공용 정책)
+ *  2. 프로토콜 이름을 몇 개 안 되는 배열에서 비교
+ *  3. API명으로 HashMap 조회 한 번 (API 정책이 하나도 없으면 생략)
+ * 만 한다. 잠금이나 로그가 없다.
+ *
+ * 지연 분포와 지연 프로파일(시간에 따라 더하는 값) 은 각각 따로 우선순위를 풀어 한 Policy 로 묶는다.
+ * API 정책은 포트 / 프로토콜을 생략(*) 할 수 있으며, 같은 API 에 여러 정책이 맞으면
+ * 포트 지정 > 프로토콜 지정 > 모두 생략 순으로 구체적인 정책이 이긴다.
+ * @author 고재원
+ */
+final class DelayPolicyTable {
+    static final int ANY_PORT = -1;
+    static final String ANY_PROTOCOL = "*";
+
+    static final DelayPolicyTable EMPTY = build(Layer.empty(), Layer.empty());
+
+    // 포트 번호 인덱스 (설정된 포트만, 나머지는 anyPort)
+    private final PortPolicy[] ports;
+    private final PortPolicy anyPort;
+    // API 정책(분포 또는 프로파일) 이 하나라도 있는지
+    private final boolean apiPolicies;
+
+    private DelayPolicyTable(PortPolicy[] ports, PortPolicy anyPort, boolean apiPolicies) {
+        this.ports = ports;
+        this.anyPort = anyPort;
+        this.apiPolicies = apiPolicies;
+    }
+
+    /**
+     * API 정책이 하나라도 있는지 (없으면 요청의 API명을 만들지 않아도 된다)
+     */
+    boolean hasApiPolicies() {
+        return apiPolicies;
+    }
+
+    /**
+     * 요청에 적용할 정책
+     * @param protocol 프로토콜 (null 이면 API 정책 무시)
+     * @param apiName API명 (null 이면 API 정책 무시)
+     * @return 정책, 지연 없음이면 null
+     */
+    Policy resolve(int port, String protocol, String apiName) {
+        PortPolicy policy = port >= 0 && port < ports.length ? ports[port] : null;
+        return (policy != null ? policy : anyPort).resolve(protocol, apiName);
+    }
+
+    /**
+     * @param distributions 지연 분포 설정 (전역 / 포트별 / API별)
+     * @param profiles 실행 중인 지연 프로파일 (전역 / 포트별 / API별)
+     */
+    static DelayPolicyTable build(Layer<LatencyDistribution> distributions, Layer<LatencyProfile.Run> profiles) {
+        TreeSet<Integer> configured = new TreeSet<>();
+        configured.addAll(distributions.ports());
+        configured.addAll(profiles.ports());
+
+        PortPolicy[] ports = new PortPolicy[configured.isEmpty() ? 0 : configured.last() + 1];
+        for (int port : configured) {
+            ports[port] = PortPolicy.build(distributions.resolve(port), profiles.resolve(port));
+        }
+        return new DelayPolicyTable(ports, PortPolicy.build(distributions.resolve(ANY_PORT), profiles.resolve(ANY_PORT)),
+                !distributions.apis.isEmpty() || !profiles.apis.isEmpty());
+    }
+
+    /**
+     * 요청에 적용할 지연 (분포 샘플 + 프로파일 값)
+     */
+    static final class Policy {
+        private final LatencyDistribution distribution;
+        private final LatencyProfile.Run profile;
+
+        private Policy(LatencyDistribution distribution, LatencyProfile.Run profile) {
+            this.distribution = distribution;
+            this.profile = profile;
+        }
+
+        static Policy of(LatencyDistribution distribution, LatencyProfile.Run profile) {
+            return distribution == null && profile == null ? null : new Policy(distribution, profile);
+        }
+
+        long delay() {
+            long delay = distribution != null ? distribution.sample() : 0;
+            if (profile != null) {
+                delay += Math.round(profile.offset());
+            }
+            return Math.max(delay, 0);
+        }
+    }
+
+    /**
+     * 한 종류(분포 또는 프로파일) 의 전역 / 포트별 / API별 설정
+     */
+    static final class Layer<T> {
+        private final T global;
+        private final Map<Integer, T> ports;
+        private final List<Map.Entry<ApiKey, T>> apis;
+
+        Layer(T global, Map<Integer, T> ports, Map<ApiKey, T> apis) {
+            this.global = global;
+            this.ports = ports;
+            // 덜 구체적인 정책부터 넣어 구체적인 정책이 덮어쓰게 한다
+            this.apis = new ArrayList<>(apis.entrySet());
+            this.apis.sort(Comparator.comparingInt(entry -> entry.getKey().specificity()));
+        }
+
+        static <T> Layer<T> empty() {
+            return new Layer<>(null, Map.of(), Map.of());
+        }
+
+        Set<Integer> ports() {
+            Set<Integer> configured = new HashSet<>(ports.keySet());
+            for (Map.Entry<ApiKey, T> entry : apis) {
+                if (entry.getKey().port != ANY_PORT) {
+                    configured.add(entry.getKey().port);
+                }
+            }
+            return configured;
+        }
+
+        // 한 포트 기준으로 풀어 둔 설정 (포트 ANY_PORT 는 포트 설정이 없는 포트용)
+        Resolved<T> resolve(int port) {
+            Map<String, Map<String, T>> byProtocol = new LinkedHashMap<>();
+            Map<String, T> anyProtocol = new HashMap<>();
+            for (Map.Entry<ApiKey, T> entry : apis) {
+                ApiKey key = entry.getKey();
+                if (key.port != ANY_PORT && key.port != port) {
+                    continue;
+                }
+                if (key.protocol.equals(ANY_PROTOCOL)) {
+                    anyProtocol.put(key.apiName, entry.getValue());
+                } else {
+                    byProtocol.computeIfAbsent(key.protocol, protocol -> new HashMap<>());
+                }
+            }
+
+            // 프로토콜별 표 = 해당 프로토콜 정책 + 프로토콜 생략 정책 (구체성 순으로 덮어씀)
+            for (Map.Entry<ApiKey, T> entry : apis) {
+                ApiKey key = entry.getKey();
+                if (key.port != ANY_PORT && key.port != port) {
+                    continue;
+                }
+                for (Map.Entry<String, Map<String, T>> protocol : byProtocol.entrySet()) {
+                    if (key.protocol.equals(ANY_PROTOCOL) || key.protocol.equals(protocol.getKey())) {
+                        protocol.getValue().put(key.apiName, entry.getValue());
+                    }
+                }
+            }
+            return new Resolved<>(ports.getOrDefault(port, global), byProtocol, anyProtocol);
+        }
+    }
+
+    private static final class Resolved<T> {
+        final T fallback;
+        final Map<String, Map<String, T>> byProtocol;
+        final Map<String, T> anyProtocol;
+
+        Resolved(T fallback, Map<String, Map<String, T>> byProtocol, Map<String, T> anyProtocol) {
+            this.fallback = fallback;
+            this.byProtocol = byProtocol;
+            this.anyProtocol = anyProtocol;
+        }
+
+        Map<String, T> forProtocol(String protocol) {
+            return byProtocol.getOrDefault(protocol, anyProtocol);
+        }
+    }
+
+    /**
+     * 한 포트의 정책 (프로토콜별 API 정책 + 기본 정책)
+     */
+    private static final class PortPolicy {
+        private final Policy fallback;
+        private final String[] protocols;
+        private final List<Map<String, Policy>> apis;
+        // 프로토콜 생략 정책만 (protocols 에 없는 프로토콜용)
+        private final Map<String, Policy> anyProtocol;
+
+        private PortPolicy(Policy fallback, String[] protocols,
+                           List<Map<String, Policy>> apis, Map<String, Policy> anyProtocol) {
+            this.fallback = fallback;
+            this.protocols = protocols;
+            this.apis = apis;
+            this.anyProtocol = anyProtocol;
+        }
+
+        Policy resolve(String protocol, String apiName) {
+            if (apiName != null && protocol != null) {
+                Map<String, Policy> byApi = anyProtocol;
+                for (int i = 0; i < protocols.length; i++) {
+                    if (protocols[i].equals(protocol)) {
+                        byApi = apis.get(i);
+                        break;
+                    }
+                }
+                if (byApi != null) {
+                    Policy policy = byApi.get(apiName);
+                    if (policy != null) {
+                        return policy;
+                    }
+                }
+            }
+            return fallback;
+        }
+
+        // 분포 / 프로파일을 API 별로 합친다 (한쪽만 API 정책이 있으면 다른 쪽은 포트 기본값)
+        static PortPolicy build(Resolved<LatencyDistribution> distributions, Resolved<LatencyProfile.Run> profiles) {
+            Set<String> protocolNames = new LinkedHashSet<>(distributions.byProtocol.keySet());
+            protocolNames.addAll(profiles.byProtocol.keySet());
+
+            String[] protocols = protocolNames.toArray(new String[0]);
+            List<Map<String, Policy>> tables = new ArrayList<>(protocols.length);
+            for (String protocol : protocols) {
+                tables.add(merge(distributions, distributions.forProtocol(protocol),
+                        profiles, profiles.forProtocol(protocol)));
+            }
+            Map<String, Policy> anyProtocol = merge(distributions, distributions.anyProtocol,
+                    profiles, profiles.anyProtocol);
+            return new PortPolicy(Policy.of(distributions.fallback, profiles.fallback),
+                    protocols, tables, anyProtocol.isEmpty() ? null : anyProtocol);
+        }
+
+        private static Map<String, Policy> merge(Resolved<LatencyDistribution> distributions,
+                                                 Map<String, LatencyDistribution> distributionByApi,
+                                                 Resolved<LatencyProfile.Run> profiles,
+                                                 Map<String, LatencyProfile.Run> profileByApi) {
+            Set<String> apiNames = new HashSet<>(distributionByApi.keySet());
+            apiNames.addAll(profileByApi.keySet());
+
+            // API 정책이 있는 이름만 (한쪽 값은 항상 있으므로 null 이 아님)
+            Map<String, Policy> merged = new HashMap<>();
+            for (String apiName : apiNames) {
+                merged.put(apiName, Policy.of(distributionByApi.getOrDefault(apiName, distributions.fallback),
+                        profileByApi.getOrDefault(apiName, profiles.fallback)));
+            }
+            return merged;
+        }
+    }
+
+    /**
+     * API 정책 키 (포트 + 프로토콜 + API명, 포트 ANY_PORT / 프로토콜 ANY_PROTOCOL 은 생략)
+     */
+    static final class ApiKey {
+        final int port;
+        final String protocol;
+        final String apiName;
+
+        ApiKey(int port, String protocol, String apiName) {
+            this.port = port;
+            this.protocol = protocol;
+            this.apiName = apiName;
+        }
+
+        int specificity() {
+            return (port != ANY_PORT ? 2 : 0) + (!protocol.equals(ANY_PROTOCOL) ? 1 : 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ApiKey)) {
+                return false;
+            }
+            ApiKey other = (ApiKey) o;
+            return port == other.port && protocol.equals(other.protocol) && apiName.equals(other.apiName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(port, protocol, apiName);
+        }
+
+        @Override
+        public String toString() {
+            return (port == ANY_PORT ? "*" : String.valueOf(port)) + "/" + protocol + "/" + apiName;
+        }
+    }
+}
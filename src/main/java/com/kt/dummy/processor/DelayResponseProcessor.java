@@ -6,6 +6,8 @@ import io.netty.channel.EventLoop;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -15,10 +17,14 @@ import java.util.concurrent.TimeUnit;
 public class DelayResponseProcessor {
     private static final Logger logger = LoggerFactory.getLogger(DelayResponseProcessor.class);
     
-    // 응답 처리 함수형 인터페이스
+    private static final boolean WHEEL_ENABLED = ServerConfig.getInstance().isDelayWheelEnabled();
+    private static final long WHEEL_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(ServerConfig.getInstance().getDelayWheelTickMs());
+    
+    // 응답 처리 함수형 인터페이스 (T: 응답 전문 문자열 또는 ResponseTemplate)
+    // 핸들러는 write 만 하고 flush 는 처리기가 한다 (지연 응답은 틱마다 채널별 한 번)
     @FunctionalInterface
-    public interface ResponseHandler {
-        void handle(ChannelHandlerContext ctx, String content);
+    public interface ResponseHandler<T> {
+        void handle(ChannelHandlerContext ctx, T content);
     }
     
     /**
@@ -27,9 +33,9 @@ public class DelayResponseProcessor {
      * @param responseContent 응답 내용
      * @param responseHandler 응답 처리 핸들러
      */
-    public static void processWithDelay(ChannelHandlerContext ctx, 
-                                       String responseContent, 
-                                       ResponseHandler responseHandler) {
+    public static <T> void processWithDelay(ChannelHandlerContext ctx, 
+                                           T responseContent, 
+                                           ResponseHandler<T> responseHandler) {
         long delayMs = ServerConfig.getInstance().getDefaultDelayMs();
         processWithDelay(ctx, responseContent, responseHandler, delayMs);
     }
@@ -41,27 +47,35 @@ public class DelayResponseProcessor {
      * @param responseHandler 응답 처리 핸들러
      * @param delayMs 지연 시간 (밀리초)
      */
-    public static void processWithDelay(ChannelHandlerContext ctx, 
-                                       String responseContent, 
-                                       ResponseHandler responseHandler, 
-                                       long delayMs) {
+    public static <T> void processWithDelay(ChannelHandlerContext ctx, 
+                                           T responseContent, 
+                                           ResponseHandler<T> responseHandler, 
+                                           long delayMs) {
         if (delayMs <= 0) {
             // 지연 없이 즉시 응답
             try {
                 responseHandler.handle(ctx, responseContent);
+                ctx.flush();
             } catch (Exception e) {
                 logger.error("즉시 응답 처리 중 오류", e);
             }
             return;
         }
         
-        // Netty EventLoop를 사용한 지연 처리 (성능 최적화)
+        if (WHEEL_ENABLED) {
+            // EventLoop 별 타이밍 휠 - 같은 틱에 만료된 응답은 채널별로 한 번만 flush
+            DelayTimingWheel.schedule(ctx, responseContent, responseHandler, delayMs, WHEEL_TICK_NANOS);
+            return;
+        }
+        
+        // Netty EventLoop를 사용한 지연 처리 (타이밍 휠 미사용 시)
         EventLoop eventLoop = ctx.channel().eventLoop();
         
         eventLoop.schedule(() -> {
             try {
                 if (ctx.channel().isActive()) {
                     responseHandler.handle(ctx, responseContent);
+                    ctx.flush();
                     
                     if (ServerConfig.getInstance().isPerformanceLogEnabled()) {
                         logger.debug("지연 응답 완료: {}ms 후 처리", delayMs);
@@ -79,15 +93,28 @@ public class DelayResponseProcessor {
         }
     }
     
+    /**
+     * 지연 응답 스케줄러 통계 (타이밍 휠 사용 여부, 틱, 대기 건수, 예약 비용 등)
+     */
+    public static Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("scheduler", WHEEL_ENABLED ? "timingWheel" : "eventLoop");
+        stats.put("tickMs", TimeUnit.NANOSECONDS.toMillis(WHEEL_TICK_NANOS));
+        if (WHEEL_ENABLED) {
+            stats.putAll(DelayTimingWheel.getStatistics());
+        }
+        return stats;
+    }
+    
     /**
      * 포트별 지연 시간 처리 (확장 기능)
      * @param ctx 채널 컨텍스트
      * @param responseContent 응답 내용
      * @param responseHandler 응답 처리 핸들러
      */
-    public static void processWithPortBasedDelay(ChannelHandlerContext ctx, 
-                                                String responseContent, 
-                                                ResponseHandler responseHandler) {
+    public static <T> void processWithPortBasedDelay(ChannelHandlerContext ctx, 
+                                                    T responseContent, 
+                                                    ResponseHandler<T> responseHandler) {
         // 포트별 다른 지연 시간 적용 (향후 확장 가능)
         String addressStr = ctx.channel().localAddress().toString();
         int port = extractPortFromAddress(addressStr);
@@ -124,9 +151,9 @@ public class DelayResponseProcessor {
     /**
      * 동적 지연 시간 처리 (부하에 따른 조절)
      */
-    public static void processWithAdaptiveDelay(ChannelHandlerContext ctx, 
-                                               String responseContent, 
-                                               ResponseHandler responseHandler) {
+    public static <T> void processWithAdaptiveDelay(ChannelHandlerContext ctx, 
+                                                   T responseContent, 
+                                                   ResponseHandler<T> responseHandler) {
         // JVM 메모리 사용률에 따른 동적 지연 (성능 최적화)
         Runtime runtime = Runtime.getRuntime();
         long totalMemory = runtime.totalMemory();
@@ -0,0 +1,343 @@
+package com.kt.dummy.processor;
+
+import com.kt.dummy.processor.DelayResponseProcessor.ResponseHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.FastThreadLocal;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * EventLoop 별 계층형 타이밍 휠 (지연 응답 전용)
+ *
+ * eventLoop.schedule 은 예약마다 우선순위 큐(O(log n)) 에 넣으므로 지연 수백 ms x 수만 TPS 에서
+ * 큐가 10만 건 이상 쌓이면 삽입 비용과 GC 부담이 커진다. 휠은 슬롯 연결 리스트에 O(1) 로 넣고,
+ * EventLoop 의 예약 작업은 휠 하나당 한 건(다음 깨울 틱) 만 유지한다.
+ *
+ *  - 레벨 0 : 256 슬롯 x 1 틱, 레벨 1~3 : 64 슬롯 x 256 / 16384 / 1048576 틱 (최대 2^26 틱, 1ms 틱이면 약 18시간)
+ *  - 상위 레벨 슬롯은 해당 구간이 시작될 때 하위 레벨로 내려보낸다 (cascade)
+ *  - 만료 시각은 올림한 틱으로 잡으므로 일찍 응답하지 않으며, 늦어지는 정도는 최대 1 틱
+ *  - 한 번 깨어날 때 만료된 응답을 모두 write 한 뒤 채널(컨텍스트)별로 flush 를 한 번만 한다
+ *  - 휠이 비면 예약 작업을 멈추고, 다음 예약 때 현재 틱부터 다시 시작한다
+ *
+ * 모든 상태는 소유 EventLoop 스레드에서만 바꾼다. 통계는 다른 스레드에서 읽으므로 근사값이다.
+ * @author 고재원
+ */
+final class DelayTimingWheel implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(DelayTimingWheel.class);
+
+    private static final int LEVELS = 4;
+    private static final int[] SHIFT = {0, 8, 14, 20};
+    private static final int[] MASK = {255, 63, 63, 63};
+    private static final long MAX_TICKS = (1L << 26) - 1;
+
+    private static final FastThreadLocal<DelayTimingWheel> localWheel = new FastThreadLocal<>();
+    private static final Set<DelayTimingWheel> wheels = ConcurrentHashMap.newKeySet();
+
+    private final EventLoop eventLoop;
+    private final long tickNanos;
+    private final LongSupplier clock;
+    private final long origin;
+    private final Entry[][] heads = new Entry[LEVELS][];
+    private final Entry[][] tails = new Entry[LEVELS][];
+
+    // 마지막으로 처리한 틱
+    private long currentTick;
+    // 예약해 둔 깨울 틱 (-1 이면 예약 없음)
+    private long wakeTick = -1;
+    private ScheduledFuture<?> wakeFuture;
+
+    // 이번 실행에서 write 한 컨텍스트 (flush 한 번씩)
+    private final List<ChannelHandlerContext> flushQueue = new ArrayList<>();
+    private final Set<ChannelHandlerContext> flushSet = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // 통계 (소유 스레드만 갱신)
+    private long pending;
+    private long maxPending;
+    private long scheduled;
+    private long expired;
+    private long dropped;
+    private long cascaded;
+    private long flushes;
+    private long runs;
+    private long scheduleNanos;
+    private long runNanos;
+    private long lateNanos;
+
+    private DelayTimingWheel(EventLoop eventLoop, long tickNanos) {
+        this(eventLoop, tickNanos, System::nanoTime);
+    }
+
+    /**
+     * 시간 소스를 지정하여 생성 (테스트용, 전역 통계에 포함되지 않음)
+     */
+    DelayTimingWheel(EventLoop eventLoop, long tickNanos, LongSupplier clock) {
+        this.eventLoop = eventLoop;
+        this.tickNanos = tickNanos;
+        this.clock = clock;
+        this.origin = clock.getAsLong();
+        for (int level = 0; level < LEVELS; level++) {
+            heads[level] = new Entry[MASK[level] + 1];
+            tails[level] = new Entry[MASK[level] + 1];
+        }
+    }
+
+    /**
+     * 지연 응답 예약 (채널 EventLoop 의 휠에 등록)
+     * @param tickNanos 틱 길이 (휠을 처음 만들 때만 사용)
+     */
+    static <T> void schedule(ChannelHandlerContext ctx, T content, ResponseHandler<T> handler,
+                             long delayMs, long tickNanos) {
+        EventLoop loop = ctx.channel().eventLoop();
+        if (!loop.inEventLoop()) {
+            loop.execute(() -> schedule(ctx, content, handler, delayMs, tickNanos));
+            return;
+        }
+
+        DelayTimingWheel wheel = localWheel.get();
+        if (wheel == null || wheel.eventLoop != loop) {
+            wheel = new DelayTimingWheel(loop, tickNanos);
+            localWheel.set(wheel);
+            wheels.add(wheel);
+        }
+        wheel.add(ctx, content, handler, delayMs);
+    }
+
+    /**
+     * 이 휠에 지연 응답 등록 (소유 EventLoop 스레드에서 호출)
+     */
+    @SuppressWarnings("unchecked")
+    <T> void add(ChannelHandlerContext ctx, T content, ResponseHandler<T> handler, long delayMs) {
+        add(new Entry(ctx, content, (ResponseHandler<Object>) handler), delayMs);
+    }
+
+    private void add(Entry entry, long delayMs) {
+        long now = clock.getAsLong();
+        if (pending == 0 && wakeTick < 0) {
+            // 비어 있으면 모든 슬롯이 비어 있으므로 현재 틱으로 건너뛰어도 된다
+            currentTick = (now - origin) / tickNanos;
+        }
+
+        entry.deadline = now + TimeUnit.MILLISECONDS.toNanos(delayMs);
+        long tick = (entry.deadline - origin + tickNanos - 1) / tickNanos;
+        entry.tick = Math.min(Math.max(tick, currentTick + 1), currentTick + MAX_TICKS);
+        insert(entry);
+
+        scheduled++;
+        if (++pending > maxPending) {
+            maxPending = pending;
+        }
+        if (wakeTick < 0) {
+            wakeAt(nextWakeTick(), now);
+        } else if (entry.tick < wakeTick) {
+            wakeAt(entry.tick, now);
+        }
+        scheduleNanos += clock.getAsLong() - now;
+    }
+
+    // 현재 틱 기준 남은 틱 수로 레벨 선택
+    private void insert(Entry entry) {
+        long delta = entry.tick - currentTick;
+        int level;
+        if (delta < (1L << SHIFT[1])) {
+            level = 0;
+        } else if (delta < (1L << SHIFT[2])) {
+            level = 1;
+        } else if (delta < (1L << SHIFT[3])) {
+            level = 2;
+        } else {
+            level = 3;
+        }
+
+        int slot = (int) (entry.tick >>> SHIFT[level]) & MASK[level];
+        entry.next = null;
+        Entry tail = tails[level][slot];
+        if (tail == null) {
+            heads[level][slot] = entry;
+        } else {
+            tail.next = entry;
+        }
+        tails[level][slot] = entry;
+    }
+
+    @Override
+    public void run() {
+        long start = clock.getAsLong();
+        wakeTick = -1;
+        wakeFuture = null;
+
+        long nowTick = (start - origin) / tickNanos;
+        while (currentTick < nowTick) {
+            if (pending == 0) {
+                currentTick = nowTick;
+                break;
+            }
+            currentTick++;
+            for (int level = 1; level < LEVELS; level++) {
+                if ((currentTick & ((1L << SHIFT[level]) - 1)) != 0) {
+                    break;
+                }
+                cascade(level, (int) (currentTick >>> SHIFT[level]) & MASK[level]);
+            }
+            expire((int) currentTick & MASK[0], start);
+        }
+        flush();
+
+        runs++;
+        if (pending > 0) {
+            wakeAt(nextWakeTick(), start);
+        }
+        runNanos += clock.getAsLong() - start;
+    }
+
+    // 상위 레벨 슬롯을 현재 틱 기준으로 다시 배치 (등록 순서 유지)
+    private void cascade(int level, int slot) {
+        Entry entry = heads[level][slot];
+        heads[level][slot] = null;
+        tails[level][slot] = null;
+        while (entry != null) {
+            Entry next = entry.next;
+            insert(entry);
+            cascaded++;
+            entry = next;
+        }
+    }
+
+    private void expire(int slot, long now) {
+        Entry entry = heads[0][slot];
+        heads[0][slot] = null;
+        tails[0][slot] = null;
+        while (entry != null) {
+            Entry next = entry.next;
+            entry.next = null;
+            pending--;
+            fire(entry, now);
+            entry = next;
+        }
+    }
+
+    private void fire(Entry entry, long now) {
+        ChannelHandlerContext ctx = entry.ctx;
+        try {
+            if (ctx.channel().isActive()) {
+                entry.handler.handle(ctx, entry.content);
+                expired++;
+                lateNanos += now - entry.deadline;
+                if (flushSet.add(ctx)) {
+                    flushQueue.add(ctx);
+                }
+            } else {
+                dropped++;
+                logger.debug("채널 비활성 상태로 지연 응답 생략: {}", ctx.channel());
+            }
+        } catch (Exception e) {
+            logger.error("지연 응답 처리 중 오류", e);
+        }
+    }
+
+    private void flush() {
+        if (flushQueue.isEmpty()) {
+            return;
+        }
+        for (ChannelHandlerContext ctx : flushQueue) {
+            ctx.flush();
+        }
+        flushes += flushQueue.size();
+        flushQueue.clear();
+        flushSet.clear();
+    }
+
+    // 다음 cascade 틱 전까지 레벨 0 에서 처음 만나는 비지 않은 슬롯 (없으면 cascade 틱)
+    private long nextWakeTick() {
+        long boundary = (currentTick | MASK[0]) + 1;
+        for (long tick = currentTick + 1; tick < boundary; tick++) {
+            if (heads[0][(int) tick & MASK[0]] != null) {
+                return tick;
+            }
+        }
+        return boundary;
+    }
+
+    private void wakeAt(long tick, long now) {
+        if (wakeFuture != null) {
+            wakeFuture.cancel(false);
+        }
+        wakeTick = tick;
+        long delay = origin + tick * tickNanos - now;
+        wakeFuture = eventLoop.schedule(this, Math.max(delay, 0), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 대기 중인 지연 응답 수
+     */
+    long getPending() {
+        return pending;
+    }
+
+    /**
+     * 전체 휠 통계 (합계 + EventLoop 별 대기 건수)
+     */
+    static Map<String, Object> getStatistics() {
+        long pending = 0, maxPending = 0, scheduled = 0, expired = 0, dropped = 0, cascaded = 0;
+        long flushes = 0, runs = 0, scheduleNanos = 0, runNanos = 0, lateNanos = 0;
+        List<Long> pendingPerLoop = new ArrayList<>();
+        for (DelayTimingWheel wheel : wheels) {
+            pending += wheel.pending;
+            maxPending += wheel.maxPending;
+            scheduled += wheel.scheduled;
+            expired += wheel.expired;
+            dropped += wheel.dropped;
+            cascaded += wheel.cascaded;
+            flushes += wheel.flushes;
+            runs += wheel.runs;
+            scheduleNanos += wheel.scheduleNanos;
+            runNanos += wheel.runNanos;
+            lateNanos += wheel.lateNanos;
+            pendingPerLoop.add(wheel.pending);
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("wheels", pendingPerLoop.size());
+        stats.put("pending", pending);
+        stats.put("pendingPerLoop", pendingPerLoop);
+        stats.put("maxPending", maxPending);
+        stats.put("scheduled", scheduled);
+        stats.put("expired", expired);
+        stats.put("dropped", dropped);
+        stats.put("cascaded", cascaded);
+        stats.put("flushes", flushes);
+        stats.put("runs", runs);
+        stats.put("avgScheduleNanos", scheduled > 0 ? scheduleNanos / scheduled : 0);
+        stats.put("avgRunMicros", runs > 0 ? runNanos / runs / 1000 : 0);
+        stats.put("avgLateMicros", expired > 0 ? lateNanos / expired / 1000 : 0);
+        stats.put("responsesPerFlush", flushes > 0 ? String.format("%.2f", (double) expired / flushes) : "0");
+        return stats;
+    }
+
+    private static final class Entry {
+        final ChannelHandlerContext ctx;
+        final Object content;
+        final ResponseHandler<Object> handler;
+        long deadline;
+        long tick;
+        Entry next;
+
+        Entry(ChannelHandlerContext ctx, Object content, ResponseHandler<Object> handler) {
+            this.ctx = ctx;
+            this.content = content;
+            this.handler = handler;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.kt.dummy.processor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * 지연 시간 분포 (밀리초)
+ *
+ * 설정 시점에 역누적분포(분위수 함수) 를 표로 만들어 두고, 요청마다 난수 하나로
+ * 표의 인접한 두 값을 선형 보간해 O(1) 로 샘플링한다. 분포 종류와 무관하게 요청 경로 비용이 같다.
+ * 표는 분위수 0 / 0.9 / 0.99 / 0.999 / 0.9999 / 1 로 나눈 구간마다 1024 칸이라
+ * 꼬리(p99, p999) 도 본문과 같은 해상도를 가진다.
+ * 표 값은 내림하면 샘플(ms) 이 되도록 저장한다. 정수 k 는 [k, k+1) 구간을 뜻하므로 균등 분포는
+ * [min, max+1) 로, 연속 분포는 0.5 를 더해 (반올림과 같게) 만든다.
+ * fixed / uniform 은 표를 거치지 않고 정수 난수로 바로 샘플링한다.
+ *
+ *  - fixed     : {"type":"fixed", "value":100}
+ *  - uniform   : {"type":"uniform", "min":50, "max":150} (min~max 정수가 같은 확률)
+ *  - normal    : {"type":"normal", "mean":100, "stddev":20}
+ *  - lognormal : {"type":"lognormal", "median":80, "sigma":0.6}
+ *  - pareto    : {"type":"pareto", "scale":20, "alpha":1.5}
+ *  - bimodal   : {"type":"bimodal", "weight":0.9, "first":{분포}, "second":{분포}} (weight = first 비율)
+ *  - empirical : {"type":"empirical", "min":5, "p50":20, "p90":80, "p99":300, "p999":1200, "max":3000}
+ *                (분위수 사이는 선형, min 기본 0, max 기본 마지막 분위수 값)
+ *
+ * 모든 분포에 "max" 로 상한을 둘 수 있다. 상한이 없는 분포(normal, lognormal, pareto) 의 표 끝은
+ * 1 - 1e-6 분위수이며, 음수 값은 0 으로 자른다.
+ * @author 고재원
+ */
+public final class LatencyDistribution {
+    // 표 구간 경계 분위수와 구간당 칸 수
+    private static final double[] BOUNDS = {0, 0.9, 0.99, 0.999, 0.9999, 1};
+    private static final int SEGMENTS = BOUNDS.length - 1;
+    private static final int POINTS = 1024;
+    private static final int STRIDE = POINTS + 1;
+    private static final double[] SCALE = new double[SEGMENTS];
+
+    static {
+        for (int s = 0; s < SEGMENTS; s++) {
+            SCALE[s] = POINTS / (BOUNDS[s + 1] - BOUNDS[s]);
+        }
+    }
+    private static final double TAIL = 1e-6;
+    // 연속 분포 값을 내림했을 때 반올림이 되도록 더하는 값
+    private static final double ROUND = 0.5;
+
+    // 표준정규 역누적분포 Acklam 근사 계수
+    private static final double[] A = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+            1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+    private static final double[] B = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+            6.680131188771972e+01, -1.328068155288572e+01};
+    private static final double[] C = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+            -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+    private static final double[] D = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+            3.754408661907416e+00};
+    private static final double NORMAL_LOW = 0.02425;
+
+    private final JsonNode spec;
+    // 구간 s 의 j 번째 값 = table[s * STRIDE + j] = BOUNDS[s] + j / SCALE[s] 분위수 값
+    private final double[] table;
+    // fixed / uniform 이면 표 대신 [min, max] 정수 난수
+    private final boolean exact;
+    private final long min;
+    private final long max;
+
+    private LatencyDistribution(JsonNode spec, double[] table, boolean exact) {
+        this.spec = spec;
+        this.table = table;
+        this.exact = exact;
+        this.min = (long) table[0];
+        this.max = (long) table[table.length - 1];
+    }
+
+    /**
+     * 지연 시간 샘플 (밀리초)
+     */
+    public long sample() {
+        if (exact) {
+            return min == max ? min : ThreadLocalRandom.current().nextLong(min, max + 1);
+        }
+        return (long) quantile(ThreadLocalRandom.current().nextDouble());
+    }
+
+    /**
+     * 분위수 값 (표 보간)
+     * @param q 0 ~ 1
+     */
+    public double quantile(double q) {
+        double p = Math.min(Math.max(q, 0), 1);
+        int s = 0;
+        while (s < SEGMENTS - 1 && p >= BOUNDS[s + 1]) {
+            s++;
+        }
+        double u = (p - BOUNDS[s]) * SCALE[s];
+        int j = Math.min((int) u, POINTS - 1);
+        int i = s * STRIDE + j;
+        return table[i] + (table[i + 1] - table[i]) * (u - j);
+    }
+
+    public long getMin() {
+        return min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * 조회용 설명 (설정 원문 + 주요 분위수)
+     */
+    public Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("spec", spec);
+        description.put("p50", (long) quantile(0.5));
+        description.put("p90", (long) quantile(0.9));
+        description.put("p99", (long) quantile(0.99));
+        description.put("p999", (long) quantile(0.999));
+        description.put("max", getMax());
+        return description;
+    }
+
+    public static LatencyDistribution fixed(long delayMs) {
+        ObjectNode spec = JsonNodeFactory.instance.objectNode().put("type", "fixed").put("value", delayMs);
+        return exact(spec, delayMs, delayMs);
+    }
+
+    public static LatencyDistribution uniform(long minDelay, long maxDelay) {
+        if (minDelay == maxDelay) {
+            return fixed(minDelay);
+        }
+        ObjectNode spec = JsonNodeFactory.instance.objectNode()
+                .put("type", "uniform").put("min", minDelay).put("max", maxDelay);
+        return exact(spec, minDelay, maxDelay);
+    }
+
+    /**
+     * JSON 설정으로 분포 생성
+     * @throws IllegalArgumentException 알 수 없는 종류 또는 잘못된 매개변수
+     */
+    public static LatencyDistribution fromJson(JsonNode spec) {
+        if (spec == null || !spec.isObject() || !spec.hasNonNull("type")) {
+            throw new IllegalArgumentException("지연 분포 설정에 type 이 없음: " + spec);
+        }
+        String type = spec.get("type").asText();
+        LatencyDistribution distribution;
+        switch (type) {
+            case "fixed": {
+                long value = Math.round(nonNegative(spec, "value"));
+                if (spec.has("max")) {
+                    value = Math.min(value, Math.round(nonNegative(spec, "max")));
+                }
+                return exact(spec, value, value);
+            }
+            case "uniform": {
+                long min = Math.round(nonNegative(spec, "min"));
+                long max = Math.round(nonNegative(spec, "max"));
+                if (min > max) {
+                    throw new IllegalArgumentException("잘못된 지연 시간 범위: " + min + "-" + max);
+                }
+                return exact(spec, min, max);
+            }
+            case "normal": {
+                double mean = required(spec, "mean");
+                double stddev = positive(spec, "stddev");
+                distribution = build(spec, q -> mean + stddev * inverseNormal(q) + ROUND, TAIL, 1 - TAIL);
+                break;
+            }
+            case "lognormal": {
+                double median = positive(spec, "median");
+                double sigma = positive(spec, "sigma");
+                distribution = build(spec, q -> median * Math.exp(sigma * inverseNormal(q)) + ROUND, TAIL, 1 - TAIL);
+                break;
+            }
+            case "pareto": {
+                double scale = positive(spec, "scale");
+                double alpha = positive(spec, "alpha");
+                distribution = build(spec, q -> scale / Math.pow(1 - q, 1 / alpha) + ROUND, 0, 1 - TAIL);
+                break;
+            }
+            case "bimodal": {
+                double weight = spec.has("weight") ? spec.get("weight").asDouble() : 0.5;
+                if (weight < 0 || weight > 1) {
+                    throw new IllegalArgumentException("bimodal weight 는 0~1: " + weight);
+                }
+                LatencyDistribution first = fromJson(spec.get("first"));
+                LatencyDistribution second = fromJson(spec.get("second"));
+                // 두 분포의 표가 이미 내림 기준이므로 더하지 않음
+                distribution = build(spec, q -> mixtureQuantile(first, second, weight, q), 0, 1);
+                break;
+            }
+            case "empirical":
+                return empirical(spec);
+            default:
+                throw new IllegalArgumentException("알 수 없는 지연 분포: " + type);
+        }
+        return spec.has("max") ? distribution.capped(nonNegative(spec, "max")) : distribution;
+    }
+
+    // 정수 [min, max] 균등 분포 - 표는 [min, max+1) (혼합 분포의 누적분포 계산용)
+    private static LatencyDistribution exact(JsonNode spec, long min, long max) {
+        double end = Math.nextDown(max + 1.0);
+        return build(spec, q -> Math.min(min + (max + 1.0 - min) * q, end), 0, 1, true);
+    }
+
+    private static LatencyDistribution build(JsonNode spec, DoubleUnaryOperator quantile, double low, double high) {
+        return build(spec, quantile, low, high, false);
+    }
+
+    // 분위수 함수를 [low, high] 범위에서 표로 만든다 (음수는 0, 단조 증가 보정)
+    private static LatencyDistribution build(JsonNode spec, DoubleUnaryOperator quantile, double low, double high,
+                                             boolean exact) {
+        double[] table = new double[SEGMENTS * STRIDE];
+        double previous = 0;
+        for (int i = 0; i < table.length; i++) {
+            double q = Math.min(Math.max(quantileAt(i), low), high);
+            double value = Math.max(quantile.applyAsDouble(q), 0);
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                throw new IllegalArgumentException("지연 분포 계산 실패: " + spec);
+            }
+            previous = i == 0 ? value : Math.max(value, previous);
+            table[i] = previous;
+        }
+        return new LatencyDistribution(spec, table, exact);
+    }
+
+    private LatencyDistribution capped(double max) {
+        double[] capped = new double[table.length];
+        for (int i = 0; i < table.length; i++) {
+            capped[i] = Math.min(table[i], max);
+        }
+        return new LatencyDistribution(spec, capped, false);
+    }
+
+    // min, pNN..., max 지점을 선형으로 잇는 분포
+    private static LatencyDistribution empirical(JsonNode spec) {
+        TreeMap<Double, Double> points = new TreeMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = spec.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = field.getKey();
+            if (name.length() > 1 && name.charAt(0) == 'p' && name.substring(1).chars().allMatch(Character::isDigit)) {
+                String digits = name.substring(1);
+                double q = Double.parseDouble((digits.length() == 1 ? "0.0" : "0.") + digits);
+                points.put(q, nonNegative(spec, name));
+            }
+        }
+        if (points.isEmpty()) {
+            throw new IllegalArgumentException("empirical 분포에 분위수(p50, p90, p99, p999 ...) 가 없음");
+        }
+        points.put(0.0, spec.has("min") ? nonNegative(spec, "min") : 0);
+        points.put(1.0, spec.has("max") ? nonNegative(spec, "max") : points.lastEntry().getValue());
+
+        double previous = -1;
+        for (Map.Entry<Double, Double> point : points.entrySet()) {
+            if (point.getValue() < previous) {
+                throw new IllegalArgumentException("empirical 분위수 값이 감소함: " + spec);
+            }
+            previous = point.getValue();
+        }
+
+        double[] qs = points.keySet().stream().mapToDouble(Double::doubleValue).toArray();
+        double[] values = points.values().stream().mapToDouble(Double::doubleValue).toArray();
+        return build(spec, q -> {
+            int i = 1;
+            while (i < qs.length - 1 && qs[i] < q) {
+                i++;
+            }
+            return values[i - 1] + (values[i] - values[i - 1]) * (q - qs[i - 1]) / (qs[i] - qs[i - 1]) + ROUND;
+        }, 0, 1);
+    }
+
+    // 두 분포 혼합의 분위수 - 혼합 누적분포를 이분 탐색으로 역산
+    private static double mixtureQuantile(LatencyDistribution first, LatencyDistribution second, double weight, double q) {
+        double low = Math.min(first.table[0], second.table[0]);
+        double high = Math.max(first.table[first.table.length - 1], second.table[second.table.length - 1]);
+        for (int i = 0; i < 60 && high - low > 1e-6; i++) {
+            double mid = (low + high) / 2;
+            if (weight * first.cdf(mid) + (1 - weight) * second.cdf(mid) < q) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return (low + high) / 2;
+    }
+
+    // 표 기준 누적분포 (x 이하 비율)
+    private double cdf(double x) {
+        if (x < table[0]) {
+            return 0;
+        }
+        if (x >= table[table.length - 1]) {
+            return 1;
+        }
+        int low = 0;
+        int high = table.length - 1;
+        while (high - low > 1) {
+            int mid = (low + high) >>> 1;
+            if (table[mid] <= x) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        double width = table[high] - table[low];
+        double ratio = width > 0 ? (x - table[low]) / width : 0;
+        return quantileAt(low) + (quantileAt(high) - quantileAt(low)) * ratio;
+    }
+
+    // 표 위치의 분위수
+    private static double quantileAt(int index) {
+        int s = index / STRIDE;
+        return BOUNDS[s] + (index % STRIDE) / SCALE[s];
+    }
+
+    // 표준정규 역누적분포 (Acklam 근사, 상대 오차 1.15e-9)
+    private static double inverseNormal(double p) {
+        if (p < NORMAL_LOW) {
+            double r = Math.sqrt(-2 * Math.log(p));
+            return (((((C[0] * r + C[1]) * r + C[2]) * r + C[3]) * r + C[4]) * r + C[5])
+                    / ((((D[0] * r + D[1]) * r + D[2]) * r + D[3]) * r + 1);
+        }
+        if (p > 1 - NORMAL_LOW) {
+            double r = Math.sqrt(-2 * Math.log(1 - p));
+            return -(((((C[0] * r + C[1]) * r + C[2]) * r + C[3]) * r + C[4]) * r + C[5])
+                    / ((((D[0] * r + D[1]) * r + D[2]) * r + D[3]) * r + 1);
+        }
+        double r = p - 0.5;
+        double s = r * r;
+        return (((((A[0] * s + A[1]) * s + A[2]) * s + A[3]) * s + A[4]) * s + A[5]) * r
+                / (((((B[0] * s + B[1]) * s + B[2]) * s + B[3]) * s + B[4]) * s + 1);
+    }
+
+    private static double required(JsonNode spec, String name) {
+        JsonNode value = spec.get(name);
+        if (value == null || !value.isNumber()) {
+            throw new IllegalArgumentException(spec.get("type").asText() + " 분포에 숫자 " + name + " 필요");
+        }
+        return value.asDouble();
+    }
+
+    private static double nonNegative(JsonNode spec, String name) {
+        double value = required(spec, name);
+        if (value < 0) {
+            throw new IllegalArgumentException(name + " 는 0 이상: " + value);
+        }
+        return value;
+    }
+
+    private static double positive(JsonNode spec, String name) {
+        double value = required(spec, name);
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " 는 0 보다 커야 함: " + value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,222 @@
+package com.kt.dummy.processor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시간에 따라 바뀌는 지연 프로파일 (기본 지연에 더하는 밀리초)
+ *
+ * 시작 시점부터의 경과 시간(System.nanoTime) 으로 값을 계산하며, 값은 설정 시점에 배열로 만들어 두므로
+ * 요청마다 시계 한 번 읽고 짧은 구간 탐색(또는 sin) 만 한다.
+ *
+ *  - ramp : {"type":"ramp", "points":[{"atSec":0,"delayMs":0}, {"atSec":600,"delayMs":800}]}
+ *           지점 사이는 선형, 마지막 지점 이후는 마지막 값 유지 (점진적 성능 저하)
+ *  - step : {"type":"step", "steps":[{"atSec":0,"delayMs":0}, {"atSec":300,"delayMs":2000}, {"atSec":420,"delayMs":0}]}
+ *           지정한 시점마다 값이 바뀜 (brownout 구간)
+ *  - sine : {"type":"sine", "baseMs":100, "amplitudeMs":80, "periodSec":60, "phaseSec":0}
+ *           base + amplitude * sin(2π (t + phase) / period) (주기적 피크)
+ *
+ * 공통 옵션
+ *  - loop        : ramp / step 을 마지막 지점 시각을 주기로 반복
+ *  - durationSec : 지정한 시간이 지나면 종료 (이후 0)
+ *
+ * 더한 결과가 음수이면 지연 0 으로 처리한다.
+ * @author 고재원
+ */
+public final class LatencyProfile {
+    private final JsonNode spec;
+    private final boolean sine;
+    private final boolean step;
+    // ramp / step 지점 (경과 나노초, 밀리초 값)
+    private final long[] at;
+    private final double[] values;
+    // sine
+    private final double base;
+    private final double amplitude;
+    private final long periodNanos;
+    private final long phaseNanos;
+    private final boolean loop;
+    private final long durationNanos;
+
+    private LatencyProfile(JsonNode spec, String type, long[] at, double[] values, double base, double amplitude,
+                           long periodNanos, long phaseNanos, boolean loop, long durationNanos) {
+        this.spec = spec;
+        this.sine = type.equals("sine");
+        this.step = type.equals("step");
+        this.at = at;
+        this.values = values;
+        this.base = base;
+        this.amplitude = amplitude;
+        this.periodNanos = periodNanos;
+        this.phaseNanos = phaseNanos;
+        this.loop = loop;
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * JSON 설정으로 프로파일 생성
+     * @throws IllegalArgumentException 알 수 없는 종류 또는 잘못된 매개변수
+     */
+    public static LatencyProfile fromJson(JsonNode spec) {
+        if (spec == null || !spec.isObject() || !spec.hasNonNull("type")) {
+            throw new IllegalArgumentException("지연 프로파일 설정에 type 이 없음: " + spec);
+        }
+        String type = spec.get("type").asText();
+        boolean loop = spec.path("loop").asBoolean(false);
+        long duration = spec.has("durationSec") ? nanos(positive(spec, "durationSec")) : 0;
+
+        switch (type) {
+            case "ramp":
+            case "step": {
+                JsonNode points = spec.get(type.equals("ramp") ? "points" : "steps");
+                if (points == null || !points.isArray() || points.size() == 0) {
+                    throw new IllegalArgumentException(type + " 프로파일에 " + (type.equals("ramp") ? "points" : "steps") + " 가 없음");
+                }
+                long[] at = new long[points.size()];
+                double[] values = new double[points.size()];
+                for (int i = 0; i < at.length; i++) {
+                    at[i] = nanos(nonNegative(points.get(i), "atSec"));
+                    values[i] = number(points.get(i), "delayMs");
+                    if (i > 0 && at[i] <= at[i - 1]) {
+                        throw new IllegalArgumentException(type + " 지점의 atSec 는 증가해야 함: " + points);
+                    }
+                }
+                if (loop && at[at.length - 1] == 0) {
+                    throw new IllegalArgumentException("loop 는 마지막 지점 atSec 가 0 보다 커야 함");
+                }
+                return new LatencyProfile(spec, type, at, values, 0, 0, 0, 0, loop, duration);
+            }
+            case "sine":
+                return new LatencyProfile(spec, type, null, null,
+                        spec.has("baseMs") ? number(spec, "baseMs") : 0, number(spec, "amplitudeMs"),
+                        nanos(positive(spec, "periodSec")), spec.has("phaseSec") ? nanos(number(spec, "phaseSec")) : 0,
+                        true, duration);
+            default:
+                throw new IllegalArgumentException("알 수 없는 지연 프로파일: " + type);
+        }
+    }
+
+    /**
+     * 경과 시간의 추가 지연 (밀리초, 음수 가능)
+     * @param elapsedNanos 시작 후 경과 나노초
+     */
+    public double valueAt(long elapsedNanos) {
+        if (isFinished(elapsedNanos)) {
+            return 0;
+        }
+        if (sine) {
+            double angle = 2 * Math.PI * ((elapsedNanos + phaseNanos) % periodNanos) / periodNanos;
+            return base + amplitude * Math.sin(angle);
+        }
+
+        long t = elapsedNanos;
+        long last = at[at.length - 1];
+        if (loop && t >= last) {
+            t %= last;
+        }
+        if (t <= at[0]) {
+            return values[0];
+        }
+        if (t >= last) {
+            return values[values.length - 1];
+        }
+        int i = 1;
+        while (at[i] <= t) {
+            i++;
+        }
+        // at[i - 1] <= t < at[i]
+        if (step) {
+            return values[i - 1];
+        }
+        return values[i - 1] + (values[i] - values[i - 1]) * (t - at[i - 1]) / (at[i] - at[i - 1]);
+    }
+
+    public boolean isFinished(long elapsedNanos) {
+        return durationNanos > 0 && elapsedNanos >= durationNanos;
+    }
+
+    public JsonNode getSpec() {
+        return spec;
+    }
+
+    /**
+     * 실행 중인 프로파일 (시작 시각 + 적용 대상)
+     * 대상: api 가 있으면 API 정책, 없고 port 가 있으면 포트, 둘 다 없으면 전역
+     */
+    static final class Run {
+        final String name;
+        final int port;
+        final DelayPolicyTable.ApiKey api;
+        final LatencyProfile profile;
+        final long startNanos;
+        final long startedAt;
+
+        // name 이 없으면 대상 이름을 쓴다
+        Run(String name, int port, DelayPolicyTable.ApiKey api, LatencyProfile profile) {
+            this.port = port;
+            this.api = api;
+            this.name = name != null && !name.isEmpty() ? name : target();
+            this.profile = profile;
+            this.startNanos = System.nanoTime();
+            this.startedAt = System.currentTimeMillis();
+        }
+
+        // 현재 추가 지연 (밀리초)
+        double offset() {
+            return profile.valueAt(System.nanoTime() - startNanos);
+        }
+
+        String target() {
+            return api != null ? api.toString() : port != DelayPolicyTable.ANY_PORT ? String.valueOf(port) : "*";
+        }
+
+        boolean sameTarget(Run other) {
+            return port == other.port && Objects.equals(api, other.api);
+        }
+
+        Map<String, Object> describe() {
+            long elapsed = System.nanoTime() - startNanos;
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("name", name);
+            status.put("target", target());
+            status.put("spec", profile.spec);
+            status.put("startedAt", startedAt);
+            status.put("elapsedSec", TimeUnit.NANOSECONDS.toMillis(elapsed) / 1000.0);
+            status.put("currentDelayMs", Math.round(profile.valueAt(elapsed)));
+            status.put("finished", profile.isFinished(elapsed));
+            return status;
+        }
+    }
+
+    private static long nanos(double seconds) {
+        return (long) (seconds * TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static double number(JsonNode node, String name) {
+        JsonNode value = node.get(name);
+        if (value == null || !value.isNumber()) {
+            throw new IllegalArgumentException("지연 프로파일에 숫자 " + name + " 필요: " + node);
+        }
+        return value.asDouble();
+    }
+
+    private static double nonNegative(JsonNode node, String name) {
+        double value = number(node, name);
+        if (value < 0) {
+            throw new IllegalArgumentException(name + " 는 0 이상: " + value);
+        }
+        return value;
+    }
+
+    private static double positive(JsonNode node, String name) {
+        double value = number(node, name);
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " 는 0 보다 커야 함: " + value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,240 @@
+package com.kt.dummy.processor;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.kt.dummy.manager.RequestFields;
+import com.kt.dummy.manager.ResponseTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 요청 필드를 응답 전문 플레이스홀더 값으로 연결
+ *
+ * 응답 전문이 실제로 참조하는 이름만, 렌더링 시점에 한 번씩 요청에서 찾는다. (요청 전체를 파싱하지 않음)
+ * 이름마다 아래 순서로 값을 정한다.
+ *  1. TemplateGenerators 내장 생성기 (timestamp, date, time, sequence, randomId, uuid ...)
+ *  2. 요청 필드 - 프로토콜별 후보 이름 순서로 조회
+ *     - keyValue : 키 그대로, camelCase 를 snake_case 로 바꾼 키 (transactionId -> transaction_id)
+ *     - xml      : 엘리먼트명 그대로, 대문자 엘리먼트명 (transactionId -> TRANSACTIONID)
+ *     - http     : 접두어(query. header. json. xml.) 가 있으면 그대로, 없으면 query. -> json. -> xml. 순
+ *  3. TemplateGenerators 기본값 (transactionId, sequenceNo, requestId, sessionId)
+ *  4. 값이 없으면 플레이스홀더 원문 유지
+ *
+ * 요청에서 가져온 값은 응답 전문 프로토콜에 맞게 이스케이프한다. (json: 문자열 이스케이프, xml/soap: 엔티티)
+ * 요청 값에 ", <, & 가 있어도 응답 전문 구조가 깨지거나 마크업이 끼어들지 않는다.
+ *
+ * 후보 이름은 이름별로 한 번만 만들어 캐시하므로 요청마다 문자열을 만들지 않는다.
+ * 지연 응답은 요청 버퍼가 해제된 뒤 렌더링되므로 예약 전에 값을 확정(capture) 해 둔다.
+ * @author 고재원
+ */
+public final class RequestTemplateValues implements TemplateValues {
+
+    /**
+     * 프로토콜별 요청 필드 이름 규칙
+     */
+    public enum Style {
+        KEY_VALUE(RequestTemplateValues::keyValueCandidates),
+        XML(RequestTemplateValues::xmlCandidates),
+        HTTP(RequestTemplateValues::httpCandidates);
+
+        private final Function<String, String[]> candidates;
+        private final Map<String, String[]> cache = new ConcurrentHashMap<>();
+
+        Style(Function<String, String[]> candidates) {
+            this.candidates = candidates;
+        }
+
+        String[] candidates(String name) {
+            String[] names = cache.get(name);
+            return names != null ? names : cache.computeIfAbsent(name, candidates);
+        }
+    }
+
+    /**
+     * 응답 전문 프로토콜별 요청 값 이스케이프
+     */
+    private enum Escape {
+        NONE, JSON, XML;
+
+        static Escape of(String protocol) {
+            switch (protocol) {
+                case "json": return JSON;
+                case "xml":
+                case "soap": return XML;
+                default: return NONE;
+            }
+        }
+
+        String apply(String value) {
+            switch (this) {
+                case JSON: return escapeJson(value);
+                case XML: return escapeXml(value);
+                default: return value;
+            }
+        }
+    }
+
+    private static final String[] HTTP_PREFIXES = {"query.", "header.", "json.", "xml."};
+
+    private final RequestFields fields;
+    private final Style style;
+    private final Escape escape;
+
+    private RequestTemplateValues(RequestFields fields, Style style, Escape escape) {
+        this.fields = fields;
+        this.style = style;
+        this.escape = escape;
+    }
+
+    /**
+     * 응답 전문 렌더링용 값 준비
+     * @param template 응답 전문
+     * @param style 요청 필드 이름 규칙
+     * @param protocol 응답 전문 프로토콜 (json, xml, soap, keyValue) - 요청 값 이스케이프 방식
+     * @param fields 요청 필드 조회 (요청 버퍼가 살아 있는 동안만 유효)
+     * @param delayed 지연 응답 여부 - true 면 참조하는 값을 지금 확정한다
+     * @return 렌더링 값, 플레이스홀더가 없는 응답 전문이면 null
+     */
+    public static TemplateValues bind(ResponseTemplate template, Style style, String protocol,
+                                      RequestFields fields, boolean delayed) {
+        if (template.isStatic()) {
+            return null;
+        }
+        RequestTemplateValues values = new RequestTemplateValues(fields, style, Escape.of(protocol));
+        return delayed ? values.capture(template.getPlaceholders()) : values;
+    }
+
+    @Override
+    public String value(String name) {
+        String value = TemplateGenerators.generate(name);
+        if (value != null) {
+            return value;
+        }
+        for (String candidate : style.candidates(name)) {
+            value = fields.field(candidate);
+            if (value != null) {
+                return escape.apply(value);
+            }
+        }
+        return TemplateGenerators.fallback(name);
+    }
+
+    // 이름 목록의 값을 지금 확정 (요청 버퍼를 참조하지 않는 값 배열)
+    private TemplateValues capture(List<String> names) {
+        String[] values = new String[names.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = value(names.get(i));
+        }
+        return name -> {
+            int index = names.indexOf(name);
+            return index >= 0 ? values[index] : null;
+        };
+    }
+
+    // JSON 문자열 안에 넣을 수 있도록 ", \, 제어 문자 이스케이프 (바꿀 문자가 없으면 그대로)
+    private static String escapeJson(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\' || c < 0x20) {
+                return new String(JsonStringEncoder.getInstance().quoteAsString(value));
+            }
+        }
+        return value;
+    }
+
+    // XML 텍스트 / 속성값 안에 넣을 수 있도록 &, <, >, ", ' 를 엔티티로 (바꿀 문자가 없으면 그대로)
+    // XML 요청 엘리먼트 값은 엔티티를 풀지 않은 원문이므로 이미 있는 엔티티 참조(&amp; &#60;) 의 & 는 그대로 둔다
+    private static String escapeXml(String value) {
+        StringBuilder escaped = null;
+        for (int i = 0; i < value.length(); i++) {
+            String entity;
+            switch (value.charAt(i)) {
+                case '&': entity = isEntityReference(value, i) ? null : "&amp;"; break;
+                case '<': entity = "&lt;"; break;
+                case '>': entity = "&gt;"; break;
+                case '"': entity = "&quot;"; break;
+                case '\'': entity = "&apos;"; break;
+                default: entity = null;
+            }
+            if (entity != null && escaped == null) {
+                escaped = new StringBuilder(value.length() + 16).append(value, 0, i);
+            }
+            if (escaped != null) {
+                if (entity != null) {
+                    escaped.append(entity);
+                } else {
+                    escaped.append(value.charAt(i));
+                }
+            }
+        }
+        return escaped != null ? escaped.toString() : value;
+    }
+
+    // value 의 & 위치에서 시작하는 엔티티 참조인지 (&name; &#10; &#x0A;)
+    private static boolean isEntityReference(String value, int amp) {
+        int i = amp + 1;
+        boolean numeric = i < value.length() && value.charAt(i) == '#';
+        boolean hex = numeric && i + 1 < value.length() && (value.charAt(i + 1) == 'x' || value.charAt(i + 1) == 'X');
+        if (numeric) {
+            i += hex ? 2 : 1;
+        }
+        int start = i;
+        for (; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ';') {
+                return i > start;
+            }
+            boolean valid;
+            if (hex) {
+                valid = Character.digit(c, 16) >= 0;
+            } else if (numeric) {
+                valid = c >= '0' && c <= '9';
+            } else if (i == start) {
+                valid = Character.isLetter(c) || c == '_';
+            } else {
+                valid = Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '-';
+            }
+            if (!valid) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static String[] keyValueCandidates(String name) {
+        StringBuilder snake = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c)) {
+                snake.append('_').append(Character.toLowerCase(c));
+            } else {
+                snake.append(c);
+            }
+        }
+        String snakeName = snake.toString();
+        return snakeName.equals(name) ? new String[] {name} : new String[] {name, snakeName};
+    }
+
+    private static String[] xmlCandidates(String name) {
+        String element = name.startsWith("xml.") ? name.substring(4) : name;
+        String upper = element.toUpperCase(Locale.ROOT);
+        return upper.equals(element)
+                ? new String[] {"xml." + element}
+                : new String[] {"xml." + element, "xml." + upper};
+    }
+
+    private static String[] httpCandidates(String name) {
+        for (String prefix : HTTP_PREFIXES) {
+            if (name.startsWith(prefix)) {
+                return new String[] {name};
+            }
+        }
+        if (name.equals("method") || name.equals("path")) {
+            return new String[] {name};
+        }
+        return new String[] {"query." + name, "json." + name, "xml." + name};
+    }
+}
@@ -15,8 +15,6 @@ import javax.xml.transform.stream.StreamResult;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * 응답 포맷터 - 응답 전문 동적 처리
@@ -25,7 +23,6 @@ import java.util.regex.Pattern;
 public class ResponseFormatter {
     private static final Logger logger = LoggerFactory.getLogger(ResponseFormatter.class);
     private static final ObjectMapper objectMapper = new ObjectMapper();
-    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\$\\{([^}]+)\\}");
     
     /**
      * 응답 전문에서 플레이스홀더 치환
@@ -39,23 +36,9 @@ public class ResponseFormatter {
         }
         
         try {
-            String result = template;
-            Matcher matcher = PLACEHOLDER_PATTERN.matcher(template);
-            
-            while (matcher.find()) {
-                String placeholder = matcher.group(0); // ${변수명}
-                String variableName = matcher.group(1); // 변수명
-                String value = variables.get(variableName);
-                
-                if (value != null) {
-                    result = result.replace(placeholder, value);
-                    logger.debug("플레이스홀더 치환: {} -> {}", placeholder, value);
-                } else {
-                    logger.debug("플레이스홀더 변수 없음: {}", variableName);
-                }
-            }
-            
-            return result;
+            // 한 번 훑어 구간을 나눈 뒤 한 번에 조립 (플레이스홀더마다 String.replace 하지 않음)
+            CompiledTemplate compiled = CompiledTemplate.compile(template);
+            return compiled.isStatic() ? template : compiled.renderToString(variables::get);
             
         } catch (Exception e) {
             logger.error("응답 전문 포맷팅 중 오류", e);
@@ -65,10 +48,13 @@ public class ResponseFormatter {
     
     /**
      * JSON 응답 전문 포맷팅
+     * 호출할 때마다 파싱하므로 요청 처리 경로에서는 쓰지 않는다. (응답 전문은 로드 시 검증/정규화됨)
      * @param jsonTemplate JSON 템플릿
      * @param variables 치환 변수
      * @return 포맷팅된 JSON
+     * @deprecated 로드 시 정규화(server.response.minify) 와 ResponseTemplate.render 사용
      */
+    @Deprecated
     public static String formatJsonResponse(String jsonTemplate, Map<String, String> variables) {
         try {
             String formattedJson = formatWithVariables(jsonTemplate, variables);
@@ -85,10 +71,13 @@ public class ResponseFormatter {
     
     /**
      * XML 응답 전문 포맷팅
+     * 호출할 때마다 파서/변환기를 만들고 파싱하므로 요청 처리 경로에서는 쓰지 않는다. (응답 전문은 로드 시 검증/정규화됨)
      * @param xmlTemplate XML 템플릿
      * @param variables 치환 변수
      * @return 포맷팅된 XML
+     * @deprecated 로드 시 정규화(server.response.minify) 와 ResponseTemplate.render 사용
      */
+    @Deprecated
     public static String formatXmlResponse(String xmlTemplate, Map<String, String> variables) {
         try {
             String formattedXml = formatWithVariables(xmlTemplate, variables);
@@ -119,19 +108,13 @@ public class ResponseFormatter {
     }
     
     /**
-     * 동적 시간 스탬프 추가
+     * 동적 시간 스탬프 추가 (값은 TemplateGenerators 와 동일)
      * @param template 템플릿
      * @return 시간 스탬프가 추가된 응답
      */
     public static String addTimestamp(String template) {
-        Map<String, String> timeVariables = Map.of(
-            "timestamp", String.valueOf(System.currentTimeMillis()),
-            "currentTime", java.time.LocalDateTime.now().toString(),
-            "date", java.time.LocalDate.now().toString(),
-            "time", java.time.LocalTime.now().toString()
-        );
-        
-        return formatWithVariables(template, timeVariables);
+        CompiledTemplate compiled = CompiledTemplate.compile(template);
+        return compiled.isStatic() ? template : compiled.renderToString(TemplateGenerators::generate);
     }
     
     /**
@@ -142,24 +125,12 @@ public class ResponseFormatter {
      */
     public static String formatWithRequestInfo(String template, Map<String, String> requestInfo) {
         Map<String, String> responseVariables = Map.of(
-            "transactionId", requestInfo.getOrDefault("transaction_id", generateTransactionId()),
-            "sequenceNo", requestInfo.getOrDefault("sequence_no", "1"),
-            "requestId", requestInfo.getOrDefault("request_id", generateRequestId()),
-            "sessionId", requestInfo.getOrDefault("session_id", generateSessionId())
+            "transactionId", requestInfo.getOrDefault("transaction_id", TemplateGenerators.fallback("transactionId")),
+            "sequenceNo", requestInfo.getOrDefault("sequence_no", TemplateGenerators.fallback("sequenceNo")),
+            "requestId", requestInfo.getOrDefault("request_id", TemplateGenerators.fallback("requestId")),
+            "sessionId", requestInfo.getOrDefault("session_id", TemplateGenerators.fallback("sessionId"))
         );
         
         return formatWithVariables(template, responseVariables);
     }
-    
-    private static String generateTransactionId() {
-        return java.util.UUID.randomUUID().toString();
-    }
-    
-    private static String generateRequestId() {
-        return String.valueOf(System.currentTimeMillis());
-    }
-    
-    private static String generateSessionId() {
-        return "SES" + System.currentTimeMillis();
-    }
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.kt.dummy.processor;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 응답 전문 내장 값 생성기 (요청과 무관한 플레이스홀더)
+ *
+ *  - timestamp   : 현재 시각 epoch 밀리초
+ *  - date / time : 현재 일자 / 시각 ISO 형식 (LocalDate / LocalTime, 기존 ResponseFormatter 와 동일)
+ *  - compactDate / compactTime : 현재 일자 yyyyMMdd / 시각 HHmmss (초 단위 캐시)
+ *  - currentTime : LocalDateTime ISO 형식
+ *  - sequence    : 서버 기동 후 1 부터 증가하는 일련번호
+ *  - randomId    : 16 자리 hex 난수
+ *  - uuid        : UUID v4 형식 난수 (SecureRandom 대신 ThreadLocalRandom 사용)
+ *
+ * 요청에 값이 없을 때 쓰는 기본값 (fallback)
+ *  - transactionId : uuid,  sequenceNo : "1",  requestId : timestamp,  sessionId : "SES" + timestamp
+ *
+ * 난수는 보안 용도가 아닌 상관관계 ID 용이므로 잠금/엔트로피 대기 없는 ThreadLocalRandom 을 쓴다.
+ * @author 고재원
+ */
+public final class TemplateGenerators {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final AtomicLong sequence = new AtomicLong();
+
+    private static volatile Clock clock = new Clock(System.currentTimeMillis() / 1000);
+
+    private TemplateGenerators() {
+    }
+
+    /**
+     * 내장 생성기 값
+     * @return 생성 값, 내장 생성기 이름이 아니면 null
+     */
+    public static String generate(String name) {
+        switch (name) {
+            case "timestamp": return Long.toString(System.currentTimeMillis());
+            case "date": return clock().isoDate;
+            case "time": return LocalTime.now().toString();
+            case "compactDate": return clock().date;
+            case "compactTime": return clock().time;
+            case "currentTime": return LocalDateTime.now().toString();
+            case "sequence": return Long.toString(sequence.incrementAndGet());
+            case "randomId": return randomId();
+            case "uuid": return uuid();
+            default: return null;
+        }
+    }
+
+    /**
+     * 요청에 값이 없을 때의 기본값
+     * @return 기본값, 기본값이 없는 이름이면 null
+     */
+    public static String fallback(String name) {
+        switch (name) {
+            case "transactionId": return uuid();
+            case "sequenceNo": return "1";
+            case "requestId": return Long.toString(System.currentTimeMillis());
+            case "sessionId": return "SES" + System.currentTimeMillis();
+            default: return null;
+        }
+    }
+
+    /**
+     * 16 자리 hex 난수
+     */
+    public static String randomId() {
+        char[] chars = new char[16];
+        appendHex(chars, 0, ThreadLocalRandom.current().nextLong(), 16);
+        return new String(chars);
+    }
+
+    /**
+     * UUID v4 형식 난수 (xxxxxxxx-xxxx-4xxx-yxxx-xxxxxxxxxxxx)
+     */
+    public static String uuid() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long low = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+
+        char[] chars = new char[36];
+        appendHex(chars, 0, high >>> 32, 8);
+        chars[8] = '-';
+        appendHex(chars, 9, high >>> 16, 4);
+        chars[13] = '-';
+        appendHex(chars, 14, high, 4);
+        chars[18] = '-';
+        appendHex(chars, 19, low >>> 48, 4);
+        chars[23] = '-';
+        appendHex(chars, 24, low, 12);
+        return new String(chars);
+    }
+
+    // value 의 하위 digits 자리를 hex 로 기록
+    private static void appendHex(char[] chars, int offset, long value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            chars[i] = HEX[(int) value & 0xF];
+            value >>>= 4;
+        }
+    }
+
+    // 초가 바뀔 때만 일자/시각 문자열을 다시 만든다
+    private static Clock clock() {
+        long second = System.currentTimeMillis() / 1000;
+        Clock current = clock;
+        if (current.second != second) {
+            current = new Clock(second);
+            clock = current;
+        }
+        return current;
+    }
+
+    private static final class Clock {
+        final long second;
+        final String isoDate;
+        final String date;
+        final String time;
+
+        Clock(long second) {
+            LocalDateTime now = LocalDateTime.now();
+            this.second = second;
+            this.isoDate = now.toLocalDate().toString();
+            this.date = String.format("%04d%02d%02d", now.getYear(), now.getMonthValue(), now.getDayOfMonth());
+            this.time = String.format("%02d%02d%02d", now.getHour(), now.getMinute(), now.getSecond());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.kt.dummy.processor;
+
+/**
+ * 응답 전문 플레이스홀더 값 조회 (CompiledTemplate.render 에 전달)
+ *
+ * 렌더링 1회에서 플레이스홀더 이름마다 한 번만 호출된다.
+ * @author 고재원
+ */
+@FunctionalInterface
+public interface TemplateValues {
+
+    /**
+     * @param name 플레이스홀더 이름 (${userId} 이면 userId)
+     * @return 치환할 값, 없으면 null (플레이스홀더를 그대로 둠)
+     */
+    String value(String name);
+}
@@ -0,0 +1,88 @@
+package com.kt.dummy.server;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 리스닝 소켓(acceptor)별 accept 통계
+ * SO_REUSEPORT 로 같은 포트를 여러 번 바인딩한 경우 acceptor 마다 하나씩 등록된다.
+ * @author 고재원
+ */
+public class AcceptorRegistry {
+    private static final AcceptorRegistry INSTANCE = new AcceptorRegistry();
+
+    private final List<AcceptorStats> acceptors = new CopyOnWriteArrayList<>();
+
+    private AcceptorRegistry() {
+    }
+
+    public static AcceptorRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    AcceptorStats register(String name, int port, int index) {
+        AcceptorStats stats = new AcceptorStats(name, port, index);
+        acceptors.add(stats);
+        return stats;
+    }
+
+    /**
+     * 관리 API 용 acceptor 통계 목록
+     */
+    public List<Map<String, Object>> getStatistics() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (AcceptorStats stats : acceptors) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", stats.name);
+            entry.put("port", stats.port);
+            entry.put("acceptor", stats.index);
+            entry.put("eventLoop", stats.eventLoop);
+            entry.put("accepted", stats.accepted.get());
+            result.add(entry);
+        }
+        return result;
+    }
+
+    static final class AcceptorStats {
+        private final String name;
+        private final int port;
+        private final int index;
+        private final AtomicLong accepted = new AtomicLong();
+        private volatile String eventLoop = "";
+
+        private AcceptorStats(String name, int port, int index) {
+            this.name = name;
+            this.port = port;
+            this.index = index;
+        }
+
+        void bound(Channel serverChannel) {
+            serverChannel.eventLoop().execute(() -> eventLoop = Thread.currentThread().getName());
+        }
+    }
+
+    /**
+     * 서버 채널 파이프라인에서 accept 된 자식 채널 수를 센다.
+     */
+    static final class AcceptCountHandler extends ChannelInboundHandlerAdapter {
+        private final AcceptorStats stats;
+
+        AcceptCountHandler(AcceptorStats stats) {
+            this.stats = stats;
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            stats.accepted.incrementAndGet();
+            ctx.fireChannelRead(msg);
+        }
+    }
+}
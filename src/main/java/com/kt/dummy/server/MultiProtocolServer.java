@@ -1,19 +1,16 @@
 package com.kt.dummy.server;
 
 import com.kt.dummy.handler.ProtocolHandlerFactory;
-import com.kt.dummy.manager.ManagementApiHandler;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
-import io.netty.handler.codec.http.HttpServerCodec;
-import io.netty.handler.codec.http.HttpObjectAggregator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
 
 /**
  * 멀티 프로토콜 서버 메인 클래스
@@ -23,19 +20,56 @@ public class MultiProtocolServer {
     private static final Logger logger = LoggerFactory.getLogger(MultiProtocolServer.class);
     
     private final ServerConfig config;
+    private final ServerTransport transport;
     private final EventLoopGroup bossGroup;
     private final EventLoopGroup workerGroup;
+    private final List<EventLoop> bossLoops;
+    private final int acceptorsPerPort;
     private final List<Channel> serverChannels;
     private final ProtocolHandlerFactory handlerFactory;
     
     public MultiProtocolServer(ServerConfig config) {
         this.config = config;
-        this.bossGroup = new NioEventLoopGroup(config.getBossThreads());
-        this.workerGroup = new NioEventLoopGroup(config.getWorkerThreads());
-        this.serverChannels = new ArrayList<>();
+        this.transport = ServerTransport.select(config.getTransport());
+        this.acceptorsPerPort = resolveAcceptorsPerPort(config, transport);
+        this.bossGroup = transport.newEventLoopGroup(Math.max(config.getBossThreads(), acceptorsPerPort));
+        this.workerGroup = transport.newEventLoopGroup(config.getWorkerThreads());
+        this.bossLoops = new ArrayList<>();
+        bossGroup.forEach(executor -> bossLoops.add((EventLoop) executor));
+        logger.info("전송 계층: {}, 포트당 acceptor: {}", transport.getConfigName(), acceptorsPerPort);
+        this.serverChannels = new CopyOnWriteArrayList<>();
         this.handlerFactory = new ProtocolHandlerFactory();
     }
     
+    private static int resolveAcceptorsPerPort(ServerConfig config, ServerTransport transport) {
+        int requested = config.getReusePortAcceptors();
+        if (requested <= 1) {
+            return 1;
+        }
+        if (!transport.supportsReusePort()) {
+            logger.warn("{} 전송 계층은 SO_REUSEPORT 미지원, 포트당 1개로 바인딩", transport.getConfigName());
+            return 1;
+        }
+        return requested;
+    }
+    
+    /**
+     * 포트를 acceptor 수만큼 바인딩 (acceptor 마다 별도 boss EventLoop 사용)
+     * @param bootstrapFactory boss EventLoop -> 부트스트랩
+     */
+    private void bind(String name, int port, Function<EventLoopGroup, ServerBootstrap> bootstrapFactory)
+            throws InterruptedException {
+        for (int i = 0; i < acceptorsPerPort; i++) {
+            AcceptorRegistry.AcceptorStats stats = AcceptorRegistry.getInstance().register(name, port, i);
+            ServerBootstrap bootstrap = bootstrapFactory.apply(bossLoops.get(i % bossLoops.size()))
+                    .handler(new AcceptorRegistry.AcceptCountHandler(stats));
+            
+            ChannelFuture future = bootstrap.bind(port).sync();
+            stats.bound(future.channel());
+            serverChannels.add(future.channel());
+        }
+    }
+    
     public void start() throws Exception {
         List<CompletableFuture<Void>> futures = new ArrayList<>();
         
@@ -52,7 +86,8 @@ public class MultiProtocolServer {
         // HTTP 서버 시작
         futures.add(startHttpServer(config.getHttpPort(), false));
         
-        // HTTPS 서버 시작
+        // HTTPS 서버 시작 (SslContext 는 바인딩 전에 1회 생성)
+        SslContextManager.getInstance().initialize(config);
         futures.add(startHttpServer(config.getHttpsPort(), true));
         
         // 관리 API 서버 시작
@@ -69,11 +104,9 @@ public class MultiProtocolServer {
     private CompletableFuture<Void> startTcpXmlServer(int port) {
         return CompletableFuture.runAsync(() -> {
             try {
-                ServerBootstrap bootstrap = ServerBootstrapFactory.createTcpBootstrap(
-                    bossGroup, workerGroup, handlerFactory.createXmlHandler());
-                
-                ChannelFuture future = bootstrap.bind(port).sync();
-                serverChannels.add(future.channel());
+                ChannelInboundHandler handler = handlerFactory.createXmlHandler();
+                bind("xml", port, boss -> ServerBootstrapFactory.createTcpBootstrap(
+                    transport, boss, workerGroup, handler));
                 logger.info("TCP XML 서버 시작: 포트 {}", port);
                 
             } catch (Exception e) {
@@ -86,11 +119,9 @@ public class MultiProtocolServer {
     private CompletableFuture<Void> startTcpKeyValueServer(int port) {
         return CompletableFuture.runAsync(() -> {
             try {
-                ServerBootstrap bootstrap = ServerBootstrapFactory.createTcpBootstrap(
-                    bossGroup, workerGroup, handlerFactory.createKeyValueHandler());
-                
-                ChannelFuture future = bootstrap.bind(port).sync();
-                serverChannels.add(future.channel());
+                ChannelInboundHandler handler = handlerFactory.createKeyValueHandler();
+                bind("keyValue", port, boss -> ServerBootstrapFactory.createTcpBootstrap(
+                    transport, boss, workerGroup, handler));
                 logger.info("TCP KeyValue 서버 시작: 포트 {}", port);
                 
             } catch (Exception e) {
@@ -103,11 +134,9 @@ public class MultiProtocolServer {
     private CompletableFuture<Void> startHttpServer(int port, boolean ssl) {
         return CompletableFuture.runAsync(() -> {
             try {
-                ServerBootstrap bootstrap = ServerBootstrapFactory.createHttpBootstrap(
-                    bossGroup, workerGroup, handlerFactory.createHttpHandler(), ssl);
-                
-                ChannelFuture future = bootstrap.bind(port).sync();
-                serverChannels.add(future.channel());
+                ChannelInboundHandler handler = handlerFactory.createHttpHandler();
+                bind(ssl ? "https" : "http", port, boss -> ServerBootstrapFactory.createHttpBootstrap(
+                    transport, boss, workerGroup, handler, ssl));
                 logger.info("{} 서버 시작: 포트 {}", ssl ? "HTTPS" : "HTTP", port);
                 
             } catch (Exception e) {
@@ -120,21 +149,8 @@ public class MultiProtocolServer {
     private CompletableFuture<Void> startManagementServer(int port) {
         return CompletableFuture.runAsync(() -> {
             try {
-                ServerBootstrap bootstrap = new ServerBootstrap();
-                bootstrap.group(bossGroup, workerGroup)
-                        .channel(NioServerSocketChannel.class)
-                        .childHandler(new ChannelInitializer<Channel>() {
-                            @Override
-                            protected void initChannel(Channel ch) {
-                                ch.pipeline()
-                                  .addLast(new HttpServerCodec())
-                                  .addLast(new HttpObjectAggregator(65536))
-                                  .addLast(new ManagementApiHandler());
-                            }
-                        });
-                
-                ChannelFuture future = bootstrap.bind(port).sync();
-                serverChannels.add(future.channel());
+                bind("management", port, boss -> ServerBootstrapFactory.createManagementBootstrap(
+                    transport, boss, workerGroup));
                 logger.info("관리 API 서버 시작: 포트 {}", port);
                 
             } catch (Exception e) {
@@ -157,6 +173,8 @@ public class MultiProtocolServer {
             }
         }
         
+        SslContextManager.getInstance().shutdown();
+        
         // EventLoopGroup 종료
         workerGroup.shutdownGracefully().awaitUninterruptibly();
         bossGroup.shutdownGracefully().awaitUninterruptibly();
@@ -1,70 +1,237 @@
 package com.kt.dummy.server;
 
 import com.kt.dummy.decoder.CustomLengthFieldDecoder;
+import com.kt.dummy.decoder.DataLengthFrameEncoder;
+import com.kt.dummy.manager.ManagementApiHandler;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.*;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
-import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.channel.unix.UnixChannelOption;
+import io.netty.handler.codec.http.HttpMessage;
 import io.netty.handler.codec.http.HttpObjectAggregator;
-import io.netty.handler.ssl.SslContext;
-import io.netty.handler.ssl.SslContextBuilder;
-import io.netty.handler.ssl.util.SelfSignedCertificate;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpServerExpectContinueHandler;
+import io.netty.handler.codec.http.HttpServerKeepAliveHandler;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler;
+import io.netty.handler.codec.http2.CleartextHttp2ServerUpgradeHandler;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2ServerUpgradeCodec;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
+import io.netty.util.AsciiString;
 
 /**
  * 서버 부트스트랩 팩토리
  * @author 고재원
  */
 public class ServerBootstrapFactory {
-    
-    public static ServerBootstrap createTcpBootstrap(EventLoopGroup bossGroup, 
-                                                    EventLoopGroup workerGroup, 
+    private static final int MAX_CONTENT_LENGTH = 65536;
+
+    public static ServerBootstrap createTcpBootstrap(ServerTransport transport,
+                                                    EventLoopGroup bossGroup,
+                                                    EventLoopGroup workerGroup,
                                                     ChannelInboundHandler handler) {
-        return new ServerBootstrap()
-                .group(bossGroup, workerGroup)
-                .channel(NioServerSocketChannel.class)
-                .option(ChannelOption.SO_BACKLOG, 1024)
-                .option(ChannelOption.SO_REUSEADDR, true)
-                .childOption(ChannelOption.TCP_NODELAY, true)
-                .childOption(ChannelOption.SO_KEEPALIVE, true)
-                .childOption(ChannelOption.ALLOCATOR, io.netty.buffer.PooledByteBufAllocator.DEFAULT)
+        return createBaseBootstrap(transport, bossGroup, workerGroup)
                 .childHandler(new ChannelInitializer<SocketChannel>() {
                     @Override
                     protected void initChannel(SocketChannel ch) {
                         ch.pipeline()
                           .addLast(new CustomLengthFieldDecoder())
+                          .addLast(DataLengthFrameEncoder.INSTANCE)
                           .addLast(handler);
                     }
                 });
     }
-    
-    public static ServerBootstrap createHttpBootstrap(EventLoopGroup bossGroup, 
-                                                     EventLoopGroup workerGroup, 
-                                                     ChannelInboundHandler handler, 
+
+    /**
+     * HTTP/HTTPS 부트스트랩
+     * server.http2.enabled 이면 HTTPS 는 ALPN 으로 h2 / http/1.1 을 협상하고,
+     * HTTP 는 h2c (prior-knowledge, Upgrade) 와 HTTP/1.1 을 함께 받는다.
+     * HTTP/2 스트림은 스트림 채널마다 HTTP/1.1 객체로 변환되어 같은 핸들러로 처리된다.
+     */
+    public static ServerBootstrap createHttpBootstrap(ServerTransport transport,
+                                                     EventLoopGroup bossGroup,
+                                                     EventLoopGroup workerGroup,
+                                                     ChannelInboundHandler handler,
                                                      boolean ssl) {
-        return new ServerBootstrap()
-                .group(bossGroup, workerGroup)
-                .channel(NioServerSocketChannel.class)
-                .option(ChannelOption.SO_BACKLOG, 1024)
-                .option(ChannelOption.SO_REUSEADDR, true)
-                .childOption(ChannelOption.TCP_NODELAY, true)
-                .childOption(ChannelOption.SO_KEEPALIVE, true)
-                .childOption(ChannelOption.ALLOCATOR, io.netty.buffer.PooledByteBufAllocator.DEFAULT)
+        ServerConfig config = ServerConfig.getInstance();
+        boolean http2 = config.isHttp2Enabled();
+        ChannelInitializer<Http2StreamChannel> streamInitializer = http2StreamInitializer(handler);
+
+        // h2c 용 공유 객체 (연결마다 만들지 않음)
+        HttpServerUpgradeHandler.UpgradeCodecFactory upgradeCodecFactory = protocol ->
+                AsciiString.contentEquals(Http2CodecUtil.HTTP_UPGRADE_PROTOCOL_NAME, protocol)
+                        ? new Http2ServerUpgradeCodec(newHttp2FrameCodec(config), new Http2MultiplexHandler(streamInitializer))
+                        : null;
+        ChannelInitializer<Channel> priorKnowledgeInitializer = new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(Channel ch) {
+                addHttp2Handlers(ch.pipeline(), config, streamInitializer);
+            }
+        };
+        Http1Fallback http1Fallback = new Http1Fallback(handler);
+
+        return createBaseBootstrap(transport, bossGroup, workerGroup)
                 .childHandler(new ChannelInitializer<SocketChannel>() {
                     @Override
-                    protected void initChannel(SocketChannel ch) throws Exception {
+                    protected void initChannel(SocketChannel ch) {
                         ChannelPipeline pipeline = ch.pipeline();
-                        
+
                         if (ssl) {
-                            SelfSignedCertificate ssc = new SelfSignedCertificate();
-                            SslContext sslContext = SslContextBuilder.forServer(ssc.certificate(), ssc.privateKey()).build();
-                            pipeline.addLast(sslContext.newHandler(ch.alloc()));
+                            // 기동 시 생성된 공유 SslContext 사용
+                            pipeline.addLast(SslContextManager.getInstance().newHandler(ch.alloc()));
+                            if (http2) {
+                                pipeline.addLast(new HttpProtocolNegotiator(config, handler, streamInitializer));
+                                return;
+                            }
+                        } else if (http2) {
+                            HttpServerCodec codec = new HttpServerCodec();
+                            HttpServerUpgradeHandler upgradeHandler =
+                                    new HttpServerUpgradeHandler(codec, upgradeCodecFactory, MAX_CONTENT_LENGTH);
+                            pipeline.addLast(new CleartextHttp2ServerUpgradeHandler(codec, upgradeHandler,
+                                                                                    priorKnowledgeInitializer))
+                                    .addLast(http1Fallback);
+                            return;
                         }
-                        
-                        pipeline.addLast(new HttpServerCodec())
-                                .addLast(new HttpObjectAggregator(65536))
-                                .addLast(handler);
+
+                        pipeline.addLast(new HttpServerCodec());
+                        addHttp1Handlers(pipeline, handler);
+                    }
+                });
+    }
+
+    public static ServerBootstrap createManagementBootstrap(ServerTransport transport,
+                                                           EventLoopGroup bossGroup,
+                                                           EventLoopGroup workerGroup) {
+        return createBaseBootstrap(transport, bossGroup, workerGroup)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        ch.pipeline()
+                          .addLast(new HttpServerCodec())
+                          .addLast(new HttpObjectAggregator(MAX_CONTENT_LENGTH))
+                          .addLast(ManagementApiHandler.INSTANCE);
                     }
                 });
     }
-}
\ No newline at end of file
+
+    /**
+     * HTTP/1.1 처리 핸들러 (HttpServerCodec 뒤): 연결 유지/파이프라이닝, 100-continue, 본문 집계
+     */
+    private static void addHttp1Handlers(ChannelPipeline pipeline, ChannelInboundHandler handler) {
+        pipeline.addLast(new HttpServerKeepAliveHandler())
+                .addLast(new HttpServerExpectContinueHandler())
+                .addLast(new HttpObjectAggregator(MAX_CONTENT_LENGTH))
+                .addLast(handler);
+    }
+
+    private static void addHttp2Handlers(ChannelPipeline pipeline, ServerConfig config,
+                                         ChannelInitializer<Http2StreamChannel> streamInitializer) {
+        pipeline.addLast(newHttp2FrameCodec(config))
+                .addLast(new Http2MultiplexHandler(streamInitializer));
+    }
+
+    private static Http2FrameCodec newHttp2FrameCodec(ServerConfig config) {
+        return Http2FrameCodecBuilder.forServer()
+                .initialSettings(Http2Settings.defaultSettings()
+                        .maxConcurrentStreams(config.getHttp2MaxConcurrentStreams()))
+                .build();
+    }
+
+    /**
+     * HTTP/2 스트림 채널 파이프라인 - 스트림 프레임을 HTTP/1.1 객체로 변환하여 같은 핸들러 사용
+     * 지연 응답은 스트림 채널 단위로 스케줄되므로 한 스트림의 지연이 다른 스트림을 막지 않는다.
+     */
+    private static ChannelInitializer<Http2StreamChannel> http2StreamInitializer(ChannelInboundHandler handler) {
+        return new ChannelInitializer<Http2StreamChannel>() {
+            @Override
+            protected void initChannel(Http2StreamChannel ch) {
+                ch.pipeline()
+                  .addLast(new Http2StreamFrameToHttpObjectCodec(true))
+                  .addLast(new HttpObjectAggregator(MAX_CONTENT_LENGTH))
+                  .addLast(handler);
+            }
+        };
+    }
+
+    /**
+     * HTTPS ALPN 협상 결과에 따라 h2 또는 HTTP/1.1 파이프라인 구성
+     */
+    private static final class HttpProtocolNegotiator extends ApplicationProtocolNegotiationHandler {
+        private final ServerConfig config;
+        private final ChannelInboundHandler handler;
+        private final ChannelInitializer<Http2StreamChannel> streamInitializer;
+
+        HttpProtocolNegotiator(ServerConfig config, ChannelInboundHandler handler,
+                               ChannelInitializer<Http2StreamChannel> streamInitializer) {
+            super(ApplicationProtocolNames.HTTP_1_1);
+            this.config = config;
+            this.handler = handler;
+            this.streamInitializer = streamInitializer;
+        }
+
+        @Override
+        protected void configurePipeline(ChannelHandlerContext ctx, String protocol) {
+            if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+                addHttp2Handlers(ctx.pipeline(), config, streamInitializer);
+            } else if (ApplicationProtocolNames.HTTP_1_1.equals(protocol)) {
+                ctx.pipeline().addLast(new HttpServerCodec());
+                addHttp1Handlers(ctx.pipeline(), handler);
+            } else {
+                throw new IllegalStateException("지원하지 않는 프로토콜: " + protocol);
+            }
+        }
+    }
+
+    /**
+     * h2c 포트에서 HTTP/2 로 전환되지 않은 연결의 HTTP/1.1 핸들러 구성 (첫 요청 수신 시)
+     */
+    @ChannelHandler.Sharable
+    private static final class Http1Fallback extends ChannelInboundHandlerAdapter {
+        private final ChannelInboundHandler handler;
+
+        Http1Fallback(ChannelInboundHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (msg instanceof HttpMessage) {
+                // 뒤에 핸들러를 먼저 추가한 뒤 제거해야 현재 요청이 새 핸들러로 전달된다
+                ChannelPipeline pipeline = ctx.pipeline();
+                addHttp1Handlers(pipeline, handler);
+                pipeline.remove(this);
+            }
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    // 전송 계층 / 공통 소켓 옵션
+    private static ServerBootstrap createBaseBootstrap(ServerTransport transport,
+                                                      EventLoopGroup bossGroup,
+                                                      EventLoopGroup workerGroup) {
+        ServerBootstrap bootstrap = new ServerBootstrap()
+                .group(bossGroup, workerGroup)
+                .channel(transport.serverChannelClass())
+                .option(ChannelOption.SO_BACKLOG, 1024)
+                .option(ChannelOption.SO_REUSEADDR, true)
+                .childOption(ChannelOption.TCP_NODELAY, true)
+                .childOption(ChannelOption.SO_KEEPALIVE, true)
+                .childOption(ChannelOption.ALLOCATOR, io.netty.buffer.PooledByteBufAllocator.DEFAULT);
+
+        ServerConfig config = ServerConfig.getInstance();
+        transport.applyNativeOptions(bootstrap, config);
+
+        // 포트당 acceptor 여러 개 바인딩 시 커널이 연결을 분산
+        if (config.getReusePortAcceptors() > 1 && transport.supportsReusePort()) {
+            bootstrap.option(UnixChannelOption.SO_REUSEPORT, true);
+        }
+        return bootstrap;
+    }
+}
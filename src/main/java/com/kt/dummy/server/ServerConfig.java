@@ -32,6 +32,12 @@ public class ServerConfig {
             if (is != null) {
                 properties.load(is);
             }
+            // -Dserver.xxx 시스템 프로퍼티가 설정 파일보다 우선
+            for (String name : System.getProperties().stringPropertyNames()) {
+                if (name.startsWith("server.")) {
+                    properties.setProperty(name, System.getProperty(name));
+                }
+            }
         } catch (Exception e) {
             throw new RuntimeException("설정 파일 로드 실패", e);
         }
@@ -52,13 +58,138 @@ public class ServerConfig {
             String.valueOf(Runtime.getRuntime().availableProcessors() * 2)));
     }
     
+    public String getTransport() {
+        return properties.getProperty("server.transport", "auto");
+    }
+    
+    public boolean isEpollEdgeTriggered() {
+        return Boolean.parseBoolean(properties.getProperty("server.epoll.edge.triggered", "true"));
+    }
+    
+    public boolean isTcpQuickAck() {
+        return Boolean.parseBoolean(properties.getProperty("server.tcp.quickack", "false"));
+    }
+    
+    public int getTcpFastOpen() {
+        return Integer.parseInt(properties.getProperty("server.tcp.fastopen", "0"));
+    }
+    
+    public int getReusePortAcceptors() {
+        return Integer.parseInt(properties.getProperty("server.reuseport.acceptors", "1"));
+    }
+    
+    public boolean isHttp2Enabled() {
+        return Boolean.parseBoolean(properties.getProperty("server.http2.enabled", "true"));
+    }
+    
+    public boolean isHttp2CipherRestricted() {
+        return Boolean.parseBoolean(properties.getProperty("server.http2.ciphers.restrict", "false"));
+    }
+    
+    public long getHttp2MaxConcurrentStreams() {
+        return Long.parseLong(properties.getProperty("server.http2.max.concurrent.streams", "1000"));
+    }
+    
+    public String getSslProvider() {
+        return properties.getProperty("server.ssl.provider", "auto");
+    }
+    
+    public String getSslCertPath() {
+        return properties.getProperty("server.ssl.cert.path", "").trim();
+    }
+    
+    public String getSslKeyPath() {
+        return properties.getProperty("server.ssl.key.path", "").trim();
+    }
+    
+    public String getSslKeyPassword() {
+        return properties.getProperty("server.ssl.key.password", "");
+    }
+    
+    public String getSslKeyStorePath() {
+        return properties.getProperty("server.ssl.keystore.path", "").trim();
+    }
+    
+    public String getSslKeyStorePassword() {
+        return properties.getProperty("server.ssl.keystore.password", "");
+    }
+    
+    public String getSslKeyStoreType() {
+        return properties.getProperty("server.ssl.keystore.type", "PKCS12");
+    }
+    
+    public String getSslTrustStorePath() {
+        return properties.getProperty("server.ssl.truststore.path", "").trim();
+    }
+    
+    public String getSslTrustStorePassword() {
+        return properties.getProperty("server.ssl.truststore.password", "");
+    }
+    
+    public String getSslTrustStoreType() {
+        return properties.getProperty("server.ssl.truststore.type", "PEM");
+    }
+    
+    public String getSslClientAuth() {
+        return properties.getProperty("server.ssl.client.auth", "require");
+    }
+    
+    public long getSslSessionCacheSize() {
+        return Long.parseLong(properties.getProperty("server.ssl.session.cache.size", "20480"));
+    }
+    
+    public long getSslSessionTimeoutSeconds() {
+        return Long.parseLong(properties.getProperty("server.ssl.session.timeout.sec", "300"));
+    }
+    
+    public long getSslReloadCheckSeconds() {
+        return Long.parseLong(properties.getProperty("server.ssl.reload.check.sec", "30"));
+    }
+    
     public long getDefaultDelayMs() {
         return Long.parseLong(properties.getProperty("server.default.delay.ms", "0"));
     }
+
+    public boolean isDelayWheelEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("server.delay.wheel.enabled", "true").trim());
+    }
+
+    public long getDelayWheelTickMs() {
+        return Math.max(1, Long.parseLong(properties.getProperty("server.delay.wheel.tick.ms", "1").trim()));
+    }
     
     public String getResponseBasePath() {
         return properties.getProperty("server.response.base.path", "response");
     }
+
+    public int getResponseLoadParallelism() {
+        int parallelism = Integer.parseInt(properties.getProperty("server.response.load.parallelism", "0"));
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    public String getResponsePackPath() {
+        return properties.getProperty("server.response.pack.path", "").trim();
+    }
+
+    public boolean isResponsePackStaleCheckEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("server.response.pack.stale.check", "false").trim());
+    }
+
+    public String getResponseStorage() {
+        return properties.getProperty("server.response.storage", "heap").trim();
+    }
+
+    public boolean isResponseMinifyEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("server.response.minify", "false").trim());
+    }
+
+    public boolean isResponseWatchEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("server.response.watch.enabled", "true"));
+    }
+
+    public long getResponseWatchDebounceMs() {
+        return Long.parseLong(properties.getProperty("server.response.watch.debounce.ms", "300"));
+    }
     
     public boolean isPerformanceLogEnabled() {
         return Boolean.parseBoolean(properties.getProperty("server.performance.log.enabled", "false"));
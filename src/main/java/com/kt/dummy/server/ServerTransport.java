@@ -0,0 +1,198 @@
+package com.kt.dummy.server;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollMode;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.incubator.channel.uring.IOUring;
+import io.netty.incubator.channel.uring.IOUringChannelOption;
+import io.netty.incubator.channel.uring.IOUringEventLoopGroup;
+import io.netty.incubator.channel.uring.IOUringServerSocketChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 서버 전송 계층 (nio / epoll / io_uring)
+ *
+ * server.transport 설정으로 선택하며, 네이티브 라이브러리를 사용할 수 없으면
+ * io_uring -> epoll -> nio 순으로 자동 대체한다. (auto: epoll 가능 시 epoll, 아니면 nio)
+ *
+ * @author 고재원
+ */
+public enum ServerTransport {
+    NIO("nio") {
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        Throwable unavailabilityCause() {
+            return null;
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(int threads) {
+            return new NioEventLoopGroup(threads);
+        }
+
+        @Override
+        public Class<? extends ServerChannel> serverChannelClass() {
+            return NioServerSocketChannel.class;
+        }
+
+        @Override
+        public boolean supportsReusePort() {
+            return false;
+        }
+
+        @Override
+        public void applyNativeOptions(ServerBootstrap bootstrap, ServerConfig config) {
+            // NIO 는 네이티브 옵션 없음
+        }
+    },
+
+    EPOLL("epoll") {
+        @Override
+        public boolean isAvailable() {
+            return Epoll.isAvailable();
+        }
+
+        @Override
+        Throwable unavailabilityCause() {
+            return Epoll.unavailabilityCause();
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(int threads) {
+            return new EpollEventLoopGroup(threads);
+        }
+
+        @Override
+        public Class<? extends ServerChannel> serverChannelClass() {
+            return EpollServerSocketChannel.class;
+        }
+
+        @Override
+        public boolean supportsReusePort() {
+            return true;
+        }
+
+        @Override
+        public void applyNativeOptions(ServerBootstrap bootstrap, ServerConfig config) {
+            EpollMode mode = config.isEpollEdgeTriggered() ? EpollMode.EDGE_TRIGGERED : EpollMode.LEVEL_TRIGGERED;
+            bootstrap.option(EpollChannelOption.EPOLL_MODE, mode)
+                     .childOption(EpollChannelOption.EPOLL_MODE, mode);
+
+            if (config.getTcpFastOpen() > 0) {
+                bootstrap.option(ChannelOption.TCP_FASTOPEN, config.getTcpFastOpen());
+            }
+            if (config.isTcpQuickAck()) {
+                bootstrap.childOption(EpollChannelOption.TCP_QUICKACK, true);
+            }
+        }
+    },
+
+    IO_URING("io_uring") {
+        @Override
+        public boolean isAvailable() {
+            return IOUring.isAvailable();
+        }
+
+        @Override
+        Throwable unavailabilityCause() {
+            return IOUring.unavailabilityCause();
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(int threads) {
+            return new IOUringEventLoopGroup(threads);
+        }
+
+        @Override
+        public Class<? extends ServerChannel> serverChannelClass() {
+            return IOUringServerSocketChannel.class;
+        }
+
+        @Override
+        public boolean supportsReusePort() {
+            return true;
+        }
+
+        @Override
+        public void applyNativeOptions(ServerBootstrap bootstrap, ServerConfig config) {
+            if (config.getTcpFastOpen() > 0) {
+                bootstrap.option(ChannelOption.TCP_FASTOPEN, config.getTcpFastOpen());
+            }
+            if (config.isTcpQuickAck()) {
+                bootstrap.childOption(IOUringChannelOption.TCP_QUICKACK, true);
+            }
+        }
+    };
+
+    private static final Logger logger = LoggerFactory.getLogger(ServerTransport.class);
+
+    private final String configName;
+
+    ServerTransport(String configName) {
+        this.configName = configName;
+    }
+
+    public String getConfigName() {
+        return configName;
+    }
+
+    public abstract boolean isAvailable();
+
+    abstract Throwable unavailabilityCause();
+
+    public abstract EventLoopGroup newEventLoopGroup(int threads);
+
+    public abstract Class<? extends ServerChannel> serverChannelClass();
+
+    /**
+     * SO_REUSEPORT 지원 여부 (같은 포트를 여러 acceptor 로 바인딩)
+     */
+    public abstract boolean supportsReusePort();
+
+    /**
+     * 전송 계층 전용 소켓 옵션 적용 (TCP_QUICKACK, TCP_FASTOPEN, epoll ET/LT 모드)
+     */
+    public abstract void applyNativeOptions(ServerBootstrap bootstrap, ServerConfig config);
+
+    /**
+     * 설정값으로 전송 계층 선택 (사용 불가 시 자동 대체)
+     * @param name auto, nio, epoll, io_uring
+     */
+    public static ServerTransport select(String name) {
+        String normalized = name == null ? "auto" : name.trim().toLowerCase();
+
+        ServerTransport requested;
+        switch (normalized) {
+            case "nio": requested = NIO; break;
+            case "epoll": requested = EPOLL; break;
+            case "io_uring":
+            case "iouring": requested = IO_URING; break;
+            case "auto": return EPOLL.isAvailable() ? EPOLL : NIO;
+            default:
+                logger.warn("알 수 없는 전송 계층 설정: {} (auto 로 처리)", name);
+                return EPOLL.isAvailable() ? EPOLL : NIO;
+        }
+
+        ServerTransport candidate = requested;
+        while (!candidate.isAvailable()) {
+            ServerTransport fallback = candidate == IO_URING ? EPOLL : NIO;
+            logger.warn("{} 전송 계층 사용 불가, {} 로 대체: {}",
+                    candidate.configName, fallback.configName, String.valueOf(candidate.unavailabilityCause()));
+            candidate = fallback;
+        }
+        return candidate;
+    }
+}
@@ -0,0 +1,376 @@
+package com.kt.dummy.server;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.handler.codec.http2.Http2SecurityUtil;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ClientAuth;
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.OpenSslSessionContext;
+import io.netty.handler.ssl.OpenSslSessionStats;
+import io.netty.handler.ssl.OpenSslSessionTicketKey;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.ssl.SupportedCipherSuiteFilter;
+import io.netty.handler.ssl.util.SelfSignedCertificate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.KeyStore;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HTTPS(443) 용 SslContext 관리
+ *
+ * SslContext 는 기동 시 한 번만 생성하여 모든 연결이 공유한다. (연결마다 키 생성/컨텍스트 생성 금지)
+ * 인증서 소스 우선순위: PEM(cert/key) -> keystore -> 자체 서명 인증서(기동 시 1회 생성)
+ * server.ssl.truststore.path 가 있으면 클라이언트 인증서를 검증한다. (mTLS)
+ *
+ * 인증서/키/truststore 파일의 수정 시각을 주기적으로 확인하여 바뀌면 컨텍스트를 다시 만들어 교체하며,
+ * 기존 연결은 이전 컨텍스트로 계속 동작한다. 재생성 실패 시 이전 컨텍스트를 유지한다.
+ *
+ * OpenSSL(netty-tcnative) 사용 시 세션 티켓 키를 기동 시 한 번 생성하여 재로드 후에도 유지하므로
+ * 인증서 교체 후에도 기존 클라이언트의 세션 재개가 가능하다.
+ *
+ * @author 고재원
+ */
+public class SslContextManager {
+    private static final Logger logger = LoggerFactory.getLogger(SslContextManager.class);
+    private static final SslContextManager INSTANCE = new SslContextManager();
+
+    private final AtomicLong handshakes = new AtomicLong();
+    private final AtomicLong handshakeFailures = new AtomicLong();
+    private final AtomicLong resumedSessions = new AtomicLong();
+    private final AtomicLong handshakeNanos = new AtomicLong();
+    private final AtomicLong maxHandshakeNanos = new AtomicLong();
+    private final AtomicLong reloads = new AtomicLong();
+    private final AtomicLong reloadFailures = new AtomicLong();
+
+    private volatile Loaded current;
+    private ServerConfig config;
+    private OpenSslSessionTicketKey ticketKey;
+    private ScheduledExecutorService reloadScheduler;
+
+    private SslContextManager() {
+    }
+
+    public static SslContextManager getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * SslContext 생성 및 인증서 변경 감시 시작 (HTTPS 바인딩 전에 1회 호출)
+     */
+    public synchronized void initialize(ServerConfig config) throws Exception {
+        if (current != null) {
+            return;
+        }
+        this.config = config;
+        this.current = load();
+        logger.info("SslContext 생성 완료: provider={}, source={}, clientAuth={}",
+                current.provider, current.source, current.clientAuth);
+
+        long interval = config.getSslReloadCheckSeconds();
+        if (interval > 0 && !current.watchedFiles.isEmpty()) {
+            reloadScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "ssl-reload");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reloadScheduler.scheduleWithFixedDelay(this::reloadIfChanged, interval, interval, TimeUnit.SECONDS);
+        }
+    }
+
+    public void shutdown() {
+        if (reloadScheduler != null) {
+            reloadScheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 연결용 SslHandler 생성 및 핸드셰이크 통계 등록
+     */
+    public SslHandler newHandler(ByteBufAllocator alloc) {
+        Loaded loaded = current;
+        if (loaded == null) {
+            throw new IllegalStateException("SslContextManager 가 초기화되지 않음");
+        }
+
+        SslHandler handler = loaded.context.newHandler(alloc);
+        long startNanos = System.nanoTime();
+        long startMillis = System.currentTimeMillis();
+        handler.handshakeFuture().addListener(future -> {
+            if (!future.isSuccess()) {
+                handshakeFailures.incrementAndGet();
+                return;
+            }
+            long elapsed = System.nanoTime() - startNanos;
+            handshakes.incrementAndGet();
+            handshakeNanos.addAndGet(elapsed);
+            maxHandshakeNanos.accumulateAndGet(elapsed, Math::max);
+
+            // JDK 엔진: 재개된 세션은 이번 연결 이전에 생성된 세션 (OpenSSL 은 네이티브 통계 사용)
+            if (loaded.provider == SslProvider.JDK) {
+                SSLSession session = handler.engine().getSession();
+                if (session != null && session.getCreationTime() < startMillis) {
+                    resumedSessions.incrementAndGet();
+                }
+            }
+        });
+        return handler;
+    }
+
+    /**
+     * 관리 API 용 TLS 통계
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Loaded loaded = current;
+        if (loaded == null) {
+            stats.put("enabled", false);
+            return stats;
+        }
+
+        long completed = handshakes.get();
+        stats.put("provider", loaded.provider.name());
+        stats.put("source", loaded.source);
+        stats.put("clientAuth", loaded.clientAuth.name());
+        stats.put("loadedAt", loaded.loadedAt);
+        stats.put("reloads", reloads.get());
+        stats.put("reloadFailures", reloadFailures.get());
+        stats.put("handshakes", completed);
+        stats.put("handshakeFailures", handshakeFailures.get());
+        stats.put("resumedSessions", resumedSessions.get() + nativeResumes(loaded));
+        stats.put("avgHandshakeMs", completed > 0 ? handshakeNanos.get() / completed / 1_000_000.0 : 0.0);
+        stats.put("maxHandshakeMs", maxHandshakeNanos.get() / 1_000_000.0);
+
+        if (loaded.context.sessionContext() instanceof OpenSslSessionContext) {
+            OpenSslSessionStats session = ((OpenSslSessionContext) loaded.context.sessionContext()).stats();
+            Map<String, Object> openssl = new LinkedHashMap<>();
+            openssl.put("cachedSessions", session.number());
+            openssl.put("cacheHits", session.hits());
+            openssl.put("cacheMisses", session.misses());
+            openssl.put("cacheTimeouts", session.timeouts());
+            openssl.put("ticketResumes", session.ticketKeyResume());
+            openssl.put("ticketFailures", session.ticketKeyFail());
+            stats.put("sessionCache", openssl);
+        }
+        return stats;
+    }
+
+    /**
+     * OpenSSL 세션 캐시 적중 + 티켓 재개 수 (컨텍스트 단위)
+     */
+    private static long nativeResumes(Loaded loaded) {
+        if (loaded.context.sessionContext() instanceof OpenSslSessionContext) {
+            OpenSslSessionStats session = ((OpenSslSessionContext) loaded.context.sessionContext()).stats();
+            return session.hits() + session.ticketKeyResume();
+        }
+        return 0;
+    }
+
+    private void reloadIfChanged() {
+        Loaded loaded = current;
+        if (!loaded.isModified()) {
+            return;
+        }
+        try {
+            current = load();
+            // 이전 컨텍스트의 네이티브 재개 수는 누적 카운터로 이관
+            resumedSessions.addAndGet(nativeResumes(loaded));
+            reloads.incrementAndGet();
+            logger.info("인증서 변경 감지, SslContext 재생성 완료: source={}", current.source);
+        } catch (Exception e) {
+            reloadFailures.incrementAndGet();
+            // 같은 파일 상태로 반복 실패하지 않도록 현재 수정 시각을 기준으로 갱신
+            loaded.refreshTimestamps();
+            logger.error("SslContext 재생성 실패, 기존 컨텍스트 유지", e);
+        }
+    }
+
+    private Loaded load() throws Exception {
+        List<File> watched = new ArrayList<>();
+        SslContextBuilder builder;
+        String source;
+
+        String certPath = config.getSslCertPath();
+        String keyPath = config.getSslKeyPath();
+        String keyStorePath = config.getSslKeyStorePath();
+
+        if (!certPath.isEmpty() && !keyPath.isEmpty()) {
+            File cert = new File(certPath);
+            File key = new File(keyPath);
+            String password = config.getSslKeyPassword();
+            builder = SslContextBuilder.forServer(cert, key, password.isEmpty() ? null : password);
+            watched.add(cert);
+            watched.add(key);
+            source = "pem:" + certPath;
+        } else if (!keyStorePath.isEmpty()) {
+            File file = new File(keyStorePath);
+            char[] password = config.getSslKeyStorePassword().toCharArray();
+            KeyStore keyStore = loadKeyStore(file, config.getSslKeyStoreType(), password);
+            KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            kmf.init(keyStore, password);
+            builder = SslContextBuilder.forServer(kmf);
+            watched.add(file);
+            source = "keystore:" + keyStorePath;
+        } else {
+            SelfSignedCertificate ssc = new SelfSignedCertificate();
+            builder = SslContextBuilder.forServer(ssc.certificate(), ssc.privateKey());
+            source = "self-signed";
+            logger.warn("server.ssl 인증서 설정 없음, 자체 서명 인증서 사용");
+        }
+
+        ClientAuth clientAuth = ClientAuth.NONE;
+        String trustStorePath = config.getSslTrustStorePath();
+        if (!trustStorePath.isEmpty()) {
+            File file = new File(trustStorePath);
+            String type = config.getSslTrustStoreType();
+            if ("PEM".equalsIgnoreCase(type)) {
+                builder.trustManager(file);
+            } else {
+                KeyStore trustStore = loadKeyStore(file, type, config.getSslTrustStorePassword().toCharArray());
+                TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+                tmf.init(trustStore);
+                builder.trustManager(tmf);
+            }
+            watched.add(file);
+            clientAuth = parseClientAuth(config.getSslClientAuth());
+        }
+
+        // HTTP/2 는 ALPN 으로 협상 (기본 암호군 유지, 제한은 HTTP/1.1 클라이언트에도 적용되므로 설정 시에만)
+        if (config.isHttp2Enabled()) {
+            if (config.isHttp2CipherRestricted()) {
+                builder.ciphers(Http2SecurityUtil.CIPHERS, SupportedCipherSuiteFilter.INSTANCE);
+            }
+            builder.applicationProtocolConfig(new ApplicationProtocolConfig(
+                    ApplicationProtocolConfig.Protocol.ALPN,
+                    ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                    ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                    ApplicationProtocolNames.HTTP_2,
+                    ApplicationProtocolNames.HTTP_1_1));
+        }
+
+        SslProvider provider = selectProvider(config.getSslProvider());
+        SslContext context = builder.sslProvider(provider)
+                .clientAuth(clientAuth)
+                .sessionCacheSize(config.getSslSessionCacheSize())
+                .sessionTimeout(config.getSslSessionTimeoutSeconds())
+                .build();
+
+        if (context.sessionContext() instanceof OpenSslSessionContext) {
+            ((OpenSslSessionContext) context.sessionContext()).setTicketKeys(ticketKey());
+        }
+        return new Loaded(context, provider, source, clientAuth, watched);
+    }
+
+    private OpenSslSessionTicketKey ticketKey() {
+        if (ticketKey == null) {
+            SecureRandom random = new SecureRandom();
+            byte[] name = new byte[OpenSslSessionTicketKey.NAME_SIZE];
+            byte[] hmacKey = new byte[OpenSslSessionTicketKey.HMAC_KEY_SIZE];
+            byte[] aesKey = new byte[OpenSslSessionTicketKey.AES_KEY_SIZE];
+            random.nextBytes(name);
+            random.nextBytes(hmacKey);
+            random.nextBytes(aesKey);
+            ticketKey = new OpenSslSessionTicketKey(name, hmacKey, aesKey);
+        }
+        return ticketKey;
+    }
+
+    private static KeyStore loadKeyStore(File file, String type, char[] password) throws Exception {
+        KeyStore keyStore = KeyStore.getInstance(type);
+        try (InputStream is = Files.newInputStream(file.toPath())) {
+            keyStore.load(is, password);
+        }
+        return keyStore;
+    }
+
+    /**
+     * @param name auto, jdk, openssl
+     */
+    private static SslProvider selectProvider(String name) {
+        String normalized = name == null ? "auto" : name.trim().toLowerCase();
+        switch (normalized) {
+            case "jdk":
+                return SslProvider.JDK;
+            case "openssl":
+                if (!OpenSsl.isAvailable()) {
+                    logger.warn("OpenSSL 사용 불가, JDK 로 대체: {}", String.valueOf(OpenSsl.unavailabilityCause()));
+                    return SslProvider.JDK;
+                }
+                return SslProvider.OPENSSL;
+            case "auto":
+                return OpenSsl.isAvailable() ? SslProvider.OPENSSL : SslProvider.JDK;
+            default:
+                logger.warn("알 수 없는 SSL provider 설정: {} (auto 로 처리)", name);
+                return OpenSsl.isAvailable() ? SslProvider.OPENSSL : SslProvider.JDK;
+        }
+    }
+
+    /**
+     * @param name none, optional, require
+     */
+    private static ClientAuth parseClientAuth(String name) {
+        switch (name.trim().toLowerCase()) {
+            case "none": return ClientAuth.NONE;
+            case "optional": return ClientAuth.OPTIONAL;
+            default: return ClientAuth.REQUIRE;
+        }
+    }
+
+    /**
+     * 생성된 컨텍스트와 감시 대상 파일 수정 시각
+     */
+    private static final class Loaded {
+        private final SslContext context;
+        private final SslProvider provider;
+        private final String source;
+        private final ClientAuth clientAuth;
+        private final List<File> watchedFiles;
+        private final long[] lastModified;
+        private final long loadedAt = System.currentTimeMillis();
+
+        private Loaded(SslContext context, SslProvider provider, String source,
+                       ClientAuth clientAuth, List<File> watchedFiles) {
+            this.context = context;
+            this.provider = provider;
+            this.source = source;
+            this.clientAuth = clientAuth;
+            this.watchedFiles = watchedFiles;
+            this.lastModified = new long[watchedFiles.size()];
+            refreshTimestamps();
+        }
+
+        private boolean isModified() {
+            for (int i = 0; i < watchedFiles.size(); i++) {
+                if (watchedFiles.get(i).lastModified() != lastModified[i]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void refreshTimestamps() {
+            for (int i = 0; i < watchedFiles.size(); i++) {
+                lastModified[i] = watchedFiles.get(i).lastModified();
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.kt.dummy.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 바이트 구간 -> String 인터닝 캐시
+ *
+ * 요청 전문에서 꺼낸 API명처럼 종류가 적고 반복되는 짧은 키를 바이트 비교만으로 찾아
+ * 처음 만든 String 을 재사용한다. (캐시 적중 시 할당 없음, String 해시도 재계산하지 않음)
+ * 고정 크기 선형 탐사 테이블이며 락 없이 CAS 로 추가한다.
+ * 용량의 3/4 이 차면 더 이상 추가하지 않고 매번 새 String 을 반환하므로,
+ * 잘못된 요청이 많이 들어와도 메모리가 늘지 않는다.
+ *
+ * @author 고재원
+ */
+public final class ByteStringInterner {
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long MIX = 0x9E3779B97F4A7C15L;
+
+    private final AtomicReferenceArray<Entry> table;
+    private final int mask;
+    private final int maxEntries;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * @param capacity 테이블 크기 (2의 거듭제곱으로 올림)
+     */
+    public ByteStringInterner(int capacity) {
+        int tableSize = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.table = new AtomicReferenceArray<>(tableSize);
+        this.mask = tableSize - 1;
+        this.maxEntries = tableSize - (tableSize >>> 2);
+    }
+
+    /**
+     * bytes 의 [offset, offset + length) 구간을 UTF-8 문자열로 변환
+     */
+    public String intern(byte[] bytes, int offset, int length) {
+        int hash = hash(bytes, offset, length);
+        int slot = hash & mask;
+
+        for (int probe = 0; probe <= mask; probe++) {
+            Entry entry = table.get(slot);
+            if (entry == null) {
+                String value = new String(bytes, offset, length, StandardCharsets.UTF_8);
+                if (size.get() < maxEntries && table.compareAndSet(slot, null,
+                        new Entry(hash, Arrays.copyOfRange(bytes, offset, offset + length), value))) {
+                    size.incrementAndGet();
+                }
+                return value;
+            }
+            if (entry.hash == hash && entry.matches(bytes, offset, length)) {
+                return entry.value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return new String(bytes, offset, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 캐시된 키 수
+     */
+    public int size() {
+        return size.get();
+    }
+
+    // 8바이트 단위 해시 (마지막 8바이트는 겹쳐 읽음, 8바이트 미만만 바이트 단위)
+    private static int hash(byte[] bytes, int offset, int length) {
+        long h = length;
+        int end = offset + length;
+        if (length >= Long.BYTES) {
+            for (int i = offset; i + Long.BYTES < end; i += Long.BYTES) {
+                h = (h ^ (long) LONG_VIEW.get(bytes, i)) * MIX;
+            }
+            h = (h ^ (long) LONG_VIEW.get(bytes, end - Long.BYTES)) * MIX;
+        } else {
+            for (int i = offset; i < end; i++) {
+                h = (h ^ bytes[i]) * MIX;
+            }
+        }
+        int folded = (int) (h ^ (h >>> 32));
+        return folded ^ (folded >>> 16);
+    }
+
+    private static final class Entry {
+        final int hash;
+        final byte[] bytes;
+        final String value;
+
+        Entry(int hash, byte[] bytes, String value) {
+            this.hash = hash;
+            this.bytes = bytes;
+            this.value = value;
+        }
+
+        boolean matches(byte[] bytes, int offset, int length) {
+            return Arrays.equals(this.bytes, 0, this.bytes.length, bytes, offset, offset + length);
+        }
+    }
+}
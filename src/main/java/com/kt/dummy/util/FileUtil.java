@@ -4,8 +4,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 
@@ -16,19 +18,25 @@ import java.nio.file.StandardOpenOption;
 public class FileUtil {
     private static final Logger logger = LoggerFactory.getLogger(FileUtil.class);
     
+    // 메모리 매핑으로 읽을 최소 파일 크기
+    private static final long MMAP_THRESHOLD = 256 * 1024;
+    
     /**
-     * 파일 내용 읽기
+     * 파일 내용 읽기 (MMAP_THRESHOLD 이상인 파일은 메모리 매핑으로 읽음)
      * @param filePath 파일 경로
      * @return 파일 내용
      */
     public static String readFileContent(Path filePath) {
         try {
-            if (!Files.exists(filePath)) {
+            long size;
+            try {
+                size = Files.size(filePath);
+            } catch (NoSuchFileException e) {
                 logger.warn("파일이 존재하지 않음: {}", filePath);
                 return null;
             }
             
-            byte[] bytes = Files.readAllBytes(filePath);
+            byte[] bytes = size >= MMAP_THRESHOLD ? readMapped(filePath) : Files.readAllBytes(filePath);
             String content = new String(bytes, StandardCharsets.UTF_8);
             
             logger.debug("파일 읽기 성공: {} ({} bytes)", filePath.getFileName(), bytes.length);
@@ -40,6 +48,19 @@ public class FileUtil {
         }
     }
     
+    // 큰 파일은 커널 read 버퍼 복사 없이 매핑된 페이지에서 바로 복사
+    private static byte[] readMapped(Path filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE - 8) {
+                throw new IOException("파일이 너무 큼: " + size + " bytes");
+            }
+            byte[] bytes = new byte[(int) size];
+            channel.map(FileChannel.MapMode.READ_ONLY, 0, size).get(bytes);
+            return bytes;
+        }
+    }
+    
     /**
      * 파일 내용 쓰기
      * @param filePath 파일 경로
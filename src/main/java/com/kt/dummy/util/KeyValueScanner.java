@@ -0,0 +1,188 @@
+package com.kt.dummy.util;
+
+import io.netty.buffer.ByteBuf;
+
+import io.netty.util.CharsetUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * &key=value 전문 바이트 스캐너 (capri)
+ *
+ * ByteBuf 를 '&' / '=' 위치로만 나누어 키/값 구간(인덱스, 길이)을 알려준다. String / Map 을 만들지 않는다.
+ *  - 맨 앞의 '&' 또는 '/' 하나는 무시
+ *  - 빈 필드(&&)와 키가 빈 필드(=value)는 건너뜀
+ *  - '=' 가 없으면 값은 빈 구간, 값 안의 '=' 는 값에 포함
+ *  - 같은 키가 여러 번 오면 마지막 값 사용
+ *
+ * @author 고재원
+ */
+public final class KeyValueScanner {
+    private static final byte FIELD_SEPARATOR = '&';
+    private static final byte VALUE_SEPARATOR = '=';
+
+    private KeyValueScanner() {
+    }
+
+    /**
+     * 필드 방문자 (인덱스는 buf 기준 절대 위치)
+     */
+    @FunctionalInterface
+    public interface FieldVisitor {
+        void visit(ByteBuf buf, int keyIndex, int keyLength, int valueIndex, int valueLength);
+    }
+
+    /**
+     * 모든 필드를 순서대로 방문 (readerIndex 변경 없음)
+     */
+    public static void forEachField(ByteBuf buf, FieldVisitor visitor) {
+        int end = buf.writerIndex();
+        int i = firstFieldIndex(buf);
+
+        while (i < end) {
+            int fieldEnd = buf.indexOf(i, end, FIELD_SEPARATOR);
+            if (fieldEnd < 0) {
+                fieldEnd = end;
+            }
+
+            int separator = buf.indexOf(i, fieldEnd, VALUE_SEPARATOR);
+            int keyEnd = separator < 0 ? fieldEnd : separator;
+            if (keyEnd > i) {
+                int valueIndex = separator < 0 ? fieldEnd : separator + 1;
+                visitor.visit(buf, i, keyEnd - i, valueIndex, fieldEnd - valueIndex);
+            }
+            i = fieldEnd + 1;
+        }
+    }
+
+    /**
+     * 키 하나의 값 조회 (규칙 매칭 등 키가 요청마다 정해지는 경우, readerIndex 변경 없음)
+     * @param key ASCII 키
+     * @return UTF-8 값, 키가 없으면 null
+     */
+    public static String value(ByteBuf buf, String key) {
+        int end = buf.writerIndex();
+        int i = firstFieldIndex(buf);
+        int valueIndex = -1;
+        int valueLength = -1;
+
+        while (i < end) {
+            int fieldEnd = buf.indexOf(i, end, FIELD_SEPARATOR);
+            if (fieldEnd < 0) {
+                fieldEnd = end;
+            }
+
+            int separator = buf.indexOf(i, fieldEnd, VALUE_SEPARATOR);
+            int keyEnd = separator < 0 ? fieldEnd : separator;
+            if (matches(key, buf, i, keyEnd - i)) {
+                valueIndex = separator < 0 ? fieldEnd : separator + 1;
+                valueLength = fieldEnd - valueIndex;
+            }
+            i = fieldEnd + 1;
+        }
+        return valueLength < 0 ? null : buf.toString(valueIndex, valueLength, CharsetUtil.UTF_8);
+    }
+
+    private static boolean matches(String key, ByteBuf buf, int index, int length) {
+        if (key.length() != length || length == 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key.charAt(i) != buf.getByte(index + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int firstFieldIndex(ByteBuf buf) {
+        int i = buf.readerIndex();
+        if (i < buf.writerIndex()) {
+            byte first = buf.getByte(i);
+            if (first == FIELD_SEPARATOR || first == '/') {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * 필요한 필드만 골라 값 위치를 기록하는 필드 집합 (불변, 스레드 안전)
+     *
+     * positions 배열은 newPositions() 로 만들어 호출자가 재사용하며,
+     * 필드 f 의 값 위치는 valueIndex(positions, f) / valueLength(positions, f) 로 읽는다. (없으면 길이 -1)
+     */
+    public static final class FieldSet {
+        private final byte[][] names;
+
+        /**
+         * @param names 추출할 키 (순서가 필드 번호)
+         */
+        public FieldSet(String... names) {
+            this.names = new byte[names.length][];
+            for (int i = 0; i < names.length; i++) {
+                this.names[i] = names[i].getBytes(StandardCharsets.US_ASCII);
+            }
+        }
+
+        public int[] newPositions() {
+            return new int[names.length * 2];
+        }
+
+        /**
+         * 전문을 훑어 필드 값 위치 기록 (readerIndex 변경 없음)
+         */
+        public void scan(ByteBuf buf, int[] positions) {
+            Arrays.fill(positions, -1);
+
+            int end = buf.writerIndex();
+            int i = firstFieldIndex(buf);
+            while (i < end) {
+                int fieldEnd = buf.indexOf(i, end, FIELD_SEPARATOR);
+                if (fieldEnd < 0) {
+                    fieldEnd = end;
+                }
+
+                int separator = buf.indexOf(i, fieldEnd, VALUE_SEPARATOR);
+                int keyEnd = separator < 0 ? fieldEnd : separator;
+                int field = fieldOf(buf, i, keyEnd - i);
+                if (field >= 0) {
+                    int valueIndex = separator < 0 ? fieldEnd : separator + 1;
+                    positions[field * 2] = valueIndex;
+                    positions[field * 2 + 1] = fieldEnd - valueIndex;
+                }
+                i = fieldEnd + 1;
+            }
+        }
+
+        public static int valueIndex(int[] positions, int field) {
+            return positions[field * 2];
+        }
+
+        public static int valueLength(int[] positions, int field) {
+            return positions[field * 2 + 1];
+        }
+
+        private int fieldOf(ByteBuf buf, int index, int length) {
+            for (int field = 0; field < names.length; field++) {
+                if (matches(names[field], buf, index, length)) {
+                    return field;
+                }
+            }
+            return -1;
+        }
+
+        private static boolean matches(byte[] name, ByteBuf buf, int index, int length) {
+            if (name.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (name[i] != buf.getByte(index + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
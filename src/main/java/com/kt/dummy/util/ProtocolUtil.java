@@ -1,6 +1,9 @@
 package com.kt.dummy.util;
 
+import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
+import io.netty.util.AsciiString;
+import io.netty.util.CharsetUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -8,7 +11,6 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.StringTokenizer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -47,7 +49,7 @@ public class ProtocolUtil {
     }
     
     /**
-     * &key=value 형식 문자열 파싱 (기존 코드 패턴)
+     * &key=value 형식 문자열 파싱 (KeyValueScanner 와 같은 규칙)
      * @param str 파싱할 문자열
      * @return key-value 맵
      */
@@ -58,30 +60,10 @@ public class ProtocolUtil {
             return map;
         }
         
-        try {
-            // 첫 번째 구분자 제거
-            if (str.startsWith("&") || str.startsWith("/")) {
-                str = str.substring(1);
-            }
-            
-            StringTokenizer strToken = new StringTokenizer(str, "&");
-            while (strToken.hasMoreTokens()) {
-                String token = strToken.nextToken();
-                StringTokenizer strTokenSub = new StringTokenizer(token, "=");
-                
-                if (strTokenSub.hasMoreTokens()) {
-                    String key = strTokenSub.nextToken();
-                    String value = "";
-                    if (strTokenSub.hasMoreTokens()) {
-                        value = strTokenSub.nextToken();
-                    }
-                    map.put(key, value);
-                }
-            }
-            
-        } catch (Exception e) {
-            logger.error("Key-Value 파싱 실패: {}", str, e);
-        }
+        KeyValueScanner.forEachField(Unpooled.wrappedBuffer(str.getBytes(CharsetUtil.UTF_8)),
+                (buf, keyIndex, keyLength, valueIndex, valueLength) -> map.put(
+                        buf.toString(keyIndex, keyLength, CharsetUtil.UTF_8),
+                        buf.toString(valueIndex, valueLength, CharsetUtil.UTF_8)));
         
         return map;
     }
@@ -108,7 +90,8 @@ public class ProtocolUtil {
     }
     
     /**
-     * HTTP URI에서 API명 추출
+     * HTTP URI에서 API명(마지막 경로 세그먼트) 추출
+     * 요청 라우팅은 HttpRouteTable 이 담당하며, 이 메서드는 로그/오류 응답용이다.
      * @param uri HTTP URI
      * @return API명
      */
@@ -116,31 +99,38 @@ public class ProtocolUtil {
         if (uri == null || uri.isEmpty()) {
             return "default";
         }
-        
-        try {
-            // 쿼리 파라미터 제거
-            int queryIndex = uri.indexOf('?');
-            if (queryIndex > 0) {
-                uri = uri.substring(0, queryIndex);
-            }
-            
-            // 앞의 '/' 제거
-            if (uri.startsWith("/")) {
-                uri = uri.substring(1);
-            }
-            
-            // 마지막 세그먼트 추출
-            String[] segments = uri.split("/");
-            if (segments.length > 0) {
-                String lastSegment = segments[segments.length - 1];
-                return lastSegment.isEmpty() ? "default" : lastSegment;
+
+        // 쿼리/프래그먼트 제거, 끝의 '/' 무시
+        int end = uri.length();
+        for (int i = 0; i < end; i++) {
+            char c = uri.charAt(i);
+            if (c == '?' || c == '#') {
+                end = i;
+                break;
             }
-            
-        } catch (Exception e) {
-            logger.debug("URI에서 API명 추출 실패: {}", uri, e);
         }
-        
-        return "default";
+        while (end > 0 && uri.charAt(end - 1) == '/') {
+            end--;
+        }
+
+        int start = uri.lastIndexOf('/', end - 1) + 1;
+        return start < end ? uri.substring(start, end) : "default";
+    }
+
+    /**
+     * Content-Type 으로 HTTP 요청 프로토콜 판별 (대소문자 무시, 문자열 변환 없음)
+     * @param contentType Content-Type 헤더 값 (null 가능)
+     * @return "soap", "xml" 또는 "json" (multipart 와 그 외는 json)
+     */
+    public static String determineProtocolFromContentType(CharSequence contentType) {
+        if (contentType == null) {
+            return "json";
+        }
+
+        if (AsciiString.containsIgnoreCase(contentType, "xml")) {
+            return AsciiString.containsIgnoreCase(contentType, "soap") ? "soap" : "xml";
+        }
+        return "json";
     }
     
     /**
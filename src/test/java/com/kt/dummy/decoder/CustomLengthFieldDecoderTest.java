@@ -0,0 +1,133 @@
+package com.kt.dummy.decoder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.CharsetUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * CustomLengthFieldDecoder 프레임 분리 / 재동기화 테스트
+ * 길이 필드는 구분자 '/' 를 포함한 본문 길이 (data_length=00006/hello -> hello)
+ */
+class CustomLengthFieldDecoderTest {
+
+    private CustomLengthFieldDecoder decoder;
+    private EmbeddedChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        decoder = new CustomLengthFieldDecoder();
+        channel = new EmbeddedChannel(decoder);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void decodesConsecutiveFrames() {
+        write("data_length=00006/hellodata_length=00006/world");
+
+        assertEquals("hello", readFrame());
+        assertEquals("world", readFrame());
+        assertNull(channel.readInbound());
+        assertEquals(0, decoder.getDiscardedBytes());
+    }
+
+    @Test
+    void emptyBodyProducesEmptyFrame() {
+        write("data_length=00000/data_length=00006/hello");
+
+        assertEquals("", readFrame());
+        assertEquals("hello", readFrame());
+    }
+
+    @Test
+    void waitsForHeaderSplitAcrossReads() {
+        write("data_len");
+        assertNull(channel.readInbound());
+
+        write("gth=00006/hel");
+        assertNull(channel.readInbound());
+
+        write("lo");
+        assertEquals("hello", readFrame());
+        assertEquals(0, decoder.getDiscardedBytes());
+    }
+
+    @Test
+    void skipsGarbageBeforeHeader() {
+        write("garbage!!data_length=00006/hello");
+
+        assertEquals("hello", readFrame());
+        assertEquals(9, decoder.getDiscardedBytes());
+    }
+
+    @Test
+    void skipsCandidatesThatOnlyStartLikePrefix() {
+        // 'd' 로 시작하지만 접두어가 아닌 후보는 건너뜀
+        write("dxdata_xdata_length=00006/hello");
+
+        assertEquals("hello", readFrame());
+        assertEquals(8, decoder.getDiscardedBytes());
+    }
+
+    @Test
+    void keepsPartialPrefixAtEndOfBuffer() {
+        write("zzzzzzzzzzzzzzzzzzzzdata_le");
+        assertNull(channel.readInbound());
+        assertEquals(20, decoder.getDiscardedBytes());
+
+        write("ngth=00006/hello");
+        assertEquals("hello", readFrame());
+        assertEquals(20, decoder.getDiscardedBytes());
+    }
+
+    @Test
+    void discardsEverythingWhenNoCandidate() {
+        write("no header in this buffer at all");
+        assertNull(channel.readInbound());
+        assertEquals(31, decoder.getDiscardedBytes());
+
+        write("data_length=00006/hello");
+        assertEquals("hello", readFrame());
+        assertEquals(31, decoder.getDiscardedBytes());
+    }
+
+    @Test
+    void resyncsAfterInvalidLengthDigits() {
+        write("data_length=0a006/oops!data_length=00006/hello");
+
+        assertEquals("hello", readFrame());
+        assertEquals(23, decoder.getDiscardedBytes());
+    }
+
+    @Test
+    void resyncsAfterMissingSeparator() {
+        write("data_length=00006xhellodata_length=00006/world");
+
+        assertEquals("world", readFrame());
+        assertEquals(23, decoder.getDiscardedBytes());
+        assertNull(channel.readInbound());
+    }
+
+    private void write(String data) {
+        channel.writeInbound(Unpooled.copiedBuffer(data, CharsetUtil.US_ASCII));
+    }
+
+    private String readFrame() {
+        ByteBuf frame = channel.readInbound();
+        try {
+            return frame.toString(CharsetUtil.US_ASCII);
+        } finally {
+            frame.release();
+        }
+    }
+}
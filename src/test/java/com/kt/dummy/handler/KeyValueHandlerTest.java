@@ -0,0 +1,112 @@
+package com.kt.dummy.handler;
+
+import com.kt.dummy.manager.ResponseMapManager;
+import com.kt.dummy.processor.DelayConfigManager;
+import com.kt.dummy.server.ServerConfig;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.CharsetUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * KeyValueHandler 응답 전문 선택 / API 지연 정책 테스트
+ * 지연 정책은 선택된 응답 전문(OPCODE_406_{ctn}, 규칙의 template) 이 아닌 요청 opcode 로 적용되어야 한다.
+ * 지연 응답은 EventLoop 에 예약되므로 요청 직후 출력이 없으면 지연된 것으로 본다.
+ * 응답 전문 경로는 surefire 설정(server.response.base.path) 의 target/test-response 를 쓴다.
+ */
+class KeyValueHandlerTest {
+    private static final String CTN_ROUTED = "01011112222";
+    private static final String RULE_ROUTED = "01099990000";
+
+    private EmbeddedChannel channel;
+
+    @BeforeAll
+    static void loadResponses() throws Exception {
+        // 실제 응답 전문 경로를 지우지 않도록 surefire 로 실행했는지 확인
+        Path base = Path.of(ServerConfig.getInstance().getResponseBasePath());
+        assertTrue(base.endsWith("test-response"), "server.response.base.path 미설정: " + base);
+        if (Files.exists(base)) {
+            try (Stream<Path> paths = Files.walk(base)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+        Path keyValue = Files.createDirectories(base.resolve("stage1/keyValue"));
+        Files.writeString(keyValue.resolve("OPCODE_406.txt"), "response=s&type=default");
+        Files.writeString(keyValue.resolve("OPCODE_406_" + CTN_ROUTED + ".txt"), "response=s&type=ctn");
+        Files.writeString(keyValue.resolve("OPCODE_406_VIP.txt"), "response=s&type=vip");
+        Files.writeString(keyValue.resolve("OPCODE_435.txt"), "response=s&type=other");
+        Files.writeString(Files.createDirectories(base.resolve("rules")).resolve("vip.json"),
+                "{\"rules\":[{\"name\":\"vip\",\"protocol\":\"keyValue\",\"api\":\"406\","
+                        + "\"when\":{\"ctn\":\"" + RULE_ROUTED + "\"},\"template\":\"OPCODE_406_VIP\"}]}");
+        ResponseMapManager.getInstance().initialize();
+    }
+
+    @BeforeEach
+    void setUp() {
+        channel = new EmbeddedChannel(KeyValueHandler.INSTANCE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        DelayConfigManager.getInstance().removeApiDelay(null, "keyValue", "406");
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void selectsCtnAndRuleTemplatesWithoutDelay() {
+        assertTrue(send("406", CTN_ROUTED).contains("type=ctn"));
+        assertTrue(send("406", RULE_ROUTED).contains("type=vip"));
+        assertTrue(send("406", "01000000000").contains("type=default"));
+    }
+
+    @Test
+    void apiPolicyAppliesToCtnRoutedRequest() {
+        DelayConfigManager.getInstance().setApiDelay(null, "keyValue", "406", 60_000, 60_000);
+
+        assertNull(send("406", CTN_ROUTED));
+        assertTrue(send("435", CTN_ROUTED).contains("type=other"));
+    }
+
+    @Test
+    void apiPolicyAppliesToRuleRoutedRequest() {
+        DelayConfigManager.getInstance().setApiDelay(null, "keyValue", "406", 60_000, 60_000);
+
+        assertNull(send("406", RULE_ROUTED));
+        assertNull(send("406", "01000000000"));
+    }
+
+    @Test
+    void templateNameFormIsAcceptedAsOpcode() {
+        DelayConfigManager.getInstance().setApiDelay(null, "keyValue", "OPCODE_406", 60_000, 60_000);
+
+        assertNull(send("406", CTN_ROUTED));
+        assertNull(send("406", RULE_ROUTED));
+    }
+
+    // 요청 전송 후 즉시 나간 응답 (지연되었으면 null)
+    private String send(String opcode, String ctn) {
+        channel.writeInbound(Unpooled.copiedBuffer(
+                "opcode=" + opcode + "&ctn=" + ctn + "&transaction_id=T1", CharsetUtil.UTF_8));
+        ByteBuf response = channel.readOutbound();
+        if (response == null) {
+            return null;
+        }
+        try {
+            return response.toString(CharsetUtil.UTF_8);
+        } finally {
+            response.release();
+        }
+    }
+}
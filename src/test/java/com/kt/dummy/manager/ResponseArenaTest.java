@@ -0,0 +1,111 @@
+package com.kt.dummy.manager;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.util.CharsetUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ResponseArena 메모리 반납 테스트
+ * 템플릿 release 만으로 (GC 없이) 청크가 해제되어 allocatedBytes 가 줄어야 한다.
+ */
+class ResponseArenaTest {
+    // 공용 청크 크기의 1/4 보다 커서 전용 청크를 쓰는 크기
+    private static final int LARGE = ResponseArena.CHUNK_SIZE / 4 + 1;
+    // 공용 청크를 여러 개 채우는 크기
+    private static final int SMALL = 64 * 1024;
+
+    @Test
+    void putRemoveCyclesReturnChunks() {
+        ResponseArena arena = new ResponseArena();
+
+        for (int cycle = 0; cycle < 5; cycle++) {
+            List<ResponseTemplate> templates = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                templates.add(arena.template(content(cycle + "-large-" + i, LARGE)));
+            }
+            for (int i = 0; i < 200; i++) {
+                templates.add(arena.template(content(cycle + "-small-" + i, SMALL)));
+            }
+            assertTrue(allocatedBytes(arena) >= 4L * LARGE + 200L * SMALL);
+
+            templates.forEach(ResponseTemplate::release);
+
+            // 남는 것은 다음 추가를 위해 영역이 잡고 있는 현재 공용 청크 하나
+            Map<String, Object> stats = arena.getStatistics();
+            assertEquals((long) ResponseArena.CHUNK_SIZE, stats.get("allocatedBytes"));
+            assertEquals(1, stats.get("chunks"));
+            assertEquals(0L, stats.get("liveBytes"));
+            assertEquals(0, stats.get("uniqueTemplates"));
+        }
+    }
+
+    @Test
+    void sharedContentIsFreedAfterLastTemplate() {
+        ResponseArena arena = new ResponseArena();
+        String content = content("shared", LARGE);
+
+        ResponseTemplate first = arena.template(content);
+        ResponseTemplate second = arena.template(content);
+        assertTrue(first.sameContent(second));
+        long allocated = allocatedBytes(arena);
+
+        first.release();
+        assertEquals(allocated, allocatedBytes(arena));
+
+        second.release();
+        assertEquals(allocated - LARGE, allocatedBytes(arena));
+    }
+
+    @Test
+    void releasedTemplateStillRendersForLateHolders() {
+        ResponseArena arena = new ResponseArena();
+        String content = content("late", LARGE);
+        ResponseTemplate template = arena.template(content);
+
+        template.release();
+        template.release();
+
+        ByteBuf buffer = template.retainedBuffer(ByteBufAllocator.DEFAULT);
+        try {
+            assertEquals(content, buffer.toString(CharsetUtil.UTF_8));
+        } finally {
+            buffer.release();
+        }
+        assertEquals(content, template.getContent());
+    }
+
+    @Test
+    void discardedTemplateKeepsNoCopy() {
+        ResponseArena arena = new ResponseArena();
+        ResponseTemplate kept = arena.template("a=1");
+        ResponseTemplate duplicate = arena.template("a=1");
+
+        duplicate.discard();
+
+        assertEquals(1, arena.getStatistics().get("uniqueTemplates"));
+        assertEquals("a=1", kept.getContent());
+        kept.release();
+        assertEquals(0, arena.getStatistics().get("uniqueTemplates"));
+    }
+
+    private static long allocatedBytes(ResponseArena arena) {
+        return (long) arena.getStatistics().get("allocatedBytes");
+    }
+
+    // prefix 로 구분되는 length 바이트 ASCII 본문
+    private static String content(String prefix, int length) {
+        StringBuilder builder = new StringBuilder(length).append(prefix).append('=');
+        while (builder.length() < length) {
+            builder.append('x');
+        }
+        return builder.toString();
+    }
+}
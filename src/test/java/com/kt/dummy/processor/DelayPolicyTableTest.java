@@ -0,0 +1,167 @@
+package com.kt.dummy.processor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kt.dummy.processor.DelayPolicyTable.ApiKey;
+import com.kt.dummy.processor.DelayPolicyTable.Layer;
+import com.kt.dummy.processor.DelayPolicyTable.Policy;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.kt.dummy.processor.DelayPolicyTable.ANY_PORT;
+import static com.kt.dummy.processor.DelayPolicyTable.ANY_PROTOCOL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * DelayPolicyTable 우선순위 테스트
+ * 분포는 고정값, 프로파일은 상수 step 으로 두어 delay() 로 어떤 정책이 골라졌는지 확인한다.
+ */
+class DelayPolicyTableTest {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final int PORT = 8080;
+    private static final int OTHER_PORT = 9090;
+
+    @Test
+    void emptyTableHasNoDelay() {
+        assertNull(DelayPolicyTable.EMPTY.resolve(PORT, "json", "getUser"));
+        assertNull(DelayPolicyTable.EMPTY.resolve(-1, null, null));
+    }
+
+    @Test
+    void reportsWhetherApiPoliciesExist() {
+        assertFalse(DelayPolicyTable.EMPTY.hasApiPolicies());
+        assertFalse(DelayPolicyTable.build(
+                new Layer<>(LatencyDistribution.fixed(1), Map.of(PORT, LatencyDistribution.fixed(2)), Map.of()),
+                Layer.empty()).hasApiPolicies());
+
+        ApiKey api = new ApiKey(ANY_PORT, "keyValue", "406");
+        assertTrue(DelayPolicyTable.build(
+                new Layer<>(null, Map.of(), Map.of(api, LatencyDistribution.fixed(3))), Layer.empty()).hasApiPolicies());
+        assertTrue(DelayPolicyTable.build(
+                Layer.empty(), new Layer<>(null, Map.of(), Map.of(api, run(ANY_PORT, api, 100)))).hasApiPolicies());
+    }
+
+    @Test
+    void resolvesEachSpecificityTier() {
+        Map<ApiKey, LatencyDistribution> apis = new HashMap<>();
+        apis.put(new ApiKey(ANY_PORT, ANY_PROTOCOL, "getUser"), LatencyDistribution.fixed(3));
+        apis.put(new ApiKey(ANY_PORT, "json", "getUser"), LatencyDistribution.fixed(4));
+        apis.put(new ApiKey(PORT, ANY_PROTOCOL, "getUser"), LatencyDistribution.fixed(5));
+        apis.put(new ApiKey(PORT, "json", "getUser"), LatencyDistribution.fixed(6));
+        DelayPolicyTable table = DelayPolicyTable.build(
+                new Layer<>(LatencyDistribution.fixed(1), Map.of(PORT, LatencyDistribution.fixed(2)), apis),
+                Layer.empty());
+
+        // 포트 + 프로토콜 > 포트 > 프로토콜 > 모두 생략
+        assertEquals(6, delay(table, PORT, "json", "getUser"));
+        assertEquals(5, delay(table, PORT, "xml", "getUser"));
+        assertEquals(4, delay(table, OTHER_PORT, "json", "getUser"));
+        assertEquals(3, delay(table, OTHER_PORT, "xml", "getUser"));
+
+        // API 정책이 없으면 포트 설정, 포트 설정도 없으면 전역 설정
+        assertEquals(2, delay(table, PORT, "json", "other"));
+        assertEquals(1, delay(table, OTHER_PORT, "json", "other"));
+        assertEquals(1, delay(table, -1, "json", "other"));
+        assertEquals(1, delay(table, 70000, "json", "other"));
+
+        // 프로토콜/API명을 모르면 API 정책 무시
+        assertEquals(2, delay(table, PORT, null, "getUser"));
+        assertEquals(2, delay(table, PORT, "json", null));
+    }
+
+    @Test
+    void portPolicyBeatsProtocolPolicy() {
+        Map<ApiKey, LatencyDistribution> apis = new HashMap<>();
+        apis.put(new ApiKey(ANY_PORT, "json", "getUser"), LatencyDistribution.fixed(4));
+        apis.put(new ApiKey(PORT, ANY_PROTOCOL, "getUser"), LatencyDistribution.fixed(5));
+        DelayPolicyTable table = DelayPolicyTable.build(new Layer<>(null, Map.of(), apis), Layer.empty());
+
+        assertEquals(5, delay(table, PORT, "json", "getUser"));
+        assertEquals(4, delay(table, OTHER_PORT, "json", "getUser"));
+        assertNull(table.resolve(OTHER_PORT, "xml", "getUser"));
+    }
+
+    @Test
+    void protocolPolicyOnlyAppliesToThatProtocol() {
+        Map<ApiKey, LatencyDistribution> apis = Map.of(
+                new ApiKey(PORT, "json", "getUser"), LatencyDistribution.fixed(6));
+        DelayPolicyTable table = DelayPolicyTable.build(
+                new Layer<>(LatencyDistribution.fixed(1), Map.of(PORT, LatencyDistribution.fixed(2)), apis),
+                Layer.empty());
+
+        assertEquals(6, delay(table, PORT, "json", "getUser"));
+        assertEquals(2, delay(table, PORT, "xml", "getUser"));
+        assertEquals(1, delay(table, OTHER_PORT, "json", "getUser"));
+    }
+
+    @Test
+    void apiProfileOnlyKeepsPortDistribution() {
+        ApiKey api = new ApiKey(ANY_PORT, ANY_PROTOCOL, "slowApi");
+        DelayPolicyTable table = DelayPolicyTable.build(
+                new Layer<>(LatencyDistribution.fixed(10), Map.of(PORT, LatencyDistribution.fixed(20)), Map.of()),
+                new Layer<>(null, Map.of(), Map.of(api, run(ANY_PORT, api, 1000))));
+
+        // API 는 프로파일만 있으므로 분포는 포트 기본값 (포트 설정이 없으면 전역)
+        assertEquals(1020, delay(table, PORT, "json", "slowApi"));
+        assertEquals(1010, delay(table, OTHER_PORT, "json", "slowApi"));
+        assertEquals(20, delay(table, PORT, "json", "other"));
+        assertEquals(10, delay(table, OTHER_PORT, "json", "other"));
+    }
+
+    @Test
+    void apiDistributionOnlyKeepsPortProfile() {
+        ApiKey api = new ApiKey(ANY_PORT, "json", "fastApi");
+        DelayPolicyTable table = DelayPolicyTable.build(
+                new Layer<>(LatencyDistribution.fixed(10), Map.of(), Map.of(api, LatencyDistribution.fixed(7))),
+                new Layer<>(run(ANY_PORT, null, 100), Map.of(PORT, run(PORT, null, 500)), Map.of()));
+
+        assertEquals(507, delay(table, PORT, "json", "fastApi"));
+        assertEquals(107, delay(table, OTHER_PORT, "json", "fastApi"));
+        assertEquals(510, delay(table, PORT, "xml", "fastApi"));
+        assertEquals(110, delay(table, OTHER_PORT, "json", "other"));
+    }
+
+    @Test
+    void distributionAndProfileResolveSpecificityIndependently() {
+        ApiKey portApi = new ApiKey(PORT, "json", "getUser");
+        ApiKey anyApi = new ApiKey(ANY_PORT, ANY_PROTOCOL, "getUser");
+        DelayPolicyTable table = DelayPolicyTable.build(
+                new Layer<>(null, Map.of(), Map.of(anyApi, LatencyDistribution.fixed(3))),
+                new Layer<>(null, Map.of(), Map.of(portApi, run(PORT, portApi, 600))));
+
+        // 분포는 모두 생략 정책, 프로파일은 포트 + 프로토콜 정책
+        assertEquals(603, delay(table, PORT, "json", "getUser"));
+        assertEquals(3, delay(table, PORT, "xml", "getUser"));
+        assertEquals(3, delay(table, OTHER_PORT, "json", "getUser"));
+    }
+
+    @Test
+    void portProfileWithoutDistribution() {
+        DelayPolicyTable table = DelayPolicyTable.build(Layer.empty(),
+                new Layer<>(null, Map.of(PORT, run(PORT, null, 250)), Map.of()));
+
+        assertEquals(250, delay(table, PORT, "json", "getUser"));
+        assertNull(table.resolve(OTHER_PORT, "json", "getUser"));
+    }
+
+    private static long delay(DelayPolicyTable table, int port, String protocol, String apiName) {
+        Policy policy = table.resolve(port, protocol, apiName);
+        return policy != null ? policy.delay() : -1;
+    }
+
+    // 항상 같은 값을 더하는 프로파일
+    private static LatencyProfile.Run run(int port, ApiKey api, long delayMs) {
+        try {
+            LatencyProfile profile = LatencyProfile.fromJson(objectMapper.readTree(
+                    "{\"type\":\"step\",\"steps\":[{\"atSec\":0,\"delayMs\":" + delayMs + "}]}"));
+            return new LatencyProfile.Run(null, port, api, profile);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
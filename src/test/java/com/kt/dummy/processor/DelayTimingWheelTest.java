@@ -0,0 +1,212 @@
+package com.kt.dummy.processor;
+
+import com.kt.dummy.processor.DelayResponseProcessor.ResponseHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * DelayTimingWheel 만료 순서 / cascade / flush 테스트
+ * 시간은 가짜 시계로 옮기고 run() 을 직접 호출한다. (틱 1ms)
+ * 휠의 깨우기 예약은 응답 채널의 flush 중에 실행되지 않도록 별도 채널의 EventLoop 에 둔다.
+ */
+class DelayTimingWheelTest {
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    // 휠이 표현하는 최대 틱 수 (2^26 - 1)
+    private static final long MAX_TICKS = (1L << 26) - 1;
+
+    private final List<String> fired = new ArrayList<>();
+    private final ResponseHandler<String> handler = (ctx, content) -> {
+        fired.add(content);
+        ctx.write(content);
+    };
+
+    private long now = TimeUnit.SECONDS.toNanos(1000);
+    private EmbeddedChannel timer;
+    private EmbeddedChannel channel;
+    private FlushCounter flushes;
+    private DelayTimingWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        flushes = new FlushCounter();
+        channel = new EmbeddedChannel(flushes, new ChannelInboundHandlerAdapter());
+        timer = new EmbeddedChannel();
+        wheel = new DelayTimingWheel(timer.eventLoop(), TICK_NANOS, () -> now);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+        timer.finishAndReleaseAll();
+    }
+
+    @Test
+    void expiresInDeadlineOrderAcrossLevels() {
+        // 레벨 0 (< 256), 레벨 1 (< 16384), 레벨 2 (< 2^20), 레벨 3
+        wheel.add(ctx(channel), "level3", handler, 1_100_000);
+        wheel.add(ctx(channel), "level2", handler, 20_000);
+        wheel.add(ctx(channel), "level1-a", handler, 300);
+        wheel.add(ctx(channel), "level0", handler, 5);
+        wheel.add(ctx(channel), "level1-b", handler, 300);
+        wheel.add(ctx(channel), "level1-early", handler, 299);
+
+        advanceTo(4);
+        assertEquals(List.of(), fired);
+
+        advanceTo(5);
+        assertEquals(List.of("level0"), fired);
+
+        advanceTo(299);
+        assertEquals(List.of("level0", "level1-early"), fired);
+
+        // 같은 틱은 등록 순서 유지
+        advanceTo(300);
+        assertEquals(List.of("level0", "level1-early", "level1-a", "level1-b"), fired);
+
+        advanceTo(19_999);
+        assertEquals(4, fired.size());
+        advanceTo(20_000);
+        assertEquals("level2", fired.get(4));
+
+        advanceTo(1_099_999);
+        assertEquals(5, fired.size());
+        advanceTo(1_100_000);
+        assertEquals("level3", fired.get(5));
+        assertEquals(0, wheel.getPending());
+    }
+
+    @Test
+    void singleRunExpiresEverythingInOrder() {
+        wheel.add(ctx(channel), "c", handler, 20_000);
+        wheel.add(ctx(channel), "a", handler, 10);
+        wheel.add(ctx(channel), "b", handler, 1_000);
+
+        advanceTo(30_000);
+
+        assertEquals(List.of("a", "b", "c"), fired);
+    }
+
+    @Test
+    void entryCrossingCascadeBoundaryFiresOnTime() {
+        // 현재 틱 200 에서 100 틱 뒤 = 300 (레벨 1 경계 256 을 넘음)
+        wheel.add(ctx(channel), "warmup", handler, 200);
+        advanceTo(200);
+
+        wheel.add(ctx(channel), "crossing", handler, 100);
+        wheel.add(ctx(channel), "far", handler, 16_500);
+
+        advanceTo(299);
+        assertEquals(List.of("warmup"), fired);
+        advanceTo(300);
+        assertEquals(List.of("warmup", "crossing"), fired);
+
+        advanceTo(16_699);
+        assertEquals(2, fired.size());
+        advanceTo(16_700);
+        assertEquals("far", fired.get(2));
+    }
+
+    @Test
+    void delayBeyondTopLevelIsClampedToHorizon() {
+        wheel.add(ctx(channel), "beyond", handler, MAX_TICKS * 2);
+        wheel.add(ctx(channel), "near", handler, 10);
+
+        advanceTo(MAX_TICKS - 1);
+        assertEquals(List.of("near"), fired);
+        assertEquals(1, wheel.getPending());
+
+        advanceTo(MAX_TICKS);
+        assertEquals(List.of("near", "beyond"), fired);
+        assertEquals(0, wheel.getPending());
+    }
+
+    @Test
+    void neverFiresBeforeDeadline() {
+        // 틱 중간에 등록하면 만료 틱은 올림
+        now += TICK_NANOS / 2;
+        wheel.add(ctx(channel), "rounded", handler, 3);
+
+        now += TimeUnit.MILLISECONDS.toNanos(3) - 1;
+        wheel.run();
+        assertEquals(List.of(), fired);
+
+        now += TICK_NANOS;
+        wheel.run();
+        assertEquals(List.of("rounded"), fired);
+    }
+
+    @Test
+    void flushesOncePerChannelPerRun() {
+        FlushCounter otherFlushes = new FlushCounter();
+        EmbeddedChannel other = new EmbeddedChannel(otherFlushes, new ChannelInboundHandlerAdapter());
+        try {
+            wheel.add(ctx(channel), "a1", handler, 50);
+            wheel.add(ctx(other), "b1", handler, 50);
+            wheel.add(ctx(channel), "a2", handler, 50);
+            wheel.add(ctx(channel), "a3", handler, 51);
+            wheel.add(ctx(other), "b2", handler, 52);
+
+            advanceTo(60);
+
+            assertEquals(List.of("a1", "b1", "a2", "a3", "b2"), fired);
+            assertEquals(1, flushes.count);
+            assertEquals(1, otherFlushes.count);
+            assertEquals(3, channel.outboundMessages().size());
+            assertEquals(2, other.outboundMessages().size());
+
+            // 다음 실행은 다시 flush
+            wheel.add(ctx(channel), "a4", handler, 10);
+            advanceTo(70);
+            assertEquals(2, flushes.count);
+            assertEquals(1, otherFlushes.count);
+        } finally {
+            other.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void dropsResponsesForInactiveChannels() {
+        EmbeddedChannel other = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        wheel.add(ctx(other), "closed", handler, 10);
+        wheel.add(ctx(channel), "open", handler, 10);
+        other.close();
+
+        advanceTo(10);
+
+        assertEquals(List.of("open"), fired);
+        assertEquals(0, wheel.getPending());
+        assertTrue(other.outboundMessages().isEmpty());
+    }
+
+    // 시계를 생성 시점 + ms 로 옮기고 휠 실행
+    private void advanceTo(long ms) {
+        now = TimeUnit.SECONDS.toNanos(1000) + TimeUnit.MILLISECONDS.toNanos(ms);
+        wheel.run();
+    }
+
+    private static ChannelHandlerContext ctx(EmbeddedChannel channel) {
+        return channel.pipeline().lastContext();
+    }
+
+    private static final class FlushCounter extends ChannelOutboundHandlerAdapter {
+        int count;
+
+        @Override
+        public void flush(ChannelHandlerContext ctx) {
+            count++;
+            ctx.flush();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.kt.dummy.processor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LatencyDistribution 정수 샘플링 테스트
+ * 균등 분포는 min~max 정수가 모두 같은 확률이어야 한다 (양 끝 값 포함).
+ */
+class LatencyDistributionTest {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final int SAMPLES = 300_000;
+    private static final int PORT = 18999;
+
+    @Test
+    void uniformCoversEndpointsEvenly() {
+        assertEvenlyDistributed(LatencyDistribution.uniform(0, 2)::sample, 0, 2);
+        assertEvenlyDistributed(LatencyDistribution.uniform(5, 9)::sample, 5, 9);
+    }
+
+    @Test
+    void uniformFromJsonCoversEndpointsEvenly() throws Exception {
+        LatencyDistribution distribution = LatencyDistribution.fromJson(
+                objectMapper.readTree("{\"type\":\"uniform\",\"min\":10,\"max\":12}"));
+
+        assertEvenlyDistributed(distribution::sample, 10, 12);
+        assertEquals(10, distribution.getMin());
+        assertEquals(12, distribution.getMax());
+        assertEquals(11L, distribution.describe().get("p50"));
+    }
+
+    @Test
+    void fixedAlwaysReturnsValue() throws Exception {
+        LatencyDistribution fixed = LatencyDistribution.fixed(100);
+        LatencyDistribution fromJson = LatencyDistribution.fromJson(
+                objectMapper.readTree("{\"type\":\"fixed\",\"value\":100,\"max\":70}"));
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(100, fixed.sample());
+            assertEquals(70, fromJson.sample());
+        }
+        assertEquals(100, fixed.getMin());
+        assertEquals(100, fixed.getMax());
+        assertEquals(100L, fixed.describe().get("p99"));
+    }
+
+    @Test
+    void continuousDistributionIsRoundedToNearest() throws Exception {
+        LatencyDistribution normal = LatencyDistribution.fromJson(
+                objectMapper.readTree("{\"type\":\"normal\",\"mean\":100,\"stddev\":0.1}"));
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(100, normal.sample());
+        }
+        assertEquals(100L, normal.describe().get("p50"));
+    }
+
+    @Test
+    void bimodalOfUniformsKeepsIntegerRanges() throws Exception {
+        LatencyDistribution bimodal = LatencyDistribution.fromJson(objectMapper.readTree(
+                "{\"type\":\"bimodal\",\"weight\":0.5,"
+                        + "\"first\":{\"type\":\"uniform\",\"min\":0,\"max\":1},"
+                        + "\"second\":{\"type\":\"uniform\",\"min\":10,\"max\":11}}"));
+
+        long[] counts = new long[12];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[(int) bimodal.sample()]++;
+        }
+        for (int value : new int[]{0, 1, 10, 11}) {
+            assertNear(SAMPLES / 4.0, counts[value], value);
+        }
+        assertEquals(11, bimodal.getMax());
+    }
+
+    @Test
+    void portAndGlobalDelayAreUniformOverIntegers() {
+        DelayConfigManager manager = DelayConfigManager.getInstance();
+        boolean globalEnabled = manager.isGlobalEnabled();
+        LatencyDistribution global = manager.getGlobalDistribution();
+        try {
+            manager.setPortDelay(PORT, true, 0, 2);
+            assertEvenlyDistributed(() -> manager.getDelayForPort(PORT), 0, 2);
+
+            manager.setGlobalEnabled(true);
+            manager.setGlobalDelay(3, 5);
+            assertEvenlyDistributed(() -> manager.getDelayForPort(PORT + 1), 3, 5);
+        } finally {
+            manager.removePortDelay(PORT);
+            manager.setGlobalDistribution(global);
+            manager.setGlobalEnabled(globalEnabled);
+        }
+    }
+
+    // min~max 각 값이 기대 빈도의 ±3% 안, 범위 밖 값 없음
+    private static void assertEvenlyDistributed(LongSupplier sampler, long min, long max) {
+        int span = (int) (max - min + 1);
+        long[] counts = new long[span];
+        for (int i = 0; i < SAMPLES; i++) {
+            long value = sampler.getAsLong();
+            assertTrue(value >= min && value <= max, "범위 밖 값: " + value);
+            counts[(int) (value - min)]++;
+        }
+        for (int i = 0; i < span; i++) {
+            assertNear((double) SAMPLES / span, counts[i], min + i);
+        }
+    }
+
+    private static void assertNear(double expected, long actual, long value) {
+        assertTrue(Math.abs(actual - expected) < expected * 0.03,
+                value + " 빈도 " + actual + " (기대 " + Math.round(expected) + ")");
+    }
+}